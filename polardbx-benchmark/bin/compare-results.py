@@ -0,0 +1,72 @@
+#!/usr/bin/env python3
+"""
+Compare two JMH json results, e.g. of master and of a patch.
+
+usage: bin/compare-results.py <baseline.json> <current.json> [--threshold 0.10]
+
+A benchmark is reported as a regression when it gets slower (average time / sample time / single shot)
+or less throughput by more than the threshold and by more than the error margins of both runs.
+Exits with 1 if there is any regression, so it can gate a CI job.
+"""
+
+import argparse
+import json
+import sys
+
+HIGHER_IS_BETTER = {'thrpt'}
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for item in json.load(f):
+            params = item.get('params') or {}
+            key = item['benchmark'] + ''.join(
+                '[%s=%s]' % (k, params[k]) for k in sorted(params))
+            metric = item['primaryMetric']
+            results[key] = (item['mode'], metric['score'], metric.get('scoreError') or 0.0,
+                            metric['scoreUnit'])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description='Compare two JMH json results')
+    parser.add_argument('baseline')
+    parser.add_argument('current')
+    parser.add_argument('--threshold', type=float, default=0.10,
+                        help='relative change treated as significant, default 0.10')
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    print('%-100s %17s %17s %9s' % ('benchmark', 'baseline', 'current', 'change'))
+    for key in sorted(set(baseline) | set(current)):
+        if key not in baseline or key not in current:
+            print('%-100s %s' % (key, 'only in ' + ('current' if key in current else 'baseline')))
+            continue
+        mode, base_score, base_error, unit = baseline[key]
+        _, cur_score, cur_error, _ = current[key]
+        if base_score == 0:
+            continue
+        change = (cur_score - base_score) / base_score
+        worse = -change if mode in HIGHER_IS_BETTER else change
+        significant = abs(cur_score - base_score) > (base_error + cur_error)
+        flag = ''
+        if worse > args.threshold and significant:
+            flag = ' REGRESSION'
+            regressions += 1
+        elif -worse > args.threshold and significant:
+            flag = ' improved'
+        print('%-100s %10.3f %-6s %10.3f %-6s %+8.1f%%%s' % (
+            key, base_score, unit, cur_score, unit, change * 100, flag))
+
+    if regressions:
+        print('%d regression(s) beyond %.0f%%' % (regressions, args.threshold * 100))
+        return 1
+    return 0
+
+
+if __name__ == '__main__':
+    sys.exit(main())
@@ -0,0 +1,25 @@
+#!/bin/bash
+#
+# Run the JMH benchmarks and write the results as json.
+#
+# usage: bin/run-benchmarks.sh <result.json> [jmh options / benchmark regex]
+#   e.g. bin/run-benchmarks.sh baseline.json HashJoinBenchmark -p keyType=bigint
+#
+set -e
+
+BASE_DIR=$(cd "$(dirname "$0")/.." && pwd)
+JAR="${BASE_DIR}/target/benchmarks.jar"
+
+if [ $# -lt 1 ]; then
+    echo "usage: $0 <result.json> [jmh options]"
+    exit 1
+fi
+RESULT=$1
+shift
+
+if [ ! -f "${JAR}" ]; then
+    echo "${JAR} not found, build it first: mvn -pl polardbx-benchmark -am package -DskipTests"
+    exit 1
+fi
+
+java ${JAVA_OPTS} -jar "${JAR}" -rf json -rff "${RESULT}" "$@"
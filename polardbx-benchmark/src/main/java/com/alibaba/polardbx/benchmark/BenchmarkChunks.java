@@ -0,0 +1,157 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.common.datatype.Decimal;
+import com.alibaba.polardbx.common.properties.ParamManager;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.ChunkBuilder;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.optimizer.memory.MemoryManager;
+import com.alibaba.polardbx.optimizer.memory.MemorySetting;
+import com.alibaba.polardbx.optimizer.memory.MemoryType;
+import com.alibaba.polardbx.optimizer.spill.QuerySpillSpaceMonitor;
+import io.airlift.slice.Slice;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic chunk generator shared by all benchmarks.
+ * <p>
+ * Values are drawn from a seeded random generator in [0, cardinality), so the same parameters always
+ * produce the same chunks and results of different runs are comparable.
+ */
+public final class BenchmarkChunks {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final long BASE_MILLIS = Timestamp.valueOf("2020-01-01 00:00:00").getTime();
+    private static final long MILLIS_PER_DAY = 24L * 3600 * 1000;
+
+    private BenchmarkChunks() {
+    }
+
+    /**
+     * Create an execution context with an unlimited query memory pool
+     */
+    public static ExecutionContext newContext(Map<String, String> params) {
+        ExecutionContext context = new ExecutionContext();
+        context.setMemoryPool(
+            MemoryManager.getInstance().getGlobalMemoryPool().getOrCreatePool(
+                "benchmark-" + UUID.randomUUID(), MemorySetting.UNLIMITED_SIZE, MemoryType.QUERY));
+        context.setQuerySpillSpaceMonitor(new QuerySpillSpaceMonitor());
+        if (params != null && !params.isEmpty()) {
+            context.setParamManager(new ParamManager(params));
+        }
+        return context;
+    }
+
+    public static List<Chunk> generate(List<DataType> types, int rowCount, int cardinality, double nullRatio,
+                                       long seed, ExecutionContext context) {
+        return generate(types, rowCount, DEFAULT_CHUNK_SIZE, cardinality, nullRatio, seed, context);
+    }
+
+    public static List<Chunk> generate(List<DataType> types, int rowCount, int chunkSize, int cardinality,
+                                       double nullRatio, long seed, ExecutionContext context) {
+        final Random random = new Random(seed);
+        final List<Chunk> chunks = new ArrayList<>();
+        final ChunkBuilder chunkBuilder = new ChunkBuilder(types, chunkSize, context);
+        for (int row = 0; row < rowCount; row++) {
+            for (int col = 0; col < types.size(); col++) {
+                BlockBuilder builder = chunkBuilder.getBlockBuilder(col);
+                if (nullRatio > 0 && random.nextDouble() < nullRatio) {
+                    builder.appendNull();
+                } else {
+                    writeValue(builder, types.get(col), random.nextInt(cardinality));
+                }
+            }
+            chunkBuilder.declarePosition();
+            if (chunkBuilder.isFull()) {
+                chunks.add(chunkBuilder.build());
+                chunkBuilder.reset();
+            }
+        }
+        if (!chunkBuilder.isEmpty()) {
+            chunks.add(chunkBuilder.build());
+        }
+        return chunks;
+    }
+
+    /**
+     * Resolve the type name used in benchmark parameters
+     */
+    public static DataType typeOf(String name) {
+        switch (name.toLowerCase()) {
+        case "int":
+            return DataTypes.IntegerType;
+        case "bigint":
+            return DataTypes.LongType;
+        case "double":
+            return DataTypes.DoubleType;
+        case "decimal":
+            return DataTypes.DecimalType;
+        case "varchar":
+            return DataTypes.VarcharType;
+        case "date":
+            return DataTypes.DateType;
+        case "datetime":
+            return DataTypes.DatetimeType;
+        default:
+            throw new IllegalArgumentException("unknown benchmark type " + name);
+        }
+    }
+
+    /**
+     * Write the value derived from an integer seed in the representation of given type
+     */
+    public static void writeValue(BlockBuilder builder, DataType type, int value) {
+        Class clazz = type.getDataClass();
+        if (clazz == Integer.class) {
+            builder.writeInt(value);
+        } else if (clazz == Long.class) {
+            builder.writeLong(value);
+        } else if (clazz == Short.class) {
+            builder.writeShort((short) value);
+        } else if (clazz == Byte.class) {
+            builder.writeByte((byte) value);
+        } else if (clazz == Double.class) {
+            builder.writeDouble(value * 0.5D);
+        } else if (clazz == Float.class) {
+            builder.writeFloat(value * 0.5F);
+        } else if (clazz == Decimal.class) {
+            builder.writeDecimal(Decimal.fromLong(value));
+        } else if (clazz == String.class || clazz == Slice.class) {
+            builder.writeString("value_" + value);
+        } else if (clazz == Date.class) {
+            builder.writeDate(new Date(BASE_MILLIS + value * MILLIS_PER_DAY));
+        } else if (clazz == Timestamp.class) {
+            builder.writeTimestamp(new Timestamp(BASE_MILLIS + value * 1000L));
+        } else {
+            throw new UnsupportedOperationException("benchmark data of " + type + " not supported");
+        }
+    }
+}
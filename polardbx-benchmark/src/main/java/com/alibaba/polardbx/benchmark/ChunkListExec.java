@@ -0,0 +1,77 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.Executor;
+import com.alibaba.polardbx.executor.operator.ProducerExecutor;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.List;
+
+/**
+ * A leaf executor replaying pre-generated chunks, so that only the operator under test is measured
+ */
+public class ChunkListExec implements Executor {
+
+    private final List<DataType> types;
+    private final List<Chunk> chunks;
+
+    private int nextIndex = 0;
+
+    public ChunkListExec(List<DataType> types, List<Chunk> chunks) {
+        this.types = types;
+        this.chunks = chunks;
+    }
+
+    @Override
+    public void open() {
+        nextIndex = 0;
+    }
+
+    @Override
+    public Chunk nextChunk() {
+        return nextIndex < chunks.size() ? chunks.get(nextIndex++) : null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public List<DataType> getDataTypes() {
+        return types;
+    }
+
+    @Override
+    public List<Executor> getInputs() {
+        return ImmutableList.of();
+    }
+
+    @Override
+    public boolean produceIsFinished() {
+        return nextIndex >= chunks.size();
+    }
+
+    @Override
+    public ListenableFuture<?> produceIsBlocked() {
+        return ProducerExecutor.NOT_BLOCKED;
+    }
+}
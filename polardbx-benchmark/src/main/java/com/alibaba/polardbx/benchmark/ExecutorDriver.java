@@ -0,0 +1,69 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.ConsumerExecutor;
+import com.alibaba.polardbx.executor.operator.Executor;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * Drive executors the same way as the mpp driver does, without scheduling overhead
+ */
+public final class ExecutorDriver {
+
+    private ExecutorDriver() {
+    }
+
+    /**
+     * Feed all chunks into a consumer executor, then drain its output
+     *
+     * @return number of output rows
+     */
+    public static long consumeAndDrain(Executor exec, List<Chunk> input, Blackhole blackhole) {
+        ConsumerExecutor consumer = (ConsumerExecutor) exec;
+        consumer.openConsume();
+        for (Chunk chunk : input) {
+            consumer.consumeChunk(chunk);
+        }
+        consumer.buildConsume();
+        return drain(exec, blackhole);
+    }
+
+    /**
+     * Open the executor and pull all its output
+     *
+     * @return number of output rows
+     */
+    public static long drain(Executor exec, Blackhole blackhole) {
+        long rows = 0;
+        exec.open();
+        try {
+            Chunk chunk;
+            while ((chunk = exec.nextChunk()) != null) {
+                rows += chunk.getPositionCount();
+                blackhole.consume(chunk);
+            }
+        } finally {
+            exec.close();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.executor.calc.Aggregator;
+import com.alibaba.polardbx.executor.calc.aggfunctions.Count;
+import com.alibaba.polardbx.executor.calc.aggfunctions.Sum;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.HashAggExec;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * select k, count(v), sum(v) from t group by k
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HashAggBenchmark {
+
+    @Param({"1048576"})
+    public int rows;
+
+    @Param({"16", "65536", "1048576"})
+    public int groups;
+
+    @Param({"int", "bigint", "varchar", "decimal"})
+    public String keyType;
+
+    private ExecutionContext context;
+    private List<DataType> inputTypes;
+    private List<DataType> outputTypes;
+    private List<Chunk> input;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkChunks.newContext(null);
+        DataType key = BenchmarkChunks.typeOf(keyType);
+        inputTypes = ImmutableList.of(key, DataTypes.LongType);
+        outputTypes = ImmutableList.of(key, DataTypes.LongType, DataTypes.DecimalType);
+        input = BenchmarkChunks.generate(inputTypes, rows, groups, 0.0, 0x5eed, context);
+    }
+
+    @Benchmark
+    public long hashAgg(Blackhole blackhole) {
+        List<Aggregator> aggregators = ImmutableList.of(
+            new Count(new int[] {1}, false, -1),
+            new Sum(1, false, DataTypes.DecimalType, -1));
+        HashAggExec exec = new HashAggExec(inputTypes, new int[] {0}, aggregators, outputTypes, groups, context);
+        return ExecutorDriver.consumeAndDrain(exec, input, blackhole);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.ParallelHashJoinExec;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.join.EquiJoinKey;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inner hash join on a single key, about half of the probe rows find a match
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HashJoinBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int buildRows;
+
+    @Param({"1048576"})
+    public int probeRows;
+
+    @Param({"int", "bigint", "varchar"})
+    public String keyType;
+
+    @Param({"false", "true"})
+    public boolean offHeap;
+
+    private ExecutionContext context;
+    private List<DataType> types;
+    private List<Chunk> buildInput;
+    private List<Chunk> probeInput;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkChunks.newContext(
+            ImmutableMap.of(ConnectionParams.ENABLE_OFF_HEAP_HASH_TABLE.getName(), String.valueOf(offHeap)));
+        DataType key = BenchmarkChunks.typeOf(keyType);
+        types = ImmutableList.of(key, key);
+        buildInput = BenchmarkChunks.generate(types, buildRows, buildRows, 0.0, 0x5eed, context);
+        probeInput = BenchmarkChunks.generate(types, probeRows, buildRows * 2, 0.0, 0xbeef, context);
+    }
+
+    @Benchmark
+    public long parallelHashJoin(Blackhole blackhole) {
+        List<EquiJoinKey> joinKeys = ImmutableList.of(new EquiJoinKey(0, 0, types.get(0), false));
+        ParallelHashJoinExec.Synchronizer synchronizer =
+            new ParallelHashJoinExec.Synchronizer(1, false, true, offHeap);
+        ParallelHashJoinExec exec = new ParallelHashJoinExec(synchronizer,
+            new ChunkListExec(types, probeInput), new ChunkListExec(types, buildInput), JoinRelType.INNER, false,
+            joinKeys, null, null, false, context, 0);
+        return ExecutorDriver.consumeAndDrain(exec, buildInput, blackhole);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompressionMode;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize and deserialize exchange pages with each compression codec
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PagesSerdeBenchmark {
+
+    private static final List<DataType> TYPES = ImmutableList.of(
+        DataTypes.IntegerType, DataTypes.LongType, DataTypes.DoubleType, DataTypes.DecimalType,
+        DataTypes.VarcharType, DataTypes.DatetimeType);
+
+    @Param({"262144"})
+    public int rows;
+
+    /**
+     * Low cardinality data compresses well, high cardinality data hardly compresses
+     */
+    @Param({"64", "1048576"})
+    public int cardinality;
+
+    @Param({"NONE", "LZ4", "ZSTD", "ADAPTIVE"})
+    public String compression;
+
+    private PagesSerde serde;
+    private List<Chunk> input;
+    private List<SerializedChunk> serialized;
+
+    @Setup
+    public void setup() {
+        serde = new PagesSerde(ChunkCompressionMode.of(compression), TYPES);
+        input = BenchmarkChunks.generate(TYPES, rows, cardinality, 0.01, 0x5eed,
+            BenchmarkChunks.newContext(null));
+        serialized = new ArrayList<>(input.size());
+        for (Chunk chunk : input) {
+            serialized.add(serde.serialize(false, chunk));
+        }
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) {
+        for (Chunk chunk : input) {
+            blackhole.consume(serde.serialize(false, chunk));
+        }
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) {
+        for (SerializedChunk chunk : serialized) {
+            blackhole.consume(serde.deserialize(chunk));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.SortExec;
+import com.alibaba.polardbx.executor.utils.OrderByOption;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory sort on one key with a payload column, 5% of keys are null
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SortBenchmark {
+
+    @Param({"1048576"})
+    public int rows;
+
+    @Param({"int", "bigint", "double", "varchar", "decimal", "datetime"})
+    public String keyType;
+
+    private ExecutionContext context;
+    private List<DataType> types;
+    private List<Chunk> input;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkChunks.newContext(null);
+        types = ImmutableList.of(BenchmarkChunks.typeOf(keyType), DataTypes.LongType);
+        input = BenchmarkChunks.generate(types, rows, rows, 0.05, 0x5eed, context);
+    }
+
+    @Benchmark
+    public long sort(Blackhole blackhole) {
+        List<OrderByOption> orderBys = ImmutableList.of(new OrderByOption(0,
+            RelFieldCollation.Direction.ASCENDING, RelFieldCollation.NullDirection.FIRST));
+        SortExec exec = new SortExec(types, orderBys, context, null);
+        return ExecutorDriver.consumeAndDrain(exec, input, blackhole);
+    }
+}
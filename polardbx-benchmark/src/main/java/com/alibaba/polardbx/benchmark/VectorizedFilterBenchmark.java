@@ -0,0 +1,131 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.benchmark;
+
+import com.alibaba.polardbx.common.utils.Pair;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.operator.VectorizedFilterExec;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.build.VectorizedExpressionBuilder;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.TddlJavaTypeFactoryImpl;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Generated vectorized filters, comparing a column with another column or with a constant
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VectorizedFilterBenchmark {
+
+    private static final int CARDINALITY = 1000;
+
+    @Param({"1048576"})
+    public int rows;
+
+    @Param({"int", "bigint", "double", "decimal", "varchar"})
+    public String type;
+
+    @Param({"col_col", "col_const"})
+    public String predicate;
+
+    private ExecutionContext context;
+    private List<DataType> types;
+    private List<Chunk> input;
+    private Pair<VectorizedExpression, MutableChunk> expression;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkChunks.newContext(null);
+        DataType dataType = BenchmarkChunks.typeOf(type);
+        types = ImmutableList.of(dataType, dataType);
+        input = BenchmarkChunks.generate(types, rows, CARDINALITY, 0.01, 0x5eed, context);
+
+        RelDataTypeFactory typeFactory = new TddlJavaTypeFactoryImpl();
+        RexBuilder builder = new RexBuilder(typeFactory);
+        RelDataType relType = typeFactory.createSqlType(sqlTypeOf(type));
+        RexNode left = builder.makeInputRef(relType, 0);
+        RexNode right;
+        if ("col_col".equals(predicate)) {
+            right = builder.makeInputRef(relType, 1);
+        } else if ("varchar".equals(type)) {
+            right = builder.makeLiteral("value_" + CARDINALITY / 2);
+        } else if ("double".equals(type)) {
+            right = builder.makeApproxLiteral(BigDecimal.valueOf(CARDINALITY / 4));
+        } else {
+            right = builder.makeExactLiteral(BigDecimal.valueOf(CARDINALITY / 2), relType);
+        }
+        RexNode condition = builder.makeCall(SqlStdOperatorTable.GREATER_THAN, left, right);
+
+        List<DataType<?>> inputTypes = types.stream().map(t -> (DataType<?>) t).collect(Collectors.toList());
+        expression = VectorizedExpressionBuilder.buildVectorizedExpression(inputTypes, condition, context);
+    }
+
+    @Benchmark
+    public long filter(Blackhole blackhole) {
+        VectorizedFilterExec exec = new VectorizedFilterExec(new ChunkListExec(types, input),
+            expression.getKey(), expression.getValue(), context);
+        return ExecutorDriver.drain(exec, blackhole);
+    }
+
+    private static SqlTypeName sqlTypeOf(String type) {
+        switch (type) {
+        case "int":
+            return SqlTypeName.INTEGER;
+        case "bigint":
+            return SqlTypeName.BIGINT;
+        case "double":
+            return SqlTypeName.DOUBLE;
+        case "decimal":
+            return SqlTypeName.DECIMAL;
+        case "varchar":
+            return SqlTypeName.VARCHAR;
+        default:
+            throw new IllegalArgumentException("unknown benchmark type " + type);
+        }
+    }
+}
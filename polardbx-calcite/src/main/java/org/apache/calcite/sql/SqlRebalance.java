@@ -67,12 +67,14 @@ public class SqlRebalance extends SqlDdl {
     public static final String POLICY_DRAIN_NODE = "drain_node";
     public static final String POLICY_BALANCE_GROUP = "balance_group";
     public static final String POLICY_DATA_BALANCE = "data_balance";
+    public static final String POLICY_HOT_SPLIT_PARTITION = "hot_split_partition";
     public static final List<String> ALL_POLICIES = Arrays.asList(
         POLICY_SPLIT_PARTITION,
         POLICY_MERGE_PARTITION,
         POLICY_DRAIN_NODE,
         POLICY_BALANCE_GROUP,
-        POLICY_DATA_BALANCE
+        POLICY_DATA_BALANCE,
+        POLICY_HOT_SPLIT_PARTITION
     );
 
     /**
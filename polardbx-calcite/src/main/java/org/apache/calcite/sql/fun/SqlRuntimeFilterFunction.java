@@ -19,6 +19,7 @@ package org.apache.calcite.sql.fun;
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlFunction;
 import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlWriter;
@@ -31,8 +32,13 @@ public class SqlRuntimeFilterFunction extends SqlFunction {
     private int id;
     private double guessSelectivity;
     private boolean usingXxHash;
+    private boolean pushMinMax;
 
     public SqlRuntimeFilterFunction(int id, double guessSelectivity, boolean usingXxHash) {
+        this(id, guessSelectivity, usingXxHash, false);
+    }
+
+    public SqlRuntimeFilterFunction(int id, double guessSelectivity, boolean usingXxHash, boolean pushMinMax) {
         super(
             "BLOOMFILTER",
             SqlKind.RUNTIME_FILTER,
@@ -44,6 +50,7 @@ public class SqlRuntimeFilterFunction extends SqlFunction {
         this.id = id;
         this.guessSelectivity = guessSelectivity;
         this.usingXxHash = usingXxHash;
+        this.pushMinMax = pushMinMax;
     }
 
     public int getId() {
@@ -58,8 +65,39 @@ public class SqlRuntimeFilterFunction extends SqlFunction {
         return usingXxHash;
     }
 
+    public boolean isPushMinMax() {
+        return pushMinMax;
+    }
+
+    /**
+     * Whether the min/max range of this runtime filter is unparsed together with the bloom filter,
+     * which is only done for a single column operand.
+     */
+    public boolean shouldUnparseMinMax(SqlCall call) {
+        return pushMinMax && call.operandCount() == 1 && call.operand(0) instanceof SqlIdentifier;
+    }
+
     @Override
     public void unparse(SqlWriter writer, SqlCall call, int leftPrec, int rightPrec) {
+        if (!shouldUnparseMinMax(call)) {
+            unparseBloomFilter(writer, call);
+            return;
+        }
+
+        // (BLOOMFILTER(?, ?, ?, col) AND col BETWEEN ? AND ?), place holders for min and max value follow the
+        // bloom filter ones
+        final SqlWriter.Frame frame = writer.startList("(", ")");
+        unparseBloomFilter(writer, call);
+        writer.keyword("AND");
+        call.operand(0).unparse(writer, 0, 0);
+        writer.keyword("BETWEEN");
+        writer.dynamicParam();
+        writer.keyword("AND");
+        writer.dynamicParam();
+        writer.endList(frame);
+    }
+
+    private void unparseBloomFilter(SqlWriter writer, SqlCall call) {
         writer.keyword("BLOOMFILTER");
         final SqlWriter.Frame frame =
             writer.startList(SqlWriter.FrameTypeEnum.FUN_CALL, "(", ")");
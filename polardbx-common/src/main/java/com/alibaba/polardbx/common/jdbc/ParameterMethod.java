@@ -17,6 +17,7 @@
 package com.alibaba.polardbx.common.jdbc;
 
 import com.alibaba.polardbx.common.utils.bloomfilter.BloomFilterInfo;
+import com.alibaba.polardbx.common.utils.bloomfilter.MinMaxFilterInfo;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -45,12 +46,15 @@ public enum ParameterMethod {
     setCharacterStream, setClob, setDate1, setDate2, setDouble, setFloat, setInt, setLong, setBit,
     setNull1, setNull2, setObject1, setObject2, setObject3, setRef, setShort, setString,
     setTime1, setTime2, setTimestamp1, setTimestamp2, setURL, setUnicodeStream, setTableName,
-    setBloomFilterData, setBloomFilterDataLength, setBloomFilterFuncNum, setDelegate;
+    setBloomFilterData, setBloomFilterDataLength, setBloomFilterFuncNum, setDelegate,
+    setRuntimeFilterMinValue, setRuntimeFilterMaxValue;
 
     public boolean isBloomFilterParameterMethod() {
         return (this == setBloomFilterData)
             || (this == setBloomFilterDataLength)
-            || (this == setBloomFilterFuncNum);
+            || (this == setBloomFilterFuncNum)
+            || (this == setRuntimeFilterMinValue)
+            || (this == setRuntimeFilterMaxValue);
     }
 
     public static void setParameters(PreparedStatement stmt, List<Object[]> methodAndArgsList) throws SQLException {
@@ -213,8 +217,33 @@ public enum ParameterMethod {
         case setBloomFilterFuncNum:
             stmt.setInt(index, ((BloomFilterInfo) args[2]).getHashFuncNum());
             break;
+        case setRuntimeFilterMinValue:
+            stmt.setLong(index, getRuntimeFilterBound((BloomFilterInfo) args[2], true));
+            break;
+        case setRuntimeFilterMaxValue:
+            stmt.setLong(index, getRuntimeFilterBound((BloomFilterInfo) args[2], false));
+            break;
         default:
             throw new IllegalArgumentException("Unhandled ParameterMethod:" + this.name());
         }
     }
+
+    /**
+     * Min/max are only pushed down for integer columns, an unknown bound degrades to the full long range
+     * so that the range predicate never filters a row the bloom filter would keep.
+     */
+    private static long getRuntimeFilterBound(BloomFilterInfo bloomFilterInfo, boolean min) {
+        List<MinMaxFilterInfo> minMaxFilterInfos = bloomFilterInfo.getMinMaxFilterInfoList();
+        if (minMaxFilterInfos != null && minMaxFilterInfos.size() == 1) {
+            MinMaxFilterInfo minMaxFilterInfo = minMaxFilterInfos.get(0);
+            if (minMaxFilterInfo.getType() == MinMaxFilterInfo.TYPE.INTEGER
+                || minMaxFilterInfo.getType() == MinMaxFilterInfo.TYPE.LONG) {
+                Long bound = min ? minMaxFilterInfo.getMinNumber() : minMaxFilterInfo.getMaxNumber();
+                if (bound != null) {
+                    return bound;
+                }
+            }
+        }
+        return min ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
 }
@@ -378,6 +378,24 @@ public class ConnectionParams {
         10000,
         true);
 
+    /**
+     * UPSERT/REPLACE 是否按分块执行冲突检查、分类和写入，限制单次查出的冲突行数量
+     */
+    public final static BooleanConfigParam DML_CHUNKED_DUPLICATE_CHECK = new BooleanConfigParam(
+        ConnectionProperties.DML_CHUNKED_DUPLICATE_CHECK,
+        false,
+        true);
+
+    /**
+     * UPSERT/REPLACE 分块执行时每块包含的最大行数
+     */
+    public final static IntConfigParam DML_DUPLICATE_CHECK_CHUNK_SIZE = new IntConfigParam(
+        ConnectionProperties.DML_DUPLICATE_CHECK_CHUNK_SIZE,
+        1,
+        Integer.MAX_VALUE,
+        1000,
+        true);
+
     /**
      * 是否使用 duplicated row count 作为 INSERT IGNORE 的 affected rows
      */
@@ -599,6 +617,11 @@ public class ConnectionParams {
             true,
             true);
 
+    public static final BooleanConfigParam LOAD_DATA_PARALLEL_PARSE =
+        new BooleanConfigParam(ConnectionProperties.LOAD_DATA_PARALLEL_PARSE,
+            false,
+            true);
+
     public static final StringConfigParam LOAD_DATA_HANDLE_EMPTY_CHAR =
         new StringConfigParam(ConnectionProperties.LOAD_DATA_HANDLE_EMPTY_CHAR,
             PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE.toString(),
@@ -724,6 +747,25 @@ public class ConnectionParams {
         false,
         false);
 
+    public static final BooleanConfigParam ENABLE_GLOBAL_TX_LOG_GROUP_COMMIT = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_GLOBAL_TX_LOG_GROUP_COMMIT,
+        false,
+        true);
+
+    public static final IntConfigParam GLOBAL_TX_LOG_GROUP_COMMIT_WINDOW_US = new IntConfigParam(
+        ConnectionProperties.GLOBAL_TX_LOG_GROUP_COMMIT_WINDOW_US,
+        0,
+        100000,
+        500,
+        true);
+
+    public static final IntConfigParam GLOBAL_TX_LOG_GROUP_COMMIT_MAX_BATCH = new IntConfigParam(
+        ConnectionProperties.GLOBAL_TX_LOG_GROUP_COMMIT_MAX_BATCH,
+        1,
+        1024,
+        64,
+        true);
+
     public static final BooleanConfigParam TRUNCATE_TABLE_WITH_GSI = new BooleanConfigParam(
         ConnectionProperties.TRUNCATE_TABLE_WITH_GSI,
         false,
@@ -851,6 +893,14 @@ public class ConnectionParams {
         new LongConfigParam(ConnectionProperties.PHYSICAL_TABLE_START_SPLIT_SIZE,
             1L, Long.MAX_VALUE, 1000000L, false);
 
+    /**
+     * split physical table by primary key value range for backfill when innodb btree sampling is off
+     */
+    public static final BooleanConfigParam ENABLE_BACKFILL_PK_RANGE_SPLIT =
+        new BooleanConfigParam(ConnectionProperties.ENABLE_BACKFILL_PK_RANGE_SPLIT,
+            true,
+            false);
+
     /**
      * the parallelism for backfill
      */
@@ -1184,6 +1234,25 @@ public class ConnectionParams {
         4,
         false);
 
+    public static final BooleanConfigParam ENABLE_FASTCHECKER_RANGE_HASH = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_FASTCHECKER_RANGE_HASH,
+        true,
+        false);
+
+    public static final IntConfigParam FASTCHECKER_RANGE_HASH_FANOUT = new IntConfigParam(
+        ConnectionProperties.FASTCHECKER_RANGE_HASH_FANOUT,
+        2,
+        1024,
+        16,
+        false);
+
+    public static final IntConfigParam FASTCHECKER_RANGE_HASH_MAX_DEPTH = new IntConfigParam(
+        ConnectionProperties.FASTCHECKER_RANGE_HASH_MAX_DEPTH,
+        1,
+        16,
+        4,
+        false);
+
     public static final StringConfigParam GSI_BACKFILL_POSITION_MARK = new StringConfigParam(
         ConnectionProperties.GSI_BACKFILL_POSITION_MARK,
         "",
@@ -1387,6 +1456,18 @@ public class ConnectionParams {
     public static final IntConfigParam PARTIAL_AGG_BUCKET_THRESHOLD = new IntConfigParam(
         ConnectionProperties.PARTIAL_AGG_BUCKET_THRESHOLD, 0, Integer.MAX_VALUE, 64, true);
 
+    public static final BooleanConfigParam ENABLE_ADAPTIVE_PARTIAL_AGG = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_ADAPTIVE_PARTIAL_AGG, false, true);
+
+    public static final IntConfigParam PARTIAL_AGG_BYPASS_MIN_ROWS = new IntConfigParam(
+        ConnectionProperties.PARTIAL_AGG_BYPASS_MIN_ROWS, 1, Integer.MAX_VALUE, 100000, true);
+
+    public static final FloatConfigParam PARTIAL_AGG_BYPASS_REDUCTION_RATIO = new FloatConfigParam(
+        ConnectionProperties.PARTIAL_AGG_BYPASS_REDUCTION_RATIO, 0f, 1f, 0.1f, true);
+
+    public static final LongConfigParam PARTIAL_AGG_BYPASS_BUFFER_SIZE = new LongConfigParam(
+        ConnectionProperties.PARTIAL_AGG_BYPASS_BUFFER_SIZE, 1L, Long.MAX_VALUE, 16L * 1024 * 1024, true);
+
     public static final IntConfigParam PARALLELISM = new IntConfigParam(
         ConnectionProperties.PARALLELISM, -1, Integer.MAX_VALUE, -1, true);
 
@@ -1750,6 +1831,9 @@ public class ConnectionParams {
     public static final BooleanConfigParam MPP_TASK_LOCAL_BUFFER_ENABLED = new BooleanConfigParam(
         ConnectionProperties.MPP_TASK_LOCAL_BUFFER_ENABLED, true, true);
 
+    public static final StringConfigParam MPP_EXCHANGE_COMPRESSION = new StringConfigParam(
+        ConnectionProperties.MPP_EXCHANGE_COMPRESSION, "NONE", true);
+
     public static final BooleanConfigParam MPP_QUERY_PHASED_EXEC_SCHEDULE_ENABLE = new BooleanConfigParam(
         ConnectionProperties.MPP_QUERY_PHASED_EXEC_SCHEDULE_ENABLE, false, true);
 
@@ -1941,6 +2025,9 @@ public class ConnectionParams {
     public static final BooleanConfigParam ENABLE_PARAMETER_PLAN = new BooleanConfigParam(
         ConnectionProperties.ENABLE_PARAMETER_PLAN, true, true);
 
+    public static final BooleanConfigParam ENABLE_LEXER_PARAMETERIZE = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_LEXER_PARAMETERIZE, true, true);
+
     public static final BooleanConfigParam ENABLE_CROSS_VIEW_OPTIMIZE = new BooleanConfigParam(
         ConnectionProperties.ENABLE_CROSS_VIEW_OPTIMIZE, true, true);
 
@@ -2208,6 +2295,19 @@ public class ConnectionParams {
     public static final IntConfigParam WAIT_BLOOM_FILTER_TIMEOUT_MS = new IntConfigParam(
         ConnectionProperties.WAIT_BLOOM_FILTER_TIMEOUT_MS, 1, Integer.MAX_VALUE, 60000, true);
 
+    /**
+     * When the bloom filter is not ready within WAIT_BLOOM_FILTER_TIMEOUT_MS, scan storage with a pass-through
+     * filter instead of failing the query.
+     */
+    public static final BooleanConfigParam ENABLE_BLOOM_FILTER_WAIT_FALLBACK = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_BLOOM_FILTER_WAIT_FALLBACK, false, true);
+
+    /**
+     * Push the min/max range of integer runtime filters into the physical sql together with the bloom filter.
+     */
+    public static final BooleanConfigParam ENABLE_PUSH_RUNTIME_FILTER_MIN_MAX = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_PUSH_RUNTIME_FILTER_MIN_MAX, false, true);
+
     public static final IntConfigParam RESUME_SCAN_STEP_SIZE = new IntConfigParam(
         ConnectionProperties.RESUME_SCAN_STEP_SIZE, 1, Integer.MAX_VALUE, 512, true);
 
@@ -2232,6 +2332,9 @@ public class ConnectionParams {
     public static final BooleanConfigParam ENABLE_DRIVING_STREAM_SCAN = new BooleanConfigParam(
         ConnectionProperties.ENABLE_DRIVING_STREAM_SCAN, true, true);
 
+    public static final BooleanConfigParam ENABLE_XROW_COLUMNAR_DECODE = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_XROW_COLUMNAR_DECODE, true, true);
+
     public static final BooleanConfigParam ENABLE_SIMPLIFY_TRACE_SQL = new BooleanConfigParam(
         ConnectionProperties.ENABLE_SIMPLIFY_TRACE_SQL, false, true);
 
@@ -2635,6 +2738,68 @@ public class ConnectionParams {
         ConnectionProperties.ENABLE_FILE_STORE_CHECK_TABLE, false, true);
     public static final BooleanConfigParam ENABLE_OSS_BUFFER_POOL = new BooleanConfigParam(
         ConnectionProperties.ENABLE_OSS_BUFFER_POOL, false, true);
+    public static final LongConfigParam OSS_BUFFER_POOL_SIZE = new LongConfigParam(
+        ConnectionProperties.OSS_BUFFER_POOL_SIZE, 0L, Long.MAX_VALUE, Runtime.getRuntime().maxMemory() / 20, true);
+    public static final BooleanConfigParam OSS_BUFFER_POOL_OFF_HEAP = new BooleanConfigParam(
+        ConnectionProperties.OSS_BUFFER_POOL_OFF_HEAP, false, true);
+
+    public static final BooleanConfigParam ENABLE_DIRECT_CHUNK_ENCODING = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_DIRECT_CHUNK_ENCODING, true, true);
+
+    public static final BooleanConfigParam ENABLE_METADB_CONFIG_PUSH = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_METADB_CONFIG_PUSH, true, true);
+
+    public static final IntConfigParam METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH = new IntConfigParam(
+        ConnectionProperties.METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH, 1000, 600000, 5000, true);
+
+    public static final BooleanConfigParam ENABLE_ADAPTIVE_ADMISSION = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_ADAPTIVE_ADMISSION, false, true);
+
+    public static final IntConfigParam ADAPTIVE_ADMISSION_TP_LATENCY_TARGET = new IntConfigParam(
+        ConnectionProperties.ADAPTIVE_ADMISSION_TP_LATENCY_TARGET, 1, 60000, 100, true);
+
+    public static final IntConfigParam ADAPTIVE_ADMISSION_CPU_THRESHOLD = new IntConfigParam(
+        ConnectionProperties.ADAPTIVE_ADMISSION_CPU_THRESHOLD, 1, 100, 85, true);
+
+    public static final IntConfigParam ADAPTIVE_ADMISSION_MEMORY_THRESHOLD = new IntConfigParam(
+        ConnectionProperties.ADAPTIVE_ADMISSION_MEMORY_THRESHOLD, 1, 100, 85, true);
+
+    public static final IntConfigParam ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY = new IntConfigParam(
+        ConnectionProperties.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY, 1, 4096, 32, true);
+
+    public static final IntConfigParam ADAPTIVE_ADMISSION_WAIT_TIMEOUT = new IntConfigParam(
+        ConnectionProperties.ADAPTIVE_ADMISSION_WAIT_TIMEOUT, 0, 3600000, 60000, true);
+
+    public static final BooleanConfigParam ENABLE_RESULT_CACHE = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_RESULT_CACHE, false, true);
+
+    public static final StringConfigParam RESULT_CACHE_TABLES = new StringConfigParam(
+        ConnectionProperties.RESULT_CACHE_TABLES, "", true);
+
+    public static final LongConfigParam RESULT_CACHE_SIZE = new LongConfigParam(
+        ConnectionProperties.RESULT_CACHE_SIZE, 0L, Long.MAX_VALUE, 256L * 1024 * 1024, true);
+
+    public static final LongConfigParam RESULT_CACHE_MAX_ENTRY_SIZE = new LongConfigParam(
+        ConnectionProperties.RESULT_CACHE_MAX_ENTRY_SIZE, 0L, Integer.MAX_VALUE + 0L, 8L * 1024 * 1024, true);
+
+    public static final IntConfigParam RESULT_CACHE_TTL = new IntConfigParam(
+        ConnectionProperties.RESULT_CACHE_TTL, 0, Integer.MAX_VALUE, 60000, true);
+
+    public static final IntConfigParam HOT_SPLIT_PARTITION_HEAT_RATIO = new IntConfigParam(
+        ConnectionProperties.HOT_SPLIT_PARTITION_HEAT_RATIO, 100, 100000, 300, true);
+
+    public static final LongConfigParam HOT_SPLIT_PARTITION_MIN_HEAT = new LongConfigParam(
+        ConnectionProperties.HOT_SPLIT_PARTITION_MIN_HEAT, 0L, Long.MAX_VALUE, 10000L, true);
+
+    public static final IntConfigParam HOT_SPLIT_PARTITION_HISTORY_WINDOWS = new IntConfigParam(
+        ConnectionProperties.HOT_SPLIT_PARTITION_HISTORY_WINDOWS, 1, 60, 30, true);
+
+    public static final BooleanConfigParam ENABLE_MPP_STREAMING_EXCHANGE = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_MPP_STREAMING_EXCHANGE, false, true);
+
+    public static final LongConfigParam MPP_STREAMING_EXCHANGE_WINDOW_SIZE = new LongConfigParam(
+        ConnectionProperties.MPP_STREAMING_EXCHANGE_WINDOW_SIZE, 64 * 1024L, 1024 * 1024 * 1024L,
+        4 * 1024 * 1024L, true);
     public static final BooleanConfigParam ENABLE_OSS_DELAY_MATERIALIZATION = new BooleanConfigParam(
         ConnectionProperties.ENABLE_OSS_DELAY_MATERIALIZATION, false, true);
     public static final BooleanConfigParam ENABLE_OSS_ZERO_COPY = new BooleanConfigParam(
@@ -2655,6 +2820,8 @@ public class ConnectionParams {
         ConnectionProperties.BLOCK_BUILDER_CAPACITY, 1, Integer.MAX_VALUE, 4, true);
     public static BooleanConfigParam ENABLE_HASH_TABLE_BLOOM_FILTER = new BooleanConfigParam(
         ConnectionProperties.ENABLE_HASH_TABLE_BLOOM_FILTER, true, true);
+    public static final BooleanConfigParam ENABLE_OFF_HEAP_HASH_TABLE = new BooleanConfigParam(
+        ConnectionProperties.ENABLE_OFF_HEAP_HASH_TABLE, false, true);
     public static final BooleanConfigParam ENABLE_COMMON_SUB_EXPRESSION_TREE_ELIMINATE = new BooleanConfigParam(
         ConnectionProperties.ENABLE_COMMON_SUB_EXPRESSION_TREE_ELIMINATE, false, true);
     public static final StringConfigParam OSS_FILE_ORDER = new StringConfigParam(ConnectionProperties.OSS_FILE_ORDER,
@@ -146,6 +146,16 @@ public class ConnectionProperties {
      */
     public static final String DML_GET_DUP_IN_SIZE = "DML_GET_DUP_IN_SIZE";
 
+    /**
+     * UPSERT/REPLACE 是否按分块执行冲突检查、分类和写入，限制单次查出的冲突行数量
+     */
+    public static final String DML_CHUNKED_DUPLICATE_CHECK = "DML_CHUNKED_DUPLICATE_CHECK";
+
+    /**
+     * UPSERT/REPLACE 分块执行时每块包含的最大行数
+     */
+    public static final String DML_DUPLICATE_CHECK_CHUNK_SIZE = "DML_DUPLICATE_CHECK_CHUNK_SIZE";
+
     /**
      * 是否使用 duplicated row count 作为 INSERT IGNORE 的 affected rows
      */
@@ -304,6 +314,11 @@ public class ConnectionProperties {
 
     public static final String LOAD_DATA_USE_BATCH_MODE = "LOAD_DATA_USE_BATCH_MODE";
 
+    /**
+     * load data 读取线程只负责切分行，字段的解析由多个写入线程并行完成
+     */
+    public static final String LOAD_DATA_PARALLEL_PARSE = "LOAD_DATA_PARALLEL_PARSE";
+
     public static final String SQL_DELAY_CUTOFF = "SQL_DELAY_CUTOFF";
 
     public static final String DB_PRIV = "DB_PRIV";
@@ -601,6 +616,26 @@ public class ConnectionProperties {
 
     public static final String PARTIAL_AGG_BUCKET_THRESHOLD = "PARTIAL_AGG_BUCKET_THRESHOLD";
 
+    /**
+     * Let the partial hash agg stop merging groups at runtime once its observed reduction is too small
+     */
+    public static final String ENABLE_ADAPTIVE_PARTIAL_AGG = "ENABLE_ADAPTIVE_PARTIAL_AGG";
+
+    /**
+     * Number of input rows the partial hash agg observes before it may switch to pass-through
+     */
+    public static final String PARTIAL_AGG_BYPASS_MIN_ROWS = "PARTIAL_AGG_BYPASS_MIN_ROWS";
+
+    /**
+     * Switch the partial hash agg to pass-through when 1 - groups / input rows drops below this ratio
+     */
+    public static final String PARTIAL_AGG_BYPASS_REDUCTION_RATIO = "PARTIAL_AGG_BYPASS_REDUCTION_RATIO";
+
+    /**
+     * Bytes of input the pass-through partial hash agg buffers in memory before spilling them
+     */
+    public static final String PARTIAL_AGG_BYPASS_BUFFER_SIZE = "PARTIAL_AGG_BYPASS_BUFFER_SIZE";
+
     public static final String ENABLE_PUSH_JOIN = "ENABLE_PUSH_JOIN";
 
     public static final String ENABLE_PUSH_PROJECT = "ENABLE_PUSH_PROJECT";
@@ -672,6 +707,18 @@ public class ConnectionProperties {
 
     public static final String TSO_OMIT_GLOBAL_TX_LOG = "TSO_OMIT_GLOBAL_TX_LOG";
 
+    /**
+     * Coalesce concurrent TSO commit logs on the same primary group into one multi-row insert
+     */
+    public static final String ENABLE_GLOBAL_TX_LOG_GROUP_COMMIT = "ENABLE_GLOBAL_TX_LOG_GROUP_COMMIT";
+
+    /**
+     * Max time in microseconds the first commit log of a group waits for others to join
+     */
+    public static final String GLOBAL_TX_LOG_GROUP_COMMIT_WINDOW_US = "GLOBAL_TX_LOG_GROUP_COMMIT_WINDOW_US";
+
+    public static final String GLOBAL_TX_LOG_GROUP_COMMIT_MAX_BATCH = "GLOBAL_TX_LOG_GROUP_COMMIT_MAX_BATCH";
+
     public static final String TRUNCATE_TABLE_WITH_GSI = "TRUNCATE_TABLE_WITH_GSI";
 
     public static final String ALLOW_ADD_GSI = "ALLOW_ADD_GSI";
@@ -752,6 +799,11 @@ public class ConnectionProperties {
      */
     public static final String PHYSICAL_TABLE_START_SPLIT_SIZE = "PHYSICAL_TABLE_START_SPLIT_SIZE";
 
+    /**
+     * to split physical table with single integer primary key by its value range when innodb btree sampling is off
+     */
+    public static final String ENABLE_BACKFILL_PK_RANGE_SPLIT = "ENABLE_BACKFILL_PK_RANGE_SPLIT";
+
     /**
      * the parallelism for backfill
      */
@@ -794,6 +846,22 @@ public class ConnectionProperties {
 
     public static final String GSI_FASTCHECKER_PARALLELISM = "GSI_FASTCHECKER_PARALLELISM";
 
+    /**
+     * hash primary key ranges instead of whole physical tables in fastchecker,
+     * and narrow down mismatching ranges level by level
+     */
+    public static final String ENABLE_FASTCHECKER_RANGE_HASH = "ENABLE_FASTCHECKER_RANGE_HASH";
+
+    /**
+     * number of sub ranges a mismatching range is split into
+     */
+    public static final String FASTCHECKER_RANGE_HASH_FANOUT = "FASTCHECKER_RANGE_HASH_FANOUT";
+
+    /**
+     * max levels of range splitting when narrowing down mismatching ranges
+     */
+    public static final String FASTCHECKER_RANGE_HASH_MAX_DEPTH = "FASTCHECKER_RANGE_HASH_MAX_DEPTH";
+
     public static final String SCALEOUT_DML_PUSHDOWN_OPTIMIZATION = "SCALEOUT_DML_PUSHDOWN_OPTIMIZATION";
 
     public static final String SCALEOUT_DML_PUSHDOWN_BATCH_LIMIT = "SCALEOUT_DML_PUSHDOWN_BATCH_LIMIT";
@@ -1103,6 +1171,11 @@ public class ConnectionProperties {
 
     public static final String MPP_EXCHANGE_CLIENT_THREAD_SIZE = "MPP_EXCHANGE_CLIENT_THREAD_SIZE";
 
+    /**
+     * port of streaming exchange server is mpp http port plus this offset, 0 means disabled
+     */
+    public static final String MPP_EXCHANGE_STREAM_PORT_OFFSET = "MPP_EXCHANGE_STREAM_PORT_OFFSET";
+
     public static final String MPP_HTTP_RESPONSE_THREAD_SIZE = "MPP_HTTP_RESPONSE_THREAD_SIZE";
 
     public static final String MPP_HTTP_TIMEOUT_THREAD_SIZE = "MPP_HTTP_TIMEOUT_THREAD_SIZE";
@@ -1191,6 +1264,11 @@ public class ConnectionProperties {
 
     public static final String MPP_SPLIT_RUN_QUANTA = "MPP_SPLIT_RUN_QUANTA";
 
+    /**
+     * cpu share of a split level is this times of the share of the next lower level
+     */
+    public static final String MPP_SPLIT_LEVEL_TIME_MULTIPLIER = "MPP_SPLIT_LEVEL_TIME_MULTIPLIER";
+
     public static final String MPP_STATUS_REFRESH_MAX_WAIT = "MPP_STATUS_REFRESH_MAX_WAIT";
 
     public static final String MPP_INFO_UPDATE_INTERVAL = "MPP_INFO_UPDATE_INTERVAL";
@@ -1207,6 +1285,11 @@ public class ConnectionProperties {
 
     public static final String MPP_TASK_LOCAL_BUFFER_ENABLED = "MPP_TASK_LOCAL_BUFFER_ENABLED";
 
+    /**
+     * Page compression of mpp exchange: NONE, LZ4, ZSTD or ADAPTIVE
+     */
+    public static final String MPP_EXCHANGE_COMPRESSION = "MPP_EXCHANGE_COMPRESSION";
+
     public static final String MPP_TABLESCAN_DS_MAX_SIZE = "MPP_TABLESCAN_DS_MAX_SIZE";
 
     public static final String MPP_TABLESCAN_CONNECTION_STRATEGY = "MPP_TABLESCAN_CONNECTION_STRATEGY";
@@ -1298,6 +1381,21 @@ public class ConnectionProperties {
 
     public static final String MPP_MAX_SPILL_FD_THRESHOLD = "MPP_MAX_SPILL_FD_THRESHOLD";
 
+    /**
+     * Page compression of spill files: NONE, LZ4, ZSTD or ADAPTIVE
+     */
+    public static final String MPP_SPILL_COMPRESSION = "MPP_SPILL_COMPRESSION";
+
+    /**
+     * Encode constant and low cardinality blocks of spill files as run-length or dictionary blocks
+     */
+    public static final String MPP_SPILL_LOW_CARDINALITY_ENCODING = "MPP_SPILL_LOW_CARDINALITY_ENCODING";
+
+    /**
+     * Buffer size of spill file writer and reader, larger buffer means fewer and bigger io requests
+     */
+    public static final String MPP_SPILL_IO_BUFFER_SIZE = "MPP_SPILL_IO_BUFFER_SIZE";
+
     public static final String HYBRID_HASH_JOIN_BUCKET_NUM = "HYBRID_HASH_JOIN_BUCKET_NUM";
 
     public static final String HYBRID_HASH_JOIN_RECURSIVE_BUCKET_NUM = "HYBRID_HASH_JOIN_RECURSIVE_BUCKET_NUM";
@@ -1312,6 +1410,12 @@ public class ConnectionProperties {
 
     public static final String ENABLE_PARAMETER_PLAN = "ENABLE_PARAMETER_PLAN";
 
+    /**
+     * Parameterize simple DML/DQL with a token-stream pass over the lexer and reuse the parameterized template
+     * when the token shape has been seen before, without building the AST.
+     */
+    public static final String ENABLE_LEXER_PARAMETERIZE = "ENABLE_LEXER_PARAMETERIZE";
+
     public static final String ENABLE_CROSS_VIEW_OPTIMIZE = "ENABLE_CROSS_VIEW_OPTIMIZE";
 
     public static final String MPP_GLOBAL_MEMORY_LIMIT_RATIO = "MPP_GLOBAL_MEMORY_LIMIT_RATIO";
@@ -1460,6 +1564,10 @@ public class ConnectionProperties {
 
     public static final String WAIT_BLOOM_FILTER_TIMEOUT_MS = "WAIT_BLOOM_FILTER_TIMEOUT_MS";
 
+    public static final String ENABLE_BLOOM_FILTER_WAIT_FALLBACK = "ENABLE_BLOOM_FILTER_WAIT_FALLBACK";
+
+    public static final String ENABLE_PUSH_RUNTIME_FILTER_MIN_MAX = "ENABLE_PUSH_RUNTIME_FILTER_MIN_MAX";
+
     public static final String RESUME_SCAN_STEP_SIZE = "RESUME_SCAN_STEP_SIZE";
 
     public static final String ENABLE_SPILL_OUTPUT = "ENABLE_SPILL_OUTPUT";
@@ -1480,6 +1588,11 @@ public class ConnectionProperties {
 
     public static final String ENABLE_DRIVING_STREAM_SCAN = "ENABLE_DRIVING_STREAM_SCAN";
 
+    /**
+     * Decode X-Protocol rows into chunks with type-specialized per-column decoders in table scan
+     */
+    public static final String ENABLE_XROW_COLUMNAR_DECODE = "ENABLE_XROW_COLUMNAR_DECODE";
+
     public static final String ENABLE_SIMPLIFY_TRACE_SQL = "ENABLE_SIMPLIFY_TRACE_SQL";
 
     public static final String CALCULATE_ACTUAL_SHARD_COUNT_FOR_COST = "CALCULATE_ACTUAL_SHARD_COUNT_FOR_COST";
@@ -1727,6 +1840,109 @@ public class ConnectionProperties {
 
     public static final String ENABLE_FILE_STORE_CHECK_TABLE = "ENABLE_FILE_STORE_CHECK_TABLE";
     public static final String ENABLE_OSS_BUFFER_POOL = "ENABLE_OSS_BUFFER_POOL";
+    /**
+     * max size in bytes of the orc column block cache used by oss scan, 5% of the max heap by default
+     */
+    public static final String OSS_BUFFER_POOL_SIZE = "OSS_BUFFER_POOL_SIZE";
+    /**
+     * store cached orc column blocks serialized in direct memory instead of on heap
+     */
+    public static final String OSS_BUFFER_POOL_OFF_HEAP = "OSS_BUFFER_POOL_OFF_HEAP";
+
+    /**
+     * encode chunk results into text protocol packets directly from blocks
+     */
+    public static final String ENABLE_DIRECT_CHUNK_ENCODING = "ENABLE_DIRECT_CHUNK_ENCODING";
+
+    /**
+     * push changed metadb config data ids to all CN nodes, instead of waiting for them to scan op versions
+     */
+    public static final String ENABLE_METADB_CONFIG_PUSH = "ENABLE_METADB_CONFIG_PUSH";
+
+    /**
+     * interval of scanning op versions of metadb config data ids when push is enabled, unit: ms
+     */
+    public static final String METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH = "METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH";
+
+    /**
+     * queue AP queries adaptively by TP latency and CPU/memory pressure of this node
+     */
+    public static final String ENABLE_ADAPTIVE_ADMISSION = "ENABLE_ADAPTIVE_ADMISSION";
+
+    /**
+     * target of average TP query latency kept by adaptive admission, unit: ms
+     */
+    public static final String ADAPTIVE_ADMISSION_TP_LATENCY_TARGET = "ADAPTIVE_ADMISSION_TP_LATENCY_TARGET";
+
+    /**
+     * CPU usage percentage of this node above which AP admission is throttled
+     */
+    public static final String ADAPTIVE_ADMISSION_CPU_THRESHOLD = "ADAPTIVE_ADMISSION_CPU_THRESHOLD";
+
+    /**
+     * memory usage percentage of the global memory pool above which AP admission is throttled
+     */
+    public static final String ADAPTIVE_ADMISSION_MEMORY_THRESHOLD = "ADAPTIVE_ADMISSION_MEMORY_THRESHOLD";
+
+    /**
+     * max number of concurrent AP queries on this node allowed by adaptive admission
+     */
+    public static final String ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY = "ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY";
+
+    /**
+     * max time an AP query waits in the admission queue before it fails, unit: ms
+     */
+    public static final String ADAPTIVE_ADMISSION_WAIT_TIMEOUT = "ADAPTIVE_ADMISSION_WAIT_TIMEOUT";
+
+    /**
+     * serve repeated read-only queries from the cross-query result cache, tables must be listed in RESULT_CACHE_TABLES
+     */
+    public static final String ENABLE_RESULT_CACHE = "ENABLE_RESULT_CACHE";
+
+    /**
+     * comma separated tables whose query results can be cached, in form of db.tb or db.*
+     */
+    public static final String RESULT_CACHE_TABLES = "RESULT_CACHE_TABLES";
+
+    /**
+     * max size in bytes of the off-heap result cache of this node
+     */
+    public static final String RESULT_CACHE_SIZE = "RESULT_CACHE_SIZE";
+
+    /**
+     * results larger than this size in bytes are not cached
+     */
+    public static final String RESULT_CACHE_MAX_ENTRY_SIZE = "RESULT_CACHE_MAX_ENTRY_SIZE";
+
+    /**
+     * max lifetime of a cached result, bounds the staleness caused by writes not seen by any CN, unit: ms
+     */
+    public static final String RESULT_CACHE_TTL = "RESULT_CACHE_TTL";
+
+    /**
+     * a partition group is hot when its heat exceeds this percentage of the average partition group heat
+     */
+    public static final String HOT_SPLIT_PARTITION_HEAT_RATIO = "HOT_SPLIT_PARTITION_HEAT_RATIO";
+
+    /**
+     * minimal heat of a hot partition group, unit: rows read and written per minute
+     */
+    public static final String HOT_SPLIT_PARTITION_MIN_HEAT = "HOT_SPLIT_PARTITION_MIN_HEAT";
+
+    /**
+     * number of one-minute heatmap windows used to estimate partition heat
+     */
+    public static final String HOT_SPLIT_PARTITION_HISTORY_WINDOWS = "HOT_SPLIT_PARTITION_HISTORY_WINDOWS";
+
+    /**
+     * fetch pages of mpp exchange through persistent streaming connections instead of http polling
+     */
+    public static final String ENABLE_MPP_STREAMING_EXCHANGE = "ENABLE_MPP_STREAMING_EXCHANGE";
+
+    /**
+     * bytes a streaming exchange source may send ahead of consumption, unit: byte
+     */
+    public static final String MPP_STREAMING_EXCHANGE_WINDOW_SIZE = "MPP_STREAMING_EXCHANGE_WINDOW_SIZE";
     public static final String ENABLE_OSS_DELAY_MATERIALIZATION = "ENABLE_OSS_DELAY_MATERIALIZATION";
     public static final String ENABLE_OSS_ZERO_COPY = "ENABLE_OSS_ZERO_COPY";
     public static final String ENABLE_OSS_COMPATIBLE = "ENABLE_OSS_COMPATIBLE";
@@ -1739,6 +1955,10 @@ public class ConnectionProperties {
     public static final String ENABLE_UNIQUE_HASH_KEY = "ENABLE_UNIQUE_HASH_KEY";
     public static final String BLOCK_BUILDER_CAPACITY = "BLOCK_BUILDER_CAPACITY";
     public static final String ENABLE_HASH_TABLE_BLOOM_FILTER = "ENABLE_HASH_TABLE_BLOOM_FILTER";
+    /**
+     * Build the join hash table (buckets, position links and packed int/long keys) off the java heap
+     */
+    public static final String ENABLE_OFF_HEAP_HASH_TABLE = "ENABLE_OFF_HEAP_HASH_TABLE";
     public static final String ENABLE_COMMON_SUB_EXPRESSION_TREE_ELIMINATE =
         "ENABLE_COMMON_SUB_EXPRESSION_TREE_ELIMINATE";
     public static final String OSS_FILE_ORDER = "OSS_FILE_ORDER";
@@ -98,6 +98,67 @@ public class DynamicConfig {
                 maxPartitionColumnCount = parseValue(value, Integer.class, maxPartitionColumnCountDefault);
                 break;
 
+            case ConnectionProperties.OSS_BUFFER_POOL_SIZE:
+                ossBufferPoolSize = parseValue(value, Long.class, ossBufferPoolSizeDefault);
+                break;
+
+            case ConnectionProperties.OSS_BUFFER_POOL_OFF_HEAP:
+                ossBufferPoolOffHeap = parseValue(value, Boolean.class, ossBufferPoolOffHeapDefault);
+                break;
+
+            case ConnectionProperties.ENABLE_DIRECT_CHUNK_ENCODING:
+                enableDirectChunkEncoding = parseValue(value, Boolean.class, enableDirectChunkEncodingDefault);
+                break;
+
+            case ConnectionProperties.ENABLE_METADB_CONFIG_PUSH:
+                enableMetaDbConfigPush = parseValue(value, Boolean.class, enableMetaDbConfigPushDefault);
+                break;
+
+            case ConnectionProperties.METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH:
+                metaDbConfigScanIntervalWithPush =
+                    parseValue(value, Integer.class, metaDbConfigScanIntervalWithPushDefault);
+                break;
+
+            case ConnectionProperties.ENABLE_ADAPTIVE_ADMISSION:
+                enableAdaptiveAdmission = parseValue(value, Boolean.class, enableAdaptiveAdmissionDefault);
+                break;
+
+            case ConnectionProperties.ADAPTIVE_ADMISSION_TP_LATENCY_TARGET:
+                admissionTpLatencyTarget = parseValue(value, Integer.class, admissionTpLatencyTargetDefault);
+                break;
+
+            case ConnectionProperties.ADAPTIVE_ADMISSION_CPU_THRESHOLD:
+                admissionCpuThreshold = parseValue(value, Integer.class, admissionCpuThresholdDefault);
+                break;
+
+            case ConnectionProperties.ADAPTIVE_ADMISSION_MEMORY_THRESHOLD:
+                admissionMemoryThreshold = parseValue(value, Integer.class, admissionMemoryThresholdDefault);
+                break;
+
+            case ConnectionProperties.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY:
+                admissionMaxApConcurrency = parseValue(value, Integer.class, admissionMaxApConcurrencyDefault);
+                break;
+
+            case ConnectionProperties.ADAPTIVE_ADMISSION_WAIT_TIMEOUT:
+                admissionWaitTimeout = parseValue(value, Integer.class, admissionWaitTimeoutDefault);
+                break;
+
+            case ConnectionProperties.RESULT_CACHE_TABLES:
+                resultCacheTables = parseValue(value, String.class, resultCacheTablesDefault);
+                break;
+
+            case ConnectionProperties.RESULT_CACHE_SIZE:
+                resultCacheSize = parseValue(value, Long.class, resultCacheSizeDefault);
+                break;
+
+            case ConnectionProperties.RESULT_CACHE_MAX_ENTRY_SIZE:
+                resultCacheMaxEntrySize = parseValue(value, Long.class, resultCacheMaxEntrySizeDefault);
+                break;
+
+            case ConnectionProperties.RESULT_CACHE_TTL:
+                resultCacheTtl = parseValue(value, Integer.class, resultCacheTtlDefault);
+                break;
+
             case ConnectionProperties.MAX_SESSION_PREPARED_STMT_COUNT:
                 maxSessionPreparedStmtCount = parseValue(value, Integer.class, maxSessionPreparedStmtCountDefault);
                 break;
@@ -304,6 +365,127 @@ public class DynamicConfig {
         return maxPartitionColumnCount;
     }
 
+    private static final long ossBufferPoolSizeDefault =
+        parseValue(ConnectionParams.OSS_BUFFER_POOL_SIZE.getDefault(), Long.class,
+            Runtime.getRuntime().maxMemory() / 20);
+    private volatile long ossBufferPoolSize = ossBufferPoolSizeDefault;
+
+    public long getOssBufferPoolSize() {
+        return ossBufferPoolSize;
+    }
+
+    private static final boolean ossBufferPoolOffHeapDefault =
+        parseValue(ConnectionParams.OSS_BUFFER_POOL_OFF_HEAP.getDefault(), Boolean.class, false);
+    private volatile boolean ossBufferPoolOffHeap = ossBufferPoolOffHeapDefault;
+
+    public boolean isOssBufferPoolOffHeap() {
+        return ossBufferPoolOffHeap;
+    }
+
+    private static final boolean enableDirectChunkEncodingDefault =
+        parseValue(ConnectionParams.ENABLE_DIRECT_CHUNK_ENCODING.getDefault(), Boolean.class, true);
+    private volatile boolean enableDirectChunkEncoding = enableDirectChunkEncodingDefault;
+
+    public boolean enableDirectChunkEncoding() {
+        return enableDirectChunkEncoding;
+    }
+
+    private static final boolean enableMetaDbConfigPushDefault =
+        parseValue(ConnectionParams.ENABLE_METADB_CONFIG_PUSH.getDefault(), Boolean.class, true);
+    private volatile boolean enableMetaDbConfigPush = enableMetaDbConfigPushDefault;
+
+    public boolean enableMetaDbConfigPush() {
+        return enableMetaDbConfigPush;
+    }
+
+    private static final int metaDbConfigScanIntervalWithPushDefault =
+        parseValue(ConnectionParams.METADB_CONFIG_SCAN_INTERVAL_WITH_PUSH.getDefault(), Integer.class, 5000);
+    private volatile int metaDbConfigScanIntervalWithPush = metaDbConfigScanIntervalWithPushDefault;
+
+    public int getMetaDbConfigScanIntervalWithPush() {
+        return metaDbConfigScanIntervalWithPush;
+    }
+
+    private static final boolean enableAdaptiveAdmissionDefault =
+        parseValue(ConnectionParams.ENABLE_ADAPTIVE_ADMISSION.getDefault(), Boolean.class, false);
+    private volatile boolean enableAdaptiveAdmission = enableAdaptiveAdmissionDefault;
+
+    public boolean enableAdaptiveAdmission() {
+        return enableAdaptiveAdmission;
+    }
+
+    private static final int admissionTpLatencyTargetDefault =
+        parseValue(ConnectionParams.ADAPTIVE_ADMISSION_TP_LATENCY_TARGET.getDefault(), Integer.class, 100);
+    private volatile int admissionTpLatencyTarget = admissionTpLatencyTargetDefault;
+
+    public int getAdmissionTpLatencyTarget() {
+        return admissionTpLatencyTarget;
+    }
+
+    private static final int admissionCpuThresholdDefault =
+        parseValue(ConnectionParams.ADAPTIVE_ADMISSION_CPU_THRESHOLD.getDefault(), Integer.class, 85);
+    private volatile int admissionCpuThreshold = admissionCpuThresholdDefault;
+
+    public int getAdmissionCpuThreshold() {
+        return admissionCpuThreshold;
+    }
+
+    private static final int admissionMemoryThresholdDefault =
+        parseValue(ConnectionParams.ADAPTIVE_ADMISSION_MEMORY_THRESHOLD.getDefault(), Integer.class, 85);
+    private volatile int admissionMemoryThreshold = admissionMemoryThresholdDefault;
+
+    public int getAdmissionMemoryThreshold() {
+        return admissionMemoryThreshold;
+    }
+
+    private static final int admissionMaxApConcurrencyDefault =
+        parseValue(ConnectionParams.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY.getDefault(), Integer.class, 32);
+    private volatile int admissionMaxApConcurrency = admissionMaxApConcurrencyDefault;
+
+    public int getAdmissionMaxApConcurrency() {
+        return admissionMaxApConcurrency;
+    }
+
+    private static final int admissionWaitTimeoutDefault =
+        parseValue(ConnectionParams.ADAPTIVE_ADMISSION_WAIT_TIMEOUT.getDefault(), Integer.class, 60000);
+    private volatile int admissionWaitTimeout = admissionWaitTimeoutDefault;
+
+    public int getAdmissionWaitTimeout() {
+        return admissionWaitTimeout;
+    }
+
+    private static final String resultCacheTablesDefault =
+        parseValue(ConnectionParams.RESULT_CACHE_TABLES.getDefault(), String.class, "");
+    private volatile String resultCacheTables = resultCacheTablesDefault;
+
+    public String getResultCacheTables() {
+        return resultCacheTables;
+    }
+
+    private static final long resultCacheSizeDefault =
+        parseValue(ConnectionParams.RESULT_CACHE_SIZE.getDefault(), Long.class, 256L * 1024 * 1024);
+    private volatile long resultCacheSize = resultCacheSizeDefault;
+
+    public long getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    private static final long resultCacheMaxEntrySizeDefault =
+        parseValue(ConnectionParams.RESULT_CACHE_MAX_ENTRY_SIZE.getDefault(), Long.class, 8L * 1024 * 1024);
+    private volatile long resultCacheMaxEntrySize = resultCacheMaxEntrySizeDefault;
+
+    public long getResultCacheMaxEntrySize() {
+        return resultCacheMaxEntrySize;
+    }
+
+    private static final int resultCacheTtlDefault =
+        parseValue(ConnectionParams.RESULT_CACHE_TTL.getDefault(), Integer.class, 60000);
+    private volatile int resultCacheTtl = resultCacheTtlDefault;
+
+    public int getResultCacheTtl() {
+        return resultCacheTtl;
+    }
+
     private volatile boolean enableExtremePerformance = false;
 
     public boolean enableExtremePerformance() {
@@ -36,6 +36,7 @@ import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_CP
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_CPU_CFS_PERIOD_US;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_CPU_CFS_QUOTA;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_EXCHANGE_CLIENT_THREAD_SIZE;
+import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_EXCHANGE_STREAM_PORT_OFFSET;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_EXCHANGE_CONCURRENT_MULTIPLIER;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_EXCHANGE_MAX_ERROR_DURATION;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_EXCHANGE_MAX_RESPONSE_SIZE;
@@ -76,7 +77,11 @@ import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_QU
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_QUERY_REMOTE_TASK_MIN_ERROR;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_REMOTE_TASK_CALLBACK_THREAD_SIZE;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SCHEMA_MAX_MEM;
+import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPILL_COMPRESSION;
+import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPILL_IO_BUFFER_SIZE;
+import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPILL_LOW_CARDINALITY_ENCODING;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPILL_PATHS;
+import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPLIT_LEVEL_TIME_MULTIPLIER;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_SPLIT_RUN_QUANTA;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_STATUS_REFRESH_MAX_WAIT;
 import static com.alibaba.polardbx.common.properties.ConnectionProperties.MPP_TABLESCAN_CONNECTION_STRATEGY;
@@ -175,6 +180,9 @@ public class MppConfig {
             case MPP_SPLIT_RUN_QUANTA:
                 splitRunQuanta = parseValue(value, Long.class, DEFAULT_MPP_SPLIT_RUN_QUANTA);
                 break;
+            case MPP_SPLIT_LEVEL_TIME_MULTIPLIER:
+                splitLevelTimeMultiplier = parseValue(value, Integer.class, DEFAULT_MPP_SPLIT_LEVEL_TIME_MULTIPLIER);
+                break;
             case MPP_STATUS_REFRESH_MAX_WAIT:
                 statusRefreshMaxWait = parseValue(value, Long.class, DEFAULT_MPP_STATUS_REFRESH_MAX_WAIT);
                 break;
@@ -225,6 +233,9 @@ public class MppConfig {
             case MPP_EXCHANGE_CLIENT_THREAD_SIZE:
                 exchangeClientThreads = parseValue(value, Integer.class, DEFAULT_MPP_EXCHANGE_CLIENT_THREADS);
                 break;
+            case MPP_EXCHANGE_STREAM_PORT_OFFSET:
+                exchangeStreamPortOffset = parseValue(value, Integer.class, DEFAULT_MPP_EXCHANGE_STREAM_PORT_OFFSET);
+                break;
             case MPP_HTTP_MAX_REQUESTS_PER_DESTINATION:
                 httpMaxRequestsPerDestination =
                     parseValue(value, Integer.class, DEFAULT_MPP_HTTP_MAX_REQUESTS_PER_DESTINATION);
@@ -300,6 +311,16 @@ public class MppConfig {
                     Splitter.on(",").trimResults().omitEmptyStrings().split(value));
                 spillPaths = spillPathsSplit.stream().map(path -> Paths.get(path)).collect(Collectors.toList());
                 break;
+            case MPP_SPILL_COMPRESSION:
+                spillCompression = parseValue(value, String.class, DEFAULT_SPILL_COMPRESSION);
+                break;
+            case MPP_SPILL_LOW_CARDINALITY_ENCODING:
+                spillLowCardinalityEncoding =
+                    parseValue(value, Boolean.class, DEFAULT_SPILL_LOW_CARDINALITY_ENCODING);
+                break;
+            case MPP_SPILL_IO_BUFFER_SIZE:
+                spillIoBufferSize = parseValue(value, Integer.class, DEFAULT_SPILL_IO_BUFFER_SIZE);
+                break;
             default:
                 logger.warn("unknown mpp config:" + key + ",value=" + value);
             }
@@ -522,6 +543,13 @@ public class MppConfig {
         return splitRunQuanta;
     }
 
+    private static final int DEFAULT_MPP_SPLIT_LEVEL_TIME_MULTIPLIER = 2;
+    private int splitLevelTimeMultiplier = DEFAULT_MPP_SPLIT_LEVEL_TIME_MULTIPLIER;
+
+    public int getSplitLevelTimeMultiplier() {
+        return splitLevelTimeMultiplier;
+    }
+
     private static final long DEFAULT_MPP_STATUS_REFRESH_MAX_WAIT = 300000L;
     private long statusRefreshMaxWait = DEFAULT_MPP_STATUS_REFRESH_MAX_WAIT;
 
@@ -592,6 +620,13 @@ public class MppConfig {
         return exchangeClientThreads;
     }
 
+    private static final int DEFAULT_MPP_EXCHANGE_STREAM_PORT_OFFSET = 0;
+    private int exchangeStreamPortOffset = DEFAULT_MPP_EXCHANGE_STREAM_PORT_OFFSET;
+
+    public int getExchangeStreamPortOffset() {
+        return exchangeStreamPortOffset;
+    }
+
     private static final int DEFAULT_MPP_HTTP_RESPONSE_THREADS = 100;
     private int httpResponseThreads = DEFAULT_MPP_HTTP_RESPONSE_THREADS;
 
@@ -746,6 +781,27 @@ public class MppConfig {
         return spillPaths;
     }
 
+    private static final String DEFAULT_SPILL_COMPRESSION = "NONE";
+    private String spillCompression = DEFAULT_SPILL_COMPRESSION;
+
+    public String getSpillCompression() {
+        return spillCompression;
+    }
+
+    private static final boolean DEFAULT_SPILL_LOW_CARDINALITY_ENCODING = false;
+    private boolean spillLowCardinalityEncoding = DEFAULT_SPILL_LOW_CARDINALITY_ENCODING;
+
+    public boolean isSpillLowCardinalityEncoding() {
+        return spillLowCardinalityEncoding;
+    }
+
+    private static final int DEFAULT_SPILL_IO_BUFFER_SIZE = 1 << 20;
+    private int spillIoBufferSize = DEFAULT_SPILL_IO_BUFFER_SIZE;
+
+    public int getSpillIoBufferSize() {
+        return spillIoBufferSize;
+    }
+
     public static <T> T parseValue(String value, Class<T> type, T defaultValue) {
         if (value == null) {
             return defaultValue;
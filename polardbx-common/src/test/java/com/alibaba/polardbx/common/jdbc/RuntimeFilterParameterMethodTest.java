@@ -0,0 +1,85 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.common.jdbc;
+
+import com.alibaba.polardbx.common.utils.bloomfilter.BloomFilterInfo;
+import com.alibaba.polardbx.common.utils.bloomfilter.MinMaxFilterInfo;
+import com.alibaba.polardbx.common.utils.hash.HashMethodInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RuntimeFilterParameterMethodTest {
+
+    @Test
+    public void testIntegerRange() throws Exception {
+        BloomFilterInfo info = bloomFilter(Collections.singletonList(
+            new MinMaxFilterInfo(MinMaxFilterInfo.TYPE.INTEGER, -3L, 42L, null, null, null, null, null, null)));
+        Assert.assertEquals(-3L, bind(ParameterMethod.setRuntimeFilterMinValue, info));
+        Assert.assertEquals(42L, bind(ParameterMethod.setRuntimeFilterMaxValue, info));
+    }
+
+    @Test
+    public void testUnknownRange() throws Exception {
+        // empty build side leaves the bounds unset
+        BloomFilterInfo info = bloomFilter(Collections.singletonList(
+            new MinMaxFilterInfo(MinMaxFilterInfo.TYPE.LONG, null, null, null, null, null, null, null, null)));
+        Assert.assertEquals(Long.MIN_VALUE, bind(ParameterMethod.setRuntimeFilterMinValue, info));
+        Assert.assertEquals(Long.MAX_VALUE, bind(ParameterMethod.setRuntimeFilterMaxValue, info));
+
+        // pass-through filter of a scan that stopped waiting for the bloom filter
+        info = bloomFilter(Collections.emptyList());
+        Assert.assertEquals(Long.MIN_VALUE, bind(ParameterMethod.setRuntimeFilterMinValue, info));
+        Assert.assertEquals(Long.MAX_VALUE, bind(ParameterMethod.setRuntimeFilterMaxValue, info));
+
+        info = bloomFilter(Collections.singletonList(
+            new MinMaxFilterInfo(MinMaxFilterInfo.TYPE.STRING, null, null, "a", "z", null, null, null, null)));
+        Assert.assertEquals(Long.MIN_VALUE, bind(ParameterMethod.setRuntimeFilterMinValue, info));
+        Assert.assertEquals(Long.MAX_VALUE, bind(ParameterMethod.setRuntimeFilterMaxValue, info));
+    }
+
+    @Test
+    public void testBloomFilterParameterMethod() {
+        Assert.assertTrue(ParameterMethod.setRuntimeFilterMinValue.isBloomFilterParameterMethod());
+        Assert.assertTrue(ParameterMethod.setRuntimeFilterMaxValue.isBloomFilterParameterMethod());
+        Assert.assertFalse(ParameterMethod.setLong.isBloomFilterParameterMethod());
+    }
+
+    private static BloomFilterInfo bloomFilter(List<MinMaxFilterInfo> minMaxFilterInfos) {
+        return new BloomFilterInfo(1, new long[] {-1L}, 1, HashMethodInfo.defaultHashMethod(), minMaxFilterInfos);
+    }
+
+    private static Object bind(ParameterMethod method, BloomFilterInfo info) throws Exception {
+        Map<Integer, Object> values = new HashMap<>();
+        PreparedStatement stmt = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+            (proxy, m, args) -> {
+                if (m.getName().equals("setLong")) {
+                    values.put((Integer) args[0], args[1]);
+                }
+                return null;
+            });
+        method.setParameter(stmt, 1, new Object[] {null, 1, info});
+        return values.get(1);
+    }
+}
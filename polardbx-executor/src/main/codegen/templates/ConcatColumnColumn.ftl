@@ -0,0 +1,128 @@
+<@pp.dropOutputFile />
+
+<#list stringFunctions.concatOperators as operator>
+
+    <#list operator.types as type>
+
+        <#assign className = "${operator.classHeader}${type.leftDataType}${type.leftKind}${type.rightDataType}${type.rightKind}VectorizedExpression">
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/string/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.string;
+
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.LiteralVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.SliceType;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Const;
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.leftDataType}", "${type.rightDataType}"}, argumentKinds = {<#if type.leftKind == "Const">Const<#else>Variable</#if>, <#if type.rightKind == "Const">Const<#else>Variable</#if>})
+public class ${className} extends AbstractVectorizedExpression {
+    private final SliceType leftType;
+    private final SliceType rightType;
+    <#if type.leftKind == "Const">
+    private final Slice left;
+    </#if>
+    <#if type.rightKind == "Const">
+    private final Slice right;
+    </#if>
+
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+        this.leftType = (SliceType) children[0].getOutputDataType();
+        this.rightType = (SliceType) children[1].getOutputDataType();
+        <#if type.leftKind == "Const">
+        this.left = leftType.convertFrom(((LiteralVectorizedExpression) children[0]).getConvertedValue());
+        </#if>
+        <#if type.rightKind == "Const">
+        this.right = rightType.convertFrom(((LiteralVectorizedExpression) children[1]).getConvertedValue());
+        </#if>
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        <#if type.leftKind == "Col">
+        children[0].eval(ctx);
+        </#if>
+        <#if type.rightKind == "Col">
+        children[1].eval(ctx);
+        </#if>
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        <#if type.leftKind == "Const">
+        if (left == null) {
+            VectorizedExpressionUtils.setNulls(chunk, outputIndex);
+            outputVectorSlot.setHasNull(true);
+            return;
+        }
+        <#else>
+        RandomAccessBlock leftInputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+        </#if>
+        <#if type.rightKind == "Const">
+        if (right == null) {
+            VectorizedExpressionUtils.setNulls(chunk, outputIndex);
+            outputVectorSlot.setHasNull(true);
+            return;
+        }
+        <#else>
+        RandomAccessBlock rightInputVectorSlot =
+            chunk.slotIn(children[1].getOutputIndex(), children[1].getOutputDataType());
+        </#if>
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                <#if type.leftKind == "Col">
+                Slice left = VectorizedExpressionUtils.sliceAt(leftInputVectorSlot, j, leftType);
+                </#if>
+                <#if type.rightKind == "Col">
+                Slice right = VectorizedExpressionUtils.sliceAt(rightInputVectorSlot, j, rightType);
+                </#if>
+                outputVectorSlot.setElementAt(j, (left == null || right == null) ? null : concat(left, right));
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                <#if type.leftKind == "Col">
+                Slice left = VectorizedExpressionUtils.sliceAt(leftInputVectorSlot, i, leftType);
+                </#if>
+                <#if type.rightKind == "Col">
+                Slice right = VectorizedExpressionUtils.sliceAt(rightInputVectorSlot, i, rightType);
+                </#if>
+                outputVectorSlot.setElementAt(i, (left == null || right == null) ? null : concat(left, right));
+            }
+        }
+    }
+
+    /**
+     * Both slices are utf-8 encoded in chunk, so the bytes can be concatenated directly.
+     */
+    private static Slice concat(Slice left, Slice right) {
+        final int leftLength = left.length();
+        final int rightLength = right.length();
+        Slice result = Slices.allocate(leftLength + rightLength);
+        result.setBytes(0, left, 0, leftLength);
+        result.setBytes(leftLength, right, 0, rightLength);
+        return result;
+    }
+}
+
+    </#list>
+</#list>
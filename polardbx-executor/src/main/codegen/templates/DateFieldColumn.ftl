@@ -0,0 +1,82 @@
+<@pp.dropOutputFile />
+
+<#list dateFunctions.fieldOperators as operator>
+
+    <#list operator.types as type>
+
+        <#assign className = "${operator.classHeader}${type.inputDataType}ColVectorizedExpression">
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/time/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.time;
+
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}"}, argumentKinds = {Variable})
+public class ${className} extends AbstractVectorizedExpression {
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        children[0].eval(ctx);
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        RandomAccessBlock inputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+
+        VectorizedExpressionUtils.mergeNulls(chunk, outputIndex, children[0].getOutputIndex());
+        boolean[] outputNulls = outputVectorSlot.nulls();
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                if (!outputNulls[j]) {
+                    long packed = VectorizedExpressionUtils.packedDatetimeAt(inputVectorSlot, j);
+                    VectorizedExpressionUtils.writeLong(outputVectorSlot, j, extract(packed));
+                }
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                if (!outputNulls[i]) {
+                    long packed = VectorizedExpressionUtils.packedDatetimeAt(inputVectorSlot, i);
+                    VectorizedExpressionUtils.writeLong(outputVectorSlot, i, extract(packed));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the ${operator.field} from packed value, see TimeStorage#readTimestamp
+     */
+    private static long extract(long packed) {
+        long ymd = Math.abs(packed) >> (24 + 17);
+        <#if operator.field == "year">
+        return (ymd >> 5) / 13;
+        <#elseif operator.field == "month">
+        return (ymd >> 5) % 13;
+        <#else>
+        return ymd % (1L << 5);
+        </#if>
+    }
+}
+
+    </#list>
+</#list>
@@ -0,0 +1,96 @@
+<@pp.dropOutputFile />
+
+<#list dateFunctions.formatOperators as operator>
+
+    <#list operator.types as type>
+
+        <#assign className = "${operator.classHeader}${type.inputDataType}Col${type.constType}ConstVectorizedExpression">
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/time/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.time;
+
+import com.alibaba.polardbx.common.utils.time.core.MysqlDateTime;
+import com.alibaba.polardbx.common.utils.time.core.TimeStorage;
+import com.alibaba.polardbx.common.utils.time.parser.StringTimeParser;
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.LiteralVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import io.airlift.slice.Slices;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Const;
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}", "${type.constType}"}, argumentKinds = {Variable, Const})
+public class ${className} extends AbstractVectorizedExpression {
+    private final byte[] format;
+
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+
+        Object formatValue = ((LiteralVectorizedExpression) children[1]).getConvertedValue();
+        String formatStr = formatValue == null ? null : DataTypes.StringType.convertFrom(formatValue);
+        // null or empty format makes the result null
+        this.format = (formatStr == null || formatStr.isEmpty()) ? null : formatStr.getBytes();
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        children[0].eval(ctx);
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        RandomAccessBlock inputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+
+        if (format == null) {
+            VectorizedExpressionUtils.setNulls(chunk, outputIndex);
+            outputVectorSlot.setHasNull(true);
+            return;
+        }
+
+        boolean inputHasNull = inputVectorSlot.hasNull();
+        boolean[] inputNulls = inputVectorSlot.nulls();
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                if (inputHasNull && inputNulls[j]) {
+                    outputVectorSlot.setElementAt(j, null);
+                } else {
+                    outputVectorSlot.setElementAt(j, format(VectorizedExpressionUtils.packedDatetimeAt(inputVectorSlot, j)));
+                }
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                if (inputHasNull && inputNulls[i]) {
+                    outputVectorSlot.setElementAt(i, null);
+                } else {
+                    outputVectorSlot.setElementAt(i, format(VectorizedExpressionUtils.packedDatetimeAt(inputVectorSlot, i)));
+                }
+            }
+        }
+    }
+
+    private Object format(long packed) {
+        MysqlDateTime t = TimeStorage.readTimestamp(packed);
+        byte[] res = StringTimeParser.makeFormat(t, format);
+        return res == null ? null : Slices.wrappedBuffer(res);
+    }
+}
+
+    </#list>
+</#list>
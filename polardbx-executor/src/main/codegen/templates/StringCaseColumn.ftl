@@ -0,0 +1,91 @@
+<@pp.dropOutputFile />
+
+<#list stringFunctions.caseOperators as operator>
+
+    <#list operator.types as type>
+
+        <#assign className = "${operator.classHeader}${type.inputDataType}ColVectorizedExpression">
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/string/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.string;
+
+import com.alibaba.polardbx.common.utils.TStringUtil;
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.SliceType;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}"}, argumentKinds = {Variable})
+public class ${className} extends AbstractVectorizedExpression {
+    private final SliceType inputType;
+
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+        this.inputType = (SliceType) children[0].getOutputDataType();
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        children[0].eval(ctx);
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        RandomAccessBlock inputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, j, inputType);
+                outputVectorSlot.setElementAt(j, slice == null ? null : convertCase(slice));
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, i, inputType);
+                outputVectorSlot.setElementAt(i, slice == null ? null : convertCase(slice));
+            }
+        }
+    }
+
+    private Object convertCase(Slice slice) {
+        final int length = slice.length();
+        byte[] result = new byte[length];
+        for (int k = 0; k < length; k++) {
+            byte b = slice.getByte(k);
+            if (b < 0) {
+                // multi-byte character, fall back to the case mapping of java string
+                String str = VectorizedExpressionUtils.decodeString(slice, inputType);
+                <#if operator.upper>
+                return outputDataType.convertFrom(TStringUtil.upperCase(str));
+                <#else>
+                return outputDataType.convertFrom(TStringUtil.lowerCase(str));
+                </#if>
+            }
+            <#if operator.upper>
+            result[k] = (b >= 'a' && b <= 'z') ? (byte) (b - 32) : b;
+            <#else>
+            result[k] = (b >= 'A' && b <= 'Z') ? (byte) (b + 32) : b;
+            </#if>
+        }
+        return Slices.wrappedBuffer(result);
+    }
+}
+
+    </#list>
+</#list>
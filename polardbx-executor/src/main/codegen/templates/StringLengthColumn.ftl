@@ -0,0 +1,83 @@
+<@pp.dropOutputFile />
+
+<#list stringFunctions.lengthOperators as operator>
+
+    <#list operator.types as type>
+
+        <#assign className = "${operator.classHeader}${type.inputDataType}ColVectorizedExpression">
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/string/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.string;
+
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.SliceType;
+import io.airlift.slice.Slice;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}"}, argumentKinds = {Variable})
+public class ${className} extends AbstractVectorizedExpression {
+    private final SliceType inputType;
+
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+        this.inputType = (SliceType) children[0].getOutputDataType();
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        children[0].eval(ctx);
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        RandomAccessBlock inputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+
+        VectorizedExpressionUtils.mergeNulls(chunk, outputIndex, children[0].getOutputIndex());
+        boolean[] outputNulls = outputVectorSlot.nulls();
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                if (!outputNulls[j]) {
+                    Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, j, inputType);
+                    VectorizedExpressionUtils.writeLong(outputVectorSlot, j, byteLength(slice));
+                }
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                if (!outputNulls[i]) {
+                    Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, i, inputType);
+                    VectorizedExpressionUtils.writeLong(outputVectorSlot, i, byteLength(slice));
+                }
+            }
+        }
+    }
+
+    /**
+     * Length in bytes of the column charset. Slices in chunk are utf-8 encoded.
+     */
+    private long byteLength(Slice slice) {
+        if (inputType.isUtf8Encoding()) {
+            return slice.length();
+        }
+        return inputType.getCharsetHandler().encodeFromUtf8(slice).length();
+    }
+}
+
+    </#list>
+</#list>
@@ -0,0 +1,177 @@
+<@pp.dropOutputFile />
+
+<#list stringFunctions.substringOperators as operator>
+
+    <#list operator.types as type>
+
+        <#list [false, true] as withLength>
+
+        <#if withLength>
+        <#assign className = "${operator.classHeader}${type.inputDataType}Col${type.constType}Const${type.constType}ConstVectorizedExpression">
+        <#else>
+        <#assign className = "${operator.classHeader}${type.inputDataType}Col${type.constType}ConstVectorizedExpression">
+        </#if>
+        <@pp.changeOutputFile name="/com/alibaba/polardbx/executor/vectorized/string/${className}.java" />
+package com.alibaba.polardbx.executor.vectorized.string;
+
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
+import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.vectorized.AbstractVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.executor.vectorized.LiteralVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.VectorizedExpressionUtils;
+import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignatures;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.optimizer.core.datatype.SliceType;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Const;
+import static com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind.Variable;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ */
+@SuppressWarnings("unused")
+<#if withLength>
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}", "${type.constType}", "${type.constType}"}, argumentKinds = {Variable, Const, Const})
+<#else>
+@ExpressionSignatures(names = {${operator.functionNames}}, argumentTypes = {"${type.inputDataType}", "${type.constType}"}, argumentKinds = {Variable, Const})
+</#if>
+public class ${className} extends AbstractVectorizedExpression {
+    private final SliceType inputType;
+
+    private final boolean constIsNull;
+    private final int pos;
+    private final int len;
+
+    public ${className}(DataType<?> outputDataType, int outputIndex, VectorizedExpression[] children) {
+        super(outputDataType, outputIndex, children);
+        this.inputType = (SliceType) children[0].getOutputDataType();
+
+        Object posValue = ((LiteralVectorizedExpression) children[1]).getConvertedValue();
+        <#if withLength>
+        Object lenValue = ((LiteralVectorizedExpression) children[2]).getConvertedValue();
+        this.constIsNull = posValue == null || lenValue == null;
+        this.pos = constIsNull ? 0 : DataTypes.IntegerType.convertFrom(posValue);
+        this.len = constIsNull ? 0 : DataTypes.IntegerType.convertFrom(lenValue);
+        <#else>
+        this.constIsNull = posValue == null;
+        this.pos = constIsNull ? 0 : DataTypes.IntegerType.convertFrom(posValue);
+        this.len = -1;
+        </#if>
+    }
+
+    @Override
+    public void eval(EvaluationContext ctx) {
+        children[0].eval(ctx);
+
+        MutableChunk chunk = ctx.getPreAllocatedChunk();
+        int batchSize = chunk.batchSize();
+        boolean isSelectionInUse = chunk.isSelectionInUse();
+        int[] sel = chunk.selection();
+
+        RandomAccessBlock outputVectorSlot = chunk.slotIn(outputIndex, outputDataType);
+        RandomAccessBlock inputVectorSlot =
+            chunk.slotIn(children[0].getOutputIndex(), children[0].getOutputDataType());
+
+        if (constIsNull) {
+            VectorizedExpressionUtils.setNulls(chunk, outputIndex);
+            outputVectorSlot.setHasNull(true);
+            return;
+        }
+
+        if (isSelectionInUse) {
+            for (int i = 0; i < batchSize; i++) {
+                int j = sel[i];
+                Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, j, inputType);
+                outputVectorSlot.setElementAt(j, slice == null ? null : substring(slice));
+            }
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                Slice slice = VectorizedExpressionUtils.sliceAt(inputVectorSlot, i, inputType);
+                outputVectorSlot.setElementAt(i, slice == null ? null : substring(slice));
+            }
+        }
+    }
+
+    private Object substring(Slice slice) {
+        <#if withLength>
+        if (pos == 0 || len < 1) {
+        <#else>
+        if (pos == 0) {
+        </#if>
+            return Slices.EMPTY_SLICE;
+        }
+
+        final int byteLength = slice.length();
+        boolean isAscii = true;
+        for (int k = 0; k < byteLength; k++) {
+            if (slice.getByte(k) < 0) {
+                isAscii = false;
+                break;
+            }
+        }
+
+        if (isAscii) {
+            // character positions are byte offsets for ascii strings
+            long range = range(byteLength);
+            int begin = (int) (range >>> 32);
+            int end = (int) range;
+            return slice.slice(begin, end - begin);
+        }
+
+        String str = VectorizedExpressionUtils.decodeString(slice, inputType);
+        long range = range(str.length());
+        int begin = (int) (range >>> 32);
+        int end = (int) range;
+        return outputDataType.convertFrom(str.substring(begin, end));
+    }
+
+    /**
+     * Same bounds as TStringUtil.substring used by the SUBSTRING scalar function, packed as (begin << 32 | end).
+     */
+    private long range(int length) {
+        long begin = (pos < 0 ? (long) length + pos + 1 : pos) - 1;
+        long end;
+        <#if withLength>
+        end = begin + len;
+        if (end < 0) {
+            end += length;
+        }
+        if (begin < 0) {
+            begin += length;
+        }
+        if (end > length) {
+            end = length;
+        }
+        if (begin > end) {
+            return 0L;
+        }
+        if (begin < 0) {
+            begin = 0;
+        }
+        if (end < 0) {
+            end = 0;
+        }
+        <#else>
+        end = length;
+        if (begin < 0) {
+            begin += length;
+        }
+        if (begin < 0) {
+            begin = 0;
+        }
+        if (begin > length) {
+            return 0L;
+        }
+        </#if>
+        return (begin << 32) | (end & 0xFFFFFFFFL);
+    }
+}
+
+        </#list>
+    </#list>
+</#list>
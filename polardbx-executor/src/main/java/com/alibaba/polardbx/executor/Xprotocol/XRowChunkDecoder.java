@@ -0,0 +1,295 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.Xprotocol;
+
+import com.alibaba.polardbx.common.datatype.Decimal;
+import com.alibaba.polardbx.common.datatype.DecimalConverter;
+import com.alibaba.polardbx.common.datatype.DecimalStructure;
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+import com.alibaba.polardbx.common.utils.GeneralUtil;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.SliceBlockBuilder;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.rpc.jdbc.CharsetMapping;
+import com.alibaba.polardbx.rpc.result.XResult;
+import com.google.protobuf.ByteString;
+import com.mysql.cj.polarx.protobuf.PolarxResultset;
+import io.airlift.slice.Slice;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decode X-Protocol rows in row layout into block builders column by column.
+ * <p>
+ * Decoder of each column is specialized only once by the target data type and the field type of DN, so that
+ * integers, floating numbers, decimals and strings are written into block builders directly from the protocol
+ * bytes, without per-cell type dispatching, byte copying or intermediate objects. Other combinations fall back
+ * to {@link XRowSet#buildChunkRow} cell by cell.
+ * <p>
+ * Not thread-safe, one decoder should be used by one result set.
+ */
+public class XRowChunkDecoder {
+
+    private interface ColumnDecoder {
+        /**
+         * @param value not null and not empty protocol bytes of the cell
+         */
+        void decode(ByteString value, BlockBuilder builder) throws Exception;
+    }
+
+    private final XResult result;
+    private final DataType[] dataTypes;
+    private final ColumnDecoder[] decoders;
+
+    /**
+     * Reusable buffers for copying string bytes and formatting decimal digits.
+     */
+    private byte[] bytesBuffer = new byte[64];
+    private byte[] digitsBuffer = new byte[64];
+
+    public XRowChunkDecoder(XResult result, DataType[] dataTypes) {
+        this.result = result;
+        this.dataTypes = dataTypes;
+
+        final List<PolarxResultset.ColumnMetaData> metaData = result.getMetaData();
+        if (dataTypes.length != metaData.size()) {
+            throw new TddlRuntimeException(ErrorCode.ERR_X_PROTOCOL_RESULT, "XRow column number mismatch.");
+        }
+        this.decoders = new ColumnDecoder[dataTypes.length];
+        for (int i = 0; i < dataTypes.length; ++i) {
+            decoders[i] = createDecoder(metaData.get(i), dataTypes[i]);
+        }
+    }
+
+    /**
+     * Whether this decoder is built for the result and the data types.
+     */
+    public boolean accept(XResult result, DataType[] dataTypes) {
+        return this.result == result && this.dataTypes == dataTypes;
+    }
+
+    public void decode(List<ByteString> row, BlockBuilder[] blockBuilders) {
+        if (decoders.length != row.size()) {
+            throw new TddlRuntimeException(ErrorCode.ERR_X_PROTOCOL_RESULT, "XRow column number mismatch.");
+        }
+
+        try {
+            for (int i = 0; i < decoders.length; ++i) {
+                final ByteString value = row.get(i);
+                if (value.isEmpty()) {
+                    blockBuilders[i].appendNull();
+                } else {
+                    decoders[i].decode(value, blockBuilders[i]);
+                }
+            }
+        } catch (Exception e) {
+            throw GeneralUtil.nestedException(e);
+        }
+    }
+
+    private ColumnDecoder createDecoder(PolarxResultset.ColumnMetaData meta, DataType dataType) {
+        final Class clazz = dataType.getDataClass();
+        final PolarxResultset.ColumnMetaData.FieldType type = meta.getType();
+        final List<PolarxResultset.ColumnMetaData> fallbackMeta = Collections.singletonList(meta);
+        final DataType[] fallbackType = {dataType};
+        final BlockBuilder[] fallbackBuilder = new BlockBuilder[1];
+        final ColumnDecoder fallback = (value, builder) -> {
+            fallbackBuilder[0] = builder;
+            XRowSet.buildChunkRow(result, fallbackMeta, Collections.singletonList(value), fallbackType,
+                fallbackBuilder);
+        };
+
+        if (type == PolarxResultset.ColumnMetaData.FieldType.SINT
+            || type == PolarxResultset.ColumnMetaData.FieldType.UINT
+            || type == PolarxResultset.ColumnMetaData.FieldType.BIT) {
+            final boolean signed = type == PolarxResultset.ColumnMetaData.FieldType.SINT;
+            if (clazz == Long.class) {
+                return (value, builder) -> builder.writeLong(readInteger(value, signed));
+            } else if (clazz == Integer.class) {
+                return (value, builder) -> builder.writeInt((int) readInteger(value, signed));
+            } else if (clazz == Short.class) {
+                return (value, builder) -> builder.writeShort((short) readInteger(value, signed));
+            } else if (clazz == Byte.class) {
+                return (value, builder) -> builder.writeByte((byte) readInteger(value, signed));
+            } else if (clazz == Decimal.class && signed) {
+                return (value, builder) -> builder.writeDecimal(Decimal.fromLong(readInteger(value, true)));
+            }
+        } else if (type == PolarxResultset.ColumnMetaData.FieldType.DOUBLE) {
+            if (clazz == Double.class) {
+                return (value, builder) -> builder.writeDouble(Double.longBitsToDouble(readFixed64(value)));
+            } else if (clazz == Float.class) {
+                return (value, builder) -> builder.writeFloat((float) Double.longBitsToDouble(readFixed64(value)));
+            }
+        } else if (type == PolarxResultset.ColumnMetaData.FieldType.FLOAT) {
+            if (clazz == Float.class) {
+                return (value, builder) -> builder.writeFloat(Float.intBitsToFloat(readFixed32(value)));
+            } else if (clazz == Double.class) {
+                return (value, builder) -> builder.writeDouble(Float.intBitsToFloat(readFixed32(value)));
+            }
+        } else if (type == PolarxResultset.ColumnMetaData.FieldType.DECIMAL) {
+            if (clazz == Decimal.class) {
+                return (value, builder) -> {
+                    if (!writeDecimal(value, builder)) {
+                        fallback.decode(value, builder);
+                    }
+                };
+            }
+        } else if (type == PolarxResultset.ColumnMetaData.FieldType.BYTES && meta.hasCollation()) {
+            // Bytes are ended with a '\0'.
+            final int collation = (int) meta.getCollation();
+            if (clazz == Slice.class && CharsetMapping.isUtf8(collation)) {
+                return (value, builder) -> {
+                    final int length = copyBytes(value) - 1;
+                    builder.writeByteArray(bytesBuffer, 0, length);
+                };
+            } else if (clazz == Slice.class && CharsetMapping.isLatin1(collation)) {
+                return (value, builder) -> {
+                    final int length = copyBytes(value) - 1;
+                    ((SliceBlockBuilder) builder).writeBytesInLatin1(bytesBuffer, 0, length);
+                };
+            } else if (clazz == String.class || clazz == Enum.class) {
+                final String encoding = CharsetMapping.getJavaEncodingForCollationIndex(collation);
+                if (encoding != null) {
+                    return (value, builder) -> {
+                        final int length = copyBytes(value) - 1;
+                        builder.writeString(new String(bytesBuffer, 0, length, encoding));
+                    };
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private int copyBytes(ByteString value) {
+        final int size = value.size();
+        if (bytesBuffer.length < size) {
+            bytesBuffer = new byte[Math.max(size, bytesBuffer.length * 2)];
+        }
+        value.copyTo(bytesBuffer, 0);
+        return size;
+    }
+
+    /**
+     * Format the packed BCD decimal as plain string and parse it into the builder.
+     *
+     * @return false if it is not a regular decimal and should be decoded by fallback routine
+     */
+    private boolean writeDecimal(ByteString value, BlockBuilder builder) {
+        final int size = value.size();
+        final int scale = value.byteAt(0);
+        if (scale < 0) {
+            return false;
+        }
+
+        // Collect all digits before the sign nibble into bytes buffer.
+        if (bytesBuffer.length < 2 * size) {
+            bytesBuffer = new byte[Math.max(2 * size, bytesBuffer.length * 2)];
+        }
+        int digits = 0;
+        boolean zero = true;
+        int sign = 0;
+        int pos = 1;
+        while (pos < size) {
+            final int b = 0xFF & value.byteAt(pos++);
+            if ((b >> 4) > 9) {
+                sign = b >> 4;
+                break;
+            }
+            bytesBuffer[digits++] = (byte) ((b >> 4) + '0');
+            zero &= (b >> 4) == 0;
+            if ((b & 0x0f) > 9) {
+                sign = b & 0x0f;
+                break;
+            }
+            bytesBuffer[digits++] = (byte) ((b & 0x0f) + '0');
+            zero &= (b & 0x0f) == 0;
+        }
+        if (0 == sign) {
+            return false;
+        }
+        if (pos < size) {
+            throw new TddlRuntimeException(ErrorCode.ERR_X_PROTOCOL_RESULT,
+                "Did not read all bytes while decoding decimal. Bytes left: " + (size - pos));
+        }
+
+        // Sign, integer part, point and fraction part padded with leading zeros.
+        final int maxLength = digits + scale + 3;
+        if (digitsBuffer.length < maxLength) {
+            digitsBuffer = new byte[Math.max(maxLength, digitsBuffer.length * 2)];
+        }
+        int length = 0;
+        if (!zero && (0xb == sign || 0xd == sign)) {
+            digitsBuffer[length++] = '-';
+        }
+        final int integerDigits = digits - scale;
+        if (integerDigits > 0) {
+            System.arraycopy(bytesBuffer, 0, digitsBuffer, length, integerDigits);
+            length += integerDigits;
+        } else {
+            digitsBuffer[length++] = '0';
+        }
+        if (scale > 0) {
+            digitsBuffer[length++] = '.';
+            for (int i = integerDigits; i < 0; ++i) {
+                digitsBuffer[length++] = '0';
+            }
+            final int fractionStart = Math.max(integerDigits, 0);
+            System.arraycopy(bytesBuffer, fractionStart, digitsBuffer, length, digits - fractionStart);
+            length += digits - fractionStart;
+        }
+
+        final DecimalStructure decimalStructure = new DecimalStructure();
+        DecimalConverter.parseString(digitsBuffer, 0, length, decimalStructure, false);
+        builder.writeDecimal(new Decimal(decimalStructure));
+        return true;
+    }
+
+    /**
+     * Read a varint of 64 bits, zigzag encoded if signed.
+     */
+    private static long readInteger(ByteString value, boolean signed) {
+        final int size = value.size();
+        long result = 0;
+        int shift = 0;
+        for (int i = 0; i < size && shift < 64; ++i, shift += 7) {
+            final byte b = value.byteAt(i);
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return signed ? (result >>> 1) ^ -(result & 1) : result;
+            }
+        }
+        throw new TddlRuntimeException(ErrorCode.ERR_X_PROTOCOL_RESULT, "Malformed varint.");
+    }
+
+    private static int readFixed32(ByteString value) {
+        return (value.byteAt(0) & 0xFF)
+            | ((value.byteAt(1) & 0xFF) << 8)
+            | ((value.byteAt(2) & 0xFF) << 16)
+            | ((value.byteAt(3) & 0xFF) << 24);
+    }
+
+    private static long readFixed64(ByteString value) {
+        return ((long) readFixed32(value) & 0xFFFFFFFFL)
+            | ((long) ((value.byteAt(4) & 0xFF)
+            | ((value.byteAt(5) & 0xFF) << 8)
+            | ((value.byteAt(6) & 0xFF) << 16)
+            | ((value.byteAt(7) & 0xFF) << 24)) << 32);
+    }
+}
@@ -16,23 +16,29 @@
 
 package com.alibaba.polardbx.executor.archive.reader;
 
-import com.alibaba.polardbx.common.Engine;
 import com.alibaba.polardbx.common.exception.TddlNestableRuntimeException;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
 import com.alibaba.polardbx.executor.archive.columns.ColumnProvider;
 import com.alibaba.polardbx.executor.archive.columns.ColumnProviders;
 import com.alibaba.polardbx.executor.chunk.Block;
 import com.alibaba.polardbx.executor.chunk.BlockBuilder;
 import com.alibaba.polardbx.executor.chunk.BlockBuilders;
+import com.alibaba.polardbx.executor.chunk.BlockEncoding;
+import com.alibaba.polardbx.executor.chunk.BlockEncodingBuilders;
 import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.gms.engine.FileSystemManager;
 import com.alibaba.polardbx.gms.engine.FileSystemUtils;
 import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
 import com.alibaba.polardbx.optimizer.config.table.OSSOrcFileMeta;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import com.alibaba.polardbx.optimizer.core.field.SessionProperties;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -47,15 +53,25 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.FutureTask;
 
+/**
+ * Cache of decoded orc column blocks for oss scan, keyed on (file, column).
+ * <p>
+ * The cache is bounded by the estimated size in bytes of the cached blocks (OSS_BUFFER_POOL_SIZE)
+ * and evicts with segmented LRU, so a one-pass archival scan does not flush the columns that are
+ * read repeatedly. With OSS_BUFFER_POOL_OFF_HEAP the blocks are kept serialized in direct memory
+ * and decoded on every hit, trading cpu for heap space.
+ */
 public class BufferPoolManager {
     private static volatile BufferPoolManager instance;
 
-    private static int BUFFER_POOL_SIZE = 200000;
-
-    private static int BUFFER_POOL_EXPIRE_HOURS = 24;
+    /**
+     * Share of the capacity reserved for columns that have been hit at least once
+     */
+    private static final double PROTECTED_RATIO = 0.8;
 
     public static BufferPoolManager getInstance() {
         if (instance == null) {
@@ -68,26 +84,39 @@ public class BufferPoolManager {
         return instance;
     }
 
-    private Cache<Key, List<Block>> cache;
+    private final SegmentedLruCache<Key, CachedColumn> cache;
+
+    /**
+     * Loads in progress, so that concurrent scans of the same column read the file only once
+     */
+    private final ConcurrentHashMap<Key, FutureTask<List<Block>>> loading = new ConcurrentHashMap<>();
 
     private BufferPoolManager() {
-        cache = CacheBuilder.newBuilder()
-                .maximumSize(BUFFER_POOL_SIZE)
-                .expireAfterWrite(BUFFER_POOL_EXPIRE_HOURS, TimeUnit.HOURS)
-                .softValues()
-                .build();
+        cache = new SegmentedLruCache<>(DynamicConfig.getInstance().getOssBufferPoolSize(), PROTECTED_RATIO,
+            CachedColumn::getSizeInBytes);
     }
 
     public void clear() {
         cache.invalidateAll();
     }
 
+    /**
+     * Resize the pool, evicting the least recently used columns if it shrinks
+     */
+    public void setCapacity(long capacity) {
+        cache.setCapacity(capacity);
+    }
+
+    /**
+     * Invalidate the cached columns of a table, or of the whole schema if logicalTableName is null.
+     */
     public void invalidate(String schemaName, String logicalTableName) {
-        for (Key key : cache.asMap().keySet()) {
-            if (key.logicalSchemaName.equalsIgnoreCase(schemaName) && key.logicalTableName.equalsIgnoreCase(logicalTableName)) {
-                cache.invalidate(key);
-            }
-        }
+        cache.invalidateIf(key -> key.logicalSchemaName.equalsIgnoreCase(schemaName)
+            && (logicalTableName == null || key.logicalTableName.equalsIgnoreCase(logicalTableName)));
+    }
+
+    public SegmentedLruCache.Stats getStats() {
+        return cache.stats();
     }
 
     public static class Key {
@@ -122,58 +151,107 @@ public class BufferPoolManager {
 
     public List<Block> getImpl(OSSOrcFileMeta fileMeta, String column, OSSReadOption ossReadOption,
                                ExecutionContext executionContext) throws ExecutionException {
-        return cache.get(new Key(fileMeta.getLogicalTableSchema(), fileMeta.getLogicalTableName(), fileMeta.getFileName(), column), () -> {
-            long stamp = FileSystemManager.readLockWithTimeOut(ossReadOption.getEngine());
-            try {
-                FileSystem fileSystem = FileSystemManager.getFileSystemGroup(ossReadOption.getEngine()).getMaster();
+        Key key = new Key(fileMeta.getLogicalTableSchema(), fileMeta.getLogicalTableName(), fileMeta.getFileName(),
+            column);
+
+        CachedColumn cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.getBlocks();
+        }
+
+        FutureTask<List<Block>> task = new FutureTask<>(() -> load(fileMeta, column, ossReadOption, executionContext));
+        FutureTask<List<Block>> existing = loading.putIfAbsent(key, task);
+        if (existing != null) {
+            return getUninterruptibly(existing);
+        }
+        try {
+            task.run();
+            List<Block> blocks = getUninterruptibly(task);
+            cache.put(key, cacheColumn(blocks, ossReadOption, column));
+            return blocks;
+        } finally {
+            loading.remove(key, task);
+        }
+    }
+
+    private static List<Block> getUninterruptibly(FutureTask<List<Block>> task) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 
-                String orcPath = FileSystemUtils.buildUri(fileSystem, fileMeta.getFileName());
+    private static CachedColumn cacheColumn(List<Block> blocks, OSSReadOption ossReadOption, String column) {
+        if (!DynamicConfig.getInstance().isOssBufferPoolOffHeap()) {
+            return new HeapColumn(blocks);
+        }
+        DataType dataType = ossReadOption.getColumnMetas().stream()
+            .filter(x -> x.getName().equals(column)).findFirst().get().getDataType();
+        return new OffHeapColumn(blocks, dataType);
+    }
 
-                Configuration configuration = new Configuration(false);
-                configuration.setLong(OrcConf.MAX_MERGE_DISTANCE.getAttribute(), ossReadOption.getMaxMergeDistance());
+    private List<Block> load(OSSOrcFileMeta fileMeta, String column, OSSReadOption ossReadOption,
+                             ExecutionContext executionContext) {
+        long stamp = FileSystemManager.readLockWithTimeOut(ossReadOption.getEngine());
+        try {
+            FileSystem fileSystem = FileSystemManager.getFileSystemGroup(ossReadOption.getEngine()).getMaster();
 
-                Reader reader = OrcFile.createReader(new Path(URI.create(orcPath)),
-                        OrcFile.readerOptions(configuration).filesystem(fileSystem).orcTail(fileMeta.getOrcTail()));
+            String orcPath = FileSystemUtils.buildUri(fileSystem, fileMeta.getFileName());
 
-                ColumnMeta columnMeta = ossReadOption.getColumnMetas().stream()
-                        .filter(x -> x.getName().equals(column)).findFirst().get();
+            Configuration configuration = new Configuration(false);
+            configuration.setLong(OrcConf.MAX_MERGE_DISTANCE.getAttribute(), ossReadOption.getMaxMergeDistance());
 
-                TypeDescription schema = TypeDescription.createStruct();
+            Reader reader = OrcFile.createReader(new Path(URI.create(orcPath)),
+                    OrcFile.readerOptions(configuration).filesystem(fileSystem).orcTail(fileMeta.getOrcTail()));
 
-                schema.addField(
-                        fileMeta.getTypeDescription().getFieldNames().get(fileMeta.getColumnMetas().indexOf(columnMeta)),
-                        fileMeta.getTypeDescription().getChildren().get(fileMeta.getColumnMetas().indexOf(columnMeta)).clone());
+            ColumnMeta columnMeta = ossReadOption.getColumnMetas().stream()
+                    .filter(x -> x.getName().equals(column)).findFirst().get();
 
-                // reader filter options
-                Reader.Options readerOptions = new Reader.Options(configuration)
-                        .schema(schema);
+            TypeDescription schema = TypeDescription.createStruct();
 
-                RecordReader recordReader = reader.rows(readerOptions);
+            schema.addField(
+                    fileMeta.getTypeDescription().getFieldNames().get(fileMeta.getColumnMetas().indexOf(columnMeta)),
+                    fileMeta.getTypeDescription().getChildren().get(fileMeta.getColumnMetas().indexOf(columnMeta)).clone());
 
-                ColumnProvider columnProvider = ColumnProviders.getProvider(columnMeta);
+            // reader filter options
+            Reader.Options readerOptions = new Reader.Options(configuration)
+                    .schema(schema);
 
-                SessionProperties sessionProperties = SessionProperties.fromExecutionContext(executionContext);
+            RecordReader recordReader = reader.rows(readerOptions);
 
-                VectorizedRowBatch buffer = schema.createRowBatch(1000);
+            ColumnProvider columnProvider = ColumnProviders.getProvider(columnMeta);
 
-                List<Block> result = new ArrayList<>();
+            SessionProperties sessionProperties = SessionProperties.fromExecutionContext(executionContext);
 
-                while (recordReader.nextBatch(buffer)) {
-                    if (buffer.size == 0) {
-                        continue;
-                    }
-                    BlockBuilder blockBuilder = BlockBuilders.create(columnMeta.getDataType(), executionContext);
-                    columnProvider.transform(buffer.cols[0], blockBuilder, 0, buffer.size, sessionProperties);
-                    result.add(blockBuilder.build());
-                }
+            VectorizedRowBatch buffer = schema.createRowBatch(1000);
+
+            List<Block> result = new ArrayList<>();
 
-                return result;
-            } catch (Throwable e) {
-                throw GeneralUtil.nestedException(e);
-            } finally {
-                FileSystemManager.unlockRead(ossReadOption.getEngine(), stamp);
+            while (recordReader.nextBatch(buffer)) {
+                if (buffer.size == 0) {
+                    continue;
+                }
+                BlockBuilder blockBuilder = BlockBuilders.create(columnMeta.getDataType(), executionContext);
+                columnProvider.transform(buffer.cols[0], blockBuilder, 0, buffer.size, sessionProperties);
+                result.add(blockBuilder.build());
             }
-        });
+
+            return result;
+        } catch (Throwable e) {
+            throw GeneralUtil.nestedException(e);
+        } finally {
+            FileSystemManager.unlockRead(ossReadOption.getEngine(), stamp);
+        }
     }
 
     public List<Chunk> get(OSSOrcFileMeta fileMeta, String[] columns, OSSReadOption ossReadOption,
@@ -196,4 +274,66 @@ public class BufferPoolManager {
             throw new TddlNestableRuntimeException(e);
         }
     }
+    private interface CachedColumn {
+        List<Block> getBlocks();
+
+        long getSizeInBytes();
+    }
+
+    private static class HeapColumn implements CachedColumn {
+        private final List<Block> blocks;
+        private final long sizeInBytes;
+
+        HeapColumn(List<Block> blocks) {
+            this.blocks = ImmutableList.copyOf(blocks);
+            this.sizeInBytes = blocks.stream().mapToLong(Block::estimateSize).sum();
+        }
+
+        @Override
+        public List<Block> getBlocks() {
+            return blocks;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+
+    /**
+     * Column blocks serialized back to back into a direct buffer. Direct buffers are released
+     * with their owner, so a scan still decoding an evicted column stays safe.
+     */
+    private static class OffHeapColumn implements CachedColumn {
+        private final Slice data;
+        private final int blockCount;
+        private final BlockEncoding encoding;
+
+        OffHeapColumn(List<Block> blocks, DataType dataType) {
+            this.encoding = BlockEncodingBuilders.create(ImmutableList.of(dataType)).get(0);
+            DynamicSliceOutput output = new DynamicSliceOutput(
+                (int) Math.min(Integer.MAX_VALUE, blocks.stream().mapToLong(Block::estimateSize).sum()));
+            for (Block block : blocks) {
+                encoding.writeBlock(output, block);
+            }
+            this.data = Slices.allocateDirect(output.size());
+            this.data.setBytes(0, output.slice(), 0, output.size());
+            this.blockCount = blocks.size();
+        }
+
+        @Override
+        public List<Block> getBlocks() {
+            List<Block> blocks = new ArrayList<>(blockCount);
+            SliceInput input = data.getInput();
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(encoding.readBlock(input));
+            }
+            return blocks;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            return data.length();
+        }
+    }
 }
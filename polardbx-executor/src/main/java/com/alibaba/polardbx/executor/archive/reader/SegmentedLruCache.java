@@ -0,0 +1,264 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.archive.reader;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache bounded by the total weight (usually bytes) of its values, evicting with segmented LRU.
+ * <p>
+ * New entries are admitted into the probation segment and promoted into the protected segment on
+ * their first hit. Eviction always starts from the probation segment, so a single large scan that
+ * touches every entry once can only churn the probation segment and never flushes the entries that
+ * are actually reused. Entries demoted from an overflowing protected segment get a second chance
+ * in probation.
+ */
+public class SegmentedLruCache<K, V> {
+
+    private final ToLongFunction<V> weigher;
+    private final double protectedRatio;
+
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long capacity;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long evictionWeight;
+    private long rejectCount;
+
+    public SegmentedLruCache(long capacity, double protectedRatio, ToLongFunction<V> weigher) {
+        Preconditions.checkArgument(capacity >= 0, "capacity must be non-negative");
+        Preconditions.checkArgument(protectedRatio >= 0 && protectedRatio < 1, "protectedRatio must be in [0, 1)");
+        this.capacity = capacity;
+        this.protectedRatio = protectedRatio;
+        this.weigher = weigher;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        Node<V> node = protectedSegment.get(key);
+        if (node != null) {
+            hitCount++;
+            return node.value;
+        }
+        node = probation.remove(key);
+        if (node != null) {
+            hitCount++;
+            probationWeight -= node.weight;
+            protectedSegment.put(key, node);
+            protectedWeight += node.weight;
+            demoteProtected();
+            return node.value;
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Admit a value into the probation segment.
+     *
+     * @return false if the value alone exceeds the capacity and is not cached
+     */
+    public synchronized boolean put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > capacity) {
+            rejectCount++;
+            return false;
+        }
+        remove(key);
+        probation.put(key, new Node<>(value, weight));
+        probationWeight += weight;
+        evict();
+        return true;
+    }
+
+    public synchronized void setCapacity(long capacity) {
+        Preconditions.checkArgument(capacity >= 0, "capacity must be non-negative");
+        this.capacity = capacity;
+        demoteProtected();
+        evict();
+    }
+
+    public synchronized void invalidate(K key) {
+        remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        probationWeight -= removeIf(probation, predicate);
+        protectedWeight -= removeIf(protectedSegment, predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        probation.clear();
+        protectedSegment.clear();
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(capacity, probation.size(), probationWeight, protectedSegment.size(), protectedWeight,
+            hitCount, missCount, evictionCount, evictionWeight, rejectCount);
+    }
+
+    private void remove(K key) {
+        Node<V> node = probation.remove(key);
+        if (node != null) {
+            probationWeight -= node.weight;
+        }
+        node = protectedSegment.remove(key);
+        if (node != null) {
+            protectedWeight -= node.weight;
+        }
+    }
+
+    private void demoteProtected() {
+        long protectedCapacity = (long) (capacity * protectedRatio);
+        Iterator<Map.Entry<K, Node<V>>> it = protectedSegment.entrySet().iterator();
+        while (protectedWeight > protectedCapacity && it.hasNext()) {
+            Map.Entry<K, Node<V>> eldest = it.next();
+            it.remove();
+            protectedWeight -= eldest.getValue().weight;
+            probation.put(eldest.getKey(), eldest.getValue());
+            probationWeight += eldest.getValue().weight;
+        }
+    }
+
+    private void evict() {
+        evict(probation, true);
+        evict(protectedSegment, false);
+    }
+
+    private void evict(LinkedHashMap<K, Node<V>> segment, boolean isProbation) {
+        Iterator<Map.Entry<K, Node<V>>> it = segment.entrySet().iterator();
+        while (probationWeight + protectedWeight > capacity && it.hasNext()) {
+            Node<V> victim = it.next().getValue();
+            it.remove();
+            if (isProbation) {
+                probationWeight -= victim.weight;
+            } else {
+                protectedWeight -= victim.weight;
+            }
+            evictionCount++;
+            evictionWeight += victim.weight;
+        }
+    }
+
+    private static <K, V> long removeIf(LinkedHashMap<K, Node<V>> segment, Predicate<K> predicate) {
+        long removed = 0;
+        Iterator<Map.Entry<K, Node<V>>> it = segment.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Node<V>> entry = it.next();
+            if (predicate.test(entry.getKey())) {
+                removed += entry.getValue().weight;
+                it.remove();
+            }
+        }
+        return removed;
+    }
+
+    private static class Node<V> {
+        final V value;
+        final long weight;
+
+        Node(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    public static class Stats {
+        private final long capacity;
+        private final long probationCount;
+        private final long probationWeight;
+        private final long protectedCount;
+        private final long protectedWeight;
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long evictionWeight;
+        private final long rejectCount;
+
+        Stats(long capacity, long probationCount, long probationWeight, long protectedCount, long protectedWeight,
+              long hitCount, long missCount, long evictionCount, long evictionWeight, long rejectCount) {
+            this.capacity = capacity;
+            this.probationCount = probationCount;
+            this.probationWeight = probationWeight;
+            this.protectedCount = protectedCount;
+            this.protectedWeight = protectedWeight;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.evictionWeight = evictionWeight;
+            this.rejectCount = rejectCount;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public long getEntryCount() {
+            return probationCount + protectedCount;
+        }
+
+        public long getWeight() {
+            return probationWeight + protectedWeight;
+        }
+
+        public long getProtectedCount() {
+            return protectedCount;
+        }
+
+        public long getProtectedWeight() {
+            return protectedWeight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public long getEvictionWeight() {
+            return evictionWeight;
+        }
+
+        public long getRejectCount() {
+            return rejectCount;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.alibaba.polardbx.executor.backfill;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.polardbx.common.datatype.UInt64;
 import com.alibaba.polardbx.common.exception.TddlNestableRuntimeException;
 import com.alibaba.polardbx.common.exception.TddlRuntimeException;
 import com.alibaba.polardbx.common.exception.code.ErrorCode;
@@ -73,6 +74,7 @@ import org.apache.commons.lang.math.RandomUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -339,7 +341,9 @@ public class Extractor extends PhyOperationBuilderCommon {
 
         boolean enableInnodbBtreeSampling = OptimizerContext.getContext(schemaName).getParamManager()
             .getBoolean(ConnectionParams.ENABLE_INNODB_BTREE_SAMPLING);
-        if (!enableInnodbBtreeSampling) {
+        boolean enablePkRangeSplit =
+            baseEc.getParamManager().getBoolean(ConnectionParams.ENABLE_BACKFILL_PK_RANGE_SPLIT);
+        if (!enableInnodbBtreeSampling && !enablePkRangeSplit) {
             return initUpperBound(baseEc, ddlJobId, dbIndex, phyTable, primaryKeysId);
         }
 
@@ -358,6 +362,12 @@ public class Extractor extends PhyOperationBuilderCommon {
             return initUpperBound(baseEc, ddlJobId, dbIndex, phyTable, primaryKeysId);
         }
 
+        if (!enableInnodbBtreeSampling) {
+            final List<GsiBackfillManager.BackfillObjectRecord> records =
+                splitByPrimaryKeyRange(baseEc, ddlJobId, dbIndex, phyTable, splitCount, rowCount);
+            return records != null ? records : initUpperBound(baseEc, ddlJobId, dbIndex, phyTable, primaryKeysId);
+        }
+
         float calSamplePercentage = maxSampleSize * 1.0f / rowCount * 100;
 
         if (calSamplePercentage <= 0 || calSamplePercentage > samplePercentage) {
@@ -377,7 +387,8 @@ public class Extractor extends PhyOperationBuilderCommon {
         // step must not less than zero
         int step = resultList.size() / splitCount;
         if (step <= 0) {
-            return null;
+            // Too few samples to split, backfill the physical table as a whole
+            return initUpperBound(baseEc, ddlJobId, dbIndex, phyTable, primaryKeysId);
         }
 
         int subStep = step / splitCount;
@@ -414,6 +425,119 @@ public class Extractor extends PhyOperationBuilderCommon {
             subUpperBoundList, rowCount / splitCount, 1);
     }
 
+    /**
+     * Split the physical table into ranges of equal width on a single integer primary key, for DN without innodb
+     * btree sampling. Dense keys (e.g. auto increment) give ranges of about the same row count, sparse keys only
+     * make the ranges uneven.
+     *
+     * @return backfill objects of the ranges, or null if the primary key can not be split this way
+     */
+    private List<GsiBackfillManager.BackfillObjectRecord> splitByPrimaryKeyRange(final ExecutionContext baseEc,
+                                                                                 final long ddlJobId,
+                                                                                 final String dbIndex,
+                                                                                 final String phyTable,
+                                                                                 final int splitCount,
+                                                                                 final long rowCount) {
+        if (primaryKeysId.size() != 1) {
+            return null;
+        }
+        final List<Map<Integer, ParameterContext>> upperBound = getUpperBound(baseEc, dbIndex, phyTable);
+        if (upperBound.isEmpty()) {
+            return null;
+        }
+        final ParameterContext maxPk = upperBound.get(0).get(1);
+        final BigInteger max = integerPkValue(maxPk);
+        if (max == null) {
+            return null;
+        }
+
+        // Min primary key is the first row below the upper bound
+        final PhyTableOperation selectMinPlan =
+            buildSelectPlanWithParam(dbIndex, phyTable, 1, ImmutableList.of(maxPk), false, true);
+        final List<Map<Integer, ParameterContext>> firstRow = GsiUtils.wrapWithSingleDbTrx(tm, baseEc,
+            (selectEc) -> {
+                final Cursor cursor = ExecutorHelper.execute(selectMinPlan, selectEc);
+                try {
+                    return Transformer.buildBatchParam(cursor);
+                } finally {
+                    cursor.close(new ArrayList<>());
+                }
+            });
+        final List<ParameterContext> minPk = buildSelectParam(firstRow, primaryKeysId);
+        final BigInteger min = GeneralUtil.isEmpty(minPk) ? null : integerPkValue(minPk.get(0));
+        if (min == null || max.subtract(min).compareTo(BigInteger.valueOf(splitCount)) < 0) {
+            return null;
+        }
+
+        final List<Map<Integer, ParameterContext>> upperBoundList = new ArrayList<>(splitCount);
+        for (BigInteger point : splitPkRange(min, max, splitCount)) {
+            final Object value = pkBoundValue(point, maxPk.getArgs()[1]);
+            final Map<Integer, ParameterContext> bound = new HashMap<>(1);
+            bound.put(1, new ParameterContext(maxPk.getParameterMethod(),
+                new Object[] {1, value, maxPk.getArgs()[2]}));
+            upperBoundList.add(bound);
+        }
+        upperBoundList.addAll(upperBound);
+
+        SQLRecorderLogger.ddlLogger.warn(MessageFormat.format(
+            "[{0}] Backfill split {1}[{2}] into {3} ranges by primary key from {4} to {5}",
+            baseEc.getTraceId(), dbIndex, phyTable, splitCount, min, max));
+
+        return genBackfillObjectRecordByUpperBound(ddlJobId, dbIndex, phyTable, null, upperBoundList, null,
+            rowCount / splitCount, 1);
+    }
+
+    /**
+     * Inner split points of [min, max] into splitCount ranges of equal width
+     */
+    static List<BigInteger> splitPkRange(BigInteger min, BigInteger max, int splitCount) {
+        final BigInteger width = max.subtract(min);
+        final List<BigInteger> points = new ArrayList<>(splitCount - 1);
+        for (int i = 1; i < splitCount; i++) {
+            points.add(min.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(splitCount))));
+        }
+        return points;
+    }
+
+    /**
+     * Split point in the representation of the selected primary key, BIGINT UNSIGNED values beyond the range
+     * of long stay BigInteger
+     */
+    static Object pkBoundValue(BigInteger point, Object pkValue) {
+        if (pkValue instanceof String) {
+            return point.toString();
+        } else if (pkValue instanceof BigInteger || pkValue instanceof UInt64 || point.bitLength() >= Long.SIZE) {
+            return point;
+        }
+        return point.longValue();
+    }
+
+    static BigInteger integerPkValue(ParameterContext pc) {
+        if (pc == null || pc.getArgs().length < 3 || !(pc.getArgs()[2] instanceof DataType)
+            || !DataTypeUtil.isIntType((DataType) pc.getArgs()[2])) {
+            return null;
+        }
+        final Object value = pc.getArgs()[1];
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof UInt64) {
+            return ((UInt64) value).toBigInteger();
+        } else if (value instanceof Long && (Long) value < 0
+            && DataTypeUtil.isBigintUnsigned((DataType) pc.getArgs()[2])) {
+            // unsigned value wrapped into a signed long
+            return BigInteger.valueOf((Long) value).add(BigInteger.ONE.shiftLeft(Long.SIZE));
+        } else if (value instanceof Number) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        } else if (value instanceof String) {
+            try {
+                return new BigInteger((String) value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     private Map<Integer, ParameterContext> convertBoundParamMap(List<ParameterContext> param) {
         Map<Integer, ParameterContext> ret = new HashMap<>();
         if (param == null || param.isEmpty()) {
@@ -29,6 +29,7 @@ import com.alibaba.polardbx.executor.balancer.policy.BalancePolicy;
 import com.alibaba.polardbx.executor.balancer.policy.PolicyDataBalance;
 import com.alibaba.polardbx.executor.balancer.policy.PolicyDrainNode;
 import com.alibaba.polardbx.executor.balancer.policy.PolicyMergePartition;
+import com.alibaba.polardbx.executor.balancer.splitpartition.PolicyHotSplitPartition;
 import com.alibaba.polardbx.executor.balancer.splitpartition.PolicySplitPartition;
 import com.alibaba.polardbx.executor.balancer.stats.BalanceStats;
 import com.alibaba.polardbx.executor.balancer.stats.GroupStats;
@@ -74,6 +75,7 @@ public class Balancer extends AbstractLifecycle {
             .put(SqlRebalance.POLICY_MERGE_PARTITION, new PolicyMergePartition())
             .put(SqlRebalance.POLICY_DRAIN_NODE, new PolicyDrainNode())
             .put(SqlRebalance.POLICY_DATA_BALANCE, new PolicyDataBalance())
+            .put(SqlRebalance.POLICY_HOT_SPLIT_PARTITION, new PolicyHotSplitPartition())
             .build();
 
     // Options
@@ -0,0 +1,87 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.balancer.action;
+
+import com.alibaba.polardbx.executor.ddl.newengine.job.ExecutableDdlJob;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Report the access heat of each storage node before and after the balance actions.
+ * Only produced for REBALANCE with explain='true', nothing is executed.
+ */
+public class ActionHeatDistribution implements BalanceAction {
+
+    public static final String NAME = "HeatDistribution";
+
+    private final String schema;
+    private final Map<String, Double> currentHeat;
+    private final Map<String, Double> projectedHeat;
+
+    public ActionHeatDistribution(String schema, Map<String, Double> currentHeat, Map<String, Double> projectedHeat) {
+        this.schema = schema;
+        this.currentHeat = new TreeMap<>(currentHeat);
+        this.projectedHeat = new TreeMap<>(projectedHeat);
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Such as: dn1 3000->1500(75%->37%), dn2 1000->2500(25%->63%), unit: rows per minute
+     */
+    @Override
+    public String getStep() {
+        double total = currentHeat.values().stream().mapToDouble(x -> x).sum();
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> entry : currentHeat.entrySet()) {
+            double current = entry.getValue();
+            double projected = projectedHeat.getOrDefault(entry.getKey(), current);
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%s %d->%d(%d%%->%d%%)", entry.getKey(),
+                Math.round(current), Math.round(projected),
+                percent(current, total), percent(projected, total)));
+        }
+        return sb.toString();
+    }
+
+    private static long percent(double heat, double total) {
+        return total <= 0 ? 0 : Math.round(heat * 100 / total);
+    }
+
+    @Override
+    public ExecutableDdlJob toDdlJob(ExecutionContext ec) {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "HeatDistribution{" + getStep() + "}";
+    }
+}
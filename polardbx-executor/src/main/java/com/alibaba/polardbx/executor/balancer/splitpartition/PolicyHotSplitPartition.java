@@ -0,0 +1,259 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.balancer.splitpartition;
+
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.common.properties.ParamManager;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.balancer.BalanceOptions;
+import com.alibaba.polardbx.executor.balancer.action.ActionHeatDistribution;
+import com.alibaba.polardbx.executor.balancer.action.ActionMovePartition;
+import com.alibaba.polardbx.executor.balancer.action.ActionSplitPartition;
+import com.alibaba.polardbx.executor.balancer.action.BalanceAction;
+import com.alibaba.polardbx.executor.balancer.policy.BalancePolicy;
+import com.alibaba.polardbx.executor.balancer.policy.PolicyUtils;
+import com.alibaba.polardbx.executor.balancer.stats.BalanceStats;
+import com.alibaba.polardbx.executor.balancer.stats.PartitionGroupStat;
+import com.alibaba.polardbx.executor.balancer.stats.PartitionHeatStats;
+import com.alibaba.polardbx.executor.balancer.stats.PartitionStat;
+import com.alibaba.polardbx.executor.balancer.stats.TableGroupStat;
+import com.alibaba.polardbx.gms.ha.impl.StorageHaManager;
+import com.alibaba.polardbx.gms.ha.impl.StorageInstHaContext;
+import com.alibaba.polardbx.gms.tablegroup.TableGroupRecord;
+import com.alibaba.polardbx.gms.topology.GroupDetailInfoRecord;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import org.apache.calcite.sql.SqlRebalance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Split hot partitions and spread the pieces over storage nodes, driven by the partitions heatmap.
+ * <p>
+ * A partition-group is hot if its heat exceeds both HOT_SPLIT_PARTITION_MIN_HEAT and
+ * HOT_SPLIT_PARTITION_HEAT_RATIO percent of the average partition-group heat,
+ * and the storage node it locates is hotter than average.
+ * The hot partition-group is split into pieces by sampling, the first piece stays and the others
+ * are moved to the coolest storage nodes. Access heat of keys inside a partition is unknown,
+ * so it's assumed uniform when projecting; a piece that is still hot would be split again in the next round.
+ * <p>
+ * With explain='true', the projected heat distribution of storage nodes is reported as well.
+ */
+public class PolicyHotSplitPartition implements BalancePolicy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PolicyHotSplitPartition.class);
+
+    /**
+     * Do nothing until the heatmap collected enough history
+     */
+    private static final int MIN_HISTORY_WINDOWS = 5;
+
+    @Override
+    public String name() {
+        return SqlRebalance.POLICY_HOT_SPLIT_PARTITION;
+    }
+
+    @Override
+    public List<BalanceAction> applyToPartitionDb(ExecutionContext ec,
+                                                  BalanceOptions options,
+                                                  BalanceStats stats,
+                                                  String schemaName) {
+        return applyToTableGroups(ec, options, stats, schemaName, null);
+    }
+
+    @Override
+    public List<BalanceAction> applyToTableGroup(ExecutionContext ec, BalanceOptions options, BalanceStats stats,
+                                                 String schema, String tableGroupName) {
+        if (!stats.filterTableGroupStat(tableGroupName).isPresent()) {
+            return new ArrayList<>();
+        }
+        return applyToTableGroups(ec, options, stats, schema, tableGroupName);
+    }
+
+    /**
+     * @param targetTableGroup only split partitions of this table-group, or all table-groups if null
+     */
+    private List<BalanceAction> applyToTableGroups(ExecutionContext ec,
+                                                   BalanceOptions options,
+                                                   BalanceStats stats,
+                                                   String schema,
+                                                   String targetTableGroup) {
+        List<BalanceAction> actions = new ArrayList<>();
+        ParamManager paramManager = ec.getParamManager();
+        final int historyWindows = paramManager.getInt(ConnectionParams.HOT_SPLIT_PARTITION_HISTORY_WINDOWS);
+        final int heatRatio = paramManager.getInt(ConnectionParams.HOT_SPLIT_PARTITION_HEAT_RATIO);
+        final long minHeat = paramManager.getLong(ConnectionParams.HOT_SPLIT_PARTITION_MIN_HEAT);
+
+        PartitionHeatStats heatStats = PartitionHeatStats.load(schema, historyWindows);
+        if (heatStats.getWindows() < Math.min(MIN_HISTORY_WINDOWS, historyWindows)) {
+            LOG.info(String.format("not enough heatmap history for %s: %d windows", schema, heatStats.getWindows()));
+            return actions;
+        }
+
+        Map<String, String> groupToStorage = new HashMap<>();
+        for (GroupDetailInfoRecord group : PolicyUtils.getGroupDetails(schema).values()) {
+            groupToStorage.put(group.getGroupName(), group.getStorageInstId());
+        }
+        Map<String, StorageInstHaContext> storageMap = StorageHaManager.getInstance().getStorageHaCtxCache();
+        List<String> storageList = new ArrayList<>();
+        for (String storageInst : new TreeSet<>(groupToStorage.values())) {
+            StorageInstHaContext storage = storageMap.get(storageInst);
+            if (storage != null && storage.isAllReplicaReady()) {
+                storageList.add(storageInst);
+            }
+        }
+        if (storageList.size() < 2) {
+            return actions;
+        }
+
+        // heat of each partition-group and each storage node
+        Map<String, Double> storageHeat = new HashMap<>();
+        storageList.forEach(x -> storageHeat.put(x, 0.0));
+        List<HotCandidate> candidates = new ArrayList<>();
+        for (TableGroupStat tgStat : stats.getTableGroupStats()) {
+            if (tgStat.getTableGroupConfig().getTableGroupRecord().getTg_type()
+                == TableGroupRecord.TG_TYPE_BROADCAST_TBL_TG) {
+                continue;
+            }
+            for (PartitionGroupStat pg : tgStat.getPartitionGroups()) {
+                String storageInst =
+                    groupToStorage.get(pg.getFirstPartition().getLocation().getGroupKey());
+                if (storageInst == null || !storageHeat.containsKey(storageInst)) {
+                    continue;
+                }
+                double heat = heatStats.getHeat(pg);
+                storageHeat.merge(storageInst, heat, Double::sum);
+                candidates.add(new HotCandidate(pg, storageInst, heat));
+            }
+        }
+        double totalHeat = storageHeat.values().stream().mapToDouble(x -> x).sum();
+        if (candidates.isEmpty() || totalHeat <= 0) {
+            return actions;
+        }
+        final double avgGroupHeat = totalHeat / candidates.size();
+        final double avgStorageHeat = totalHeat / storageList.size();
+
+        Map<String, Double> projectedHeat = new HashMap<>(storageHeat);
+        candidates.sort(Comparator.comparingDouble((HotCandidate x) -> x.heat).reversed());
+        for (HotCandidate candidate : candidates) {
+            if (actions.size() >= options.maxActions) {
+                break;
+            }
+            PartitionGroupStat pg = candidate.pg;
+            Optional<PartitionStat> largest = pg.getLargestSizePartition();
+            if (!largest.isPresent()) {
+                continue;
+            }
+            PartitionStat partition = largest.get();
+            if (targetTableGroup != null && !targetTableGroup.equalsIgnoreCase(partition.getTableGroupName())) {
+                continue;
+            }
+            if (!isHot(candidate, projectedHeat, avgGroupHeat, avgStorageHeat, heatRatio, minHeat)) {
+                continue;
+            }
+            if (!PolicySplitPartition.supportAutoSplit(partition.getPartitionStrategy())) {
+                continue;
+            }
+            if (!options.manually && !partition.enableAutoSplit()) {
+                continue;
+            }
+            if (!SplitPointUtils.supportStatistics(partition)) {
+                continue;
+            }
+
+            int splitCount = (int) Math.ceil(2 * candidate.heat / avgStorageHeat);
+            splitCount = Math.max(BalanceOptions.SPLIT_PARTITION_MIN_COUNT,
+                Math.min(Math.min(BalanceOptions.SPLIT_PARTITION_MAX_COUNT, storageList.size()), splitCount));
+            List<SplitPoint> spList = new StatisticsBasedSplitPointBuilder(ec).buildSplitPoint(pg, splitCount, options);
+            if (spList.isEmpty()) {
+                continue;
+            }
+            LOG.info(String.format("split hot partition %s into %d pieces, heat %.0f rows/min",
+                partition, spList.size() + 1, candidate.heat));
+            actions.add(new ActionSplitPartition(schema, partition, spList, stats));
+            actions.addAll(spreadPieces(schema, partition, spList, candidate, projectedHeat, stats));
+        }
+
+        if (options.explain && !actions.isEmpty()) {
+            actions.add(new ActionHeatDistribution(schema, storageHeat, projectedHeat));
+        }
+        return actions;
+    }
+
+    private static boolean isHot(HotCandidate candidate, Map<String, Double> projectedHeat,
+                                 double avgGroupHeat, double avgStorageHeat, int heatRatio, long minHeat) {
+        if (candidate.heat < minHeat) {
+            return false;
+        }
+        if (candidate.heat * 100 < avgGroupHeat * heatRatio) {
+            return false;
+        }
+        return projectedHeat.get(candidate.storageInst) > avgStorageHeat;
+    }
+
+    /**
+     * Keep the first piece in place and move the others to the coolest storage node one by one
+     */
+    private static List<BalanceAction> spreadPieces(String schema,
+                                                    PartitionStat partition,
+                                                    List<SplitPoint> spList,
+                                                    HotCandidate candidate,
+                                                    Map<String, Double> projectedHeat,
+                                                    BalanceStats stats) {
+        List<BalanceAction> actions = new ArrayList<>();
+        List<String> pieces = new ArrayList<>();
+        pieces.add(spList.get(0).leftPartition);
+        spList.forEach(sp -> pieces.add(sp.rightPartition));
+
+        double pieceHeat = candidate.heat / pieces.size();
+        projectedHeat.merge(candidate.storageInst, pieceHeat - candidate.heat, Double::sum);
+        for (int i = 1; i < pieces.size(); i++) {
+            String target = projectedHeat.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .get();
+            projectedHeat.merge(target, pieceHeat, Double::sum);
+            if (target.equals(candidate.storageInst)) {
+                continue;
+            }
+            ActionMovePartition move =
+                new ActionMovePartition(schema, partition.getTableGroupName(), pieces.get(i), null, target);
+            move.setStats(stats);
+            actions.add(move);
+        }
+        return actions;
+    }
+
+    private static class HotCandidate {
+        final PartitionGroupStat pg;
+        final String storageInst;
+        final double heat;
+
+        HotCandidate(PartitionGroupStat pg, String storageInst, double heat) {
+            this.pg = pg;
+            this.storageInst = storageInst;
+            this.heat = heat;
+        }
+    }
+}
@@ -69,6 +69,13 @@ class StatisticsBasedSplitPointBuilder implements SplitPointBuilder {
         return buildSplitPoint(largestSizePartition, splitCount, options.maxPartitionSize);
     }
 
+    /**
+     * Split the largest partition of the group into the given number of pieces, regardless of its size
+     */
+    List<SplitPoint> buildSplitPoint(PartitionGroupStat pg, int splitCount, BalanceOptions options) {
+        return buildSplitPoint(pg.getLargestSizePartition().get(), splitCount, options.maxPartitionSize);
+    }
+
     private List<SplitPoint> buildSplitPoint(PartitionStat partition, int expectedSplitCount, long maxPartitionSize) {
         List<SplitPoint> result = new ArrayList<>();
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.balancer.stats;
+
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.partitionvisualizer.VisualLayerService;
+import com.alibaba.polardbx.executor.partitionvisualizer.VisualModelService;
+import com.alibaba.polardbx.executor.partitionvisualizer.model.VisualAxis;
+import com.alibaba.polardbx.executor.partitionvisualizer.model.VisualAxisModel;
+import com.alibaba.polardbx.executor.partitionvisualizer.model.VisualTypeConstants;
+import org.apache.commons.collections.CollectionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access heat of partitions, estimated from the history of the partitions heatmap.
+ * <p>
+ * Each axis of heatmap layer 0 holds the rows read and written by every partition in one minute,
+ * the heat of a partition is the exponentially weighted moving average of these values,
+ * so that a recent burst weighs more than an old one but a single spike does not dominate.
+ */
+public class PartitionHeatStats {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionHeatStats.class);
+
+    /**
+     * Weight of the history when a new window is merged
+     */
+    private static final double DECAY = 0.9;
+
+    private static final int LAYER_NUM = 0;
+
+    /**
+     * schema,table,partition -> rows read and written per minute
+     */
+    private final Map<String, Double> heatMap = new HashMap<>();
+
+    private int windows;
+
+    PartitionHeatStats() {
+    }
+
+    /**
+     * Load heat of partitions in the schema from the last `maxWindows` heatmap axes
+     */
+    public static PartitionHeatStats load(String schema, int maxWindows) {
+        PartitionHeatStats res = new PartitionHeatStats();
+        if (maxWindows <= 0) {
+            return res;
+        }
+        List<VisualAxisModel> axes;
+        try {
+            axes = new VisualModelService().getLatestLayerVisualAxes(LAYER_NUM, maxWindows);
+        } catch (Throwable e) {
+            LOG.warn("failed to load partitions heatmap: " + e.getMessage());
+            return res;
+        }
+        if (CollectionUtils.isEmpty(axes)) {
+            return res;
+        }
+
+        // axes are ordered by timestamp
+        for (VisualAxisModel axisModel : axes) {
+            VisualAxis axis = VisualLayerService.axisJsonConvertToVisualAxis(axisModel.getAxisJson());
+            res.merge(schema, axis);
+        }
+        return res;
+    }
+
+    void merge(String schema, VisualAxis axis) {
+        List<String> bounds = axis.getBounds();
+        List<Long> values = axis.getValuesMap().get(VisualTypeConstants.READ_WRITTEN_ROWS);
+        if (CollectionUtils.isEmpty(bounds) || values == null || values.size() != bounds.size()) {
+            return;
+        }
+
+        Map<String, Long> current = new HashMap<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            // bound: schema,table,seq,partition
+            String[] parts = bounds.get(i).split(",");
+            if (parts.length != 4 || !parts[0].equalsIgnoreCase(schema)) {
+                continue;
+            }
+            Long value = values.get(i);
+            current.merge(buildKey(parts[0], parts[1], parts[3]), value == null ? 0L : value, Long::sum);
+        }
+
+        // partitions absent in this window cooled down
+        for (Map.Entry<String, Double> entry : heatMap.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                entry.setValue(entry.getValue() * DECAY);
+            }
+        }
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            Double history = heatMap.get(entry.getKey());
+            double heat = history == null ? entry.getValue() : history * DECAY + entry.getValue() * (1 - DECAY);
+            heatMap.put(entry.getKey(), heat);
+        }
+        windows++;
+    }
+
+    /**
+     * Number of heatmap windows the heat is estimated from
+     */
+    public int getWindows() {
+        return windows;
+    }
+
+    public double getHeat(PartitionStat partition) {
+        return getHeat(partition.getSchema(), partition.getPartitionRecord().getTableName(),
+            partition.getPartitionName());
+    }
+
+    double getHeat(String schema, String table, String partition) {
+        return heatMap.getOrDefault(buildKey(schema, table, partition), 0.0);
+    }
+
+    /**
+     * Heat of a partition-group is the sum of heat of all partitions in it
+     */
+    public double getHeat(PartitionGroupStat pg) {
+        return pg.partitions.stream().mapToDouble(this::getHeat).sum();
+    }
+
+    private static String buildKey(String schema, String table, String partition) {
+        return (schema + "," + table + "," + partition).toLowerCase();
+    }
+}
@@ -84,4 +84,20 @@ public abstract class BlockEncodingBuilders {
         return blockEncodingList;
     }
 
+    /**
+     * Block encodings for spill files, optionally with run-length and dictionary encoding of
+     * low cardinality columns
+     */
+    public static List<BlockEncoding> create(List<DataType> types, boolean lowCardinalityEncoding) {
+        List<BlockEncoding> blockEncodingList = create(types);
+        if (lowCardinalityEncoding) {
+            for (int i = 0; i < types.size(); i++) {
+                if (LowCardinalityBlockEncoding.isSupported(types.get(i))) {
+                    blockEncodingList.set(i, new LowCardinalityBlockEncoding(blockEncodingList.get(i), types.get(i)));
+                }
+            }
+        }
+        return blockEncodingList;
+    }
+
 }
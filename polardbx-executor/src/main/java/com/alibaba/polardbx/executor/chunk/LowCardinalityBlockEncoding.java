@@ -0,0 +1,215 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.chunk;
+
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.Arrays;
+
+/**
+ * Wraps the block encoding of a column and writes blocks holding a single distinct value as run-length blocks
+ * and blocks holding few distinct values as dictionary blocks. Only used for spill files, where the layout
+ * does not have to be understood by other nodes.
+ */
+public class LowCardinalityBlockEncoding implements BlockEncoding {
+    private static final String NAME = "LOW_CARDINALITY";
+
+    private static final byte PLAIN = 0;
+    private static final byte RUN_LENGTH = 1;
+    private static final byte DICTIONARY = 2;
+
+    /**
+     * Dictionary ids are written as unsigned bytes
+     */
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    /**
+     * Open addressing table of dictionary ids, kept at most half full
+     */
+    private static final int HASH_TABLE_SIZE = MAX_DICTIONARY_SIZE * 2;
+    private static final int HASH_TABLE_MASK = HASH_TABLE_SIZE - 1;
+
+    private final BlockEncoding delegate;
+    private final DataType type;
+
+    /**
+     * Only used to create block builders when decoding
+     */
+    private ExecutionContext context;
+
+    public LowCardinalityBlockEncoding(BlockEncoding delegate, DataType type) {
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    /**
+     * Values of these classes are equal only if they are binary identical, so that decoding a dictionary
+     * block gives back exactly the same values
+     */
+    public static boolean isSupported(DataType type) {
+        Class clazz = type.getDataClass();
+        return clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class
+            || clazz == Slice.class || clazz == String.class;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void writeBlock(SliceOutput sliceOutput, Block block) {
+        int positionCount = block.getPositionCount();
+        int[] dictionaryPositions = new int[Math.min(MAX_DICTIONARY_SIZE, positionCount / 4)];
+        byte[] ids = new byte[positionCount];
+        int dictionarySize = buildDictionary(block, dictionaryPositions, ids);
+        if (dictionarySize < 0) {
+            sliceOutput.writeByte(PLAIN);
+            delegate.writeBlock(sliceOutput, block);
+            return;
+        }
+
+        BlockBuilder dictionaryBuilder = newBlockBuilder(block, dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            block.writePositionTo(dictionaryPositions[i], dictionaryBuilder);
+        }
+
+        sliceOutput.writeByte(dictionarySize == 1 ? RUN_LENGTH : DICTIONARY);
+        sliceOutput.writeInt(positionCount);
+        delegate.writeBlock(sliceOutput, dictionaryBuilder.build());
+        if (dictionarySize > 1) {
+            sliceOutput.writeBytes(ids);
+        }
+    }
+
+    /**
+     * Fills the first position of each distinct value and the dictionary id of every position.
+     *
+     * @return the number of distinct values, or -1 if there are more than dictionaryPositions can hold
+     */
+    private static int buildDictionary(Block block, int[] dictionaryPositions, byte[] ids) {
+        int[] hashTable = new int[HASH_TABLE_SIZE];
+        Arrays.fill(hashTable, -1);
+        int dictionarySize = 0;
+        int nullId = -1;
+        for (int position = 0; position < ids.length; position++) {
+            int id;
+            if (block.isNull(position)) {
+                if (nullId < 0) {
+                    if (dictionarySize >= dictionaryPositions.length) {
+                        return -1;
+                    }
+                    nullId = dictionarySize++;
+                    dictionaryPositions[nullId] = position;
+                }
+                id = nullId;
+            } else {
+                int slot = hashPosition(block, position) & HASH_TABLE_MASK;
+                while ((id = hashTable[slot]) >= 0 && !equalPositions(block, position, dictionaryPositions[id])) {
+                    slot = (slot + 1) & HASH_TABLE_MASK;
+                }
+                if (id < 0) {
+                    if (dictionarySize >= dictionaryPositions.length) {
+                        return -1;
+                    }
+                    id = dictionarySize++;
+                    hashTable[slot] = id;
+                    dictionaryPositions[id] = position;
+                }
+            }
+            ids[position] = (byte) id;
+        }
+        return dictionarySize;
+    }
+
+    /**
+     * Hashes the binary value, unlike Block.hashCode which follows the collation of string blocks
+     */
+    private static int hashPosition(Block block, int position) {
+        if (block instanceof LongBlock) {
+            return HashCommon.mix(Long.hashCode(((LongBlock) block).getLong(position)));
+        } else if (block instanceof IntegerBlock) {
+            return HashCommon.mix(((IntegerBlock) block).getInt(position));
+        } else if (block instanceof ShortBlock) {
+            return HashCommon.mix(((ShortBlock) block).getShort(position));
+        } else if (block instanceof ByteBlock) {
+            return HashCommon.mix(((ByteBlock) block).getByte(position));
+        } else if (block instanceof SliceBlock) {
+            return ((SliceBlock) block).getRegion(position).hashCode();
+        }
+        return HashCommon.mix(block.getObject(position).hashCode());
+    }
+
+    private static boolean equalPositions(Block block, int position, int otherPosition) {
+        if (block instanceof LongBlock) {
+            return ((LongBlock) block).getLong(position) == ((LongBlock) block).getLong(otherPosition);
+        } else if (block instanceof IntegerBlock) {
+            return ((IntegerBlock) block).getInt(position) == ((IntegerBlock) block).getInt(otherPosition);
+        } else if (block instanceof ShortBlock) {
+            return ((ShortBlock) block).getShort(position) == ((ShortBlock) block).getShort(otherPosition);
+        } else if (block instanceof ByteBlock) {
+            return ((ByteBlock) block).getByte(position) == ((ByteBlock) block).getByte(otherPosition);
+        } else if (block instanceof SliceBlock) {
+            return ((SliceBlock) block).getRegion(position).equals(((SliceBlock) block).getRegion(otherPosition));
+        }
+        return block.getObject(position).equals(block.getObject(otherPosition));
+    }
+
+    @Override
+    public Block readBlock(SliceInput sliceInput) {
+        byte marker = sliceInput.readByte();
+        if (marker == PLAIN) {
+            return delegate.readBlock(sliceInput);
+        }
+
+        int positionCount = sliceInput.readInt();
+        Block dictionary = delegate.readBlock(sliceInput);
+        BlockBuilder blockBuilder = newBlockBuilder(dictionary, positionCount);
+        if (marker == RUN_LENGTH) {
+            for (int position = 0; position < positionCount; position++) {
+                dictionary.writePositionTo(0, blockBuilder);
+            }
+        } else if (marker == DICTIONARY) {
+            for (int position = 0; position < positionCount; position++) {
+                dictionary.writePositionTo(sliceInput.readUnsignedByte(), blockBuilder);
+            }
+        } else {
+            throw new IllegalStateException("Unknown block marker: " + marker);
+        }
+        return blockBuilder.build();
+    }
+
+    /**
+     * Slice blocks keep their own charset, collation and compatible flag, which are not always the same
+     * as the ones of the declared type
+     */
+    private BlockBuilder newBlockBuilder(Block template, int capacity) {
+        if (context == null) {
+            context = new ExecutionContext();
+        }
+        if (template instanceof SliceBlock) {
+            SliceBlock sliceBlock = (SliceBlock) template;
+            return new SliceBlockBuilder(sliceBlock.getType(), capacity, context, sliceBlock.isCompatible());
+        }
+        return BlockBuilders.create(type, context, capacity);
+    }
+}
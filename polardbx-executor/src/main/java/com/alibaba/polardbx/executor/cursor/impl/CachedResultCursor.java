@@ -0,0 +1,78 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.cursor.impl;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.cursor.AbstractCursor;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompressionMode;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeUtil;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.core.CursorMeta;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.row.Row;
+import io.airlift.slice.Slice;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Replay a result kept by the result cache, decoding one chunk at a time
+ */
+public class CachedResultCursor extends AbstractCursor {
+
+    private final Slice data;
+    private final CursorMeta cursorMeta;
+
+    private PagesSerde serde;
+    private Iterator<SerializedChunk> chunks;
+    private Chunk chunk;
+    private int position;
+
+    public CachedResultCursor(List<ColumnMeta> columns, Slice data) {
+        super(false);
+        this.returnColumns = columns;
+        this.cursorMeta = CursorMeta.build(columns);
+        this.data = data;
+    }
+
+    @Override
+    protected void doInit() {
+        super.doInit();
+        List<DataType> dataTypes = returnColumns.stream().map(ColumnMeta::getDataType).collect(Collectors.toList());
+        serde = new PagesSerdeFactory(ChunkCompressionMode.ADAPTIVE).createPagesSerde(dataTypes);
+        chunks = PagesSerdeUtil.readSerializedChunks(data.getInput());
+    }
+
+    @Override
+    public Row doNext() {
+        while (chunk == null || position >= chunk.getPositionCount()) {
+            if (!chunks.hasNext()) {
+                return null;
+            }
+            chunk = serde.deserialize(chunks.next());
+            position = 0;
+        }
+        Row row = chunk.rowAt(position++);
+        row.setCursorMeta(cursorMeta);
+        return row;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.cursor.impl;
+
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.BlockBuilders;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.cursor.AbstractCursor;
+import com.alibaba.polardbx.executor.cursor.Cursor;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompressionMode;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeUtil;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.row.Row;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pass the rows of a query through and serialize them on the way. Once the query is fully read
+ * the serialized chunks are copied into a direct buffer and handed to the result cache. Results
+ * growing beyond the entry size limit, or failing to serialize, are given up silently.
+ */
+public class ResultCacheFillCursor extends AbstractCursor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultCacheFillCursor.class);
+
+    private final Cursor cursor;
+    private final DataType[] dataTypes;
+    private final long maxSizeInBytes;
+    private final int chunkLimit;
+    private final ExecutionContext context;
+    private final Consumer<Slice> onFinish;
+
+    private PagesSerde serde;
+    private BlockBuilder[] blockBuilders;
+    private DynamicSliceOutput output;
+    private boolean abandoned;
+
+    public ResultCacheFillCursor(Cursor cursor, List<ColumnMeta> columns, long maxSizeInBytes,
+                                 ExecutionContext context, Consumer<Slice> onFinish) {
+        super(false);
+        this.cursor = cursor;
+        this.returnColumns = columns;
+        this.dataTypes = new DataType[columns.size()];
+        for (int i = 0; i < dataTypes.length; i++) {
+            dataTypes[i] = columns.get(i).getDataType();
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.chunkLimit = context.getParamManager().getInt(ConnectionParams.CHUNK_SIZE);
+        this.context = context;
+        this.onFinish = onFinish;
+    }
+
+    @Override
+    protected void doInit() {
+        super.doInit();
+        serde = new PagesSerdeFactory(ChunkCompressionMode.ADAPTIVE).createPagesSerde(Arrays.asList(dataTypes));
+        blockBuilders = new BlockBuilder[dataTypes.length];
+        for (int i = 0; i < dataTypes.length; i++) {
+            blockBuilders[i] = BlockBuilders.create(dataTypes[i], context);
+        }
+        output = new DynamicSliceOutput(1024);
+    }
+
+    @Override
+    public Row doNext() {
+        Row row = cursor.next();
+        if (abandoned) {
+            return row;
+        }
+        try {
+            if (row != null) {
+                for (int i = 0; i < dataTypes.length; i++) {
+                    blockBuilders[i].writeObject(dataTypes[i].convertFrom(row.getObject(i)));
+                }
+                if (blockBuilders[0].getPositionCount() >= chunkLimit) {
+                    flush();
+                }
+            } else {
+                flush();
+                if (!abandoned) {
+                    Slice data = Slices.allocateDirect(output.size());
+                    data.setBytes(0, output.slice(), 0, output.size());
+                    abandon();
+                    onFinish.accept(data);
+                }
+            }
+        } catch (Throwable t) {
+            logger.debug("Give up caching the result", t);
+            abandon();
+        }
+        return row;
+    }
+
+    private void flush() {
+        if (blockBuilders[0].getPositionCount() == 0) {
+            return;
+        }
+        Block[] blocks = new Block[blockBuilders.length];
+        for (int i = 0; i < blockBuilders.length; i++) {
+            blocks[i] = blockBuilders[i].build();
+            blockBuilders[i] = blockBuilders[i].newBlockBuilder();
+        }
+        PagesSerdeUtil.writeSerializedChunk(output, serde.serialize(false, new Chunk(blocks)));
+        if (output.size() > maxSizeInBytes) {
+            abandon();
+        }
+    }
+
+    private void abandon() {
+        abandoned = true;
+        blockBuilders = null;
+        output = null;
+    }
+
+    @Override
+    public List<Throwable> doClose(List<Throwable> exceptions) {
+        abandon();
+        return cursor.close(exceptions);
+    }
+}
@@ -21,6 +21,7 @@ import com.alibaba.polardbx.common.exception.code.ErrorCode;
 import com.alibaba.polardbx.common.jdbc.ITransactionPolicy;
 import com.alibaba.polardbx.common.jdbc.MasterSlave;
 import com.alibaba.polardbx.common.jdbc.ParameterContext;
+import com.alibaba.polardbx.common.jdbc.ParameterMethod;
 import com.alibaba.polardbx.common.properties.ConnectionParams;
 import com.alibaba.polardbx.common.properties.ConnectionProperties;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
@@ -42,6 +43,7 @@ import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
 import com.alibaba.polardbx.optimizer.config.table.SchemaManager;
 import com.alibaba.polardbx.optimizer.config.table.TableMeta;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypeUtil;
 import com.alibaba.polardbx.optimizer.core.rel.PhyOperationBuilderCommon;
 import com.alibaba.polardbx.optimizer.core.rel.PhyTableOpBuildParams;
 import com.alibaba.polardbx.optimizer.core.rel.PhyTableOperation;
@@ -55,6 +57,8 @@ import com.google.common.collect.ImmutableSet;
 import org.apache.calcite.util.Pair;
 import org.apache.commons.lang3.StringUtils;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -77,6 +81,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.alibaba.polardbx.ErrorCode.ER_LOCK_DEADLOCK;
@@ -86,6 +91,16 @@ import static com.alibaba.polardbx.executor.gsi.GsiUtils.SQLSTATE_DEADLOCK;
 public class FastChecker extends PhyOperationBuilderCommon {
     private static final Logger logger = LoggerFactory.getLogger(FastChecker.class);
 
+    /**
+     * Max number of ranges hashed by one range hash check, each range costs one query on every physical table
+     */
+    static final int MAX_RANGE_HASH_RANGES = 1024;
+
+    /**
+     * Stop narrowing down once more than this share of ranges mismatch, the difference is everywhere
+     */
+    static final double MAX_RANGE_HASH_MISMATCH_RATIO = 0.5;
+
     private final String schemaName;
     private final String srcLogicalTableName;
     private final String dstLogicalTableName;
@@ -105,6 +120,12 @@ public class FastChecker extends PhyOperationBuilderCommon {
     private final PhyTableOperation planIdleSelectSrc;
     private final PhyTableOperation planIdleSelectDst;
 
+    /**
+     * Mismatching primary key ranges found by last range hash check, null if it passed.
+     * A retry of check() only rehashes these ranges.
+     */
+    private List<Pair<BigInteger, BigInteger>> mismatchRanges = null;
+
     enum ParallelPolicy {
         /**
          * parallel by group, one group only allows single task at the same time.
@@ -211,15 +232,86 @@ public class FastChecker extends PhyOperationBuilderCommon {
         PhyTableOperation plan =
             PhyTableOperationFactory.getInstance().buildPhyTableOperationByPhyOp(targetPhyOp, buildParams);
 
-        Long checkResult = GsiUtils.retryOnException(
+        Long checkResult = executeForFirstRow(plan, baseEc, row -> (Long) row.getObject(0));
+
+        SQLRecorderLogger.ddlLogger.warn(MessageFormat
+            .format("[{0}] FastChecker finish phy hash for {1}[{2}][{3}], time use[{4}], table hash value[{5}]",
+                baseEc.getTraceId(),
+                phyDbName,
+                phyTable,
+                isSrcTableTask ? "src" : "dst",
+                (System.currentTimeMillis() - startTime) / 1000.0,
+                checkResult
+            ));
+
+        return Pair.of(checkResult, isSrcTableTask);
+    }
+
+    /**
+     * Hash each primary key range of a physical table, null for range without any row.
+     */
+    private Long[] hashcheckForSinglePhyTableByRange(String phyDbName, String phyTable, ExecutionContext baseEc,
+                                                     boolean isSrcTableTask, PhyTableOperation targetPhyOp,
+                                                     List<Pair<BigInteger, BigInteger>> ranges) {
+        long startTime = System.currentTimeMillis();
+        final Long[] checkResult = new Long[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            final Map<Integer, ParameterContext> params = new HashMap<>(3);
+            params.put(1, PlannerUtils.buildParameterContextForTableName(phyTable, 1));
+            params.put(2, buildPkParam(2, ranges.get(i).getKey()));
+            params.put(3, buildPkParam(3, ranges.get(i).getValue()));
+
+            PhyTableOpBuildParams buildParams = new PhyTableOpBuildParams();
+            buildParams.setGroupName(phyDbName);
+            buildParams.setPhyTables(ImmutableList.of(ImmutableList.of(phyTable)));
+            buildParams.setDynamicParams(params);
+            PhyTableOperation plan =
+                PhyTableOperationFactory.getInstance().buildPhyTableOperationByPhyOp(targetPhyOp, buildParams);
+
+            checkResult[i] = executeForFirstRow(plan, baseEc, row -> (Long) row.getObject(0));
+        }
+
+        SQLRecorderLogger.ddlLogger.warn(MessageFormat
+            .format("[{0}] FastChecker finish phy range hash for {1}[{2}][{3}], range count[{4}], time use[{5}]",
+                baseEc.getTraceId(),
+                phyDbName,
+                phyTable,
+                isSrcTableTask ? "src" : "dst",
+                ranges.size(),
+                (System.currentTimeMillis() - startTime) / 1000.0
+            ));
+
+        return checkResult;
+    }
+
+    private Pair<BigInteger, BigInteger> selectPkRangeForSinglePhyTable(String phyDbName, String phyTable,
+                                                                        ExecutionContext baseEc,
+                                                                        PhyTableOperation targetPhyOp) {
+        final Map<Integer, ParameterContext> params = new HashMap<>(1);
+        params.put(1, PlannerUtils.buildParameterContextForTableName(phyTable, 1));
+
+        PhyTableOpBuildParams buildParams = new PhyTableOpBuildParams();
+        buildParams.setGroupName(phyDbName);
+        buildParams.setPhyTables(ImmutableList.of(ImmutableList.of(phyTable)));
+        buildParams.setDynamicParams(params);
+        PhyTableOperation plan =
+            PhyTableOperationFactory.getInstance().buildPhyTableOperationByPhyOp(targetPhyOp, buildParams);
+
+        final Pair<BigInteger, BigInteger> range = executeForFirstRow(plan, baseEc,
+            row -> Pair.of(toBigInteger(row.getObject(0)), toBigInteger(row.getObject(1))));
+        return null == range ? Pair.of(null, null) : range;
+    }
+
+    private <T> T executeForFirstRow(PhyTableOperation plan, ExecutionContext baseEc, Function<Row, T> extractor) {
+        return GsiUtils.retryOnException(
             () -> {
                 Cursor cursor = null;
-                Long result = null;
+                T result = null;
                 try {
                     cursor = ExecutorHelper.executeByCursor(plan, baseEc, false);
                     Row row;
                     if (cursor != null && (row = cursor.next()) != null) {
-                        result = (Long) row.getObject(0);
+                        result = extractor.apply(row);
                     }
                 } finally {
                     if (cursor != null) {
@@ -249,18 +341,26 @@ public class FastChecker extends PhyOperationBuilderCommon {
                 }
             }
         );
+    }
 
-        SQLRecorderLogger.ddlLogger.warn(MessageFormat
-            .format("[{0}] FastChecker finish phy hash for {1}[{2}][{3}], time use[{4}], table hash value[{5}]",
-                baseEc.getTraceId(),
-                phyDbName,
-                phyTable,
-                isSrcTableTask ? "src" : "dst",
-                (System.currentTimeMillis() - startTime) / 1000.0,
-                checkResult
-            ));
+    private static ParameterContext buildPkParam(int index, BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return new ParameterContext(ParameterMethod.setLong, new Object[] {index, value.longValue()});
+        }
+        // BIGINT UNSIGNED beyond long
+        return new ParameterContext(ParameterMethod.setBigDecimal, new Object[] {index, new BigDecimal(value)});
+    }
 
-        return Pair.of(checkResult, isSrcTableTask);
+    private static BigInteger toBigInteger(Object value) {
+        if (null == value) {
+            return null;
+        } else if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+            || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        return new BigDecimal(value.toString()).toBigInteger();
     }
 
     public boolean check(ExecutionContext baseEc) {
@@ -286,6 +386,13 @@ public class FastChecker extends PhyOperationBuilderCommon {
                  * to prevent "TSO snapshot too old" when checking process is time consuming.
                  * */
                 idleQueryForEachPhyDb(this.srcPhyDbAndTables, this.dstPhyDbAndTables, ec);
+                if (ec.getParamManager().getBoolean(ConnectionParams.ENABLE_FASTCHECKER_RANGE_HASH)) {
+                    final Boolean rangeCheckResult =
+                        rangeHashCheck(this.srcPhyDbAndTables, this.dstPhyDbAndTables, ec, this.parallelism);
+                    if (null != rangeCheckResult) {
+                        return rangeCheckResult;
+                    }
+                }
                 return parallelCheck(this.srcPhyDbAndTables, this.dstPhyDbAndTables, ec, this.parallelism,
                     ParallelPolicy.PhyGroupParallel);
             });
@@ -293,6 +400,191 @@ public class FastChecker extends PhyOperationBuilderCommon {
         return tsoCheckResult;
     }
 
+    /**
+     * Merkle style check on a single integer primary key.
+     * step1. get min and max pk of all src and dst tables, split [min, max] into FASTCHECKER_RANGE_HASH_FANOUT ranges
+     * step2. hash each range on every src and dst table, combine hash of same range on each side
+     * step3. split mismatching ranges again and go to step2, until FASTCHECKER_RANGE_HASH_MAX_DEPTH is reached
+     * <p>
+     * Level one costs about one scan of each table, deeper levels only hash the small mismatching ranges.
+     * Narrowing down stops early when most ranges mismatch or MAX_RANGE_HASH_RANGES would be exceeded.
+     * A retry after a failed check skips step1 and only rehashes the mismatching ranges of last check, since
+     * all other ranges were already consistent and later writes go to both sides.
+     *
+     * @return check result, or null if table has no single integer primary key
+     */
+    private Boolean rangeHashCheck(Map<String, Set<String>> srcDbAndTb, Map<String, Set<String>> dstDbAndTb,
+                                   ExecutionContext baseEc, long parallelism) {
+        final List<Pair<BigInteger, BigInteger>> lastMismatchRanges = mismatchRanges;
+        mismatchRanges = null;
+
+        final SchemaManager sm = baseEc.getSchemaManager(schemaName);
+        final TableMeta srcTableMeta = sm.getTable(srcLogicalTableName);
+        final TableMeta dstTableMeta = sm.getTable(dstLogicalTableName);
+        if (null == srcTableMeta || null == dstTableMeta || srcTableMeta.getPrimaryKey().size() != 1) {
+            return null;
+        }
+        final ColumnMeta pkMeta = srcTableMeta.getPrimaryKey().iterator().next();
+        if (!DataTypeUtil.isIntType(pkMeta.getDataType()) || null == dstTableMeta.getColumn(pkMeta.getName())) {
+            return null;
+        }
+        final String primaryKey = pkMeta.getName();
+
+        final int fanout = baseEc.getParamManager().getInt(ConnectionParams.FASTCHECKER_RANGE_HASH_FANOUT);
+        final int maxDepth = baseEc.getParamManager().getInt(ConnectionParams.FASTCHECKER_RANGE_HASH_MAX_DEPTH);
+
+        // Force master first and following will copy this EC.
+        baseEc.getExtraCmds().put(ConnectionProperties.MASTER, true);
+
+        final PhysicalPlanBuilder builder = new PhysicalPlanBuilder(schemaName, baseEc);
+        final PhyTableOperation planRangeHashSrc =
+            builder.buildSelectHashCheckByRangeForChecker(srcTableMeta, srcColumns, primaryKey);
+        final PhyTableOperation planRangeHashDst =
+            builder.buildSelectHashCheckByRangeForChecker(dstTableMeta, dstColumns, primaryKey);
+
+        // Ranges to be hashed in current level, grouped by the mismatching range they are split from
+        List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> rangeGroups = new ArrayList<>();
+        if (null != lastMismatchRanges) {
+            rangeGroups.add(Pair.of(null, lastMismatchRanges));
+            SQLRecorderLogger.ddlLogger.warn(MessageFormat.format(
+                "[{0}] FastChecker range hash rechecks {1} mismatching ranges of last check",
+                baseEc.getTraceId(), lastMismatchRanges.size()));
+        } else {
+            final PhyTableOperation planPkRangeSrc = builder.buildSelectPkRangeForChecker(srcTableMeta, primaryKey);
+            final PhyTableOperation planPkRangeDst = builder.buildSelectPkRangeForChecker(dstTableMeta, primaryKey);
+            final List<Pair<BigInteger, BigInteger>> pkRanges = runByPhyGroup(srcDbAndTb, dstDbAndTb, parallelism,
+                (phyDb, phyTable, isSrc) -> selectPkRangeForSinglePhyTable(phyDb, phyTable, baseEc,
+                    isSrc ? planPkRangeSrc : planPkRangeDst));
+            if (null == pkRanges) {
+                return false;
+            }
+
+            BigInteger min = null;
+            BigInteger max = null;
+            for (Pair<BigInteger, BigInteger> pkRange : pkRanges) {
+                if (null != pkRange.getKey()) {
+                    min = null == min ? pkRange.getKey() : min.min(pkRange.getKey());
+                    max = null == max ? pkRange.getValue() : max.max(pkRange.getValue());
+                }
+            }
+            if (null == min) {
+                // All tables are empty
+                return true;
+            }
+            rangeGroups.add(Pair.of(null, splitRange(Pair.of(min, max), fanout)));
+        }
+
+        final List<Pair<BigInteger, BigInteger>> leaves = new ArrayList<>();
+        int hashedRanges = 0;
+        for (int depth = 1; !rangeGroups.isEmpty(); depth++) {
+            final List<Pair<BigInteger, BigInteger>> ranges = rangeGroups.stream()
+                .flatMap(group -> group.getValue().stream())
+                .collect(Collectors.toList());
+            final List<Pair<Boolean, Long[]>> hashes = runByPhyGroup(srcDbAndTb, dstDbAndTb, parallelism,
+                (phyDb, phyTable, isSrc) -> Pair.of(isSrc, hashcheckForSinglePhyTableByRange(phyDb, phyTable, baseEc,
+                    isSrc, isSrc ? planRangeHashSrc : planRangeHashDst, ranges)));
+            if (null == hashes) {
+                return false;
+            }
+            hashedRanges += ranges.size();
+
+            final boolean[] mismatch = new boolean[ranges.size()];
+            int mismatchCount = 0;
+            for (int i = 0; i < ranges.size(); i++) {
+                final int rangeIndex = i;
+                final HashCaculator srcCaculator = new HashCaculator();
+                final HashCaculator dstCaculator = new HashCaculator();
+                hashes.forEach(hash -> {
+                    if (null != hash.getValue()[rangeIndex]) {
+                        (hash.getKey() ? srcCaculator : dstCaculator).caculate(hash.getValue()[rangeIndex]);
+                    }
+                });
+                mismatch[i] = !srcCaculator.getHashVal().equals(dstCaculator.getHashVal());
+                mismatchCount += mismatch[i] ? 1 : 0;
+            }
+
+            boolean split = depth < maxDepth;
+            if (split && ranges.size() > 1 && mismatchCount > ranges.size() * MAX_RANGE_HASH_MISMATCH_RATIO) {
+                // Fail fast, narrowing down a difference that is everywhere costs a lot and tells nothing
+                split = false;
+            } else if (split && hashedRanges + (long) mismatchCount * fanout > MAX_RANGE_HASH_RANGES) {
+                split = false;
+            }
+            if (!split && depth < maxDepth && mismatchCount > 0) {
+                SQLRecorderLogger.ddlLogger.warn(MessageFormat.format(
+                    "[{0}] FastChecker range hash stops at level {1}, {2} of {3} ranges mismatch, {4} ranges hashed",
+                    baseEc.getTraceId(), depth, mismatchCount, ranges.size(), hashedRanges));
+            }
+            rangeGroups = collectMismatchRanges(rangeGroups, mismatch, split, fanout, leaves);
+        }
+
+        mismatchRanges = leaves.isEmpty() ? null : leaves;
+        if (!leaves.isEmpty()) {
+            SQLRecorderLogger.ddlLogger.warn(MessageFormat.format(
+                "[{0}] FastChecker range hash found {1} mismatching ranges on {2}, first [{3}, {4}]",
+                baseEc.getTraceId(),
+                leaves.size(),
+                primaryKey,
+                leaves.get(0).getKey(),
+                leaves.get(0).getValue()));
+        }
+        return leaves.isEmpty();
+    }
+
+    /**
+     * Collect the mismatching ranges of a level into leaves, or split them into the range groups of next level.
+     *
+     * @param mismatch whether each range of the groups mismatches, in order of the groups
+     * @param split whether mismatching ranges go down to next level
+     * @return range groups of next level
+     */
+    static List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> collectMismatchRanges(
+        List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> rangeGroups, boolean[] mismatch,
+        boolean split, int fanout, List<Pair<BigInteger, BigInteger>> leaves) {
+        final List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> nextRangeGroups =
+            new ArrayList<>();
+        int offset = 0;
+        for (Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>> group : rangeGroups) {
+            boolean groupMismatch = false;
+            for (Pair<BigInteger, BigInteger> range : group.getValue()) {
+                if (!mismatch[offset++]) {
+                    continue;
+                }
+
+                groupMismatch = true;
+                if (split && range.getValue().compareTo(range.getKey()) > 0) {
+                    nextRangeGroups.add(Pair.of(range, splitRange(range, fanout)));
+                } else {
+                    leaves.add(range);
+                }
+            }
+            if (!groupMismatch && null != group.getKey()) {
+                // Sub ranges all match but the parent range not, keep the parent range as mismatching
+                leaves.add(group.getKey());
+            }
+        }
+        return nextRangeGroups;
+    }
+
+    /**
+     * Split closed range [lower, upper] into at most fanout ranges of about the same width.
+     */
+    static List<Pair<BigInteger, BigInteger>> splitRange(Pair<BigInteger, BigInteger> range, int fanout) {
+        final BigInteger width = range.getValue().subtract(range.getKey()).add(BigInteger.ONE);
+        final int count = width.compareTo(BigInteger.valueOf(fanout)) < 0 ? width.intValue() : fanout;
+
+        final List<Pair<BigInteger, BigInteger>> result = new ArrayList<>(count);
+        BigInteger lower = range.getKey();
+        for (int i = 1; i <= count; i++) {
+            final BigInteger upper = i == count ? range.getValue() : range.getKey()
+                .add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)))
+                .subtract(BigInteger.ONE);
+            result.add(Pair.of(lower, upper));
+            lower = upper.add(BigInteger.ONE);
+        }
+        return result;
+    }
+
     /**
      * since for scaleOut, src tables and dst tables have same structure and name (but they have different phyDb)
      * we can set up readview by each pair(src table, dst table).
@@ -626,6 +918,56 @@ public class FastChecker extends PhyOperationBuilderCommon {
             compare(srcResult, dstResult);
     }
 
+    /**
+     * Run task on every src and dst table, one table of each group at the same time like PhyGroupParallel.
+     *
+     * @return results of all tables, or null if any task failed
+     */
+    private <T> List<T> runByPhyGroup(Map<String, Set<String>> srcDbAndTb, Map<String, Set<String>> dstDbAndTb,
+                                      long parallelism, PhyTableTask<T> task) {
+        final BlockingQueue<Object> blockingQueue = parallelism <= 0 ? null : new ArrayBlockingQueue<>(
+            (int) parallelism);
+        // tablesByGroup<phyDb, List<Pair<phyTable, isSrc>>>
+        final Map<String, List<Pair<String, Boolean>>> tablesByGroup = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        srcDbAndTb.forEach((phyDb, phyTables) -> phyTables.forEach(
+            phyTable -> tablesByGroup.computeIfAbsent(phyDb, k -> new ArrayList<>()).add(Pair.of(phyTable, true))));
+        dstDbAndTb.forEach((phyDb, phyTables) -> phyTables.forEach(
+            phyTable -> tablesByGroup.computeIfAbsent(phyDb, k -> new ArrayList<>()).add(Pair.of(phyTable, false))));
+        final int taskCount = tablesByGroup.values().stream().mapToInt(List::size).sum();
+
+        final List<T> result = new ArrayList<>(taskCount);
+        for (int round = 0; ; round++) {
+            final List<FutureTask<T>> futureTasks = new ArrayList<>();
+            for (Map.Entry<String, List<Pair<String, Boolean>>> entry : tablesByGroup.entrySet()) {
+                if (round >= entry.getValue().size()) {
+                    continue;
+                }
+                final String phyDb = entry.getKey();
+                final Pair<String, Boolean> phyTable = entry.getValue().get(round);
+                futureTasks.add(new FutureTask<>(() -> {
+                    try {
+                        return task.apply(phyDb, phyTable.getKey(), phyTable.getValue());
+                    } finally {
+                        if (blockingQueue != null) {
+                            blockingQueue.poll();
+                        }
+                    }
+                }));
+            }
+            if (futureTasks.isEmpty()) {
+                break;
+            }
+            runTasks(futureTasks, blockingQueue, result, parallelism);
+        }
+
+        return result.size() == taskCount ? result : null;
+    }
+
+    @FunctionalInterface
+    private interface PhyTableTask<T> {
+        T apply(String phyDb, String phyTable, boolean isSrc);
+    }
+
     private boolean compare(List<Long> src, List<Long> dst) {
         final HashCaculator srcCaculator = new HashCaculator();
         final HashCaculator dstCaculator = new HashCaculator();
@@ -634,8 +976,8 @@ public class FastChecker extends PhyOperationBuilderCommon {
         return srcCaculator.getHashVal().equals(dstCaculator.getHashVal());
     }
 
-    private void runTasks(List<FutureTask<Pair<Long, Boolean>>> futures, BlockingQueue<Object> blockingQueue,
-                          List<Pair<Long, Boolean>> result, long parallelism) {
+    private <T> void runTasks(List<FutureTask<T>> futures, BlockingQueue<Object> blockingQueue,
+                              List<T> result, long parallelism) {
         AtomicReference<Exception> excep = new AtomicReference<>(null);
         if (parallelism <= 0) {
             futures.forEach(task -> PriorityWorkQueue.getInstance()
@@ -664,7 +1006,7 @@ public class FastChecker extends PhyOperationBuilderCommon {
             });
         }
 
-        for (FutureTask<Pair<Long, Boolean>> future : futures) {
+        for (FutureTask<T> future : futures) {
             try {
                 result.add(future.get());
             } catch (Exception e) {
@@ -872,9 +1214,11 @@ public class FastChecker extends PhyOperationBuilderCommon {
 
     public void setDstPhyDbAndTables(Map<String, Set<String>> dstPhyDbAndTables) {
         this.dstPhyDbAndTables = dstPhyDbAndTables;
+        this.mismatchRanges = null;
     }
 
     public void setSrcPhyDbAndTables(Map<String, Set<String>> srcPhyDbAndTables) {
         this.srcPhyDbAndTables = srcPhyDbAndTables;
+        this.mismatchRanges = null;
     }
 }
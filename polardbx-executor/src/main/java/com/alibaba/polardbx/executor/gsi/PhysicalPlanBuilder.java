@@ -1148,6 +1148,97 @@ public class PhysicalPlanBuilder extends PhyOperationBuilderCommon {
         return buildSelectPhyTblOpTemplate(sqlSelect, rowType, tableMeta, LockMode.UNDEF, ec);
     }
 
+    /**
+     * <pre>
+     *  SELECT HASHCKECK({all_select_keys})
+     *  FROM ?
+     *  WHERE pk >= ? AND pk <= ?
+     * </pre>
+     *
+     * @param tableMeta Table meta
+     * @param selectKeys Keys that need to be hash
+     * @param primaryKey Single primary key, for range condition building
+     * @return Query plan
+     */
+    public PhyTableOperation buildSelectHashCheckByRangeForChecker(TableMeta tableMeta, List<String> selectKeys,
+                                                                   String primaryKey) {
+
+        initParams(0);
+
+        // build select list
+        SqlNodeList selectList = new SqlNodeList(SqlParserPos.ZERO);
+        RelDataType rowType = buildRowTypeForSelect(selectKeys, tableMeta, selectList);
+
+        // build target table
+        buildTargetTable();
+
+        final SqlNode functionCallNode =
+            new SqlBasicCall(new SqlHashCheckAggFunction(), selectList.toArray(), SqlParserPos.ZERO);
+
+        final SqlNodeList selectListWithFunctionCall = new SqlNodeList(SqlParserPos.ZERO);
+        selectListWithFunctionCall.add(functionCallNode);
+
+        // WHERE pk >= ? AND pk <= ?
+        final List<String> primaryKeys = ImmutableList.of(primaryKey);
+        final SqlNode lowerBound = buildCondition(primaryKeys, SqlStdOperatorTable.GREATER_THAN_OR_EQUAL);
+        final SqlNode upperBound = buildCondition(primaryKeys, SqlStdOperatorTable.LESS_THAN_OR_EQUAL);
+        final SqlNode condition = PlannerUtils.buildAndTree(ImmutableList.of(lowerBound, upperBound));
+
+        final SqlSelect sqlSelect = new SqlSelect(SqlParserPos.ZERO,
+            null,
+            selectListWithFunctionCall,
+            targetTableNode,
+            condition,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+
+        return buildSelectPhyTblOpTemplate(sqlSelect, rowType, tableMeta, LockMode.UNDEF, ec);
+    }
+
+    /**
+     * <pre>
+     *  SELECT MIN(pk), MAX(pk)
+     *  FROM ?
+     * </pre>
+     *
+     * @param tableMeta Table meta
+     * @param primaryKey Single primary key
+     * @return Query plan
+     */
+    public PhyTableOperation buildSelectPkRangeForChecker(TableMeta tableMeta, String primaryKey) {
+        initParams(0);
+
+        // build select list
+        SqlNodeList pkList = new SqlNodeList(SqlParserPos.ZERO);
+        RelDataType rowType = buildRowTypeForSelect(ImmutableList.of(primaryKey, primaryKey), tableMeta, pkList);
+
+        // build target table
+        buildTargetTable();
+
+        final SqlNodeList selectList = new SqlNodeList(SqlParserPos.ZERO);
+        selectList.add(new SqlBasicCall(SqlStdOperatorTable.MIN, new SqlNode[] {pkList.get(0)}, SqlParserPos.ZERO));
+        selectList.add(new SqlBasicCall(SqlStdOperatorTable.MAX, new SqlNode[] {pkList.get(1)}, SqlParserPos.ZERO));
+
+        final SqlSelect sqlSelect = new SqlSelect(SqlParserPos.ZERO,
+            null,
+            selectList,
+            targetTableNode,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+        return buildSelectPhyTblOpTemplate(sqlSelect, rowType, tableMeta, LockMode.UNDEF, ec);
+    }
+
     /**
      * <pre>
      *  SELECT {all_select_keys}
@@ -77,10 +77,10 @@ import java.util.stream.Collectors;
  * <p>
  * For mode='auto':
  * Default policy is BalancePartitions.
- * Supported policies are BalancePartitions, MergePartitions, SplitPartitions, DrainNode.
+ * Supported policies are BalancePartitions, MergePartitions, SplitPartitions, HotSplitPartitions, DrainNode.
  * *
  * Options:
- * REBALANCE cluster policy='split_partition/merge_partition/data_balance'
+ * REBALANCE cluster policy='split_partition/merge_partition/data_balance/hot_split_partition'
  * REBALANCE explain='true'
  *
  * @author moyi
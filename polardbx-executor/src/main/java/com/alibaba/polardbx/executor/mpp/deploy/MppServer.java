@@ -22,12 +22,15 @@ import com.alibaba.polardbx.common.exception.code.ErrorCode;
 import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.common.utils.version.Version;
 import com.alibaba.polardbx.config.ConfigDataMode;
+import com.alibaba.polardbx.executor.mpp.Threads;
 import com.alibaba.polardbx.executor.mpp.client.LocalStatementClient;
 import com.alibaba.polardbx.executor.mpp.discover.PolarDBXNodeStatusManager;
 import com.alibaba.polardbx.executor.mpp.execution.QueryManager;
 import com.alibaba.polardbx.executor.mpp.execution.TaskExecutor;
 import com.alibaba.polardbx.executor.mpp.execution.TaskManager;
 import com.alibaba.polardbx.executor.mpp.server.StatementResource;
+import com.alibaba.polardbx.executor.mpp.stream.StreamExchangeServer;
+import com.alibaba.polardbx.executor.mpp.stream.StreamResultSource;
 import com.alibaba.polardbx.executor.operator.spill.SpillerFactory;
 import com.alibaba.polardbx.gms.node.GmsNodeManager;
 import com.alibaba.polardbx.gms.node.InternalNode;
@@ -46,20 +49,24 @@ import io.airlift.http.server.HttpServerModule;
 import io.airlift.jaxrs.JaxrsModule;
 import io.airlift.json.JsonModule;
 import io.airlift.node.NodeModule;
+import io.airlift.units.DataSize;
 import org.apache.calcite.rel.RelNode;
 
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
 import static com.alibaba.polardbx.common.properties.PropUtil.getCluster;
 import static com.alibaba.polardbx.executor.mpp.client.MppMediaTypes.MPP_POLARDBX;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
 
 public class MppServer extends Server {
 
     private volatile StatementResource statementResource;
     private String serverHost;
     private TaskManager taskManager;
+    private StreamExchangeServer streamExchangeServer;
 
     private boolean isMppServer;
     private boolean isMppWorker;
@@ -125,6 +132,7 @@ public class MppServer extends Server {
             }
             if (isMppWorker) {
                 taskManager = injector.getInstance(TaskManager.class);
+                startStreamExchangeServer();
             }
             nodeManager = injector.getInstance(InternalNodeManager.class);
             taskExecutor = injector.getInstance(TaskExecutor.class);
@@ -139,6 +147,21 @@ public class MppServer extends Server {
         start();
     }
 
+    private void startStreamExchangeServer() throws Exception {
+        int portOffset = MppConfig.getInstance().getExchangeStreamPortOffset();
+        if (portOffset <= 0) {
+            return;
+        }
+        streamExchangeServer = new StreamExchangeServer(
+            StreamResultSource.of(taskManager),
+            new InetSocketAddress(mppPort + portOffset),
+            DataSize.succinctBytes(MppConfig.getInstance().getExchangeMaxResponseSize()),
+            newScheduledThreadPool(MppConfig.getInstance().getExchangeClientThreads(),
+                Threads.daemonThreadsNamed("exchange-stream-%s")));
+        streamExchangeServer.start();
+        log.warn("MppServer streaming exchange started at port " + streamExchangeServer.getPort());
+    }
+
     public TaskManager getTaskManager() {
         return taskManager;
     }
@@ -0,0 +1,213 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.execution;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Multilevel feedback queue of splits.
+ * <p>
+ * A split is queued on the level decided by the time its task has been scheduled,
+ * so splits of long running tasks are demoted to lower levels after each time quanta.
+ * Each level owns a share of the runner time, higher levels get more, and the next split is
+ * taken from the level consumed least of its share, then short queries will not wait behind a
+ * long one while the long one still makes progress.
+ */
+@ThreadSafe
+public class MultilevelSplitQueue<T> {
+
+    /**
+     * Minimal scheduled time of a task on each level
+     */
+    static final long[] LEVEL_THRESHOLD_SECONDS = {0, 1, 10, 60, 300};
+    static final int LEVEL_COUNT = LEVEL_THRESHOLD_SECONDS.length;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    @GuardedBy("lock")
+    private final List<ArrayDeque<Entry<T>>> levelQueues = new ArrayList<>(LEVEL_COUNT);
+    @GuardedBy("lock")
+    private final long[] levelScheduledNanos = new long[LEVEL_COUNT];
+    @GuardedBy("lock")
+    private int size;
+
+    private final double[] levelShares = new double[LEVEL_COUNT];
+
+    /**
+     * @param levelTimeMultiplier share of a level is this times of the share of the next lower level
+     */
+    public MultilevelSplitQueue(int levelTimeMultiplier) {
+        checkArgument(levelTimeMultiplier >= 1, "levelTimeMultiplier must be at least 1");
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            levelQueues.add(new ArrayDeque<>());
+        }
+        double share = 1;
+        for (int level = LEVEL_COUNT - 1; level >= 0; level--) {
+            levelShares[level] = share;
+            share *= levelTimeMultiplier;
+        }
+    }
+
+    public static int computeLevel(long scheduledNanos) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(scheduledNanos);
+        for (int level = 0; level < LEVEL_COUNT - 1; level++) {
+            if (seconds < LEVEL_THRESHOLD_SECONDS[level + 1]) {
+                return level;
+            }
+        }
+        return LEVEL_COUNT - 1;
+    }
+
+    public void offer(T item, int level) {
+        checkArgument(level >= 0 && level < LEVEL_COUNT, "invalid level " + level);
+        lock.lock();
+        try {
+            ArrayDeque<Entry<T>> queue = levelQueues.get(level);
+            if (queue.isEmpty()) {
+                // A level back from idle must not monopolize the runners to catch up its share
+                levelScheduledNanos[level] = Math.max(levelScheduledNanos[level], expectedScheduledNanos(level));
+            }
+            queue.addLast(new Entry<>(item, System.nanoTime()));
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            int level = selectLevel();
+            Entry<T> entry = levelQueues.get(level).pollFirst();
+            size--;
+            return entry.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Charge the runner time consumed by a split of the level
+     */
+    public void addLevelTime(int level, long nanos) {
+        lock.lock();
+        try {
+            levelScheduledNanos[level] += nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int[] getLevelPendingSizes() {
+        int[] sizes = new int[LEVEL_COUNT];
+        lock.lock();
+        try {
+            for (int level = 0; level < LEVEL_COUNT; level++) {
+                sizes[level] = levelQueues.get(level).size();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return sizes;
+    }
+
+    /**
+     * How long the oldest pending split of each level has been waiting
+     */
+    public long[] getLevelMaxWaitMillis() {
+        long[] waits = new long[LEVEL_COUNT];
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            for (int level = 0; level < LEVEL_COUNT; level++) {
+                Entry<T> oldest = levelQueues.get(level).peekFirst();
+                if (oldest != null) {
+                    waits[level] = TimeUnit.NANOSECONDS.toMillis(now - oldest.enqueueNanos);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return waits;
+    }
+
+    @GuardedBy("lock")
+    private int selectLevel() {
+        int selected = -1;
+        double minNormalized = Double.MAX_VALUE;
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            if (levelQueues.get(level).isEmpty()) {
+                continue;
+            }
+            double normalized = levelScheduledNanos[level] / levelShares[level];
+            if (normalized < minNormalized) {
+                minNormalized = normalized;
+                selected = level;
+            }
+        }
+        return selected;
+    }
+
+    @GuardedBy("lock")
+    private long expectedScheduledNanos(int targetLevel) {
+        double minNormalized = Double.MAX_VALUE;
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            if (level == targetLevel || levelQueues.get(level).isEmpty()) {
+                continue;
+            }
+            minNormalized = Math.min(minNormalized, levelScheduledNanos[level] / levelShares[level]);
+        }
+        if (minNormalized == Double.MAX_VALUE) {
+            return levelScheduledNanos[targetLevel];
+        }
+        return (long) (minNormalized * levelShares[targetLevel]);
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private final long enqueueNanos;
+
+        private Entry(T item, long enqueueNanos) {
+            this.item = item;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+}
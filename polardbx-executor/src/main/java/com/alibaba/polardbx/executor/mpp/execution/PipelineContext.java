@@ -286,7 +286,10 @@ public class PipelineContext {
                                 operator.getOperatorType(),
                                 operator.getOperatorId(), operator.getOutputRowCount(), operator.getOutputBytes(),
                                 operator.getStartupDuration(), operator.getDuration(), operator.getMemory(),
-                                operator.getInstances(), operator.getSpillCnt()));
+                                operator.getInstances(), operator.getSpillCnt(),
+                                operator.getCompressionInputBytes(), operator.getCompressionOutputBytes(),
+                                operator.getPartialAggInputRows(), operator.getPartialAggBypassRows(),
+                                operator.getRuntimeFilterTestedRows(), operator.getRuntimeFilterPassedRows()));
                         }
                     } else {
                         if (taskStats.getOperatorStats() != null) {
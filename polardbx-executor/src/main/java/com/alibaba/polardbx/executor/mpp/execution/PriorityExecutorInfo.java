@@ -44,9 +44,24 @@ public class PriorityExecutorInfo {
      * number of blocked splits
      */
     private int blockedSplitSize;
+    /**
+     * number of pending splits on each level of the multilevel queue, empty if not leveled
+     */
+    private int[] levelPendingSplitsSize;
+    /**
+     * waiting time of the oldest pending split on each level, in milliseconds
+     */
+    private long[] levelMaxWaitMillis;
 
     public PriorityExecutorInfo(String name, int poolSize, int activeCount, long runnerProcessCount,
                                 long completedTaskCount, int pendingSplitsSize, int blockedSplitSize) {
+        this(name, poolSize, activeCount, runnerProcessCount, completedTaskCount, pendingSplitsSize,
+            blockedSplitSize, new int[0], new long[0]);
+    }
+
+    public PriorityExecutorInfo(String name, int poolSize, int activeCount, long runnerProcessCount,
+                                long completedTaskCount, int pendingSplitsSize, int blockedSplitSize,
+                                int[] levelPendingSplitsSize, long[] levelMaxWaitMillis) {
         this.name = name;
         this.poolSize = poolSize;
         this.activeCount = activeCount;
@@ -54,6 +69,8 @@ public class PriorityExecutorInfo {
         this.completedTaskCount = completedTaskCount;
         this.pendingSplitsSize = pendingSplitsSize;
         this.blockedSplitSize = blockedSplitSize;
+        this.levelPendingSplitsSize = levelPendingSplitsSize;
+        this.levelMaxWaitMillis = levelMaxWaitMillis;
     }
 
     public String getName() {
@@ -84,6 +101,14 @@ public class PriorityExecutorInfo {
         return blockedSplitSize;
     }
 
+    public int[] getLevelPendingSplitsSize() {
+        return levelPendingSplitsSize;
+    }
+
+    public long[] getLevelMaxWaitMillis() {
+        return levelMaxWaitMillis;
+    }
+
     public long getTotalTask() {
         return pendingSplitsSize + activeCount + blockedSplitSize + completedTaskCount;
     }
@@ -31,6 +31,7 @@ import com.alibaba.polardbx.executor.mpp.Session;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.BufferResult;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.LazyOutputBuffer;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.OutputBuffer;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeStats;
 import com.alibaba.polardbx.executor.mpp.metadata.TaskLocation;
 import com.alibaba.polardbx.executor.mpp.operator.DriverContext;
 import com.alibaba.polardbx.executor.mpp.operator.DriverStats;
@@ -38,6 +39,8 @@ import com.alibaba.polardbx.executor.mpp.operator.OperatorStats;
 import com.alibaba.polardbx.executor.mpp.operator.TaskStats;
 import com.alibaba.polardbx.executor.mpp.planner.PlanFragment;
 import com.alibaba.polardbx.executor.mpp.util.Failures;
+import com.alibaba.polardbx.executor.operator.util.PartialAggStats;
+import com.alibaba.polardbx.executor.operator.util.RuntimeFilterStats;
 import com.alibaba.polardbx.executor.utils.ExecUtils;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.memory.MemoryPool;
@@ -731,11 +734,23 @@ public class SqlTask {
                     for (Integer operatorId : driverContext.getDriverInputs()) {
                         RuntimeStatisticsSketch ret = idToStatisticsSketch.get(operatorId);
                         if (ret != null && !finishedStatics.contains(operatorId)) {
+                            RuntimeStatistics runtimeStatistics =
+                                (RuntimeStatistics) context.getContext().getRuntimeStatistics();
+                            PagesSerdeStats serdeStats = runtimeStatistics.getSerdeStats(operatorId);
+                            PartialAggStats partialAggStats = runtimeStatistics.getPartialAggStats(operatorId);
+                            RuntimeFilterStats runtimeFilterStats =
+                                runtimeStatistics.getRuntimeFilterStats(operatorId);
                             OperatorStats operatorStats =
                                 new OperatorStats(Optional.empty(), driverContext.getPipelineContext().getPipelineId(),
                                     Optional.of(idToName.get(operatorId)), operatorId, ret.getRowCount(),
                                     ret.getOutputBytes(), ret.getStartupDuration(), ret.getDuration(),
-                                    ret.getMemory(), ret.getInstances(), ret.getSpillCnt());
+                                    ret.getMemory(), ret.getInstances(), ret.getSpillCnt(),
+                                    serdeStats == null ? 0 : serdeStats.getCompressionInputBytes(),
+                                    serdeStats == null ? 0 : serdeStats.getCompressionOutputBytes(),
+                                    partialAggStats == null ? 0 : partialAggStats.getPartialAggInputRows(),
+                                    partialAggStats == null ? 0 : partialAggStats.getPartialAggBypassRows(),
+                                    runtimeFilterStats == null ? null : runtimeFilterStats.getTestedRows(),
+                                    runtimeFilterStats == null ? null : runtimeFilterStats.getPassedRows());
                             operatorStatsList.add(operatorStats);
                             finishedStatics.add(operatorId);
                         }
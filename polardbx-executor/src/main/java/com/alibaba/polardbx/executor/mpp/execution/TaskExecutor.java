@@ -39,6 +39,7 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -82,9 +84,9 @@ public class TaskExecutor {
     protected final BlockingQueue<PrioritizedSplitRunner> highPendingSplits;
 
     /**
-     * Splits waiting for ap runner thread.
+     * Splits waiting for ap runner thread, leveled by the scheduled time of their tasks.
      */
-    protected final BlockingQueue<PrioritizedSplitRunner> lowPendingSplits;
+    protected final MultilevelSplitQueue<PrioritizedSplitRunner> lowPendingSplits;
 
     /**
      * Splits blocked by the driver (typically output buffer is full or input buffer is empty).
@@ -127,7 +129,8 @@ public class TaskExecutor {
             new NamedThreadFactory("blockedSplits-processor", true));
 
         this.highPendingSplits = new LinkedBlockingQueue<>();
-        this.lowPendingSplits = new LinkedBlockingQueue<>();
+        this.lowPendingSplits =
+            new MultilevelSplitQueue<>(MppConfig.getInstance().getSplitLevelTimeMultiplier());
     }
 
     @PostConstruct
@@ -218,19 +221,29 @@ public class TaskExecutor {
             if (highPriority) {
                 highPendingSplits.put(split);
             } else {
-                lowPendingSplits.put(split);
+                offerLowPendingSplit(split);
             }
         } catch (Exception e) {
             log.error("error", e);
         }
     }
 
+    /**
+     * Queue the split on the level decided by the scheduled time of its task
+     */
+    private void offerLowPendingSplit(PrioritizedSplitRunner split) {
+        int level = MultilevelSplitQueue.computeLevel(split.getTaskHandle().getScheduledNanos());
+        split.setLevel(level);
+        lowPendingSplits.offer(split, level);
+    }
+
     public PriorityExecutorInfo getLowPriorityInfo() {
         ThreadPoolExecutor lowPriorityExecutor = getLowExecutor();
         PriorityExecutorInfo info =
             new PriorityExecutorInfo("LowTaskExecutor", lowPriorityExecutor.getPoolSize(),
                 runningLowSplits.get(), runnerLowProcessCount, lowCompletedSplitNum.get(),
-                lowPendingSplits.size(), lowBlockedSplitNum.get());
+                lowPendingSplits.size(), lowBlockedSplitNum.get(),
+                lowPendingSplits.getLevelPendingSizes(), lowPendingSplits.getLevelMaxWaitMillis());
         return info;
     }
 
@@ -286,6 +299,11 @@ public class TaskExecutor {
 
         private final AtomicInteger nextSplitId = new AtomicInteger();
 
+        /**
+         * Runner time consumed by all splits of this task
+         */
+        private final AtomicLong scheduledNanos = new AtomicLong();
+
         private TaskHandle(TaskId taskId) {
             this.taskId = taskId;
         }
@@ -307,6 +325,14 @@ public class TaskExecutor {
             return nextSplitId.getAndIncrement();
         }
 
+        private void addScheduledNanos(long nanos) {
+            scheduledNanos.addAndGet(nanos);
+        }
+
+        public long getScheduledNanos() {
+            return scheduledNanos.get();
+        }
+
         @Override
         public String toString() {
             return toStringHelper(this).add("taskId", taskId).toString();
@@ -336,6 +362,9 @@ public class TaskExecutor {
         private volatile long processCallsLong = 0L;
         private volatile long spiltCostLong = 0L;
 
+        // level of the multilevel queue this split is queued on
+        private volatile int level = 0;
+
         // each time we run a split, run it for this length before returning to the pool
         public final long splitRunQuanta;
 
@@ -351,6 +380,14 @@ public class TaskExecutor {
             return spiltCostUpdater.get(this);
         }
 
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
         public void spiltCostAdd(long cost) {
             spiltCostUpdater.getAndAdd(this, cost);
         }
@@ -460,6 +497,8 @@ public class TaskExecutor {
                     + " last time runner process count: " + lastRunnerProcessCount
                     + " this time runner process count: " + priorityExecutorInfo.getRunnerProcessCount()
                     + " runner process rate: " + runnerProcessRate
+                    + " level pending splits: " + Arrays.toString(priorityExecutorInfo.getLevelPendingSplitsSize())
+                    + " level max wait ms: " + Arrays.toString(priorityExecutorInfo.getLevelMaxWaitMillis())
             );
         }
 
@@ -540,11 +579,15 @@ public class TaskExecutor {
                             }
                         } else {
                             long start = System.currentTimeMillis();
+                            long startNanos = System.nanoTime();
                             if (log.isDebugEnabled()) {
                                 log.debug(String.format("%s is started", split.getInfo()));
                             }
                             blocked = split.process(start);
                             long cost = System.currentTimeMillis() - start;
+                            long costNanos = System.nanoTime() - startNanos;
+                            split.getTaskHandle().addScheduledNanos(costNanos);
+                            lowPendingSplits.addLevelTime(split.getLevel(), costNanos);
                             try {
                                 split.spiltCostAdd(cost);
                             } catch (Exception e) {
@@ -561,7 +604,7 @@ public class TaskExecutor {
                                 splitFinished(split);
                             } else {
                                 if (blocked.isDone()) {
-                                    lowPendingSplits.put(split);
+                                    offerLowPendingSplit(split);
                                 } else {
                                     if (log.isDebugEnabled()) {
                                         log.debug(String.format("%s is bloked", split.getInfo()));
@@ -577,7 +620,7 @@ public class TaskExecutor {
                                         lowBlockedSplitNum.getAndDecrement();
                                         blockedSplits.remove(split);
                                         try {
-                                            lowPendingSplits.put(split);
+                                            offerLowPendingSplit(split);
                                         } catch (Exception e) {
                                             log.error("error", e);
                                         }
@@ -662,6 +705,7 @@ public class TaskExecutor {
                             ListenableFuture<?> blocked = split.process(start);
                             long cost = System.currentTimeMillis() - start;
                             split.spiltCostAdd(cost);
+                            split.getTaskHandle().addScheduledNanos(TimeUnit.MILLISECONDS.toNanos(cost));
                             final boolean moveToLowQueue = split.moveToLowQueue(cost);
                             if (split.isFinished()) {
                                 highCompletedSplitNum.getAndIncrement();
@@ -675,7 +719,7 @@ public class TaskExecutor {
                             } else {
                                 if (blocked.isDone()) {
                                     if (moveToLowQueue) {
-                                        lowPendingSplits.put(split);
+                                        offerLowPendingSplit(split);
                                     } else {
                                         highPendingSplits.put(split);
                                     }
@@ -695,7 +739,7 @@ public class TaskExecutor {
                                         blockedSplits.remove(split);
                                         try {
                                             if (moveToLowQueue) {
-                                                lowPendingSplits.put(split);
+                                                offerLowPendingSplit(split);
                                             } else {
                                                 highPendingSplits.put(split);
                                             }
@@ -19,10 +19,17 @@ package com.alibaba.polardbx.executor.mpp.execution.buffer;
 import com.alibaba.polardbx.common.exception.TddlRuntimeException;
 import com.alibaba.polardbx.common.exception.code.ErrorCode;
 
+/**
+ * Codec marker carried by each serialized chunk, so that the receiver
+ * can decode the page regardless of its own compression settings.
+ */
 public enum ChunkCompression {
 
     UNCOMPRESSED((byte) 0),
-    COMPRESSED((byte) 1);
+    LZ4((byte) 1),
+    ZSTD((byte) 2);
+
+    private static final ChunkCompression[] MARKERS = {UNCOMPRESSED, LZ4, ZSTD};
 
     private final byte marker;
 
@@ -34,10 +41,14 @@ public enum ChunkCompression {
         return marker;
     }
 
+    public boolean isCompressed() {
+        return this != UNCOMPRESSED;
+    }
+
     public static ChunkCompression lookupCodecFromMarker(byte marker) {
-        if (marker != UNCOMPRESSED.getMarker() && marker != COMPRESSED.getMarker()) {
+        if (marker < 0 || marker >= MARKERS.length) {
             throw new TddlRuntimeException(ErrorCode.ERR_CORRUPT_PAGE, "Page marker did not contain expected value");
         }
-        return UNCOMPRESSED.getMarker() == marker ? UNCOMPRESSED : COMPRESSED;
+        return MARKERS[marker];
     }
 }
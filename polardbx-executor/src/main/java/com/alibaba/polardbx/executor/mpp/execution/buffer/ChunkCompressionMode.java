@@ -0,0 +1,62 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.mpp.execution.buffer;
+
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+
+/**
+ * How pages are compressed before they are put into the output buffer.
+ */
+public enum ChunkCompressionMode {
+
+    /**
+     * Never compress
+     */
+    NONE(ChunkCompression.UNCOMPRESSED),
+
+    LZ4(ChunkCompression.LZ4),
+
+    ZSTD(ChunkCompression.ZSTD),
+
+    /**
+     * Compress with LZ4, but keep sampling the compression ratio and stop
+     * compressing for a while when pages turn out to be incompressible
+     */
+    ADAPTIVE(ChunkCompression.LZ4);
+
+    private final ChunkCompression codec;
+
+    ChunkCompressionMode(ChunkCompression codec) {
+        this.codec = codec;
+    }
+
+    public ChunkCompression getCodec() {
+        return codec;
+    }
+
+    public static ChunkCompressionMode of(String name) {
+        if (name == null || name.isEmpty()) {
+            return NONE;
+        }
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new TddlRuntimeException(ErrorCode.ERR_CONFIG, "Unknown exchange compression mode: " + name);
+        }
+    }
+}
@@ -22,17 +22,19 @@ import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import io.airlift.compress.Compressor;
 import io.airlift.compress.Decompressor;
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
 
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.List;
-import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.airlift.compress.lz4.Lz4RawCompressor.maxCompressedLength;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
@@ -40,18 +42,50 @@ import static java.util.Objects.requireNonNull;
 public class PagesSerde {
     private static final double MINIMUM_COMPRESSION_RATIO = 0.8;
 
-    private final Optional<Compressor> compressor;
-    private final Optional<Decompressor> decompressor;
+    /**
+     * In adaptive mode, compression is turned off for this many pages after
+     * a sampled page fails to reach MINIMUM_COMPRESSION_RATIO, then resampled.
+     * The back-off doubles on each consecutive failure up to the max.
+     */
+    private static final int ADAPTIVE_MIN_SKIP_PAGES = 4;
+    private static final int ADAPTIVE_MAX_SKIP_PAGES = 256;
+
+    private final ChunkCompressionMode compressionMode;
+    private final Compressor compressor;
     private final List<BlockEncoding> blockEncodings;
+    private final PagesSerdeStats serializeStats;
+    private final PagesSerdeStats deserializeStats;
+
+    /**
+     * Decompressors are created lazily by marker, pages from an upstream
+     * task may use a different codec than ours
+     */
+    private final Decompressor[] decompressors = new Decompressor[ChunkCompression.values().length];
+
+    private int skipPages;
+    private int nextSkipPages = ADAPTIVE_MIN_SKIP_PAGES;
+
+    public PagesSerde(ChunkCompressionMode compressionMode, List<DataType> types) {
+        this(compressionMode, types, null, null);
+    }
+
+    public PagesSerde(ChunkCompressionMode compressionMode,
+                      List<DataType> types,
+                      PagesSerdeStats serializeStats,
+                      PagesSerdeStats deserializeStats) {
+        this(compressionMode, types, serializeStats, deserializeStats, false);
+    }
 
-    public PagesSerde(Optional<Compressor> compressor,
-                      Optional<Decompressor> decompressor,
-                      List<DataType> types) {
-        this.compressor = requireNonNull(compressor, "compressor is null");
-        this.decompressor = requireNonNull(decompressor, "decompressor is null");
-        this.blockEncodings = BlockEncodingBuilders.create(types);
-        checkArgument(compressor.isPresent() == decompressor.isPresent(),
-            "compressor and decompressor must both be present or both be absent");
+    public PagesSerde(ChunkCompressionMode compressionMode,
+                      List<DataType> types,
+                      PagesSerdeStats serializeStats,
+                      PagesSerdeStats deserializeStats,
+                      boolean lowCardinalityEncoding) {
+        this.compressionMode = requireNonNull(compressionMode, "compressionMode is null");
+        this.compressor = createCompressor(compressionMode.getCodec());
+        this.blockEncodings = BlockEncodingBuilders.create(types, lowCardinalityEncoding);
+        this.serializeStats = serializeStats;
+        this.deserializeStats = deserializeStats;
     }
 
     public SerializedChunk serialize(boolean localChunk, Chunk page) {
@@ -59,7 +93,11 @@ public class PagesSerde {
             return new SerializedChunk(page, (int) page.getElementUsedBytes(), ChunkCompression.UNCOMPRESSED,
                 page.getPositionCount());
         }
-        return serializeForce(page);
+        SerializedChunk serializedChunk = serializeForce(page);
+        if (serializeStats != null) {
+            serializeStats.record(serializedChunk.getUncompressedSizeInBytes(), serializedChunk.getSizeInBytes());
+        }
+        return serializedChunk;
     }
 
     private SerializedChunk serializeForce(Chunk page) {
@@ -68,29 +106,46 @@ public class PagesSerde {
         // length is an int
         PagesSerdeUtil.writeRawPage(page, serializationBuffer, blockEncodings);
 
-        if (!compressor.isPresent()) {
+        if (compressor == null || shouldSkipCompression()) {
             return new SerializedChunk(serializationBuffer.slice(), ChunkCompression.UNCOMPRESSED,
                 page.getPositionCount(), serializationBuffer.size());
         }
 
-        int maxCompressedLength = maxCompressedLength(serializationBuffer.size());
+        int maxCompressedLength = compressor.maxCompressedLength(serializationBuffer.size());
         byte[] compressionBuffer = new byte[maxCompressedLength];
-        int actualCompressedLength = compressor.get()
+        int actualCompressedLength = compressor
             .compress(serializationBuffer.slice().getBytes(), 0, serializationBuffer.size(), compressionBuffer, 0,
                 maxCompressedLength);
 
         if (((1.0 * actualCompressedLength) / serializationBuffer.size()) > MINIMUM_COMPRESSION_RATIO) {
+            onIncompressiblePage();
             return new SerializedChunk(serializationBuffer.slice(), ChunkCompression.UNCOMPRESSED,
                 page.getPositionCount(), serializationBuffer.size());
         }
+        nextSkipPages = ADAPTIVE_MIN_SKIP_PAGES;
 
         return new SerializedChunk(
             Slices.copyOf(Slices.wrappedBuffer(compressionBuffer, 0, actualCompressedLength)),
-            ChunkCompression.COMPRESSED,
+            compressionMode.getCodec(),
             page.getPositionCount(),
             serializationBuffer.size());
     }
 
+    private boolean shouldSkipCompression() {
+        if (skipPages > 0) {
+            skipPages--;
+            return true;
+        }
+        return false;
+    }
+
+    private void onIncompressiblePage() {
+        if (compressionMode == ChunkCompressionMode.ADAPTIVE) {
+            skipPages = nextSkipPages;
+            nextSkipPages = Math.min(nextSkipPages << 1, ADAPTIVE_MAX_SKIP_PAGES);
+        }
+    }
+
     public Chunk deserialize(SerializedChunk serializedChunk) {
         checkArgument(serializedChunk != null, "serializedChunk is null");
 
@@ -98,14 +153,18 @@ public class PagesSerde {
             return serializedChunk.getPage();
         }
 
-        if (!decompressor.isPresent() || serializedChunk.getCompression() == ChunkCompression.UNCOMPRESSED) {
+        if (deserializeStats != null) {
+            deserializeStats.record(serializedChunk.getUncompressedSizeInBytes(), serializedChunk.getSizeInBytes());
+        }
+
+        if (!serializedChunk.getCompression().isCompressed()) {
             return PagesSerdeUtil.readRawPage(serializedChunk.getPositionCount(), serializedChunk.getSlice().getInput(),
                 blockEncodings);
         }
 
         int uncompressedSize = serializedChunk.getUncompressedSizeInBytes();
         byte[] decompressed = new byte[uncompressedSize];
-        int actualUncompressedSize = decompressor.get()
+        int actualUncompressedSize = getDecompressor(serializedChunk.getCompression())
             .decompress(serializedChunk.getSlice().getBytes(), 0, serializedChunk.getSlice().length(), decompressed, 0,
                 uncompressedSize);
         checkState(uncompressedSize == actualUncompressedSize);
@@ -113,4 +172,35 @@ public class PagesSerde {
         return PagesSerdeUtil.readRawPage(serializedChunk.getPositionCount(), Slices
             .wrappedBuffer(decompressed, 0, uncompressedSize).getInput(), blockEncodings);
     }
+
+    private Decompressor getDecompressor(ChunkCompression codec) {
+        Decompressor decompressor = decompressors[codec.ordinal()];
+        if (decompressor == null) {
+            decompressor = createDecompressor(codec);
+            decompressors[codec.ordinal()] = decompressor;
+        }
+        return decompressor;
+    }
+
+    private static Compressor createCompressor(ChunkCompression codec) {
+        switch (codec) {
+        case LZ4:
+            return new Lz4Compressor();
+        case ZSTD:
+            return new ZstdCompressor();
+        default:
+            return null;
+        }
+    }
+
+    private static Decompressor createDecompressor(ChunkCompression codec) {
+        switch (codec) {
+        case LZ4:
+            return new Lz4Decompressor();
+        case ZSTD:
+            return new ZstdDecompressor();
+        default:
+            throw new IllegalArgumentException("No decompressor for " + codec);
+        }
+    }
 }
@@ -17,25 +17,40 @@
 package com.alibaba.polardbx.executor.mpp.execution.buffer;
 
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
-import io.airlift.compress.lz4.Lz4Compressor;
-import io.airlift.compress.lz4.Lz4Decompressor;
 
 import java.util.List;
-import java.util.Optional;
 
 public class PagesSerdeFactory {
 
-    private final boolean compressionEnabled;
+    private final ChunkCompressionMode compressionMode;
+    private final boolean lowCardinalityEncoding;
 
     public PagesSerdeFactory(boolean compressionEnabled) {
-        this.compressionEnabled = compressionEnabled;
+        this(compressionEnabled ? ChunkCompressionMode.LZ4 : ChunkCompressionMode.NONE);
+    }
+
+    public PagesSerdeFactory(ChunkCompressionMode compressionMode) {
+        this(compressionMode, false);
+    }
+
+    /**
+     * @param lowCardinalityEncoding only for pages read back by the same node, e.g. spill files
+     */
+    public PagesSerdeFactory(ChunkCompressionMode compressionMode, boolean lowCardinalityEncoding) {
+        this.compressionMode = compressionMode;
+        this.lowCardinalityEncoding = lowCardinalityEncoding;
+    }
+
+    public ChunkCompressionMode getCompressionMode() {
+        return compressionMode;
     }
 
     public PagesSerde createPagesSerde(List<DataType> types) {
-        if (compressionEnabled) {
-            return new PagesSerde(Optional.of(new Lz4Compressor()), Optional.of(new Lz4Decompressor()), types);
-        } else {
-            return new PagesSerde(Optional.empty(), Optional.empty(), types);
-        }
+        return createPagesSerde(types, null, null);
+    }
+
+    public PagesSerde createPagesSerde(List<DataType> types, PagesSerdeStats serializeStats,
+                                       PagesSerdeStats deserializeStats) {
+        return new PagesSerde(compressionMode, types, serializeStats, deserializeStats, lowCardinalityEncoding);
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.mpp.execution.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes fed into and produced by the page codec of one exchange operator.
+ * Shared by all serdes of the operator, so it is thread-safe.
+ */
+public class PagesSerdeStats {
+
+    /**
+     * Raw (uncompressed) bytes of the serialized pages
+     */
+    private final AtomicLong compressionInputBytes = new AtomicLong();
+
+    /**
+     * Bytes actually put on the wire, after compression if any
+     */
+    private final AtomicLong compressionOutputBytes = new AtomicLong();
+
+    public void record(long rawBytes, long wireBytes) {
+        compressionInputBytes.addAndGet(rawBytes);
+        compressionOutputBytes.addAndGet(wireBytes);
+    }
+
+    public long getCompressionInputBytes() {
+        return compressionInputBytes.get();
+    }
+
+    public long getCompressionOutputBytes() {
+        return compressionOutputBytes.get();
+    }
+}
@@ -197,26 +197,6 @@ public class ExchangeClient implements Closeable, IExchangeClient {
         return postProcessPage(page);
     }
 
-    public WorkProcessor<SerializedChunk> pages() {
-        return WorkProcessor.create(() -> {
-            SerializedChunk page = pollPage();
-            if (page == null) {
-                if (isFinished()) {
-                    return WorkProcessor.ProcessState.finished();
-                }
-
-                ListenableFuture<?> blocked = isBlocked();
-                if (!blocked.isDone()) {
-                    return WorkProcessor.ProcessState.blocked(blocked);
-                }
-
-                return WorkProcessor.ProcessState.yield();
-            }
-
-            return WorkProcessor.ProcessState.ofResult(page);
-        });
-    }
-
     @Override
     @Nullable
     public SerializedChunk getNextPageForDagWithDataDivide(Duration maxWaitTime)
@@ -16,8 +16,10 @@
 
 package com.alibaba.polardbx.executor.mpp.operator;
 
+import com.alibaba.polardbx.common.properties.ConnectionParams;
 import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.executor.mpp.execution.SystemMemoryUsageListener;
+import com.alibaba.polardbx.executor.mpp.stream.StreamConnectionPool;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import io.airlift.http.client.HttpClient;
 import io.airlift.units.DataSize;
@@ -74,7 +76,16 @@ public class ExchangeClientFactory implements ExchangeClientSupplier {
     }
 
     @Override
-    public ExchangeClient get(SystemMemoryUsageListener systemMemoryUsageListener, ExecutionContext context) {
+    public IExchangeClient get(SystemMemoryUsageListener systemMemoryUsageListener, ExecutionContext context) {
+        int streamPortOffset = MppConfig.getInstance().getExchangeStreamPortOffset();
+        if (streamPortOffset > 0
+            && context.getParamManager().getBoolean(ConnectionParams.ENABLE_MPP_STREAMING_EXCHANGE)) {
+            return new StreamExchangeClient(
+                context,
+                StreamConnectionPool.getInstance(),
+                streamPortOffset,
+                systemMemoryUsageListener);
+        }
         return new ExchangeClient(
             context,
             maxResponseSize,
@@ -28,6 +28,7 @@ import com.alibaba.polardbx.executor.mpp.execution.EmptyMemSystemListener;
 import com.alibaba.polardbx.executor.mpp.execution.RecordMemSystemListener;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.OutputBuffer;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.OutputBufferMemoryManager;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompressionMode;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.SpilledOutputBufferMemoryManager;
 import com.alibaba.polardbx.executor.mpp.operator.factory.CacheExecFactory;
@@ -235,7 +236,8 @@ public class LocalExecutionPlanner {
                                  URI runtimeFilterUpdateUri,
                                  boolean enableRuntimeFilter) {
         this.exchangeClientSupplier = exchangeClientSupplier;
-        this.pagesSerdeFactory = new PagesSerdeFactory(false);
+        this.pagesSerdeFactory = new PagesSerdeFactory(ChunkCompressionMode.of(
+            context.getParamManager().getString(ConnectionParams.MPP_EXCHANGE_COMPRESSION)));
         this.context = context;
         this.defaultParallelism = defaultParallelism;
         this.bkaJoinParallelism = bkaJoinParallelism;
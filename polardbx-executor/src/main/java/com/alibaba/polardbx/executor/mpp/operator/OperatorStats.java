@@ -19,11 +19,14 @@ package com.alibaba.polardbx.executor.mpp.operator;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.alibaba.polardbx.executor.mpp.execution.StageId;
 import org.apache.calcite.util.trace.RuntimeStatisticsSketch;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Immutable
 public class OperatorStats {
@@ -38,6 +41,28 @@ public class OperatorStats {
     private final long memory;
     private final int instances;
     private final int spillCnt;
+    /**
+     * Bytes entering and leaving the exchange page codec of this operator
+     */
+    private final long compressionInputBytes;
+    private final long compressionOutputBytes;
+    /**
+     * Rows consumed by a partial hash agg and rows it passed through without merging
+     */
+    private final long partialAggInputRows;
+    private final long partialAggBypassRows;
+    /**
+     * Rows tested and rows passed by each runtime filter evaluated in this operator, keyed by runtime filter id
+     */
+    private final Map<Integer, Long> runtimeFilterTestedRows;
+    private final Map<Integer, Long> runtimeFilterPassedRows;
+
+    public OperatorStats(Optional<StageId> stageId, int pipelineId, Optional<String> operatorType, int operatorId,
+                         long outputRowCount, long outputBytes, double startupDuration, double duration,
+                         long memory, int instances, int spillCnt) {
+        this(stageId, pipelineId, operatorType, operatorId, outputRowCount, outputBytes, startupDuration, duration,
+            memory, instances, spillCnt, 0, 0, 0, 0, ImmutableMap.of(), ImmutableMap.of());
+    }
 
     @JsonCreator
     public OperatorStats(
@@ -62,7 +87,19 @@ public class OperatorStats {
         @JsonProperty("instances")
             int instances,
         @JsonProperty("spillCnt")
-            int spillCnt) {
+            int spillCnt,
+        @JsonProperty("compressionInputBytes")
+            long compressionInputBytes,
+        @JsonProperty("compressionOutputBytes")
+            long compressionOutputBytes,
+        @JsonProperty("partialAggInputRows")
+            long partialAggInputRows,
+        @JsonProperty("partialAggBypassRows")
+            long partialAggBypassRows,
+        @JsonProperty("runtimeFilterTestedRows")
+            Map<Integer, Long> runtimeFilterTestedRows,
+        @JsonProperty("runtimeFilterPassedRows")
+            Map<Integer, Long> runtimeFilterPassedRows) {
         this.operatorType = operatorType;
         this.stageId = stageId;
         this.pipelineId = pipelineId;
@@ -74,6 +111,14 @@ public class OperatorStats {
         this.memory = memory;
         this.instances = instances;
         this.spillCnt = spillCnt;
+        this.compressionInputBytes = compressionInputBytes;
+        this.compressionOutputBytes = compressionOutputBytes;
+        this.partialAggInputRows = partialAggInputRows;
+        this.partialAggBypassRows = partialAggBypassRows;
+        this.runtimeFilterTestedRows =
+            runtimeFilterTestedRows == null ? ImmutableMap.of() : ImmutableMap.copyOf(runtimeFilterTestedRows);
+        this.runtimeFilterPassedRows =
+            runtimeFilterPassedRows == null ? ImmutableMap.of() : ImmutableMap.copyOf(runtimeFilterPassedRows);
     }
 
     @JsonProperty
@@ -121,6 +166,36 @@ public class OperatorStats {
         return spillCnt;
     }
 
+    @JsonProperty
+    public long getCompressionInputBytes() {
+        return compressionInputBytes;
+    }
+
+    @JsonProperty
+    public long getCompressionOutputBytes() {
+        return compressionOutputBytes;
+    }
+
+    @JsonProperty
+    public long getPartialAggInputRows() {
+        return partialAggInputRows;
+    }
+
+    @JsonProperty
+    public long getPartialAggBypassRows() {
+        return partialAggBypassRows;
+    }
+
+    @JsonProperty
+    public Map<Integer, Long> getRuntimeFilterTestedRows() {
+        return runtimeFilterTestedRows;
+    }
+
+    @JsonProperty
+    public Map<Integer, Long> getRuntimeFilterPassedRows() {
+        return runtimeFilterPassedRows;
+    }
+
     @JsonProperty
     public Optional<StageId> getStageId() {
         return stageId;
@@ -143,6 +218,12 @@ public class OperatorStats {
         long memory = this.memory;
         int instances = this.instances;
         int spillCnt = 0;
+        long compressionInputBytes = this.compressionInputBytes;
+        long compressionOutputBytes = this.compressionOutputBytes;
+        long partialAggInputRows = this.partialAggInputRows;
+        long partialAggBypassRows = this.partialAggBypassRows;
+        Map<Integer, Long> runtimeFilterTestedRows = new TreeMap<>(this.runtimeFilterTestedRows);
+        Map<Integer, Long> runtimeFilterPassedRows = new TreeMap<>(this.runtimeFilterPassedRows);
         for (OperatorStats operator : operators) {
             outputRowCount += operator.outputRowCount;
             outputBytes += operator.outputBytes;
@@ -151,9 +232,16 @@ public class OperatorStats {
             memory += operator.memory;
             instances += operator.instances;
             spillCnt += operator.spillCnt;
+            compressionInputBytes += operator.compressionInputBytes;
+            compressionOutputBytes += operator.compressionOutputBytes;
+            partialAggInputRows += operator.partialAggInputRows;
+            partialAggBypassRows += operator.partialAggBypassRows;
+            operator.runtimeFilterTestedRows.forEach((id, rows) -> runtimeFilterTestedRows.merge(id, rows, Long::sum));
+            operator.runtimeFilterPassedRows.forEach((id, rows) -> runtimeFilterPassedRows.merge(id, rows, Long::sum));
         }
         return new OperatorStats(stageId, pipelineId, operatorType, operatorId, outputRowCount, outputBytes,
-            startupDuration, duration, memory, instances, spillCnt);
+            startupDuration, duration, memory, instances, spillCnt, compressionInputBytes, compressionOutputBytes,
+            partialAggInputRows, partialAggBypassRows, runtimeFilterTestedRows, runtimeFilterPassedRows);
     }
 
     public RuntimeStatisticsSketch toSketch() {
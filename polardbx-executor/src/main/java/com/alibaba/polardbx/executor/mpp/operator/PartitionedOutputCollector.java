@@ -27,7 +27,6 @@ import com.alibaba.polardbx.executor.chunk.Converters;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.ClientBuffer;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.OutputBuffer;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
-import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
 import com.alibaba.polardbx.executor.utils.ExecUtils;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
@@ -52,13 +51,13 @@ public class PartitionedOutputCollector extends OutputCollector {
         List<DataType> outputType,
         List<Integer> partitionChannels,
         OutputBuffer outputBuffer,
-        PagesSerdeFactory serdeFactory,
+        PagesSerde serde,
         int chunkLimit, ExecutionContext context) {
         this.partitionPartitioner = new PagePartitioner(
             partitionCount,
             partitionChannels,
             outputBuffer,
-            serdeFactory,
+            serde,
             sourceTypes,
             outputType,
             chunkLimit,
@@ -127,7 +126,7 @@ public class PartitionedOutputCollector extends OutputCollector {
             int partitionCount,
             List<Integer> partitionChannels,
             OutputBuffer outputBuffer,
-            PagesSerdeFactory serdeFactory,
+            PagesSerde serde,
             List<DataType> sourceTypes,
             List<DataType> outputType,
             int chunkLimit,
@@ -144,7 +143,7 @@ public class PartitionedOutputCollector extends OutputCollector {
 
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.outputType = requireNonNull(outputType, "sourceTypes is null");
-            this.serde = requireNonNull(serdeFactory, "serdeFactory is null").createPagesSerde(outputType);
+            this.serde = requireNonNull(serde, "serde is null");
             this.chunkLimit = chunkLimit;
             this.context = context;
             this.partitionCount = partitionCount;
@@ -0,0 +1,342 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.operator;
+
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.mpp.execution.SystemMemoryUsageListener;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.alibaba.polardbx.executor.mpp.metadata.TaskLocation;
+import com.alibaba.polardbx.executor.mpp.stream.StreamConnectionPool;
+import com.alibaba.polardbx.executor.mpp.stream.StreamHandle;
+import com.alibaba.polardbx.executor.mpp.stream.StreamListener;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.airlift.units.Duration;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.alibaba.polardbx.executor.mpp.Threads.ENABLE_WISP;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exchange client receiving pages through streaming connections instead of http polling.
+ * <p>
+ * One stream is opened for each location, the server pushes pages as soon as they are produced.
+ * Each stream is allowed MPP_STREAMING_EXCHANGE_WINDOW_SIZE bytes in flight, the consumed bytes are
+ * returned to the server as credit when pages are polled.
+ */
+@ThreadSafe
+public class StreamExchangeClient implements IExchangeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamExchangeClient.class);
+
+    private final StreamConnectionPool connectionPool;
+    private final int portOffset;
+    private final long windowSize;
+    private final SystemMemoryUsageListener systemMemoryUsageListener;
+
+    @GuardedBy("this")
+    private final Set<TaskLocation> locations = new HashSet<>();
+    private final AtomicBoolean noMoreLocations = new AtomicBoolean(false);
+
+    private final Map<TaskLocation, StreamHandle> streams = new ConcurrentHashMap<>();
+    private final Set<TaskLocation> completedLocations = newConcurrentHashSet();
+    private final Map<StreamHandle, String> taskInstanceIds = new ConcurrentHashMap<>();
+
+    private final LinkedBlockingDeque<ReceivedPage> pageBuffer = new LinkedBlockingDeque<>();
+
+    @GuardedBy("this")
+    private final List<SettableFuture<?>> blockedCallers = new ArrayList<>();
+    @GuardedBy("this")
+    private long bufferBytes;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public StreamExchangeClient(ExecutionContext executionContext,
+                                StreamConnectionPool connectionPool,
+                                int portOffset,
+                                SystemMemoryUsageListener systemMemoryUsageListener) {
+        this.connectionPool = requireNonNull(connectionPool, "connectionPool is null");
+        this.portOffset = portOffset;
+        this.systemMemoryUsageListener = systemMemoryUsageListener;
+        this.windowSize =
+            executionContext.getParamManager().getLong(ConnectionParams.MPP_STREAMING_EXCHANGE_WINDOW_SIZE);
+    }
+
+    @Override
+    public synchronized void addLocation(TaskLocation location) {
+        requireNonNull(location, "location is null");
+        if (closed.get() || locations.contains(location)) {
+            return;
+        }
+        checkState(!noMoreLocations.get(), "No more locations already set");
+        locations.add(location);
+        openStream(location);
+    }
+
+    @Override
+    public synchronized void addLocations(List<TaskLocation> taskLocations) {
+        for (TaskLocation location : taskLocations) {
+            addLocation(location);
+        }
+    }
+
+    @Override
+    public synchronized void noMoreLocations() {
+        noMoreLocations.set(true);
+        closeIfDrained();
+        notifyBlockedCallers();
+    }
+
+    @Override
+    public boolean isNoMoreLocations() {
+        return noMoreLocations.get();
+    }
+
+    private void openStream(TaskLocation location) {
+        InetSocketAddress address = new InetSocketAddress(location.getNodeServer().getHost(),
+            location.getNodeServer().getHttpPort() + portOffset);
+        try {
+            StreamHandle stream = connectionPool.openStream(address, location.getTaskId().toString(),
+                location.getBufferId(), windowSize, new LocationListener(location));
+            streams.put(location, stream);
+        } catch (IOException e) {
+            failed(new TddlRuntimeException(ErrorCode.ERR_REMOTE_BUFFER, e,
+                String.format("open streaming exchange to %s failed: %s", address, e.getMessage())));
+        }
+    }
+
+    @Override
+    @Nullable
+    public SerializedChunk pollPage() {
+        if (!ENABLE_WISP) {
+            checkState(!Thread.holdsLock(this), "Can not get next page while holding a lock on this");
+        }
+        throwIfFailed();
+        if (closed.get()) {
+            return null;
+        }
+        return postProcessPage(pageBuffer.poll());
+    }
+
+    @Override
+    @Nullable
+    public SerializedChunk getNextPageForDagWithDataDivide(Duration maxWaitTime) throws InterruptedException {
+        if (!ENABLE_WISP) {
+            checkState(!Thread.holdsLock(this), "Can not get next page while holding a lock on this");
+        }
+        throwIfFailed();
+        if (closed.get()) {
+            return null;
+        }
+        ReceivedPage page = pageBuffer.poll();
+        if (page == null && maxWaitTime.toMillis() >= 1 && !streams.isEmpty()) {
+            page = pageBuffer.poll(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        SerializedChunk result = postProcessPage(page);
+        if (result == null) {
+            synchronized (this) {
+                closeIfDrained();
+            }
+        }
+        return result;
+    }
+
+    private SerializedChunk postProcessPage(ReceivedPage page) {
+        if (page == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (!closed.get()) {
+                int retainedSize = page.chunk.getRetainedSizeInBytes();
+                bufferBytes -= retainedSize;
+                systemMemoryUsageListener.updateSystemMemoryUsage(-retainedSize);
+                closeIfDrained();
+            }
+        }
+        // return the consumed bytes so that the server could send more
+        page.stream.grantCredit(page.chunk.getSizeInBytes());
+        return page.chunk;
+    }
+
+    /**
+     * Close the client once all locations finished and all pages consumed,
+     * a closed client is treated as data finished by the consumers.
+     */
+    @GuardedBy("this")
+    private void closeIfDrained() {
+        if (noMoreLocations.get() && completedLocations.size() == locations.size() && pageBuffer.isEmpty()) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        throwIfFailed();
+        return isClosed() && completedLocations.size() == locations.size();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public synchronized ListenableFuture<?> isBlocked() {
+        if (isClosed() || failure.get() != null || pageBuffer.peek() != null) {
+            return Futures.immediateFuture(true);
+        }
+        SettableFuture<?> future = SettableFuture.create();
+        blockedCallers.add(future);
+        return future;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        for (StreamHandle stream : streams.values()) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                // ignored
+            }
+        }
+        pageBuffer.clear();
+        systemMemoryUsageListener.updateSystemMemoryUsage(-bufferBytes);
+        bufferBytes = 0;
+        notifyBlockedCallers();
+    }
+
+    private synchronized void addPages(StreamHandle stream, List<SerializedChunk> pages) {
+        if (closed.get() || failure.get() != null) {
+            return;
+        }
+        long memorySize = 0L;
+        for (SerializedChunk page : pages) {
+            memorySize += page.getRetainedSizeInBytes();
+        }
+        systemMemoryUsageListener.updateSystemMemoryUsage(memorySize);
+        bufferBytes += memorySize;
+        for (SerializedChunk page : pages) {
+            pageBuffer.add(new ReceivedPage(stream, page));
+        }
+        notifyBlockedCallers();
+    }
+
+    private synchronized void locationFinished(TaskLocation location) {
+        completedLocations.add(location);
+        closeIfDrained();
+        notifyBlockedCallers();
+    }
+
+    private synchronized void failed(Throwable cause) {
+        if (!isClosed()) {
+            failure.compareAndSet(null, cause);
+            notifyBlockedCallers();
+        }
+    }
+
+    private synchronized void notifyBlockedCallers() {
+        for (SettableFuture<?> blockedCaller : blockedCallers) {
+            blockedCaller.set(null);
+        }
+        blockedCallers.clear();
+    }
+
+    private void throwIfFailed() {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    private class LocationListener implements StreamListener {
+        private final TaskLocation location;
+
+        LocationListener(TaskLocation location) {
+            this.location = location;
+        }
+
+        @Override
+        public void onPages(StreamHandle stream, String taskInstanceId, List<SerializedChunk> pages) {
+            String expected = taskInstanceIds.putIfAbsent(stream, taskInstanceId);
+            if (expected != null && !expected.equals(taskInstanceId)) {
+                stream.close();
+                failed(new TddlRuntimeException(ErrorCode.ERR_REMOTE_TASK,
+                    String.format("%s (%s)", "remote task instance mismatch", location.getNodeServer())));
+                return;
+            }
+            try {
+                addPages(stream, pages);
+            } catch (Throwable t) {
+                // memory allocation may fail
+                stream.close();
+                failed(t);
+            }
+        }
+
+        @Override
+        public void onFinished(StreamHandle stream) {
+            if (log.isDebugEnabled()) {
+                log.debug("streaming exchange finished: " + location);
+            }
+            locationFinished(location);
+        }
+
+        @Override
+        public void onFailed(StreamHandle stream, Throwable cause) {
+            failed(cause);
+        }
+    }
+
+    private static class ReceivedPage {
+        private final StreamHandle stream;
+        private final SerializedChunk chunk;
+
+        ReceivedPage(StreamHandle stream, SerializedChunk chunk) {
+            this.stream = stream;
+            this.chunk = chunk;
+        }
+    }
+}
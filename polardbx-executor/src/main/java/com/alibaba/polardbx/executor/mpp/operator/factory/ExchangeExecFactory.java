@@ -20,6 +20,7 @@ import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.executor.mpp.execution.RecordMemSystemListener;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeStats;
 import com.alibaba.polardbx.executor.mpp.operator.ExchangeClientSupplier;
 import com.alibaba.polardbx.executor.mpp.operator.IExchangeClient;
 import com.alibaba.polardbx.executor.mpp.planner.RemoteSourceNode;
@@ -65,13 +66,14 @@ public class ExchangeExecFactory extends ExecutorFactory {
     public Executor createExecutor(ExecutionContext context, int index) {
         Executor ret;
         RelCollation collation = sourceNode.getRelCollation();
+        PagesSerdeStats serdeStats = RuntimeStatHelper.getSerdeStats(sourceNode.getRelatedId(), context);
 
         if (mergeSort) {
             List<RelFieldCollation> sortList = collation.getFieldCollations();
 
             List<OrderByOption> orderBys = ExecUtils.convertFrom(sortList);
             ret = new SortMergeExchangeExec(context, sourceNode.getRelatedId(), supplier,
-                pagesSerdeFactory.createPagesSerde(types), orderBys, types
+                pagesSerdeFactory.createPagesSerde(types, null, serdeStats), orderBys, types
             );
         } else {
             if (exchangeClient == null) {
@@ -80,7 +82,7 @@ public class ExchangeExecFactory extends ExecutorFactory {
                 exchangeClient = supplier.get(new RecordMemSystemListener(memoryPool.getMemoryAllocatorCtx()), context);
             }
             ret = new ExchangeExec(context, sourceNode.getRelatedId(), exchangeClient, memoryPool,
-                pagesSerdeFactory.createPagesSerde(types),
+                pagesSerdeFactory.createPagesSerde(types, null, serdeStats),
                 types
             );
         }
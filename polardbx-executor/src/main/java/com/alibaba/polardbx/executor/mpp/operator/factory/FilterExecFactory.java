@@ -140,6 +140,10 @@ public class FilterExecFactory extends ExecutorFactory {
         }
 
         exec = new FilterExec(input, expression, bloomFilterExpression, context);
+        if (bloomFilterExpression != null) {
+            ((FilterExec) exec).setRuntimeFilterStats(
+                RuntimeStatHelper.getRuntimeFilterStats(filter.getRelatedId(), context));
+        }
 
         exec.setId(filter.getRelatedId());
         if (context.getRuntimeStatistics() != null) {
@@ -16,6 +16,7 @@
 
 package com.alibaba.polardbx.executor.mpp.operator.factory;
 
+import com.alibaba.polardbx.common.properties.ConnectionParams;
 import com.alibaba.polardbx.executor.operator.Executor;
 import com.alibaba.polardbx.executor.operator.HashAggExec;
 import com.alibaba.polardbx.executor.operator.spill.SpillerFactory;
@@ -81,6 +82,8 @@ public class HashAggExecutorFactory extends ExecutorFactory {
             } else if (expectedOutputRowCount < MIN_HASH_TABLE_SIZE) {
                 expectedOutputRowCount = MIN_HASH_TABLE_SIZE;
             }
+            boolean adaptivePartialAgg = hashAgg.isPartial()
+                && context.getParamManager().getBoolean(ConnectionParams.ENABLE_ADAPTIVE_PARTIAL_AGG);
             for (int j = 0; j < parallelism; j++) {
                 MemoryAllocatorCtx memoryAllocator = context.getMemoryPool().getMemoryAllocatorCtx();
 
@@ -94,6 +97,13 @@ public class HashAggExecutorFactory extends ExecutorFactory {
                     new HashAggExec(inputDataTypes, groups, aggregators, CalciteUtils.getTypes(hashAgg.getRowType()),
                         expectedOutputRowCount, spillerFactory, context);
                 exec.setId(hashAgg.getRelatedId());
+                if (adaptivePartialAgg) {
+                    exec.enableAdaptivePartialAgg(
+                        context.getParamManager().getInt(ConnectionParams.PARTIAL_AGG_BYPASS_MIN_ROWS),
+                        context.getParamManager().getFloat(ConnectionParams.PARTIAL_AGG_BYPASS_REDUCTION_RATIO),
+                        context.getParamManager().getLong(ConnectionParams.PARTIAL_AGG_BYPASS_BUFFER_SIZE),
+                        RuntimeStatHelper.getPartialAggStats(hashAgg.getRelatedId(), context));
+                }
                 if (context.getRuntimeStatistics() != null) {
                     RuntimeStatHelper.registerStatForExec(hashAgg, exec, context);
                 }
@@ -18,6 +18,7 @@ package com.alibaba.polardbx.executor.mpp.operator.factory;
 
 import com.alibaba.polardbx.common.properties.ConnectionParams;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.OutputBuffer;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
 import com.alibaba.polardbx.executor.mpp.operator.PartitionedOutputCollector;
 import com.alibaba.polardbx.executor.mpp.operator.TaskOutputCollector;
@@ -28,6 +29,7 @@ import com.alibaba.polardbx.executor.mpp.planner.SerializeDataType;
 import com.alibaba.polardbx.executor.operator.ConsumerExecutor;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.statistics.RuntimeStatHelper;
 
 import java.util.List;
 
@@ -48,16 +50,17 @@ public class OutputExecutorFactory implements ConsumeExecutorFactory {
         PartitioningScheme partitioningScheme = fragment.getPartitioningScheme();
         List<DataType> inputType = fragment.getTypes();
         List<DataType> outputType = SerializeDataType.convertToDataType(fragment.getOutputTypes());
+        PagesSerde serde = this.pagesSerdeFactory.createPagesSerde(outputType,
+            RuntimeStatHelper.getSerdeStats(fragment.getRootId(), context), null);
 
         if (partitioningScheme.getShuffleHandle().isSinglePartition() || partitioningScheme.getPartitionMode()
             .equals(PartitionShuffleHandle.PartitionShuffleMode.BROADCAST)
             || partitioningScheme.getPartitionCount() == 1) {
-            return new TaskOutputCollector(inputType, outputType, outputBuffer,
-                this.pagesSerdeFactory.createPagesSerde(outputType), context);
+            return new TaskOutputCollector(inputType, outputType, outputBuffer, serde, context);
         } else {
             int chunkLimit = context.getParamManager().getInt(ConnectionParams.CHUNK_SIZE);
             return new PartitionedOutputCollector(partitioningScheme.getPartitionCount(), inputType,
-                outputType, partitioningScheme.getPartChannels(), outputBuffer, this.pagesSerdeFactory, chunkLimit,
+                outputType, partitioningScheme.getPartChannels(), outputBuffer, serde, chunkLimit,
                 context);
         }
     }
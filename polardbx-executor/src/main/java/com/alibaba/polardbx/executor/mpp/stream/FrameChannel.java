@@ -0,0 +1,194 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A non-blocking socket channel speaking in frames of {@link StreamFrame}.
+ * Frames could be sent from any thread, while reading and writing are done in the event loop.
+ */
+class FrameChannel implements StreamEventLoop.Handler {
+
+    private static final int DEFAULT_READ_BUFFER_SIZE = 64 * 1024;
+
+    interface FrameHandler {
+        void onFrame(FrameChannel channel, byte type, int streamId, SliceInput payload);
+
+        void onClosed(FrameChannel channel, Throwable cause);
+    }
+
+    private final SocketChannel channel;
+    private final StreamEventLoop eventLoop;
+    private final FrameHandler frameHandler;
+    private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // accessed in event loop only
+    private ByteBuffer readBuffer = allocateReadBuffer(DEFAULT_READ_BUFFER_SIZE);
+    private SelectionKey key;
+
+    FrameChannel(SocketChannel channel, StreamEventLoop eventLoop, FrameHandler frameHandler) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.frameHandler = frameHandler;
+    }
+
+    void register() {
+        eventLoop.execute(() -> {
+            try {
+                key = channel.register(eventLoop.selector(), SelectionKey.OP_READ, this);
+                if (!writeQueue.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (ClosedChannelException e) {
+                close(e);
+            }
+        });
+    }
+
+    void send(Slice frame) {
+        if (closed.get()) {
+            return;
+        }
+        writeQueue.add(frame.toByteBuffer());
+        if (writeScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(() -> {
+                writeScheduled.set(false);
+                if (key != null && key.isValid()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                }
+            });
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void onReady(SelectionKey key) throws IOException {
+        if (key.isReadable()) {
+            read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            write();
+        }
+    }
+
+    private void read() throws IOException {
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            close(new IOException("connection closed by peer " + channel.socket().getRemoteSocketAddress()));
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.remaining() >= Integer.BYTES) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < StreamFrame.HEADER_SIZE || length > StreamFrame.MAX_FRAME_SIZE) {
+                throw new IOException("invalid frame length " + length);
+            }
+            if (readBuffer.remaining() < Integer.BYTES + length) {
+                break;
+            }
+            readBuffer.getInt();
+            byte[] body = new byte[length];
+            readBuffer.get(body);
+            SliceInput input = Slices.wrappedBuffer(body).getInput();
+            byte type = input.readByte();
+            int streamId = input.readInt();
+            frameHandler.onFrame(this, type, streamId, input);
+        }
+        readBuffer.compact();
+
+        if (readBuffer.position() >= Integer.BYTES) {
+            // make room for a frame larger than the buffer
+            int frameSize = Integer.BYTES + readBuffer.getInt(0);
+            if (frameSize > readBuffer.capacity()) {
+                ByteBuffer larger = allocateReadBuffer(frameSize);
+                readBuffer.flip();
+                larger.put(readBuffer);
+                readBuffer = larger;
+            }
+        } else if (readBuffer.position() == 0 && readBuffer.capacity() > DEFAULT_READ_BUFFER_SIZE) {
+            readBuffer = allocateReadBuffer(DEFAULT_READ_BUFFER_SIZE);
+        }
+    }
+
+    private static ByteBuffer allocateReadBuffer(int size) {
+        // frames are encoded by slice, which is little endian
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void write() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = writeQueue.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                // socket buffer is full, wait for next writable event
+                return;
+            }
+            writeQueue.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (!writeQueue.isEmpty()) {
+            // raced with a sender
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        close(cause);
+    }
+
+    void close(Throwable cause) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        eventLoop.execute(() -> {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        });
+        writeQueue.clear();
+        frameHandler.onClosed(this, cause);
+    }
+
+    @Override
+    public String toString() {
+        return "FrameChannel{" + channel.socket().getRemoteSocketAddress() + "}";
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.polardbx.common.exception.code.ErrorCode.ERR_REMOTE_BUFFER;
+
+/**
+ * Persistent connections to streaming exchange servers, one connection per server shared by all streams.
+ */
+public class StreamConnectionPool implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamConnectionPool.class);
+
+    private static final int CONNECT_TIMEOUT_MILLS = 10000;
+
+    private static volatile StreamConnectionPool instance;
+
+    public static StreamConnectionPool getInstance() {
+        if (instance == null) {
+            synchronized (StreamConnectionPool.class) {
+                if (instance == null) {
+                    try {
+                        instance = new StreamConnectionPool();
+                    } catch (IOException e) {
+                        throw new TddlRuntimeException(ErrorCode.ERR_EXECUTE_MPP, e,
+                            "create streaming exchange client failed");
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final StreamEventLoop eventLoop;
+    private final ConcurrentMap<InetSocketAddress, ClientConnection> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextStreamId = new AtomicInteger();
+
+    public StreamConnectionPool() throws IOException {
+        this.eventLoop = new StreamEventLoop("exchange-stream-client");
+        this.eventLoop.start();
+    }
+
+    /**
+     * Start streaming an output buffer of a remote task
+     *
+     * @param credit bytes the server may send before any credit is returned
+     */
+    public StreamHandle openStream(InetSocketAddress address, String taskId, int bufferId, long credit,
+                                   StreamListener listener) throws IOException {
+        return getConnection(address).openStream(taskId, bufferId, credit, listener);
+    }
+
+    private ClientConnection getConnection(InetSocketAddress address) throws IOException {
+        ClientConnection connection = connections.get(address);
+        if (connection != null && !connection.isClosed()) {
+            return connection;
+        }
+        synchronized (this) {
+            connection = connections.get(address);
+            if (connection == null || connection.isClosed()) {
+                connection = connect(address);
+                connections.put(address, connection);
+            }
+            return connection;
+        }
+    }
+
+    private ClientConnection connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(address, CONNECT_TIMEOUT_MILLS);
+            channel.socket().setTcpNoDelay(true);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        ClientConnection connection = new ClientConnection(address);
+        connection.channel = new FrameChannel(channel, eventLoop, connection);
+        connection.channel.register();
+        log.info("streaming exchange connected to " + address);
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        for (ClientConnection connection : new ArrayList<>(connections.values())) {
+            connection.channel.close(new IOException("connection pool closed"));
+        }
+        eventLoop.close();
+    }
+
+    class ClientConnection implements FrameChannel.FrameHandler {
+        private final InetSocketAddress address;
+        private final Map<Integer, StreamHandle> streams = new ConcurrentHashMap<>();
+        private FrameChannel channel;
+
+        ClientConnection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        StreamHandle openStream(String taskId, int bufferId, long credit, StreamListener listener)
+            throws IOException {
+            StreamHandle stream = new StreamHandle(this, nextStreamId.incrementAndGet(), listener);
+            streams.put(stream.getStreamId(), stream);
+            channel.send(StreamFrame.open(stream.getStreamId(), taskId, bufferId, credit));
+            if (channel.isClosed()) {
+                streams.remove(stream.getStreamId());
+                throw new IOException("connection to " + address + " is closed");
+            }
+            return stream;
+        }
+
+        void send(Slice frame) {
+            channel.send(frame);
+        }
+
+        void closeStream(StreamHandle stream) {
+            if (streams.remove(stream.getStreamId()) != null) {
+                channel.send(StreamFrame.close(stream.getStreamId()));
+            }
+        }
+
+        boolean isClosed() {
+            return channel.isClosed();
+        }
+
+        @Override
+        public void onFrame(FrameChannel channel, byte type, int streamId, SliceInput payload) {
+            StreamHandle stream = streams.get(streamId);
+            if (stream == null) {
+                // closed by client, ignore the frames in flight
+                return;
+            }
+            switch (type) {
+            case StreamFrame.PAGES: {
+                String taskInstanceId = StreamFrame.readString(payload);
+                List<SerializedChunk> pages = StreamFrame.readPages(payload);
+                stream.getListener().onPages(stream, taskInstanceId, pages);
+                break;
+            }
+            case StreamFrame.FINISH:
+                streams.remove(streamId);
+                if (stream.markDone()) {
+                    stream.getListener().onFinished(stream);
+                }
+                break;
+            case StreamFrame.ERROR: {
+                String message = StreamFrame.readString(payload);
+                streams.remove(streamId);
+                if (stream.markDone()) {
+                    stream.getListener().onFailed(stream, new TddlRuntimeException(ERR_REMOTE_BUFFER,
+                        String.format("%s (%s)", message, address)));
+                }
+                break;
+            }
+            default:
+                channel.close(new IOException("unexpected frame type " + type));
+            }
+        }
+
+        @Override
+        public void onClosed(FrameChannel channel, Throwable cause) {
+            connections.remove(address, this);
+            for (StreamHandle stream : new ArrayList<>(streams.values())) {
+                if (stream.markDone()) {
+                    stream.getListener().onFailed(stream, new TddlRuntimeException(ERR_REMOTE_BUFFER, cause,
+                        String.format("streaming exchange connection to %s lost", address)));
+                }
+            }
+            streams.clear();
+        }
+
+        @Override
+        public String toString() {
+            return address.toString();
+        }
+    }
+}
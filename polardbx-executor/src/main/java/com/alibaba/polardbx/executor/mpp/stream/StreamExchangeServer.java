@@ -0,0 +1,288 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.mpp.execution.TaskId;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.BufferResult;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.slice.SliceInput;
+import io.airlift.units.DataSize;
+
+import javax.annotation.concurrent.GuardedBy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Serves output buffers of local tasks through persistent connections.
+ * <p>
+ * Pages are pushed to the client as soon as they are produced, as long as the stream has credit.
+ * The client returns credit after consuming pages, which bounds the bytes in flight of each stream.
+ * Credit is checked before fetching, so a stream may overdraw by at most one batch.
+ */
+public class StreamExchangeServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamExchangeServer.class);
+
+    /**
+     * Delay before polling again when the output buffer returned nothing, e.g. the task is not created yet
+     */
+    private static final long EMPTY_RESULT_RETRY_DELAY_MILLS = 10;
+
+    private final StreamResultSource source;
+    private final long maxBatchBytes;
+    private final ScheduledExecutorService executor;
+    private final StreamEventLoop eventLoop;
+    private final ServerSocketChannel serverChannel;
+
+    public StreamExchangeServer(StreamResultSource source, InetSocketAddress address, DataSize maxBatchSize,
+                                ScheduledExecutorService executor) throws IOException {
+        this.source = requireNonNull(source, "source is null");
+        this.maxBatchBytes = maxBatchSize.toBytes();
+        this.executor = requireNonNull(executor, "executor is null");
+        this.eventLoop = new StreamEventLoop("exchange-stream-server");
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.socket().setReuseAddress(true);
+        this.serverChannel.bind(address);
+        this.serverChannel.configureBlocking(false);
+    }
+
+    public void start() {
+        eventLoop.execute(() -> {
+            try {
+                serverChannel.register(eventLoop.selector(), SelectionKey.OP_ACCEPT, new Acceptor());
+            } catch (IOException e) {
+                log.error("streaming exchange server register failed", e);
+            }
+        });
+        eventLoop.start();
+        log.info("streaming exchange server started on " + serverChannel.socket().getLocalSocketAddress());
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        eventLoop.close();
+        serverChannel.close();
+    }
+
+    private class Acceptor implements StreamEventLoop.Handler {
+        @Override
+        public void onReady(SelectionKey key) throws IOException {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                new FrameChannel(channel, eventLoop, new ServerConnection()).register();
+            }
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            log.error("streaming exchange server accept failed", cause);
+        }
+    }
+
+    /**
+     * Streams multiplexed on one client connection
+     */
+    private class ServerConnection implements FrameChannel.FrameHandler {
+        private final Map<Integer, ServerStream> streams = new ConcurrentHashMap<>();
+
+        @Override
+        public void onFrame(FrameChannel channel, byte type, int streamId, SliceInput payload) {
+            switch (type) {
+            case StreamFrame.OPEN: {
+                TaskId taskId = TaskId.valueOf(StreamFrame.readString(payload));
+                int bufferId = payload.readInt();
+                long credit = payload.readLong();
+                ServerStream stream = new ServerStream(this, channel, streamId, taskId, bufferId, credit);
+                streams.put(streamId, stream);
+                stream.fetch();
+                break;
+            }
+            case StreamFrame.CREDIT: {
+                ServerStream stream = streams.get(streamId);
+                if (stream != null) {
+                    stream.addCredit(payload.readLong());
+                }
+                break;
+            }
+            case StreamFrame.CLOSE: {
+                ServerStream stream = streams.remove(streamId);
+                if (stream != null) {
+                    stream.abort();
+                }
+                break;
+            }
+            default:
+                channel.close(new IOException("unexpected frame type " + type));
+            }
+        }
+
+        @Override
+        public void onClosed(FrameChannel channel, Throwable cause) {
+            for (ServerStream stream : new ArrayList<>(streams.values())) {
+                stream.abort();
+            }
+            streams.clear();
+        }
+    }
+
+    private class ServerStream {
+        private final ServerConnection connection;
+        private final FrameChannel channel;
+        private final int streamId;
+        private final TaskId taskId;
+        private final int bufferId;
+
+        @GuardedBy("this")
+        private long token;
+        @GuardedBy("this")
+        private long credit;
+        @GuardedBy("this")
+        private ListenableFuture<BufferResult> future;
+        @GuardedBy("this")
+        private boolean closed;
+
+        ServerStream(ServerConnection connection, FrameChannel channel, int streamId, TaskId taskId, int bufferId,
+                     long credit) {
+            this.connection = connection;
+            this.channel = channel;
+            this.streamId = streamId;
+            this.taskId = taskId;
+            this.bufferId = bufferId;
+            this.credit = credit;
+        }
+
+        synchronized void addCredit(long bytes) {
+            credit += bytes;
+            fetch();
+        }
+
+        synchronized void fetch() {
+            if (closed || future != null || credit <= 0) {
+                return;
+            }
+            long maxSize = Math.min(credit, maxBatchBytes);
+            final ListenableFuture<BufferResult> resultFuture =
+                source.getResults(taskId, bufferId, token, new DataSize(maxSize, BYTE));
+            future = resultFuture;
+            Futures.addCallback(resultFuture, new FutureCallback<BufferResult>() {
+                @Override
+                public void onSuccess(BufferResult result) {
+                    onResult(resultFuture, result);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    fail(t);
+                }
+            }, executor);
+        }
+
+        private void onResult(ListenableFuture<BufferResult> resultFuture, BufferResult result) {
+            boolean complete = false;
+            boolean retry = false;
+            synchronized (this) {
+                if (closed || future != resultFuture) {
+                    return;
+                }
+                future = null;
+                if (result.getToken() == token) {
+                    List<SerializedChunk> pages = result.getSerializedPages();
+                    if (!pages.isEmpty()) {
+                        channel.send(StreamFrame.pages(streamId, result.getTaskInstanceId(), pages));
+                        for (SerializedChunk page : pages) {
+                            credit -= page.getSizeInBytes();
+                        }
+                    }
+                    token = result.getNextToken();
+                    complete = result.isBufferComplete();
+                    retry = pages.isEmpty();
+                } else {
+                    retry = true;
+                }
+
+                if (complete) {
+                    closed = true;
+                    channel.send(StreamFrame.finish(streamId));
+                } else if (!retry) {
+                    fetch();
+                }
+            }
+
+            if (complete) {
+                // acknowledge the last pages, same as the DELETE of http exchange
+                connection.streams.remove(streamId);
+                source.abortResults(taskId, bufferId);
+            } else if (retry) {
+                executor.schedule(this::fetch, EMPTY_RESULT_RETRY_DELAY_MILLS, MILLISECONDS);
+            }
+        }
+
+        private void fail(Throwable t) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                future = null;
+            }
+            log.warn("streaming exchange " + taskId + "/" + bufferId + " failed", t);
+            connection.streams.remove(streamId);
+            channel.send(StreamFrame.error(streamId, t.getMessage()));
+        }
+
+        void abort() {
+            ListenableFuture<BufferResult> pending;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending = future;
+                future = null;
+            }
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            source.abortResults(taskId, bufferId);
+        }
+    }
+}
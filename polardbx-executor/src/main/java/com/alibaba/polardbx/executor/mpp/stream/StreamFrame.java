@@ -0,0 +1,138 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeUtil;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Frames of the streaming exchange protocol.
+ * <p>
+ * Each frame is: length(int, bytes after this field) | type(byte) | streamId(int) | payload.
+ * Many streams are multiplexed on one connection, a stream fetches one output buffer of a remote task.
+ * <pre>
+ * client -> server
+ *   OPEN    taskId, bufferId, credit: start streaming the output buffer
+ *   CREDIT  bytes: the client consumed these bytes, the server may send more
+ *   CLOSE   abort the stream
+ * server -> client
+ *   PAGES   taskInstanceId, serialized chunks
+ *   FINISH  the output buffer is complete
+ *   ERROR   message
+ * </pre>
+ */
+public final class StreamFrame {
+
+    public static final byte OPEN = 1;
+    public static final byte CREDIT = 2;
+    public static final byte CLOSE = 3;
+    public static final byte PAGES = 4;
+    public static final byte FINISH = 5;
+    public static final byte ERROR = 6;
+
+    /**
+     * type and streamId, excluding the length field
+     */
+    static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+    static final int MAX_FRAME_SIZE = 512 * 1024 * 1024;
+
+    private StreamFrame() {
+    }
+
+    public static Slice open(int streamId, String taskId, int bufferId, long credit) {
+        SliceOutput output = begin(OPEN, streamId, 64);
+        writeString(output, taskId);
+        output.writeInt(bufferId);
+        output.writeLong(credit);
+        return end(output);
+    }
+
+    public static Slice credit(int streamId, long bytes) {
+        SliceOutput output = begin(CREDIT, streamId, Long.BYTES);
+        output.writeLong(bytes);
+        return end(output);
+    }
+
+    public static Slice close(int streamId) {
+        return end(begin(CLOSE, streamId, 0));
+    }
+
+    public static Slice pages(int streamId, String taskInstanceId, List<SerializedChunk> pages) {
+        int estimatedSize = 64;
+        for (SerializedChunk page : pages) {
+            estimatedSize += page.getSizeInBytes() + Integer.BYTES * 3 + Byte.BYTES;
+        }
+        SliceOutput output = begin(PAGES, streamId, estimatedSize);
+        writeString(output, taskInstanceId);
+        PagesSerdeUtil.writeSerializedChunks(output, pages);
+        return end(output);
+    }
+
+    public static Slice finish(int streamId) {
+        return end(begin(FINISH, streamId, 0));
+    }
+
+    public static Slice error(int streamId, String message) {
+        SliceOutput output = begin(ERROR, streamId, 128);
+        writeString(output, message == null ? "" : message);
+        return end(output);
+    }
+
+    /**
+     * Pages are the last part of the payload, read them after the task instance id
+     */
+    public static List<SerializedChunk> readPages(SliceInput input) {
+        return ImmutableList.copyOf(PagesSerdeUtil.readSerializedChunks(input));
+    }
+
+    public static void writeString(SliceOutput output, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    public static String readString(SliceInput input) {
+        int length = input.readInt();
+        return input.readSlice(length).toStringUtf8();
+    }
+
+    private static SliceOutput begin(byte type, int streamId, int estimatedPayloadSize) {
+        SliceOutput output = new DynamicSliceOutput(Integer.BYTES + HEADER_SIZE + estimatedPayloadSize);
+        // length is filled in end()
+        output.writeInt(0);
+        output.writeByte(type);
+        output.writeInt(streamId);
+        return output;
+    }
+
+    private static Slice end(SliceOutput output) {
+        Slice frame = output.slice();
+        frame.setInt(0, frame.length() - Integer.BYTES);
+        return frame;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Client side of a stream, returned by {@link StreamConnectionPool#openStream}
+ */
+public class StreamHandle {
+
+    private final StreamConnectionPool.ClientConnection connection;
+    private final int streamId;
+    private final StreamListener listener;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    StreamHandle(StreamConnectionPool.ClientConnection connection, int streamId, StreamListener listener) {
+        this.connection = connection;
+        this.streamId = streamId;
+        this.listener = listener;
+    }
+
+    int getStreamId() {
+        return streamId;
+    }
+
+    StreamListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Mark the stream done, returns false if it's already done
+     */
+    boolean markDone() {
+        return done.compareAndSet(false, true);
+    }
+
+    public boolean isDone() {
+        return done.get();
+    }
+
+    /**
+     * Tell the server that these bytes have been consumed
+     */
+    public void grantCredit(long bytes) {
+        if (bytes > 0 && !done.get()) {
+            connection.send(StreamFrame.credit(streamId, bytes));
+        }
+    }
+
+    /**
+     * Abort the stream if not finished yet
+     */
+    public void close() {
+        if (markDone()) {
+            connection.closeStream(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamHandle{" + connection + "#" + streamId + "}";
+    }
+}
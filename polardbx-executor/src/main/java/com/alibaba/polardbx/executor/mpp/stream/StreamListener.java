@@ -0,0 +1,37 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+
+import java.util.List;
+
+/**
+ * Receives what the server streams back.
+ * <p>
+ * <b>NOTE:</b> callbacks are invoked in the event loop of connections, implementations are not allowed
+ * to perform blocking operations.
+ */
+public interface StreamListener {
+
+    void onPages(StreamHandle stream, String taskInstanceId, List<SerializedChunk> pages);
+
+    void onFinished(StreamHandle stream);
+
+    void onFailed(StreamHandle stream, Throwable cause);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.executor.mpp.OutputBuffers;
+import com.alibaba.polardbx.executor.mpp.execution.TaskId;
+import com.alibaba.polardbx.executor.mpp.execution.TaskManager;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.BufferResult;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.units.DataSize;
+
+/**
+ * Where the streaming exchange server reads output buffers from
+ */
+public interface StreamResultSource {
+
+    /**
+     * Same as {@link TaskManager#getTaskResults}, pages before the token are acknowledged
+     */
+    ListenableFuture<BufferResult> getResults(TaskId taskId, int bufferId, long token, DataSize maxSize);
+
+    void abortResults(TaskId taskId, int bufferId);
+
+    static StreamResultSource of(TaskManager taskManager) {
+        return new StreamResultSource() {
+            @Override
+            public ListenableFuture<BufferResult> getResults(TaskId taskId, int bufferId, long token,
+                                                             DataSize maxSize) {
+                return taskManager.getTaskResults(
+                    taskId, false, new OutputBuffers.OutputBufferId(bufferId), token, maxSize);
+            }
+
+            @Override
+            public void abortResults(TaskId taskId, int bufferId) {
+                taskManager.abortTaskResults(taskId, new OutputBuffers.OutputBufferId(bufferId));
+            }
+        };
+    }
+}
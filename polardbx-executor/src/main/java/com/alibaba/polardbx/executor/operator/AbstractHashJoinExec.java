@@ -20,6 +20,7 @@ import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.executor.operator.util.ConcurrentRawHashTable;
+import com.alibaba.polardbx.executor.operator.util.OffHeapJoinHashTable;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.expression.calc.IExpression;
 import com.alibaba.polardbx.optimizer.core.join.EquiJoinKey;
@@ -45,6 +46,11 @@ public abstract class AbstractHashJoinExec extends AbstractBufferedJoinExec impl
     int[] positionLinks;
     FastIntBloomFilter bloomFilter;
 
+    /**
+     * Off-heap replacement of hashTable and positionLinks, owned by the subclass which builds it
+     */
+    OffHeapJoinHashTable offHeapHashTable;
+
     public AbstractHashJoinExec(Executor outerInput,
                                 Executor innerInput,
                                 JoinRelType joinType,
@@ -74,6 +80,7 @@ public abstract class AbstractHashJoinExec extends AbstractBufferedJoinExec impl
 
         this.hashTable = null;
         this.positionLinks = null;
+        this.offHeapHashTable = null;
     }
 
     @Override
@@ -82,6 +89,9 @@ public abstract class AbstractHashJoinExec extends AbstractBufferedJoinExec impl
         if (bloomFilter != null && !bloomFilter.mightContain(hashCode)) {
             return LIST_END;
         }
+        if (offHeapHashTable != null) {
+            return offHeapHashTable.match(offHeapHashTable.get(hashCode), buildKeyChunks, keyChunk, position);
+        }
 
         int matchedPosition = hashTable.get(hashCode);
         while (matchedPosition != LIST_END) {
@@ -95,6 +105,9 @@ public abstract class AbstractHashJoinExec extends AbstractBufferedJoinExec impl
 
     @Override
     int matchNext(int current, Chunk keyChunk, int position) {
+        if (offHeapHashTable != null) {
+            return offHeapHashTable.match(offHeapHashTable.next(current), buildKeyChunks, keyChunk, position);
+        }
         int matchedPosition = positionLinks[current];
         while (matchedPosition != LIST_END) {
             if (buildKeyChunks.equals(matchedPosition, keyChunk, position)) {
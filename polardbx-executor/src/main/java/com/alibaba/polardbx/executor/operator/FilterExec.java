@@ -18,10 +18,13 @@ package com.alibaba.polardbx.executor.operator;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.executor.chunk.Block;
 import com.alibaba.polardbx.executor.chunk.BlockBuilder;
 import com.alibaba.polardbx.executor.chunk.BooleanBlockBuilder;
 import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.util.RuntimeFilterStats;
 import com.alibaba.polardbx.executor.operator.util.bloomfilter.BloomFilterExpression;
 import com.alibaba.polardbx.executor.operator.util.bloomfilter.BloomFilterExpressionFilter;
 import com.alibaba.polardbx.executor.utils.ConditionUtils;
@@ -39,6 +42,8 @@ import java.util.List;
  */
 public class FilterExec extends AbstractExecutor {
 
+    private static final Logger logger = LoggerFactory.getLogger(FilterExec.class);
+
     protected final Executor input;
     protected IExpression condition;
 
@@ -50,6 +55,7 @@ public class FilterExec extends AbstractExecutor {
     protected int position;
     private BloomFilterExpressionFilter bloomFilterExpressionFilter;
     private BooleanArrayList bloomFilterResult;
+    private RuntimeFilterStats runtimeFilterStats;
 
     public FilterExec(Executor input,
                       IExpression condition,
@@ -69,6 +75,13 @@ public class FilterExec extends AbstractExecutor {
         bloomFilterResult = null;
     }
 
+    /**
+     * Collect rows tested and passed by each bloom filter on close, ignored without bloom filters
+     */
+    public void setRuntimeFilterStats(RuntimeFilterStats runtimeFilterStats) {
+        this.runtimeFilterStats = runtimeFilterStats;
+    }
+
     @Override
     void doOpen() {
         createBlockBuilders();
@@ -160,6 +173,15 @@ public class FilterExec extends AbstractExecutor {
 
     @Override
     void doClose() {
+        if (bloomFilterExpressionFilter != null) {
+            if (runtimeFilterStats != null) {
+                bloomFilterExpressionFilter.recordStats(runtimeFilterStats);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("Bloom filter filtered %d rows, passed %d rows",
+                    bloomFilterExpressionFilter.getFilteredRows(), bloomFilterExpressionFilter.getPassedRows()));
+            }
+        }
         this.bloomFilterExpressionFilter = null;
         this.bloomFilterResult = null;
         input.close();
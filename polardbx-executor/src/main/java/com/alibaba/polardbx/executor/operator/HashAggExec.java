@@ -19,20 +19,34 @@ package com.alibaba.polardbx.executor.operator;
 import com.alibaba.polardbx.executor.operator.util.AggregateUtils;
 import com.alibaba.polardbx.executor.calc.AbstractAggregator;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.BlockBuilders;
 import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.executor.chunk.ChunkConverter;
 import com.alibaba.polardbx.executor.chunk.Converters;
 import com.alibaba.polardbx.executor.operator.spill.MemoryRevoker;
+import com.alibaba.polardbx.executor.operator.spill.Spiller;
 import com.alibaba.polardbx.executor.operator.spill.SpillerFactory;
 import com.alibaba.polardbx.executor.operator.util.AggOpenHashMap;
+import com.alibaba.polardbx.executor.operator.util.AggResultIterator;
+import com.alibaba.polardbx.executor.operator.util.PartialAggStats;
 import com.alibaba.polardbx.executor.operator.util.SpillableAggHashMap;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import com.alibaba.polardbx.executor.calc.Aggregator;
 import com.alibaba.polardbx.optimizer.memory.MemoryPoolUtils;
 import com.alibaba.polardbx.optimizer.memory.OperatorMemoryAllocatorCtx;
+import com.google.common.collect.Iterators;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+
+import static com.alibaba.polardbx.executor.utils.ExecUtils.checkException;
 
 public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor, MemoryRevoker {
     protected final ChunkConverter inputKeyChunkGetter;
@@ -47,6 +61,37 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     private long needMemoryAllocated = 0;
 
+    /**
+     * Reserved bytes held by the (non revocable) hash table
+     */
+    private long hashTableMemory = 0;
+
+    /**
+     * Adaptive partial aggregation: once enough rows have been observed and the hash table
+     * hardly reduces them, stop merging into the hash table and pass every following row
+     * through as its own group. The final agg merges the duplicated keys anyway.
+     */
+    private boolean adaptivePartialAgg = false;
+    private int bypassMinRows;
+    private float bypassReductionRatio;
+    private long bypassBufferSize;
+    private PartialAggStats partialAggStats;
+
+    private boolean bypassAllowed = false;
+    private boolean bypassing = false;
+    private long consumedRows = 0;
+    private AggResultIterator flushedIterator;
+    /**
+     * The producer side only runs once consuming is done, so the bypassed input is buffered as is, spilled
+     * whenever the buffer outgrows bypassBufferSize, and turned into partial rows chunk by chunk while producing
+     */
+    private Queue<Chunk> bypassChunks = new ArrayDeque<>();
+    private long bypassBufferedBytes = 0;
+    private Spiller bypassSpiller;
+    private ListenableFuture<?> bypassSpillFuture;
+    private long bypassSpillingBytes = 0;
+    private Iterator<Chunk> spilledBypassChunks;
+
     public HashAggExec(
         List<DataType> inputDataTypes,
         int[] groups,
@@ -90,6 +135,15 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     }
 
+    public void enableAdaptivePartialAgg(int bypassMinRows, float bypassReductionRatio, long bypassBufferSize,
+                                         PartialAggStats partialAggStats) {
+        this.adaptivePartialAgg = true;
+        this.bypassMinRows = bypassMinRows;
+        this.bypassReductionRatio = bypassReductionRatio;
+        this.bypassBufferSize = bypassBufferSize;
+        this.partialAggStats = partialAggStats;
+    }
+
     @Override
     public void openConsume() {
         boolean spillEnabled = spillerFactory != null;
@@ -111,6 +165,14 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
                 expectedGroups, chunkLimit, context, memoryAllocator, spillerFactory);
 
         }
+        // the bypassed input can only be bounded in memory if it can be spilled
+        bypassAllowed = adaptivePartialAgg && groups.length > 0 && spillerFactory != null;
+        for (Aggregator aggCall : aggregators) {
+            if (((AbstractAggregator) aggCall).isDistinct()) {
+                bypassAllowed = false;
+                break;
+            }
+        }
         //FIXME The allocate memory for the initial hashMap can't be release in fact!
         //memoryAllocator.allocateReservedMemory(hashTable.estimateSize());
     }
@@ -122,7 +184,17 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
         }
         hashTable = null;
         needMemoryAllocated = 0;
+        hashTableMemory = 0;
         resultIterator = null;
+        flushedIterator = null;
+        bypassChunks = new ArrayDeque<>();
+        bypassBufferedBytes = 0;
+        bypassSpillingBytes = 0;
+        spilledBypassChunks = null;
+        if (bypassSpiller != null) {
+            bypassSpiller.close();
+            bypassSpiller = null;
+        }
         if (memoryPool != null) {
             collectMemoryUsage(memoryPool);
             memoryPool.destroy();
@@ -131,6 +203,19 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     @Override
     public void consumeChunk(Chunk inputChunk) {
+        if (bypassing) {
+            finishBypassSpill();
+            bypassChunks.add(inputChunk);
+            bypassBufferedBytes += inputChunk.estimateSize();
+            memoryAllocator.allocateReservedMemory(inputChunk.estimateSize());
+            if (partialAggStats != null) {
+                partialAggStats.recordBypass(inputChunk.getPositionCount());
+            }
+            if (bypassBufferedBytes >= bypassBufferSize) {
+                spillBypassChunks();
+            }
+            return;
+        }
         Chunk inputKeyChunk;
         // no group by
         if (groups.length == 0) {
@@ -140,10 +225,129 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
         }
         long beforeEstimateSize = hashTable.estimateSize();
         hashTable.putChunk(inputKeyChunk, inputChunk);
+
+        if (bypassAllowed) {
+            consumedRows += inputChunk.getPositionCount();
+            if (partialAggStats != null) {
+                partialAggStats.recordInput(inputChunk.getPositionCount());
+            }
+            if (consumedRows >= bypassMinRows && hasLowReduction()) {
+                // the groups aggregated so far are materialized now, so the aggregators can be reused per row
+                flushedIterator = hashTable.buildChunks();
+                bypassing = true;
+            }
+        }
         long afterEstimateSize = hashTable.estimateSize();
         this.needMemoryAllocated = Math.max(afterEstimateSize - beforeEstimateSize, 0);
     }
 
+    /**
+     * Groups that went to disk are not counted, so a spilled hash table never switches to pass-through
+     */
+    private boolean hasLowReduction() {
+        int groupCount;
+        if (hashTable instanceof AggOpenHashMap) {
+            groupCount = ((AggOpenHashMap) hashTable).getGroupCount();
+        } else if (hashTable instanceof SpillableAggHashMap && !((SpillableAggHashMap) hashTable).hasSpilled()) {
+            groupCount = ((SpillableAggHashMap) hashTable).getGroupCount();
+        } else {
+            return false;
+        }
+        return groupCount > consumedRows * (1 - bypassReductionRatio);
+    }
+
+    private void spillBypassChunks() {
+        if (bypassSpiller == null) {
+            bypassSpiller =
+                spillerFactory.create(Arrays.asList(inputType), context.getQuerySpillSpaceMonitor(), null);
+        }
+        addSpillCnt(1);
+        bypassSpillFuture = bypassSpiller.spill(new ArrayList<>(bypassChunks).iterator(), true);
+        bypassChunks.clear();
+        bypassSpillingBytes = bypassBufferedBytes;
+        bypassBufferedBytes = 0;
+    }
+
+    /**
+     * Releases the memory of the buffered chunks once they are on disk
+     */
+    private void finishBypassSpill() {
+        if (bypassSpillFuture != null && bypassSpillFuture.isDone()) {
+            checkException(bypassSpillFuture);
+            bypassSpillFuture = null;
+            memoryAllocator.releaseReservedMemory(bypassSpillingBytes, true);
+            bypassSpillingBytes = 0;
+        }
+    }
+
+    private Chunk nextBypassChunk() {
+        if (flushedIterator != null) {
+            Chunk chunk = flushedIterator.nextChunk();
+            if (chunk != null) {
+                return chunk;
+            }
+            // all flushed groups are emitted, the hash table is not needed any more
+            flushedIterator = null;
+            hashTable.close();
+            hashTable = null;
+            if (memoryAllocator.isRevocable()) {
+                memoryAllocator.releaseRevocableMemory(memoryAllocator.getRevocableAllocated(), true);
+            } else {
+                memoryAllocator.releaseReservedMemory(hashTableMemory, true);
+            }
+            hashTableMemory = 0;
+        }
+        if (spilledBypassChunks != null && spilledBypassChunks.hasNext()) {
+            return passThrough(spilledBypassChunks.next());
+        }
+        Chunk inputChunk = bypassChunks.poll();
+        if (inputChunk == null) {
+            return null;
+        }
+        memoryAllocator.releaseReservedMemory(inputChunk.estimateSize(), true);
+        return passThrough(inputChunk);
+    }
+
+    /**
+     * Emit every row of the chunk as a group of its own, without hashing the keys
+     */
+    private Chunk passThrough(Chunk inputChunk) {
+        final int positionCount = inputChunk.getPositionCount();
+        Chunk inputKeyChunk = inputKeyChunkGetter.apply(inputChunk);
+        Block[] blocks = new Block[groupKeyType.length + aggregators.size()];
+        for (int i = 0; i < groupKeyType.length; i++) {
+            blocks[i] = inputKeyChunk.getBlock(i);
+        }
+        for (int aggIndex = 0; aggIndex < aggregators.size(); aggIndex++) {
+            Aggregator aggregator = aggregators.get(aggIndex);
+            int filterArg = ((AbstractAggregator) aggregator).getFilterArg();
+            BlockBuilder blockBuilder = BlockBuilders.create(aggValueType[aggIndex], context);
+            aggregator.open(positionCount);
+            for (int pos = 0; pos < positionCount; pos++) {
+                aggregator.appendInitValue();
+                if (filterArg < 0 || isFilterPassed(inputChunk.getBlock(filterArg).getObject(pos))) {
+                    aggregator.accumulate(pos, inputChunk, pos);
+                }
+                aggregator.writeResultTo(pos, blockBuilder);
+            }
+            blocks[groupKeyType.length + aggIndex] = blockBuilder.build();
+        }
+        return new Chunk(positionCount, blocks);
+    }
+
+    private static boolean isFilterPassed(Object filter) {
+        if (filter instanceof Boolean) {
+            return (Boolean) filter;
+        } else if (filter instanceof Long) {
+            return (Long) filter >= 1;
+        }
+        return true;
+    }
+
+    public boolean isBypassing() {
+        return bypassing;
+    }
+
     @Override
     void doOpen() {
 
@@ -156,7 +360,17 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     @Override
     public void buildConsume() {
-        if (hashTable != null) {
+        if (bypassing) {
+            if (bypassSpillFuture != null) {
+                // wait for the last spill, the spilled chunks are read back first
+                checkException(bypassSpillFuture);
+                finishBypassSpill();
+            }
+            if (bypassSpiller != null) {
+                spilledBypassChunks = Iterators.concat(bypassSpiller.getSpills().iterator());
+            }
+            resultIterator = this::nextBypassChunk;
+        } else if (hashTable != null) {
             resultIterator = hashTable.buildChunks();
         }
     }
@@ -184,12 +398,16 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     @Override
     public boolean needsInput() {
+        if (bypassSpillFuture != null && !bypassSpillFuture.isDone()) {
+            return false;
+        }
         boolean ret;
         if (needMemoryAllocated > 0) {
             if (memoryAllocator.isRevocable()) {
                 ret = memoryAllocator.tryAllocateRevocableMemory(needMemoryAllocated);
             } else {
                 memoryAllocator.allocateReservedMemory(needMemoryAllocated);
+                hashTableMemory += needMemoryAllocated;
                 ret = true;
             }
             if (ret) {
@@ -203,6 +421,9 @@ public class HashAggExec extends AbstractHashAggExec implements ConsumerExecutor
 
     @Override
     public ListenableFuture<?> consumeIsBlocked() {
+        if (bypassSpillFuture != null && !bypassSpillFuture.isDone()) {
+            return bypassSpillFuture;
+        }
         if (memoryAllocator.isRevocable()) {
             return memoryAllocator.isWaitingForTryMemory();
         } else {
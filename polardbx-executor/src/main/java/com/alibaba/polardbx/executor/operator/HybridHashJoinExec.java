@@ -32,6 +32,7 @@ import com.alibaba.polardbx.executor.operator.spill.SingleStreamSpiller;
 import com.alibaba.polardbx.executor.operator.spill.SingleStreamSpillerFactory;
 import com.alibaba.polardbx.executor.operator.util.ChunksIndex;
 import com.alibaba.polardbx.executor.operator.util.ConcurrentRawHashTable;
+import com.alibaba.polardbx.executor.operator.util.OffHeapJoinHashTable;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import com.alibaba.polardbx.optimizer.core.expression.calc.IExpression;
@@ -154,6 +155,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
     private final String bucketNamePrefix;
     private final int recursionDepth;
     private final boolean useRecursion;
+    private final boolean useOffHeapHashTable;
 
     private RecursionParams getRecursionParams(int bucketIndex) {
         String newBucketNamePrefix =
@@ -237,6 +239,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
         this.antiJoinContext = recursionParams.antiJoinContext;
         int maxDepth = context.getParamManager().getInt(ConnectionParams.HYBRID_HASH_JOIN_MAX_RECURSIVE_DEPTH);
         this.useRecursion = recursionDepth < maxDepth && recursionParams.useRecursion;
+        this.useOffHeapHashTable = context.getParamManager().getBoolean(ConnectionParams.ENABLE_OFF_HEAP_HASH_TABLE);
         //************
 
         for (DataType dataType : innerInput.getDataTypes()) {
@@ -277,6 +280,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
         } else {
             useRecursion = true;
         }
+        this.useOffHeapHashTable = context.getParamManager().getBoolean(ConnectionParams.ENABLE_OFF_HEAP_HASH_TABLE);
         antiJoinContext = new AntiJoinContext();
         createBlockBuilders();
         this.isRootExec = true;
@@ -619,6 +623,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
         //build
         ConcurrentRawHashTable hashTable;
         int[] positionLinks;
+        OffHeapJoinHashTable offHeapHashTable;
         FastIntBloomFilter bloomFilter;
 
         // Special mode only for semi/anti-join
@@ -790,6 +795,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
             this.innerKeyChunks = new ChunksIndex();
             this.hashTable = null;
             this.positionLinks = null;
+            closeOffHeapHashTable();
             //释放内存
             if (state == BucketState.INPUT_UNSPILLED_AND_BUILT) {
                 //因为unSpill是从reserved申请的，所以这里需要单独释放UnSpill分区的内存
@@ -812,6 +818,7 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
             this.innerKeyChunks = null;
             this.hashTable = null;
             this.positionLinks = null;
+            closeOffHeapHashTable();
             this.state = BucketState.DISPOSED;
             if (spillHandler != null) {
                 spillHandler.close();
@@ -820,6 +827,13 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
 
         }
 
+        void closeOffHeapHashTable() {
+            if (offHeapHashTable != null) {
+                offHeapHashTable.close();
+                offHeapHashTable = null;
+            }
+        }
+
         void addChunk(Chunk chunk, Chunk keyInputChunk, boolean recordMem) {
             innerChunks.addChunk(chunk);
             innerKeyChunks.addChunk(keyInputChunk);
@@ -868,10 +882,23 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
             }
 
             final int size = innerChunks.getPositionCount();
-            this.hashTable = new ConcurrentRawHashTable(size);
+            if (useOffHeapHashTable) {
+                closeOffHeapHashTable();
+                this.offHeapHashTable = new OffHeapJoinHashTable(size);
+                // native memory is released together with the bucket, so that reset() gives it back
+                long tableMemory = offHeapHashTable.estimateSize();
+                inMemoryAllocateMemory += tableMemory;
+                if (state != BucketState.INPUT_UNSPILLED_AND_BUILT && memoryContext.isRevocable()) {
+                    memoryContext.allocateRevocableMemory(tableMemory);
+                } else {
+                    memoryContext.allocateReservedMemory(tableMemory);
+                }
+            } else {
+                this.hashTable = new ConcurrentRawHashTable(size);
 
-            this.positionLinks = new int[size];
-            Arrays.fill(positionLinks, LIST_END);
+                this.positionLinks = new int[size];
+                Arrays.fill(positionLinks, LIST_END);
+            }
 
             if (!alreadyBuild) {
                 if (size <= BLOOM_FILTER_ROWS_LIMIT && size > 0) {
@@ -882,7 +909,10 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
             int position = 0;
             for (int chunkId = 0; chunkId < innerChunks.getChunkCount(); ++chunkId) {
                 Chunk keyChunk = innerKeyChunks.getChunk(chunkId);
-                if (alreadyBuild) {
+                if (offHeapHashTable != null) {
+                    buildOneChunk(keyChunk, position, offHeapHashTable, alreadyBuild ? null : bloomFilter,
+                        getIgnoreNullsInJoinKey());
+                } else if (alreadyBuild) {
                     buildOneChunk(keyChunk, position, hashTable, positionLinks, null, getIgnoreNullsInJoinKey());
                 } else {
                     buildOneChunk(keyChunk, position, hashTable, positionLinks, bloomFilter, getIgnoreNullsInJoinKey());
@@ -900,6 +930,9 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
             if (bloomFilter != null && !bloomFilter.mightContain(hashCode)) {
                 return LIST_END;
             }
+            if (offHeapHashTable != null) {
+                return offHeapHashTable.match(offHeapHashTable.get(hashCode), innerKeyChunks, keyChunk, position);
+            }
 
             int matchedPosition = hashTable.get(hashCode);
             while (matchedPosition != LIST_END) {
@@ -912,6 +945,9 @@ public class HybridHashJoinExec extends AbstractJoinExec implements MemoryRevoke
         }
 
         int matchNext(int current, Chunk keyChunk, int position) {
+            if (offHeapHashTable != null) {
+                return offHeapHashTable.match(offHeapHashTable.next(current), innerKeyChunks, keyChunk, position);
+            }
             int matchedPosition = positionLinks[current];
             while (matchedPosition != LIST_END) {
                 if (innerKeyChunks.equals(matchedPosition, keyChunk, position)) {
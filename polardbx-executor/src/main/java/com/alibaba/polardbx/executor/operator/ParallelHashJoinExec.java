@@ -23,6 +23,7 @@ import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.executor.chunk.ChunkConverter;
 import com.alibaba.polardbx.executor.operator.util.ChunksIndex;
 import com.alibaba.polardbx.executor.operator.util.ConcurrentRawHashTable;
+import com.alibaba.polardbx.executor.operator.util.OffHeapJoinHashTable;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.expression.calc.IExpression;
 import com.alibaba.polardbx.optimizer.core.join.EquiJoinKey;
@@ -79,6 +80,7 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
 
         this.buildOuterInput = buildOuterInput;
         this.operatorIndex = operatorIndex;
+        this.shared.retain();
         if (buildOuterInput) {
             this.shared.recordOperatorIds(operatorIndex);
         }
@@ -115,6 +117,7 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
             this.buildKeyChunks = shared.builderKeyChunks;
             this.hashTable = shared.hashTable;
             this.positionLinks = shared.positionLinks;
+            this.offHeapHashTable = shared.offHeapHashTable;
             this.bloomFilter = shared.bloomFilter;
             if (buildChunks.isEmpty() && joinType == JoinRelType.INNER) {
                 passNothing = true;
@@ -275,6 +278,7 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
         // Release the reference to shared hash table etc.
         if (shared != null) {
             this.shared.consumeInputIsFinish(operatorIndex);
+            this.shared.release();
             this.shared = null;
         }
         super.doClose();
@@ -365,9 +369,16 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
 
         private ConcurrentRawHashTable hashTable;
         private int[] positionLinks;
+        private OffHeapJoinHashTable offHeapHashTable;
         private FastIntBloomFilter bloomFilter;
         private boolean alreadyUseRuntimeFilter;
         private boolean useBloomFilter;
+        private final boolean useOffHeapHashTable;
+
+        /**
+         * Number of executors sharing this synchronizer, the off-heap hash table is freed by the last one
+         */
+        private final AtomicInteger references = new AtomicInteger();
 
         private BitSet joinNullRowBitSet;
         private int maxIndex = -1;
@@ -375,10 +386,16 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
 
         private final Set<Integer> operatorIds = new HashSet<>();
 
-        public Synchronizer(int numPartitions, boolean alreadyUseRuntimeFilter, boolean useBloomFilter) {
+        public Synchronizer(int numPartitions, boolean alreadyUseRuntimeFilter, boolean useBloomFilter,
+                            boolean useOffHeapHashTable) {
             this.numPartitions = numPartitions;
             this.alreadyUseRuntimeFilter = alreadyUseRuntimeFilter;
             this.useBloomFilter = useBloomFilter;
+            this.useOffHeapHashTable = useOffHeapHashTable;
+        }
+
+        public Synchronizer(int numPartitions, boolean alreadyUseRuntimeFilter, boolean useBloomFilter) {
+            this(numPartitions, alreadyUseRuntimeFilter, useBloomFilter, false);
         }
 
         public Synchronizer(int numPartitions, boolean alreadyUseRuntimeFilter) {
@@ -386,15 +403,20 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
         }
 
         private synchronized void initHashTable(MemoryAllocatorCtx ctx) {
-            if (hashTable == null) {
+            if (hashTable == null && offHeapHashTable == null) {
                 final int size = builderKeyChunks.getPositionCount();
-                hashTable = new ConcurrentRawHashTable(size);
+                if (useOffHeapHashTable) {
+                    offHeapHashTable = new OffHeapJoinHashTable(size);
+                    ctx.allocateReservedMemory(offHeapHashTable.estimateSize());
+                } else {
+                    hashTable = new ConcurrentRawHashTable(size);
 
-                positionLinks = new int[size];
-                Arrays.fill(positionLinks, LIST_END);
+                    positionLinks = new int[size];
+                    Arrays.fill(positionLinks, LIST_END);
 
-                ctx.allocateReservedMemory(hashTable.estimateSize());
-                ctx.allocateReservedMemory(SizeOf.sizeOf(positionLinks));
+                    ctx.allocateReservedMemory(hashTable.estimateSize());
+                    ctx.allocateReservedMemory(SizeOf.sizeOf(positionLinks));
+                }
 
                 if (useBloomFilter && !alreadyUseRuntimeFilter && size <= BLOOM_FILTER_ROWS_LIMIT_FOR_PARALLEL && size > 0) {
                     bloomFilter = FastIntBloomFilter.create(size);
@@ -419,12 +441,26 @@ public class ParallelHashJoinExec extends AbstractHashJoinExec {
             int position = startPosition;
             for (int chunkId = startChunkId; chunkId < endChunkId; ++chunkId) {
                 final Chunk keyChunk = builderKeyChunks.getChunk(chunkId);
-                buildOneChunk(keyChunk, position, hashTable, positionLinks, bloomFilter, ignoreNullBlocks);
+                if (offHeapHashTable != null) {
+                    buildOneChunk(keyChunk, position, offHeapHashTable, bloomFilter, ignoreNullBlocks);
+                } else {
+                    buildOneChunk(keyChunk, position, hashTable, positionLinks, bloomFilter, ignoreNullBlocks);
+                }
                 position += keyChunk.getPositionCount();
             }
             assert position == endPosition;
         }
 
+        private void retain() {
+            references.incrementAndGet();
+        }
+
+        private synchronized void release() {
+            if (references.decrementAndGet() == 0 && offHeapHashTable != null) {
+                offHeapHashTable.close();
+            }
+        }
+
         private synchronized void recordOperatorIds(int operatorId) {
             this.operatorIds.add(operatorId);
         }
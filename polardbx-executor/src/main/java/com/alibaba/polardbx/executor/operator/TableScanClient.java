@@ -48,7 +48,10 @@ import com.alibaba.polardbx.common.jdbc.ZeroDate;
 import com.alibaba.polardbx.common.jdbc.ZeroTimestamp;
 import com.alibaba.polardbx.common.properties.ConnectionParams;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
+import com.alibaba.polardbx.common.utils.bloomfilter.BitSet;
 import com.alibaba.polardbx.common.utils.bloomfilter.BloomFilterInfo;
+import com.alibaba.polardbx.common.utils.bloomfilter.MinMaxFilterInfo;
+import com.alibaba.polardbx.common.utils.hash.HashMethodInfo;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.common.utils.logger.MDC;
@@ -56,6 +59,7 @@ import com.alibaba.polardbx.common.utils.logger.support.LogFormat;
 import com.alibaba.polardbx.common.utils.thread.ExecutorUtil;
 import com.alibaba.polardbx.common.utils.thread.NamedThreadFactory;
 import com.alibaba.polardbx.common.utils.thread.ThreadCpuStatUtil;
+import com.alibaba.polardbx.executor.Xprotocol.XRowChunkDecoder;
 import com.alibaba.polardbx.executor.Xprotocol.XRowSet;
 import com.alibaba.polardbx.executor.chunk.BlockBuilder;
 import com.alibaba.polardbx.executor.chunk.SliceBlockBuilder;
@@ -76,6 +80,7 @@ import com.alibaba.polardbx.optimizer.statis.SQLRecord;
 import com.alibaba.polardbx.optimizer.utils.ITransaction;
 import com.alibaba.polardbx.repo.mysql.spi.MyDataSourceGetter;
 import com.alibaba.polardbx.rpc.compatible.XPreparedStatement;
+import com.alibaba.polardbx.rpc.compatible.XResultSet;
 import com.alibaba.polardbx.rpc.jdbc.CharsetMapping;
 import com.alibaba.polardbx.rpc.pool.XConnection;
 import com.alibaba.polardbx.rpc.pool.XConnectionManager;
@@ -123,6 +128,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -130,6 +136,7 @@ import java.util.stream.Collectors;
 import static com.alibaba.polardbx.common.TddlConstants.ANONAMOUS_DBKEY;
 import static com.alibaba.polardbx.common.exception.code.ErrorCode.ERR_EXECUTE_MPP;
 import static com.alibaba.polardbx.common.exception.code.ErrorCode.ERR_X_PROTOCOL_RESULT;
+import static com.alibaba.polardbx.common.properties.ConnectionParams.ENABLE_BLOOM_FILTER_WAIT_FALLBACK;
 import static com.alibaba.polardbx.common.properties.ConnectionParams.WAIT_BLOOM_FILTER_TIMEOUT_MS;
 import static com.alibaba.polardbx.executor.operator.ProducerExecutor.NOT_BLOCKED;
 import static com.alibaba.polardbx.optimizer.core.rel.util.RuntimeFilterDynamicParamInfo.ARG_IDX_BLOOM_FILTER_INFO;
@@ -145,6 +152,7 @@ public class TableScanClient {
     protected final ExecutionContext context;
     protected final boolean useTransaction;
     protected final boolean enableTaskCpu;
+    protected final boolean enableColumnarDecode;
     protected final CursorMeta meta;
     protected final int prefetchNum;
     protected final AtomicInteger noMoreSplitNum = new AtomicInteger(0);
@@ -172,6 +180,13 @@ public class TableScanClient {
     private volatile ScheduledFuture<?> monitorWaitBloomFilterFuture = null;
     private boolean needWaitBloomFilter;
     private volatile Map<Integer, BloomFilterInfo> bloomFilterInfos = null;
+    private volatile boolean bloomFilterWaitFallback = false;
+    private long waitBloomFilterStartNanos;
+    /**
+     * Rows returned by storage for splits scanned with the registered runtime filters and with pass-through ones
+     */
+    private final AtomicLong runtimeFilteredRows = new AtomicLong(0);
+    private final AtomicLong passThroughFilteredRows = new AtomicLong(0);
     private boolean killStreaming;
     private boolean lessMy56Version = false;
 
@@ -184,6 +199,7 @@ public class TableScanClient {
         this.prefetchNum = prefetchNum;
         this.slowTimeThreshold = context.getPhysicalRecorder().getSlowSqlTime();
         this.enableTaskCpu = ExecUtils.isSQLMetricEnabled(context);
+        this.enableColumnarDecode = context.getParamManager().getBoolean(ConnectionParams.ENABLE_XROW_COLUMNAR_DECODE);
         if (context.getRuntimeStatistics() != null) {
             this.runtimeStat = (RuntimeStatistics) context.getRuntimeStatistics();
         }
@@ -202,13 +218,26 @@ public class TableScanClient {
     public synchronized void initWaitFuture(ListenableFuture<List<BloomFilterInfo>> listListenableFuture) {
         if (this.waitBloomFilterFuture == null) {
             this.waitBloomFilterFuture = SettableFuture.create();
+            this.waitBloomFilterStartNanos = System.nanoTime();
 
             int waitTimeout = context.getParamManager().getInt(WAIT_BLOOM_FILTER_TIMEOUT_MS);
+            boolean enableFallback = context.getParamManager().getBoolean(ENABLE_BLOOM_FILTER_WAIT_FALLBACK);
             monitorWaitBloomFilterFuture = ServiceProvider.getInstance().getTimerTaskExecutor().schedule(() -> {
                 synchronized (TableScanClient.this) {
                     if (!waitBloomFilterFuture.isDone()) {
-                        setException(new TddlRuntimeException(ERR_EXECUTE_MPP,
-                            "Table scant client wait bloom filter timeout after " + waitTimeout + " milliseconds"));
+                        if (enableFallback) {
+                            // Scan with pass-through filters, splits started after the bloom filters arrive
+                            // still use them
+                            logger.warn("Table scan client wait bloom filter timeout after " + waitTimeout
+                                + " milliseconds, fallback to scan without runtime filter");
+                            bloomFilterWaitFallback = true;
+                            waitBloomFilterFuture.set(null);
+                            notifyBlockedCallers();
+                        } else {
+                            setException(new TddlRuntimeException(ERR_EXECUTE_MPP,
+                                "Table scant client wait bloom filter timeout after " + waitTimeout
+                                    + " milliseconds"));
+                        }
                     }
                 }
             }, waitTimeout, TimeUnit.MILLISECONDS);
@@ -221,6 +250,11 @@ public class TableScanClient {
                             waitBloomFilterFuture.set(null);
                             monitorWaitBloomFilterFuture.cancel(false);
                         } catch (Throwable t) {
+                            if (bloomFilterWaitFallback) {
+                                // Already scanning with pass-through filters, the late failure changes nothing
+                                logger.warn("Failed to register bloom filter after fallback, ignored", t);
+                                return;
+                            }
                             logger.error("Failed to register bloom filter!", t);
                             setException(new TddlRuntimeException(ERR_EXECUTE_MPP,
                                 "Failed to register bloom filter in table scan client!", t));
@@ -245,15 +279,70 @@ public class TableScanClient {
             logger.info("Start registering bloom filters.");
             this.bloomFilterInfos = bloomFilterInfos.stream()
                 .collect(Collectors.toMap(BloomFilterInfo::getId, Function.identity(), (info1, info2) -> info1));
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitBloomFilterStartNanos);
             for (BloomFilterInfo bloomFilterInfo : bloomFilterInfos) {
-                logger.info(String.format("Bloom filter id: %d, first value %x", bloomFilterInfo.getId(),
-                    bloomFilterInfo.getData()[0]));
+                // The chance of a missing key passing the bloom filter is about usage ^ hashFuncNum
+                double usage = BitSet.getUsage(bloomFilterInfo.getData());
+                logger.info(String.format(
+                    "Bloom filter id: %d, bitset usage: %.2f, estimated fpp: %.4f, range: [%s, %s], "
+                        + "waited: %d ms, fallback: %s", bloomFilterInfo.getId(), usage,
+                    Math.pow(usage, bloomFilterInfo.getHashFuncNum()), getRangeBound(bloomFilterInfo, true),
+                    getRangeBound(bloomFilterInfo, false), waitMillis, bloomFilterWaitFallback));
             }
         } catch (Throwable t) {
             throw new TddlNestableRuntimeException(t);
         }
     }
 
+    private static Long getRangeBound(BloomFilterInfo bloomFilterInfo, boolean min) {
+        List<MinMaxFilterInfo> minMaxFilterInfos = bloomFilterInfo.getMinMaxFilterInfoList();
+        if (minMaxFilterInfos == null || minMaxFilterInfos.size() != 1) {
+            return null;
+        }
+        return min ? minMaxFilterInfos.get(0).getMinNumber() : minMaxFilterInfos.get(0).getMaxNumber();
+    }
+
+    /**
+     * A bloom filter with all bits set, used when the real one is not ready within the waiting window.
+     */
+    static BloomFilterInfo passThroughBloomFilter(int runtimeFilterId) {
+        return new BloomFilterInfo(runtimeFilterId, new long[] {-1L}, 1, HashMethodInfo.defaultHashMethod(),
+            Collections.emptyList());
+    }
+
+    /**
+     * Bind the registered bloom filters into the runtime filter parameters of a split.
+     *
+     * @return whether any pass-through filter is bound
+     */
+    static boolean bindRuntimeFilters(List<ParameterContext> params, Map<Integer, BloomFilterInfo> registered,
+                                      boolean fallback) {
+        boolean passThrough = false;
+        for (ParameterContext paramContext : params) {
+            if (paramContext.getParameterMethod().isBloomFilterParameterMethod()) {
+                Object[] args = paramContext.getArgs();
+                int runtimeFilterId = (Integer) args[ARG_IDX_RUNTIME_FILTER_ID];
+                if (registered.containsKey(runtimeFilterId)) {
+                    args[ARG_IDX_BLOOM_FILTER_INFO] = registered.get(runtimeFilterId);
+                } else if (fallback) {
+                    args[ARG_IDX_BLOOM_FILTER_INFO] = passThroughBloomFilter(runtimeFilterId);
+                    passThrough = true;
+                } else {
+                    throw new IllegalStateException("Runtime filter id not found: " + runtimeFilterId);
+                }
+            }
+        }
+        return passThrough;
+    }
+
+    public long getRuntimeFilteredRows() {
+        return runtimeFilteredRows.get();
+    }
+
+    public long getPassThroughFilteredRows() {
+        return passThroughFilteredRows.get();
+    }
+
     public synchronized void executePrefetchThread(boolean force) {
         if (isClosed) {
             return;
@@ -429,6 +518,10 @@ public class TableScanClient {
     public synchronized void close(SourceExec sourceExec) {
         sourceExecHashSet.remove(sourceExec);
         if (sourceExecHashSet.isEmpty()) {
+            if (needWaitBloomFilter) {
+                logger.info(String.format("Runtime filtered scan returned %d rows, pass-through scan returned %d rows",
+                    runtimeFilteredRows.get(), passThroughFilteredRows.get()));
+            }
             cancelAllThreads(false);
             isClosed = true;
             prefetchThreads.clear();
@@ -469,6 +562,8 @@ public class TableScanClient {
         protected AtomicBoolean closed = new AtomicBoolean(false);
         protected SettableFuture blockedFuture;
         protected SettableFuture<String> connectionFuture;
+        protected XRowChunkDecoder rowDecoder = null; // Columnar decoder of X-Protocol rows in row layout.
+        protected AtomicLong filteredRowsCounter = null; // Null if no runtime filter is pushed down.
 
         SplitResultSet(JdbcSplit jdbcSplit) {
             this.jdbcSplit = jdbcSplit;
@@ -648,18 +743,12 @@ public class TableScanClient {
                 startPrepStmtEnvNano = ThreadCpuStatUtil.getThreadCpuTimeNano();
             }
             try {
-                if (bloomFilterInfos != null) {
-                    for (ParameterContext paramContext : jdbcSplit.getFlattedParams()) {
-                        if (paramContext.getParameterMethod().isBloomFilterParameterMethod()) {
-                            Object[] args = paramContext.getArgs();
-                            int runtimeFilterId = (Integer) args[ARG_IDX_RUNTIME_FILTER_ID];
-                            if (bloomFilterInfos.containsKey(runtimeFilterId)) {
-                                args[ARG_IDX_BLOOM_FILTER_INFO] = bloomFilterInfos.get(runtimeFilterId);
-                            } else {
-                                throw new IllegalStateException("Runtime filter id not found: " + runtimeFilterId);
-                            }
-                        }
-                    }
+                if (bloomFilterInfos != null || bloomFilterWaitFallback) {
+                    Map<Integer, BloomFilterInfo> registered =
+                        bloomFilterInfos == null ? Collections.emptyMap() : bloomFilterInfos;
+                    boolean passThrough =
+                        bindRuntimeFilters(jdbcSplit.getFlattedParams(), registered, bloomFilterWaitFallback);
+                    filteredRowsCounter = passThrough ? passThroughFilteredRows : runtimeFilteredRows;
                 }
                 stmt = preparedSplit(conn, jdbcSplit.getHint(), jdbcSplit.getUnionBytesSql(false),
                     jdbcSplit.getFlattedParams(), jdbcSplit.isSupportGalaxyPrepare(), jdbcSplit.getGalaxyDigest());
@@ -1061,7 +1150,7 @@ public class TableScanClient {
             }
             if (resultObject.getRow() != null) {
                 // Original row transmit.
-                XRowSet.buildChunkRow(xResult, xResult.getMetaData(), resultObject.getRow(), dataTypes, blockBuilders);
+                buildChunkRow(xResult, resultObject.getRow(), dataTypes, blockBuilders);
                 ++count;
                 return 1;
             } else {
@@ -1092,6 +1181,31 @@ public class TableScanClient {
             }
         }
 
+        /**
+         * Append current row of the result set to block builders.
+         */
+        public void appendRow(DataType[] dataTypes, BlockBuilder[] blockBuilders) throws SQLException {
+            final ResultSet resultSet = getResultSet();
+            if (enableColumnarDecode && resultSet.isWrapperFor(XResultSet.class)) {
+                final XResult result = resultSet.unwrap(XResultSet.class).getXResult();
+                buildChunkRow(result, result.current().getRow(), dataTypes, blockBuilders);
+            } else {
+                ResultSetCursorExec.buildOneRow(resultSet, dataTypes, blockBuilders, context);
+            }
+        }
+
+        private void buildChunkRow(XResult result, List<ByteString> row, DataType[] dataTypes,
+                                   BlockBuilder[] blockBuilders) {
+            if (!enableColumnarDecode) {
+                XRowSet.buildChunkRow(result, result.getMetaData(), row, dataTypes, blockBuilders);
+                return;
+            }
+            if (null == rowDecoder || !rowDecoder.accept(result, dataTypes)) {
+                rowDecoder = new XRowChunkDecoder(result, dataTypes);
+            }
+            rowDecoder.decode(row, blockBuilders);
+        }
+
         private boolean chunkNext() throws SQLException {
             final XResultObject current = xResult.current();
             if (null == current || current.getRow() != null) {
@@ -1160,6 +1274,9 @@ public class TableScanClient {
                 if (runtimeStat != null) {
                     runtimeStat.addPhyFetchRows(count);
                 }
+                if (filteredRowsCounter != null) {
+                    filteredRowsCounter.addAndGet(count);
+                }
 
                 if (op != null) {
                     op.setRowsCount(count);
@@ -244,7 +244,7 @@ public class TableScanExec extends SourceExec implements Closeable {
     }
 
     protected void appendRow(TableScanClient.SplitResultSet consumeResultSet) throws SQLException {
-        ResultSetCursorExec.buildOneRow(consumeResultSet.getResultSet(), dataTypes, blockBuilders, context);
+        consumeResultSet.appendRow(dataTypes, blockBuilders);
     }
 
     @Override
@@ -40,6 +40,7 @@ import com.alibaba.polardbx.optimizer.spill.LocalSpillMonitor;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
@@ -181,8 +182,10 @@ public class AsyncFileSingleStreamSpiller
         try (Closer closer = Closer.create()) {
             log.info(
                 String.format(
-                    "AsyncFileSingleStreamSpiller file:%s total spilled bytes:%s", id.getFilePath(),
-                    spillMonitor.totalSpilledBytes()));
+                    "AsyncFileSingleStreamSpiller file:%s total spilled bytes:%s write time:%sms "
+                        + "read bytes:%s read time:%sms", id.getFilePath(), spillMonitor.totalSpilledBytes(),
+                    TimeUnit.NANOSECONDS.toMillis(spillMonitor.totalWriteNanos()), spillMonitor.totalReadBytes(),
+                    TimeUnit.NANOSECONDS.toMillis(spillMonitor.totalReadNanos())));
             closer.register(id);
             closer.register(spillMonitor);
             closer.register(this::closeReader);
@@ -35,6 +35,7 @@ import com.alibaba.polardbx.common.exception.TddlRuntimeException;
 import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompressionMode;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
 import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
@@ -72,7 +73,6 @@ public class AsyncFileSingleStreamSpillerFactory implements SingleStreamSpillerF
 
     private static final String TEMP_DIR_NAME = "temp";
 
-    private final PagesSerdeFactory serdeFactory;
     private final FileCleaner fileCleaner;
     private final long startTime = System.nanoTime();
     private final int maxThreadNum;
@@ -129,7 +129,6 @@ public class AsyncFileSingleStreamSpillerFactory implements SingleStreamSpillerF
 
         log.info("load AsyncFileSingleStreamSpillerFactory as SingleStreamSpillerFactory");
         requireNonNull(theSpillerRootPaths, "paths is null");
-        this.serdeFactory = new PagesSerdeFactory(false);
         this.fileCleaner = requireNonNull(fileCleaner, "fileCleaner is null");
         this.maxThreadNum = maxThreadNum;
 
@@ -208,6 +207,16 @@ public class AsyncFileSingleStreamSpillerFactory implements SingleStreamSpillerF
         return readerThreads[idx];
     }
 
+    /**
+     * Spill files are only read back by this node, so they may use the low cardinality block encodings.
+     * Created per spiller so that config changes take effect on the next spill
+     */
+    static PagesSerdeFactory createSpillSerdeFactory() {
+        MppConfig mppConfig = MppConfig.getInstance();
+        return new PagesSerdeFactory(ChunkCompressionMode.of(mppConfig.getSpillCompression()),
+            mppConfig.isSpillLowCardinalityEncoding());
+    }
+
     @VisibleForTesting
     protected static File getTemPath(File base) {
         return new File(base, TEMP_DIR_NAME);
@@ -221,7 +230,7 @@ public class AsyncFileSingleStreamSpillerFactory implements SingleStreamSpillerF
                 (List<ColumnMeta>) params.getColumnMeata(), params, spillMonitor);
         } else {
             return new AsyncFileSingleStreamSpiller(this, getNextFileHolder(filePrefix),
-                serdeFactory.createPagesSerde(types), spillMonitor);
+                createSpillSerdeFactory().createPagesSerde(types), spillMonitor);
         }
     }
 
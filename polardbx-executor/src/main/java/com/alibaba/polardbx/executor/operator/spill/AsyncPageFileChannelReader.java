@@ -33,6 +33,7 @@ import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.executor.chunk.Chunk;
@@ -44,7 +45,6 @@ import io.airlift.slice.SliceInput;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
-import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -84,7 +84,9 @@ public class AsyncPageFileChannelReader {
         this.id = requireNonNull(id, "FileId is null");
         this.serde = requireNonNull(serde, "PagesSerde is null");
         this.requetsQueue = requireNonNull(requetsQueue, "runningRequests is null");
-        this.input = new InputStreamSliceInput(new BufferedInputStream(new FileInputStream(id.getFilePath().toFile())));
+        // A large buffer reads ahead several pages per io request
+        this.input = new InputStreamSliceInput(new FileInputStream(id.getFilePath().toFile()),
+            MppConfig.getInstance().getSpillIoBufferSize());
         this.onClose = requireNonNull(noThrowableOnClose);
         this.spillMonitor = spillMonitor;
     }
@@ -302,9 +304,11 @@ public class AsyncPageFileChannelReader {
                 pageIterator = PagesSerdeUtil.readPages(serde, input);
             }
             page = null;
+            long startNanos = System.nanoTime();
             if (pageIterator.hasNext()) {
                 page = pageIterator.next();
                 readChunks++;
+                spillMonitor.updateReadBytes(page.getElementUsedBytes(), System.nanoTime() - startNanos);
                 return page.getElementUsedBytes();
             }
             return 0;
@@ -434,11 +438,13 @@ public class AsyncPageFileChannelReader {
         public long read()
             throws IOException {
             if (pageIterator == null) {
-                pageIterator = PagesSerdeUtil.readPages(serde, new InputStreamSliceInput(input));
+                pageIterator = PagesSerdeUtil.readPages(serde, input);
             }
             page = null;
+            long startNanos = System.nanoTime();
             if (pageIterator.hasNext()) {
                 page = pageIterator.next();
+                spillMonitor.updateReadBytes(page.getElementUsedBytes(), System.nanoTime() - startNanos);
                 return page.getElementUsedBytes();
             }
             return 0;
@@ -31,6 +31,7 @@ package com.alibaba.polardbx.executor.operator.spill;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerde;
 import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeUtil;
@@ -39,9 +40,10 @@ import io.airlift.slice.OutputStreamSliceOutput;
 import io.airlift.slice.SliceOutput;
 
 import javax.annotation.concurrent.GuardedBy;
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Iterator;
 
@@ -79,9 +81,11 @@ public class AsyncPageFileChannelWriter {
         this.id = requireNonNull(id, "FileId is null");
         this.serde = requireNonNull(serde, "PagesSerde is null");
         this.requetsQueue = requireNonNull(requetsQueue, "runningRequests is null");
-        // spiller new stream in truncate mode, so after flush, when writer write again, the file will refresh
-        this.output = new OutputStreamSliceOutput(
-            new BufferedOutputStream(new FileOutputStream(id.getFilePath().toFile(), false)));
+        // spiller new stream in truncate mode, so after flush, when writer write again, the file will refresh.
+        // Pages are gathered in a large buffer so that the channel sees few big sequential writes
+        this.output = new OutputStreamSliceOutput(Channels.newOutputStream(
+            FileChannel.open(id.getFilePath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)), MppConfig.getInstance().getSpillIoBufferSize());
         this.onClose = requireNonNull(noThroableOnClose);
         this.spillMonitor = spillMonitor;
     }
@@ -257,9 +261,11 @@ public class AsyncPageFileChannelWriter {
             if (closed) {
                 return 0;
             }
+            long startNanos = System.nanoTime();
             long writeSizeInBytes = PagesSerdeUtil.writeChunk(serde, output, page);
             free = true;
             spillMonitor.updateBytes(writeSizeInBytes);
+            spillMonitor.updateWriteTime(System.nanoTime() - startNanos);
             return writeSizeInBytes;
         }
 
@@ -335,8 +341,10 @@ public class AsyncPageFileChannelWriter {
                         return 0;
                     }
                     nextPage = pageIterator.next();
+                    long startNanos = System.nanoTime();
                     long writeSizeInBytes = PagesSerdeUtil.writeChunk(serde, output, nextPage);
                     spillMonitor.updateBytes(writeSizeInBytes);
+                    spillMonitor.updateWriteTime(System.nanoTime() - startNanos);
                     return writeSizeInBytes;
                 } finally {
                 }
@@ -38,7 +38,6 @@ import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.executor.mpp.Threads;
-import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeFactory;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import com.alibaba.polardbx.optimizer.spill.LocalSpillMonitor;
 import org.apache.calcite.sql.OutFileParams;
@@ -65,7 +64,6 @@ public class FileSingleStreamSpillerFactory implements SingleStreamSpillerFactor
 
     private final ListeningExecutorService executor;
     private final FileCleaner fileCleaner;
-    private final PagesSerdeFactory serdeFactory;
     private final List<Path> spillPaths;
     private final double maxUsedSpaceThreshold;
     private int roundRobinIndex;
@@ -99,7 +97,6 @@ public class FileSingleStreamSpillerFactory implements SingleStreamSpillerFactor
         List<Path> spillPaths,
         double maxUsedSpaceThreshold) {
         log.info("load FileSingleStreamSpillerFactory as SingleStreamSpillerFactory");
-        this.serdeFactory = new PagesSerdeFactory(false);
         this.executor = requireNonNull(executor, "executor is null");
         this.fileCleaner = requireNonNull(fileCleaner, "fileCleaner is null");
         requireNonNull(spillPaths, "spillPaths is null");
@@ -153,8 +150,9 @@ public class FileSingleStreamSpillerFactory implements SingleStreamSpillerFactor
         if (params != null) {
             throw new UnsupportedOperationException();
         }
-        return new FileSingleStreamSpiller(serdeFactory.createPagesSerde(types), executor, fileCleaner,
-            getNextSpillPath(), spillMonitor);
+        return new FileSingleStreamSpiller(
+            AsyncFileSingleStreamSpillerFactory.createSpillSerdeFactory().createPagesSerde(types), executor,
+            fileCleaner, getNextSpillPath(), spillMonitor);
     }
 
     private synchronized Path getNextSpillPath() {
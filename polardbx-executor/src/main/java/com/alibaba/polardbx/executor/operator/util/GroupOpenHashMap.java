@@ -220,7 +220,7 @@ class GroupOpenHashMap implements GroupHashMap, Hash {
         return size;
     }
 
-    int getGroupCount() {
+    public int getGroupCount() {
         return groupCount;
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.operator.util;
+
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.IntegerBlock;
+import com.alibaba.polardbx.executor.chunk.LongBlock;
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.io.Closeable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.alibaba.polardbx.common.utils.UnsafeUtil.UNSAFE;
+
+/**
+ * An off-heap concurrent hash table for hash join, which keeps the buckets, the position links
+ * and the packed join keys out of the java heap.
+ * <p>
+ * Buckets are an int array mapping a hash code to the head position of a chain, just like
+ * {@link ConcurrentRawHashTable}. Each build position owns a fixed-width entry:
+ * <pre>
+ * | next position (int) | flags (int) | packed key (long) |
+ * </pre>
+ * When the join key is a single non-null int/long value it is packed into the entry, so that
+ * probing compares primitives directly instead of going back to the on-heap key blocks.
+ * Only the join key is kept here, payload columns of the build side stay in the on-heap chunks.
+ * <p>
+ * The table must be closed explicitly to release the native memory. A table that becomes
+ * unreachable without being closed is reported as a leak and freed once it has been collected.
+ */
+public class OffHeapJoinHashTable implements Hash, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapJoinHashTable.class);
+
+    private static final long INSTANCE_SIZE = ClassLayout.parseClass(OffHeapJoinHashTable.class).instanceSize();
+
+    /**
+     * Tables collected by gc without being closed
+     */
+    private static final ReferenceQueue<OffHeapJoinHashTable> UNCLOSED_TABLES = new ReferenceQueue<>();
+
+    /**
+     * Keeps the deallocators of live tables reachable until they are closed or reclaimed
+     */
+    private static final Set<Deallocator> DEALLOCATORS = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong LEAKED_TABLES = new AtomicLong();
+
+    public static final int NOT_EXISTS = ConcurrentRawHashTable.NOT_EXISTS;
+
+    private static final int ENTRY_SIZE = 16;
+    private static final int NEXT_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 4;
+    private static final int KEY_OFFSET = 8;
+
+    private static final int FLAG_KEY_PACKED = 1;
+
+    /**
+     * The mask for wrapping a position counter
+     */
+    private final int mask;
+    /**
+     * The current table size.
+     */
+    private final int n;
+    /**
+     * The number of build positions
+     */
+    private final int size;
+
+    private final long bucketsAddress;
+    private final long entriesAddress;
+    private final long allocatedBytes;
+
+    private final Deallocator deallocator;
+
+    public OffHeapJoinHashTable(int size, float loadFactor) {
+        Preconditions.checkArgument(loadFactor > 0 && loadFactor <= 1,
+            "Load factor must be greater than 0 and smaller than or equal to 1");
+        Preconditions.checkArgument(size >= 0, "The number of elements must be non-negative");
+
+        this.n = HashCommon.arraySize(size, loadFactor);
+        this.mask = n - 1;
+        this.size = size;
+
+        final long bucketBytes = (long) n * Integer.BYTES;
+        final long entryBytes = (long) size * ENTRY_SIZE;
+        this.allocatedBytes = bucketBytes + entryBytes;
+
+        reclaimLeaked();
+        final long address = UNSAFE.allocateMemory(Math.max(allocatedBytes, 1L));
+        this.deallocator = new Deallocator(this, address, allocatedBytes);
+        this.bucketsAddress = address;
+        this.entriesAddress = address + bucketBytes;
+
+        // 0xFF bytes make every bucket NOT_EXISTS (-1), and entries start with no packed key
+        UNSAFE.setMemory(bucketsAddress, bucketBytes, (byte) 0xFF);
+        UNSAFE.setMemory(entriesAddress, entryBytes, (byte) 0);
+    }
+
+    public OffHeapJoinHashTable(int size) {
+        this(size, selectLoadFactor(size));
+    }
+
+    private static float selectLoadFactor(int size) {
+        if (size >= 100_000_000) { // more than 100M records
+            return DEFAULT_LOAD_FACTOR;
+        } else if (size >= 10_000_000) { // more than 10M records
+            return FAST_LOAD_FACTOR;
+        } else { // otherwise
+            return VERY_FAST_LOAD_FACTOR;
+        }
+    }
+
+    /**
+     * Put a position into the bucket of hash code, and link it to the previous head of this bucket
+     *
+     * @return the replaced head position, or NOT_EXISTS if this bucket was empty
+     */
+    public int put(int position, int hash) {
+        checkPosition(position);
+        final long bucket = bucketsAddress + (long) (HashCommon.mix(hash) & mask) * Integer.BYTES;
+        final int next = UNSAFE.getAndSetInt(null, bucket, position);
+        UNSAFE.putInt(entryAddress(position) + NEXT_OFFSET, next);
+        return next;
+    }
+
+    /**
+     * Pack the join key of given position, only called by the owner of this position
+     */
+    public void putKey(int position, long key) {
+        checkPosition(position);
+        final long entry = entryAddress(position);
+        UNSAFE.putLong(entry + KEY_OFFSET, key);
+        UNSAFE.putInt(entry + FLAGS_OFFSET, FLAG_KEY_PACKED);
+    }
+
+    /**
+     * Get the head position by hash code
+     *
+     * @return the head position of given hash code, or NOT_EXISTS if not found
+     */
+    public int get(int hash) {
+        final long bucket = bucketsAddress + (long) (HashCommon.mix(hash) & mask) * Integer.BYTES;
+        return UNSAFE.getIntVolatile(null, bucket);
+    }
+
+    /**
+     * Get the next position in the chain
+     */
+    public int next(int position) {
+        return UNSAFE.getInt(entryAddress(position) + NEXT_OFFSET);
+    }
+
+    public boolean isKeyPacked(int position) {
+        return (UNSAFE.getInt(entryAddress(position) + FLAGS_OFFSET) & FLAG_KEY_PACKED) != 0;
+    }
+
+    public long getKey(int position) {
+        return UNSAFE.getLong(entryAddress(position) + KEY_OFFSET);
+    }
+
+    /**
+     * Walk the chain from given position until a build key equal to the probe key is found
+     *
+     * @return the matched position, or NOT_EXISTS if reaching the end of chain
+     */
+    public int match(int matchedPosition, ChunksIndex buildKeyChunks, Chunk keyChunk, int position) {
+        final boolean packed = isPackable(keyChunk) && !keyChunk.getBlock(0).isNull(position);
+        final long probeKey = packed ? packKey(keyChunk.getBlock(0), position) : 0;
+        while (matchedPosition != NOT_EXISTS) {
+            if (packed && isKeyPacked(matchedPosition)) {
+                // both keys are non-null int/long values, so comparing the packed keys is exact
+                if (getKey(matchedPosition) == probeKey) {
+                    break;
+                }
+            } else if (buildKeyChunks.equals(matchedPosition, keyChunk, position)) {
+                break;
+            }
+            matchedPosition = next(matchedPosition);
+        }
+        return matchedPosition;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Size of the native memory held by this table
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long estimateSize() {
+        return INSTANCE_SIZE + allocatedBytes;
+    }
+
+    @Override
+    public void close() {
+        deallocator.free();
+    }
+
+    /**
+     * Free the native memory of tables which have been collected without being closed
+     *
+     * @return number of tables freed by this call
+     */
+    public static int reclaimLeaked() {
+        int reclaimed = 0;
+        Reference<? extends OffHeapJoinHashTable> ref;
+        while ((ref = UNCLOSED_TABLES.poll()) != null) {
+            Deallocator deallocator = (Deallocator) ref;
+            if (deallocator.free()) {
+                LEAKED_TABLES.incrementAndGet();
+                logger.warn("OffHeapJoinHashTable of " + deallocator.bytes + " bytes is not closed, freed after gc");
+                reclaimed++;
+            }
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Hand this table to {@link #reclaimLeaked()} as if it had been collected without being closed,
+     * so the reclaim path is exercised without waiting for gc. Only for tests.
+     */
+    void enqueueAsCollected() {
+        deallocator.enqueue();
+    }
+
+    /**
+     * Number of tables found unclosed so far
+     */
+    public static long getLeakedCount() {
+        return LEAKED_TABLES.get();
+    }
+
+    /**
+     * Owns the native memory of a table, and stays reachable after the table has been collected
+     */
+    private static class Deallocator extends PhantomReference<OffHeapJoinHashTable> {
+        private final long address;
+        private final long bytes;
+        private final AtomicBoolean freed = new AtomicBoolean(false);
+
+        Deallocator(OffHeapJoinHashTable table, long address, long bytes) {
+            super(table, UNCLOSED_TABLES);
+            this.address = address;
+            this.bytes = bytes;
+            DEALLOCATORS.add(this);
+        }
+
+        boolean free() {
+            if (!freed.compareAndSet(false, true)) {
+                return false;
+            }
+            UNSAFE.freeMemory(address);
+            DEALLOCATORS.remove(this);
+            clear();
+            return true;
+        }
+    }
+
+    private long entryAddress(int position) {
+        return entriesAddress + (long) position * ENTRY_SIZE;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + " out of range [0, " + size + ")");
+        }
+    }
+
+    /**
+     * Whether the key chunk has a single int/long key which could be packed into the entries
+     */
+    public static boolean isPackable(Chunk keyChunk) {
+        return keyChunk.getBlockCount() == 1 && isPackable(keyChunk.getBlock(0));
+    }
+
+    private static boolean isPackable(Block block) {
+        return block instanceof LongBlock || block instanceof IntegerBlock;
+    }
+
+    /**
+     * Read the packed form of a non-null int/long key
+     */
+    public static long packKey(Block block, int position) {
+        return block instanceof LongBlock ? block.getLong(position) : block.getInt(position);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.operator.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rows seen by the partial hash agg of one relation, and how many of them were
+ * passed through without being merged into the hash table.
+ * Shared by all parallel instances of the operator, so it is thread-safe.
+ */
+public class PartialAggStats {
+
+    private final AtomicLong partialAggInputRows = new AtomicLong();
+
+    private final AtomicLong partialAggBypassRows = new AtomicLong();
+
+    public void recordInput(long rows) {
+        partialAggInputRows.addAndGet(rows);
+    }
+
+    public void recordBypass(long rows) {
+        partialAggInputRows.addAndGet(rows);
+        partialAggBypassRows.addAndGet(rows);
+    }
+
+    public long getPartialAggInputRows() {
+        return partialAggInputRows.get();
+    }
+
+    public long getPartialAggBypassRows() {
+        return partialAggBypassRows.get();
+    }
+}
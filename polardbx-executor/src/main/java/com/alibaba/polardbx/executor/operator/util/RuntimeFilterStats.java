@@ -0,0 +1,52 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.operator.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rows tested and rows passed by each runtime filter evaluated in one relation, keyed by runtime filter id.
+ * Shared by all parallel instances of the operator, so it is thread-safe.
+ */
+public class RuntimeFilterStats {
+
+    private final Map<Integer, AtomicLong> testedRows = new ConcurrentHashMap<>();
+
+    private final Map<Integer, AtomicLong> passedRows = new ConcurrentHashMap<>();
+
+    public void record(int runtimeFilterId, long tested, long passed) {
+        testedRows.computeIfAbsent(runtimeFilterId, k -> new AtomicLong()).addAndGet(tested);
+        passedRows.computeIfAbsent(runtimeFilterId, k -> new AtomicLong()).addAndGet(passed);
+    }
+
+    public Map<Integer, Long> getTestedRows() {
+        return snapshot(testedRows);
+    }
+
+    public Map<Integer, Long> getPassedRows() {
+        return snapshot(passedRows);
+    }
+
+    private static Map<Integer, Long> snapshot(Map<Integer, AtomicLong> rows) {
+        Map<Integer, Long> result = new TreeMap<>();
+        rows.forEach((id, count) -> result.put(id, count.get()));
+        return result;
+    }
+}
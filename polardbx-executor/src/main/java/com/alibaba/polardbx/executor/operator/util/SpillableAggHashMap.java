@@ -301,6 +301,14 @@ public class SpillableAggHashMap implements AggHashMap {
         }
     }
 
+    public int getGroupCount() {
+        return aggHashMap == null ? 0 : aggHashMap.getGroupCount();
+    }
+
+    public boolean hasSpilled() {
+        return spiller.isPresent();
+    }
+
     @Override
     public long estimateSize() {
         if (aggHashMap != null) {
@@ -49,4 +49,8 @@ public class BloomFilterConsumeFilter {
     public BloomFilter getBloomFilter() {
         return bloomFilterConsume.getBloomFilter();
     }
+
+    public int getId() {
+        return bloomFilterConsume.getId();
+    }
 }
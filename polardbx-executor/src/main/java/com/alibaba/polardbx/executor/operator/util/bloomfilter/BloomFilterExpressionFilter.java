@@ -17,6 +17,7 @@
 package com.alibaba.polardbx.executor.operator.util.bloomfilter;
 
 import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.util.RuntimeFilterStats;
 
 import java.util.List;
 
@@ -27,23 +28,65 @@ import java.util.List;
 public class BloomFilterExpressionFilter {
     private final BloomFilterExpression expression;
     private final List<BloomFilterConsumeFilter> filters;
+    private long filteredRows;
+    private long passedRows;
+    /**
+     * Rows tested and passed by each filter, only counted after its bloom filter arrives
+     */
+    private final long[] filterTestedRows;
+    private final long[] filterPassedRows;
 
     public BloomFilterExpressionFilter(BloomFilterExpression expression) {
         this.expression = expression;
         this.filters = expression.buildFilters();
+        this.filterTestedRows = new long[filters.size()];
+        this.filterPassedRows = new long[filters.size()];
     }
 
     public boolean filter(Chunk.ChunkRow row) {
         if (expression.isExistBloomFilter()) {
             for (int i = 0; i < filters.size(); i++) {
-                if (filters.get(i).filter(row)) {
+                BloomFilterConsumeFilter consumeFilter = filters.get(i);
+                if (consumeFilter.getBloomFilter() == null) {
+                    continue;
+                }
+                filterTestedRows[i]++;
+                if (consumeFilter.filter(row)) {
+                    filteredRows++;
                     return true;
                 }
+                filterPassedRows[i]++;
             }
+            passedRows++;
         }
         return false;
     }
 
+    /**
+     * Add the rows tested and passed by each filter to the stats, keyed by runtime filter id
+     */
+    public void recordStats(RuntimeFilterStats stats) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (filterTestedRows[i] > 0) {
+                stats.record(filters.get(i).getId(), filterTestedRows[i], filterPassedRows[i]);
+            }
+        }
+    }
+
+    /**
+     * Rows removed by the bloom filters, not counted before the bloom filters arrive
+     */
+    public long getFilteredRows() {
+        return filteredRows;
+    }
+
+    /**
+     * Rows kept by the bloom filters, not counted before the bloom filters arrive
+     */
+    public long getPassedRows() {
+        return passedRows;
+    }
+
     public boolean isExistBloomFilter() {
         return expression.isExistBloomFilter();
     }
@@ -97,6 +97,23 @@ public class VisualModelService {
         }
     }
 
+    /**
+     * The latest `limit` axes of the layer, ordered by timestamp
+     */
+    public List<VisualAxisModel> getLatestLayerVisualAxes(Integer layerNum, int limit) {
+        PartitionsHeatmapAccessor partitionsHeatmapAccessor = new PartitionsHeatmapAccessor();
+        try (Connection connection = MetaDbUtil.getConnection()) {
+            partitionsHeatmapAccessor.setConnection(connection);
+            List<PartitionsHeatmapRecord> records = partitionsHeatmapAccessor.queryLatestByLayerNum(layerNum, limit);
+            List<VisualAxisModel> axes = converToVisualAxisModelList(records);
+            Collections.reverse(axes);
+            return axes;
+        } catch (Throwable ex) {
+            MetaDbLogUtil.META_DB_LOG.error(ex);
+            throw GeneralUtil.nestedException(ex);
+        }
+    }
+
     public int getLayerVisualAxesCount() {
         PartitionsHeatmapAccessor partitionsHeatmapAccessor = new PartitionsHeatmapAccessor();
         try (Connection connection = MetaDbUtil.getConnection()) {
@@ -0,0 +1,366 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.resultcache;
+
+import com.alibaba.polardbx.common.jdbc.ParameterContext;
+import com.alibaba.polardbx.common.jdbc.Parameters;
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.common.utils.Pair;
+import com.alibaba.polardbx.common.utils.TStringUtil;
+import com.alibaba.polardbx.executor.archive.reader.SegmentedLruCache;
+import com.alibaba.polardbx.executor.cursor.ResultCursor;
+import com.alibaba.polardbx.executor.cursor.impl.CachedResultCursor;
+import com.alibaba.polardbx.executor.cursor.impl.ResultCacheFillCursor;
+import com.alibaba.polardbx.executor.sync.InvalidateResultCacheSyncAction;
+import com.alibaba.polardbx.executor.sync.SyncManagerHelper;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.CursorMeta;
+import com.alibaba.polardbx.optimizer.core.planner.ExecutionPlan;
+import com.alibaba.polardbx.optimizer.core.planner.PlanCache;
+import com.alibaba.polardbx.optimizer.utils.ExecutionPlanProperties;
+import io.airlift.slice.Slice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Cross-query cache of the results of read-only queries, kept serialized in direct memory.
+ * <p>
+ * A result is keyed on the plan cache key, which already carries the meta versions of the referenced
+ * tables so that a DDL naturally misses the old results, plus the parameter values and the session
+ * settings that affect the output. Writes are tracked by a write version of each table, bumped when a
+ * transaction writing the table commits on this CN and broadcast synchronously to the other CNs before
+ * the commit is acknowledged to the client. A result remembers the write versions seen when its query
+ * started and is dropped once any of them moves on, so a result filled from a snapshot taken before a
+ * commit is never served after it. RESULT_CACHE_TTL bounds the staleness caused by writes that no CN
+ * sees, e.g. writes into the DN directly.
+ * <p>
+ * Only the tables listed in RESULT_CACHE_TABLES are cached, and only for sessions that enable
+ * ENABLE_RESULT_CACHE, so the broadcast on write costs nothing for the other tables.
+ */
+public class ResultCacheManager {
+
+    private static volatile ResultCacheManager instance;
+
+    /**
+     * Share of the capacity reserved for results that have been hit at least once
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * Functions whose result differs between executions, and user variables
+     */
+    private static final Pattern NON_DETERMINISTIC = Pattern.compile(
+        "@|\\b(NOW|SYSDATE|CURDATE|CURTIME|CURRENT_DATE|CURRENT_TIME|CURRENT_TIMESTAMP|LOCALTIME|LOCALTIMESTAMP"
+            + "|UTC_DATE|UTC_TIME|UTC_TIMESTAMP|UNIX_TIMESTAMP|RAND|UUID|UUID_SHORT|LAST_INSERT_ID|ROW_COUNT"
+            + "|FOUND_ROWS|CONNECTION_ID|USER|CURRENT_USER|SESSION_USER|SYSTEM_USER|DATABASE|SCHEMA|SLEEP"
+            + "|NEXTVAL|CURRVAL)\\b|\\bAS\\s+OF\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    public static ResultCacheManager getInstance() {
+        if (instance == null) {
+            synchronized (ResultCacheManager.class) {
+                if (instance == null) {
+                    instance = new ResultCacheManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final SegmentedLruCache<Key, CachedResult> cache;
+
+    /**
+     * Write version of each table in form of schema.table, only grows
+     */
+    private final ConcurrentHashMap<String, AtomicLong> writeVersions = new ConcurrentHashMap<>();
+
+    private volatile String cachedTablesConfig;
+    private volatile Set<String> cachedTables = new HashSet<>();
+    private volatile Set<String> cachedSchemas = new HashSet<>();
+
+    private ResultCacheManager() {
+        this(DynamicConfig.getInstance().getResultCacheSize());
+    }
+
+    ResultCacheManager(long capacity) {
+        cache = new SegmentedLruCache<>(capacity, PROTECTED_RATIO, CachedResult::getSizeInBytes);
+    }
+
+    /**
+     * Build the cache key of a query, or return null if the result of the query must not be cached.
+     */
+    public Key buildKey(ExecutionPlan plan, ExecutionContext ec) {
+        if (!ec.getParamManager().getBoolean(ConnectionParams.ENABLE_RESULT_CACHE)) {
+            return null;
+        }
+        final PlanCache.CacheKey planKey = plan.getCacheKey();
+        if (planKey == null || plan.isExplain() || !ec.isAutoCommit()
+            || !plan.getPlanProperties().get(ExecutionPlanProperties.QUERY)
+            || plan.getPlanProperties().get(ExecutionPlanProperties.MODIFY_TABLE)
+            || plan.getPlanProperties().get(ExecutionPlanProperties.SELECT_WITH_LOCK)) {
+            return null;
+        }
+        final Set<Pair<String, String>> tableSet = plan.getTableSet();
+        if (tableSet == null || tableSet.isEmpty() || DynamicConfig.getInstance().getResultCacheSize() <= 0) {
+            return null;
+        }
+        refreshCachedTables();
+        final List<String> tables = new ArrayList<>(tableSet.size());
+        for (Pair<String, String> t : tableSet) {
+            final String schema = t.getKey() == null ? ec.getSchemaName() : t.getKey();
+            final String table = tableName(schema, t.getValue());
+            if (!isCachedTable(schema, table)) {
+                return null;
+            }
+            // views and temporary names have no meta, and writes into their base tables are not tracked
+            if (ec.getSchemaManager(schema).getTableWithNull(t.getValue()) == null) {
+                return null;
+            }
+            tables.add(table);
+        }
+        if (NON_DETERMINISTIC.matcher(planKey.getParameterizedSql()).find()) {
+            return null;
+        }
+        final Parameters params = ec.getParams();
+        Object[] values = null;
+        if (params != null) {
+            if (params.isBatch()) {
+                return null;
+            }
+            final Map<Integer, ParameterContext> current = params.getCurrentParameter();
+            values = new Object[current.size()];
+            int i = 0;
+            for (ParameterContext pc : current.values()) {
+                values[i++] = pc.getValue();
+            }
+        }
+        final String session = ec.getSqlMode() + '|' + ec.getEncoding() + '|'
+            + (ec.getTimeZone() == null ? null : ec.getTimeZone().getId());
+        return new Key(planKey, values, session, tables, currentVersions(tables));
+    }
+
+    /**
+     * Return a cursor over the cached result of the query, or null if it is absent or stale.
+     */
+    public ResultCursor get(Key key) {
+        final CachedResult cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        final int ttl = DynamicConfig.getInstance().getResultCacheTtl();
+        if (!Arrays.equals(cached.versions, key.versions)
+            || (ttl > 0 && System.currentTimeMillis() - cached.createTime > ttl)) {
+            cache.invalidate(key);
+            return null;
+        }
+        final ResultCursor resultCursor = new ResultCursor(new CachedResultCursor(cached.columns, cached.data));
+        resultCursor.setCursorMeta(CursorMeta.build(cached.columns));
+        return resultCursor;
+    }
+
+    /**
+     * Wrap the cursor of a query so that its result is cached once it has been fully read.
+     */
+    public ResultCursor wrap(Key key, ResultCursor cursor, ExecutionContext ec) {
+        final List<ColumnMeta> columns = cursor.getReturnColumns();
+        if (columns == null || columns.isEmpty()) {
+            return cursor;
+        }
+        final ResultCursor resultCursor = new ResultCursor(new ResultCacheFillCursor(cursor, columns,
+            DynamicConfig.getInstance().getResultCacheMaxEntrySize(), ec, data -> put(key, columns, data)));
+        resultCursor.setCursorMeta(CursorMeta.build(columns));
+        return resultCursor;
+    }
+
+    void put(Key key, List<ColumnMeta> columns, Slice data) {
+        // a write committed while the query was running, the result may be from an older snapshot
+        if (!Arrays.equals(key.versions, currentVersions(key.tables))) {
+            return;
+        }
+        cache.put(key, new CachedResult(columns, data, key.versions));
+    }
+
+    /**
+     * Invalidate the cached results of tables written by a transaction that committed on this CN,
+     * and tell the other CNs to do the same. Must be called before the commit is acknowledged,
+     * a failed broadcast is thrown so that the client does not take the write as visible everywhere.
+     *
+     * @param tables tables written by the transaction, schema is null for the default schema
+     */
+    public void onTablesWritten(String defaultSchema, Collection<Pair<String, String>> tables) {
+        refreshCachedTables();
+        final Map<String, List<String>> written = new HashMap<>();
+        for (Pair<String, String> t : tables) {
+            final String schema = (t.getKey() == null ? defaultSchema : t.getKey()).toLowerCase(Locale.ROOT);
+            final String table = tableName(schema, t.getValue());
+            if (!isCachedTable(schema, table)) {
+                continue;
+            }
+            invalidate(schema, t.getValue());
+            written.computeIfAbsent(schema, s -> new ArrayList<>()).add(t.getValue());
+        }
+        for (Map.Entry<String, List<String>> e : written.entrySet()) {
+            SyncManagerHelper.sync(new InvalidateResultCacheSyncAction(e.getKey(), e.getValue()), e.getKey(), true);
+        }
+    }
+
+    /**
+     * Invalidate the cached results of a table, or of the whole schema if tableName is null.
+     */
+    public void invalidate(String schemaName, String tableName) {
+        if (tableName == null) {
+            final String prefix = schemaName.toLowerCase(Locale.ROOT) + '.';
+            writeVersions.forEach((t, v) -> {
+                if (t.startsWith(prefix)) {
+                    v.incrementAndGet();
+                }
+            });
+            cache.invalidateIf(key -> key.tables.stream().anyMatch(t -> t.startsWith(prefix)));
+            return;
+        }
+        final String table = tableName(schemaName, tableName);
+        writeVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+        cache.invalidateIf(key -> key.tables.contains(table));
+    }
+
+    public void setCapacity(long capacity) {
+        cache.setCapacity(capacity);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public SegmentedLruCache.Stats getStats() {
+        return cache.stats();
+    }
+
+    long[] currentVersions(List<String> tables) {
+        final long[] versions = new long[tables.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = writeVersions.computeIfAbsent(tables.get(i), t -> new AtomicLong()).get();
+        }
+        return versions;
+    }
+
+    private boolean isCachedTable(String schema, String table) {
+        return cachedTables.contains(table) || cachedSchemas.contains(schema.toLowerCase(Locale.ROOT));
+    }
+
+    private void refreshCachedTables() {
+        final String config = DynamicConfig.getInstance().getResultCacheTables();
+        if (Objects.equals(config, cachedTablesConfig)) {
+            return;
+        }
+        final Set<String> tables = new HashSet<>();
+        final Set<String> schemas = new HashSet<>();
+        if (TStringUtil.isNotBlank(config)) {
+            for (String name : config.split(",")) {
+                name = name.trim().toLowerCase(Locale.ROOT);
+                if (name.endsWith(".*")) {
+                    schemas.add(name.substring(0, name.length() - 2));
+                } else if (!name.isEmpty()) {
+                    tables.add(name);
+                }
+            }
+        }
+        cachedTables = tables;
+        cachedSchemas = schemas;
+        cachedTablesConfig = config;
+    }
+
+    private static String tableName(String schema, String table) {
+        return (schema + '.' + table).toLowerCase(Locale.ROOT);
+    }
+
+    public static class Key {
+        private final PlanCache.CacheKey planKey;
+        private final Object[] parameters;
+        private final String session;
+
+        /**
+         * Referenced tables and their write versions when the query started, not part of the key
+         */
+        private final List<String> tables;
+        private final long[] versions;
+
+        Key(PlanCache.CacheKey planKey, Object[] parameters, String session, List<String> tables,
+            long[] versions) {
+            this.planKey = planKey;
+            this.parameters = parameters;
+            this.session = session;
+            this.tables = tables;
+            this.versions = versions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return planKey.equals(key.planKey)
+                && Arrays.deepEquals(parameters, key.parameters)
+                && session.equals(key.session);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * planKey.hashCode() + Arrays.deepHashCode(parameters)) + session.hashCode();
+        }
+    }
+
+    /**
+     * Serialized chunks of a result in a direct buffer. Direct buffers are released with their
+     * owner, so a cursor still reading an evicted result stays safe.
+     */
+    private static class CachedResult {
+        private final List<ColumnMeta> columns;
+        private final Slice data;
+        private final long[] versions;
+        private final long createTime;
+
+        CachedResult(List<ColumnMeta> columns, Slice data, long[] versions) {
+            this.columns = columns;
+            this.data = data;
+            this.versions = versions;
+            this.createTime = System.currentTimeMillis();
+        }
+
+        long getSizeInBytes() {
+            return data.length();
+        }
+    }
+}
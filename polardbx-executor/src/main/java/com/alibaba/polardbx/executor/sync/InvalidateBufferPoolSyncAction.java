@@ -61,10 +61,10 @@ public class InvalidateBufferPoolSyncAction  implements ISyncAction {
 
         if (schemaName == null && logicalTableName == null) {
             BufferPoolManager.getInstance().clear();
-        } else if (schemaName != null) {
-            BufferPoolManager.getInstance().invalidate(schemaName, null);
         } else if (schemaName != null && logicalTableName != null) {
             BufferPoolManager.getInstance().invalidate(schemaName, logicalTableName);
+        } else if (schemaName != null) {
+            BufferPoolManager.getInstance().invalidate(schemaName, null);
         }
         return null;
     }
@@ -0,0 +1,69 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.sync;
+
+import com.alibaba.polardbx.executor.cursor.ResultCursor;
+import com.alibaba.polardbx.executor.resultcache.ResultCacheManager;
+
+import java.util.List;
+
+/**
+ * Invalidate the cached query results of tables written by a committed transaction on another CN
+ */
+public class InvalidateResultCacheSyncAction implements ISyncAction {
+
+    private String schemaName;
+
+    private List<String> tableNames;
+
+    public InvalidateResultCacheSyncAction() {
+    }
+
+    public InvalidateResultCacheSyncAction(String schemaName, List<String> tableNames) {
+        this.schemaName = schemaName;
+        this.tableNames = tableNames;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public void setTableNames(List<String> tableNames) {
+        this.tableNames = tableNames;
+    }
+
+    @Override
+    public ResultCursor sync() {
+        if (tableNames == null) {
+            ResultCacheManager.getInstance().invalidate(schemaName, null);
+        } else {
+            for (String tableName : tableNames) {
+                ResultCacheManager.getInstance().invalidate(schemaName, tableName);
+            }
+        }
+        return null;
+    }
+}
@@ -39,6 +39,7 @@ import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.config.ConfigDataMode;
 import com.alibaba.polardbx.druid.sql.ast.SqlType;
+import com.alibaba.polardbx.executor.chunk.Block;
 import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.executor.common.ExecutorContext;
 import com.alibaba.polardbx.executor.cursor.Cursor;
@@ -49,6 +50,7 @@ import com.alibaba.polardbx.executor.mpp.execution.QueryInfo;
 import com.alibaba.polardbx.executor.mpp.execution.StageInfo;
 import com.alibaba.polardbx.executor.mpp.execution.TaskInfo;
 import com.alibaba.polardbx.executor.operator.util.ConcurrentRawHashTable;
+import com.alibaba.polardbx.executor.operator.util.OffHeapJoinHashTable;
 import com.alibaba.polardbx.executor.sync.SyncManagerHelper;
 import com.alibaba.polardbx.executor.utils.failpoint.FailPoint;
 import com.alibaba.polardbx.gms.config.impl.InstConfUtil;
@@ -987,6 +989,28 @@ public class ExecUtils {
         }
     }
 
+    public static void buildOneChunk(Chunk keyChunk, int position, OffHeapJoinHashTable hashTable,
+                                     FastIntBloomFilter bloomFilter, List<Integer> ignoreNullBlocks) {
+        // Calculate hash codes of the whole chunk
+        int[] hashes = keyChunk.hashCodeVector();
+        // Single int/long key is packed into the entries, to avoid touching key blocks when probing
+        Block packBlock = OffHeapJoinHashTable.isPackable(keyChunk) ? keyChunk.getBlock(0) : null;
+
+        boolean allNullSafe = checkJoinKeysAllNullSafe(keyChunk, ignoreNullBlocks);
+        for (int offset = 0; offset < keyChunk.getPositionCount(); offset++, position++) {
+            if (!allNullSafe && !checkJoinKeysNulSafe(keyChunk, offset, ignoreNullBlocks)) {
+                continue;
+            }
+            if (packBlock != null && !packBlock.isNull(offset)) {
+                hashTable.putKey(position, OffHeapJoinHashTable.packKey(packBlock, offset));
+            }
+            hashTable.put(position, hashes[offset]);
+            if (bloomFilter != null) {
+                bloomFilter.put(hashes[offset]);
+            }
+        }
+    }
+
     public static boolean checkJoinKeysAllNullSafe(Chunk keyChunk, List<Integer> ignoreNullBlocks) {
         for (int i : ignoreNullBlocks) {
             if (keyChunk.getBlock(i).mayHaveNull()) {
@@ -16,15 +16,22 @@
 
 package com.alibaba.polardbx.executor.vectorized;
 
+import com.alibaba.polardbx.common.charset.CharsetHandler;
 import com.alibaba.polardbx.common.utils.time.core.OriginalDate;
 import com.alibaba.polardbx.common.utils.time.core.OriginalTime;
 import com.alibaba.polardbx.common.utils.time.core.OriginalTimestamp;
 import com.alibaba.polardbx.common.utils.time.core.TimeStorage;
+import com.alibaba.polardbx.executor.chunk.DateBlock;
+import com.alibaba.polardbx.executor.chunk.IntegerBlock;
 import com.alibaba.polardbx.executor.chunk.LongBlock;
 import com.alibaba.polardbx.executor.chunk.MutableChunk;
 import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
+import com.alibaba.polardbx.executor.chunk.SliceBlock;
+import com.alibaba.polardbx.executor.chunk.TimestampBlock;
 import com.alibaba.polardbx.executor.vectorized.EvaluationContext;
+import com.alibaba.polardbx.optimizer.core.datatype.SliceType;
 import com.google.common.base.Preconditions;
+import io.airlift.slice.Slice;
 import org.apache.commons.lang.StringUtils;
 
 import java.util.ArrayList;
@@ -322,4 +329,55 @@ public class VectorizedExpressionUtils {
         }
         return 0L;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the packed date/datetime value of non-null position, reading the packed array directly if possible.
+     */
+    public static long packedDatetimeAt(RandomAccessBlock vector, int position) {
+        if (vector instanceof DateBlock) {
+            return ((DateBlock) vector).getPackedLong(position);
+        } else if (vector instanceof TimestampBlock) {
+            return ((TimestampBlock) vector).getPackedLong(position);
+        }
+        return packedLong(vector, position);
+    }
+
+    /**
+     * Get the slice of char/varchar vector in position, or null if the value is null.
+     */
+    public static Slice sliceAt(RandomAccessBlock vector, int position, SliceType sliceType) {
+        if (vector.hasNull() && vector.nulls()[position]) {
+            return null;
+        }
+        if (vector instanceof SliceBlock) {
+            return ((SliceBlock) vector).getRegion(position);
+        }
+        Object o = vector.elementAt(position);
+        return o == null ? null : sliceType.convertFrom(o);
+    }
+
+    /**
+     * Decode the slice of char/varchar vector to string in the charset of its column. Slices in chunk are stored in
+     * utf-8, so characters that do not exist in the column charset are replaced as if read from the column.
+     */
+    public static String decodeString(Slice slice, SliceType sliceType) {
+        if (sliceType.isUtf8Encoding()) {
+            return slice.toStringUtf8();
+        }
+        CharsetHandler charsetHandler = sliceType.getCharsetHandler();
+        return charsetHandler.decode(charsetHandler.encodeFromUtf8(slice));
+    }
+
+    /**
+     * Write long value to the output vector of integer-like type.
+     */
+    public static void writeLong(RandomAccessBlock outputVector, int position, long value) {
+        if (outputVector instanceof LongBlock) {
+            ((LongBlock) outputVector).longArray()[position] = value;
+        } else if (outputVector instanceof IntegerBlock) {
+            ((IntegerBlock) outputVector).intArray()[position] = (int) value;
+        } else {
+            outputVector.setElementAt(position, outputVector.getType().convertFrom(value));
+        }
+    }
+}
@@ -96,6 +96,7 @@ import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -613,6 +614,47 @@ public class LogicalInsertIgnoreHandler extends LogicalInsertHandler {
         return insertIgnore.getCluster().getTypeFactory().createStructType(fieldTypes, fieldNames);
     }
 
+    /**
+     * Split a large batch and run duplicate check, row classification and write chunk by chunk. Rows written by
+     * previous chunks are locked and visible to the duplicate check of following chunks, which matches MySQL
+     * handling rows one by one, while rows selected for duplicate check are bounded by chunk size.
+     *
+     * @param chunkExecutor execute one chunk with given ExecutionContext and return affected rows
+     * @return affected rows of all chunks, or null if batch is not split
+     */
+    protected Integer executeInChunks(LogicalInsertIgnore insert, ExecutionContext executionContext,
+                                      ToIntFunction<ExecutionContext> chunkExecutor) {
+        if (!executionContext.getParamManager().getBoolean(ConnectionParams.DML_CHUNKED_DUPLICATE_CHECK)) {
+            return null;
+        }
+
+        final Parameters params = executionContext.getParams();
+        if (null == params || !params.isBatch() || !(insert.getInput() instanceof LogicalDynamicValues)
+            || RelUtils.getRelInput(insert).getTuples().size() != 1) {
+            return null;
+        }
+
+        final List<Map<Integer, ParameterContext>> batchParameters = params.getBatchParameters();
+        final int chunkSize =
+            executionContext.getParamManager().getInt(ConnectionParams.DML_DUPLICATE_CHECK_CHUNK_SIZE);
+        if (batchParameters.size() <= chunkSize) {
+            return null;
+        }
+
+        int affectRows = 0;
+        for (int start = 0; start < batchParameters.size(); start += chunkSize) {
+            final int end = Math.min(start + chunkSize, batchParameters.size());
+            final ExecutionContext chunkEc = executionContext.copy();
+            chunkEc.setParams(new Parameters(new ArrayList<>(batchParameters.subList(start, end))));
+
+            affectRows += chunkExecutor.applyAsInt(chunkEc);
+
+            // Physical sql id of next chunk starts after current chunk
+            executionContext.setPhySqlId(chunkEc.getPhySqlId());
+        }
+        return affectRows;
+    }
+
     private int concurrentExecute(LogicalInsertIgnore insertIgnore, ExecutionContext insertEc) {
         final String schemaName = insertIgnore.getSchemaName();
         final String tableName = insertIgnore.getLogicalTableName();
@@ -17,6 +17,7 @@
 package com.alibaba.polardbx.repo.mysql.handler;
 
 import com.alibaba.polardbx.common.constants.SequenceAttribute;
+import com.alibaba.polardbx.common.constants.SequenceAttribute.Type;
 import com.alibaba.polardbx.common.exception.TddlNestableRuntimeException;
 import com.alibaba.polardbx.common.exception.code.ErrorCode;
 import com.alibaba.polardbx.common.jdbc.ParameterContext;
@@ -29,7 +30,6 @@ import com.alibaba.polardbx.common.utils.Pair;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.common.utils.logger.MDC;
-import com.alibaba.polardbx.common.utils.memory.SizeOf;
 import com.alibaba.polardbx.executor.common.ExecutorContext;
 import com.alibaba.polardbx.executor.cursor.AbstractCursor;
 import com.alibaba.polardbx.executor.cursor.Cursor;
@@ -42,6 +42,7 @@ import com.alibaba.polardbx.optimizer.config.table.GlobalIndexMeta;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.context.LoadDataContext;
 import com.alibaba.polardbx.optimizer.core.CursorMeta;
+import com.alibaba.polardbx.optimizer.core.function.SqlSequenceFunction;
 import com.alibaba.polardbx.optimizer.core.rel.LogicalInsert;
 import com.alibaba.polardbx.optimizer.core.rel.LogicalInsert.HandlerParams;
 import com.alibaba.polardbx.optimizer.core.rel.PhyTableInsertSharder;
@@ -59,7 +60,6 @@ import com.alibaba.polardbx.optimizer.sequence.SequenceManagerProxy;
 import com.alibaba.polardbx.optimizer.utils.CalciteUtils;
 import com.alibaba.polardbx.optimizer.utils.IDistributedTransaction;
 import com.alibaba.polardbx.optimizer.utils.PhyTableOperationUtil;
-import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.calcite.rel.RelNode;
@@ -215,27 +215,15 @@ public class LogicalLoadDataHandler extends LogicalInsertHandler {
             try {
                 int totalAffectRows = 0;
                 while (true) {
-                    List<String> lines = loadDataContext.getParameters().take();
-                    if (lines == END) {
+                    List<List<String>> rows = loadDataContext.getParameters().take();
+                    if (rows == END) {
                         break;
                     }
-                    List<Map<Integer, ParameterContext>> batchParams = new ArrayList<>();
-                    for (int i = 0; i < lines.size(); i++) {
-                        String line = lines.get(i);
-                        List<String> fields =
-                            Lists.newArrayList(Splitter.on(loadDataContext.getFieldTerminatedBy()).split(line));
-                        if (loadDataContext.getAutoFillColumnIndex() != -1) {
-                            fields.add(loadDataContext.getAutoFillColumnIndex(),
-                                loadDataContext.isInSingleDb() ? "NULL" :
-                                    SequenceManagerProxy.getInstance().nextValue(executionContext.getSchemaName(),
-                                        ISequenceManager.AUTO_SEQ_PREFIX + loadDataContext.getTableName()).toString());
-                        }
-                        Map<Integer, ParameterContext> parameterContexts = Transformer.buildColumnParam(
-                            loadDataContext.getMetaList(), fields, loadDataContext.getCharset(), null_mode);
-                        batchParams.add(parameterContexts);
-                        long length = SizeOf.sizeOfCharArray(line.length());
-                        loadDataContext.getDataCacheManager().releaseMemory(length);
+                    for (int i = 0; i < rows.size(); i++) {
+                        loadDataContext.getDataCacheManager().releaseMemory(LoadDataContext.sizeOf(rows.get(i)));
                     }
+                    List<Map<Integer, ParameterContext>> batchParams =
+                        buildBatchParams(rows, loadDataContext, executionContext.getSchemaName(), null_mode);
                     if (batchParams.size() > 0) {
                         Parameters parameters = new Parameters();
                         parameters.setBatchParams(batchParams);
@@ -257,6 +245,48 @@ public class LogicalLoadDataHandler extends LogicalInsertHandler {
         }
     }
 
+    /**
+     * Build batch parameters from rows of fields. Values of auto fill column are fetched from sequence once per batch
+     * instead of once per row.
+     */
+    static List<Map<Integer, ParameterContext>> buildBatchParams(List<List<String>> rows,
+                                                                 LoadDataContext loadDataContext, String schemaName,
+                                                                 PropUtil.LOAD_NULL_MODE nullMode) {
+        final int autoFillColumnIndex = loadDataContext.getAutoFillColumnIndex();
+        final boolean fillSequence = autoFillColumnIndex != -1 && !loadDataContext.isInSingleDb();
+        final String seqName = ISequenceManager.AUTO_SEQ_PREFIX + loadDataContext.getTableName();
+
+        Parameters seqParams = null;
+        Type seqType = null;
+        Integer seqIncrement = null;
+        Long beginSequenceVal = null;
+        if (fillSequence) {
+            seqParams = new Parameters();
+            seqParams.getSequenceSize().set(rows.size());
+            seqType = SequenceManagerProxy.getInstance().checkIfExists(schemaName, seqName);
+            seqIncrement = SequenceManagerProxy.getInstance().getIncrement(schemaName, seqName);
+        }
+
+        final List<Map<Integer, ParameterContext>> batchParams = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            List<String> fields = loadDataContext.parseFields(row);
+            if (autoFillColumnIndex != -1) {
+                String autoFillValue = "NULL";
+                if (fillSequence) {
+                    Long[] seqValues = SqlSequenceFunction.assignValue(schemaName, seqName, true, seqParams,
+                        beginSequenceVal, seqType, seqIncrement);
+                    beginSequenceVal = seqValues[2];
+                    autoFillValue = seqValues[0].toString();
+                }
+                fields.add(autoFillColumnIndex, autoFillValue);
+            }
+            batchParams.add(Transformer.buildColumnParam(
+                loadDataContext.getMetaList(), fields, loadDataContext.getCharset(), nullMode));
+        }
+        loadDataContext.getParsedRows().addAndGet(rows.size());
+        return batchParams;
+    }
+
     public Pair<List<ShardConsumer>, List<AdaptiveLoadDataCursor>> concurrentCursors(
         ExecutionContext executionContext, LogicalInsert logicalInsert) {
         executionContext.getExtraCmds().put(ConnectionProperties.MPP_METRIC_LEVEL, 0);
@@ -407,6 +437,10 @@ public class LogicalLoadDataHandler extends LogicalInsertHandler {
                         ExecUtils.getAffectRowsByCursor(currentCusor);
                     affectNum += num;
                     loadDataContext.getLoadDataAffectRows().addAndGet(num);
+                    loadDataContext.getExecutedPhyInserts().incrementAndGet();
+                    if (loadDataContext.needReportProgress()) {
+                        logger.info("Load data progress, " + loadDataContext.getProgress());
+                    }
                 }
             } catch (Throwable t) {
                 exceptionsWhenClose.add(t);
@@ -505,34 +539,24 @@ public class LogicalLoadDataHandler extends LogicalInsertHandler {
                         throw loadDataContext.getThrowable();
                     }
 
-                    List<String> lines = loadDataContext.getParameters().take();
-                    if (lines == END) {
+                    List<List<String>> rows = loadDataContext.getParameters().take();
+                    if (rows == END) {
                         loadDataContext.getParameters().add(END);
                         break;
                     }
-                    List<Map<Integer, ParameterContext>> batchParams = new ArrayList<>();
                     long totalMemory = 0L;
-                    for (int i = 0; i < lines.size(); i++) {
-                        String line = lines.get(i);
-                        totalMemory += SizeOf.sizeOfCharArray(line.length());
-                        List<String> fields =
-                            Lists.newArrayList(Splitter.on(loadDataContext.getFieldTerminatedBy()).split(line));
-                        if (loadDataContext.getAutoFillColumnIndex() != -1) {
-                            fields.add(loadDataContext.getAutoFillColumnIndex(),
-                                loadDataContext.isInSingleDb() ? "NULL" :
-                                    SequenceManagerProxy.getInstance().nextValue(executionContext.getSchemaName(),
-                                        ISequenceManager.AUTO_SEQ_PREFIX + loadDataContext.getTableName()).toString());
-                        }
-                        Map<Integer, ParameterContext> parameterContexts = Transformer.buildColumnParam(
-                            loadDataContext.getMetaList(), fields, loadDataContext.getCharset(), null_mode);
-                        batchParams.add(parameterContexts);
+                    for (int i = 0; i < rows.size(); i++) {
+                        totalMemory += LoadDataContext.sizeOf(rows.get(i));
                     }
+                    List<Map<Integer, ParameterContext>> batchParams =
+                        buildBatchParams(rows, loadDataContext, executionContext.getSchemaName(), null_mode);
                     if (batchParams.size() > 0) {
                         Parameters parameters = new Parameters();
                         parameters.setBatchParams(batchParams);
                         executionContext.setParams(parameters);
                         List<RelNode> allPhyPlan = getAllRelNode(
                             logicalInsert, executionContext);
+                        loadDataContext.getRoutedPhyInserts().addAndGet(allPhyPlan.size());
                         if (concurrentQueues.size() > 1) {
                             //use trans
                             long averageSize = totalMemory / allPhyPlan.size();
@@ -93,7 +93,6 @@ public class LogicalReplaceHandler extends LogicalInsertIgnoreHandler {
         final TddlRuleManager or = OptimizerContext.getContext(schemaName).getRuleManager();
         final boolean isBroadcast = or.isBroadCast(tableName);
 
-        int affectRows = 0;
         if (input instanceof LogicalDynamicValues) {
             // For batch replace, change params index.
             if (replace.getBatchSize() > 0) {
@@ -125,6 +124,22 @@ public class LogicalReplaceHandler extends LogicalInsertIgnoreHandler {
             return execAffectRow;
         }
 
+        // Replace large batch chunk by chunk
+        final Integer chunkAffectRows = executeInChunks(replace, executionContext,
+            chunkEc -> executeReplace(replace, chunkEc, chunkEc.copy(), handlerParams));
+        if (chunkAffectRows != null) {
+            return chunkAffectRows;
+        }
+
+        return executeReplace(replace, executionContext, replaceEc, handlerParams);
+    }
+
+    private int executeReplace(LogicalReplace replace, ExecutionContext executionContext, ExecutionContext replaceEc,
+                               LogicalInsert.HandlerParams handlerParams) {
+        final boolean gsiConcurrentWrite =
+            executionContext.getParamManager().getBoolean(ConnectionParams.GSI_CONCURRENT_WRITE_OPTIMIZE);
+
+        int affectRows = 0;
         final MemoryPool selectValuesPool = MemoryPoolUtils.createOperatorTmpTablePool(executionContext);
         final MemoryAllocatorCtx memoryAllocator = selectValuesPool.getMemoryAllocatorCtx();
         final RelDataType selectRowType = getRowTypeForDuplicateCheck(replace);
@@ -122,6 +122,21 @@ public class LogicalUpsertHandler extends LogicalInsertIgnoreHandler {
         // Append parameter for RexCallParam and RexSequenceParam
         RexUtils.updateParam(upsert, executionContext, false, handlerParams);
 
+        // Upsert large batch chunk by chunk
+        final Integer chunkAffectRows =
+            executeInChunks(upsert, executionContext, chunkEc -> executeUpsert(upsert, chunkEc, handlerParams));
+        if (chunkAffectRows != null) {
+            return chunkAffectRows;
+        }
+
+        return executeUpsert(upsert, executionContext, handlerParams);
+    }
+
+    private int executeUpsert(LogicalUpsert upsert, ExecutionContext executionContext,
+                              LogicalInsert.HandlerParams handlerParams) {
+        final boolean gsiConcurrentWrite =
+            executionContext.getParamManager().getBoolean(ConnectionParams.GSI_CONCURRENT_WRITE_OPTIMIZE);
+
         // Build ExecutionContext for upsert
         final ExecutionContext upsertEc = executionContext.copy();
 
@@ -23,7 +23,10 @@ import com.alibaba.polardbx.common.utils.thread.RunnableWithStatHandler;
 import com.alibaba.polardbx.common.utils.thread.ThreadCpuStatUtil;
 import com.alibaba.polardbx.executor.cursor.AbstractCursor;
 import com.alibaba.polardbx.executor.cursor.Cursor;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeStats;
 import com.alibaba.polardbx.executor.operator.Executor;
+import com.alibaba.polardbx.executor.operator.util.PartialAggStats;
+import com.alibaba.polardbx.executor.operator.util.RuntimeFilterStats;
 import com.alibaba.polardbx.executor.utils.ExecUtils;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.rel.LogicalView;
@@ -60,6 +63,42 @@ public class RuntimeStatHelper {
         }
     }
 
+    /**
+     * Get the page codec counters of an exchange operator, or null if operator metrics are disabled
+     */
+    public static PagesSerdeStats getSerdeStats(int relationId, ExecutionContext context) {
+        if (ExecUtils.isOperatorMetricEnabled(context)
+            && context.getRuntimeStatistics() != null && !context.isApplyingSubquery()) {
+            RuntimeStatistics runtimeStatistics = (RuntimeStatistics) context.getRuntimeStatistics();
+            return runtimeStatistics.getOrCreateSerdeStats(relationId);
+        }
+        return null;
+    }
+
+    /**
+     * Get the pass-through counters of a partial hash agg, or null if operator metrics are disabled
+     */
+    public static PartialAggStats getPartialAggStats(int relationId, ExecutionContext context) {
+        if (ExecUtils.isOperatorMetricEnabled(context)
+            && context.getRuntimeStatistics() != null && !context.isApplyingSubquery()) {
+            RuntimeStatistics runtimeStatistics = (RuntimeStatistics) context.getRuntimeStatistics();
+            return runtimeStatistics.getOrCreatePartialAggStats(relationId);
+        }
+        return null;
+    }
+
+    /**
+     * Get the per runtime filter counters of a relation, or null if operator metrics are disabled
+     */
+    public static RuntimeFilterStats getRuntimeFilterStats(int relationId, ExecutionContext context) {
+        if (ExecUtils.isOperatorMetricEnabled(context)
+            && context.getRuntimeStatistics() != null && !context.isApplyingSubquery()) {
+            RuntimeStatistics runtimeStatistics = (RuntimeStatistics) context.getRuntimeStatistics();
+            return runtimeStatistics.getOrCreateRuntimeFilterStats(relationId);
+        }
+        return null;
+    }
+
     public static void registerStatForExec(RelNode plan, Executor executor, ExecutionContext context) {
         if (ExecUtils.isOperatorMetricEnabled(context)
             && context.getRuntimeStatistics() != null && !context.isApplyingSubquery()) {
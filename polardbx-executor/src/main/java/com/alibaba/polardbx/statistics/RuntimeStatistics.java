@@ -33,8 +33,11 @@ import com.alibaba.polardbx.executor.cursor.impl.MultiCursorAdapter;
 import com.alibaba.polardbx.executor.cursor.impl.MyPhysicalCursor;
 import com.alibaba.polardbx.executor.mpp.execution.TaskId;
 import com.alibaba.polardbx.executor.mpp.execution.TaskStatus;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.PagesSerdeStats;
 import com.alibaba.polardbx.executor.operator.AbstractExecutor;
 import com.alibaba.polardbx.executor.operator.Executor;
+import com.alibaba.polardbx.executor.operator.util.PartialAggStats;
+import com.alibaba.polardbx.executor.operator.util.RuntimeFilterStats;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.profiler.RuntimeStat;
 import com.alibaba.polardbx.optimizer.core.profiler.cpu.CpuStat;
@@ -91,6 +94,9 @@ public class RuntimeStatistics extends RuntimeStat implements CpuCollector {
     private final Map<String, MemoryStatisticsGroup> memoryToStatistics = new ConcurrentHashMap<>();
     private final Map<Integer, RelNode> relationIdToNode = new HashMap<>();
     private final WeakHashMap<Integer, RuntimeStatisticsSketch> mppOperatorStats = new WeakHashMap<>();
+    private final Map<Integer, PagesSerdeStats> relationToSerdeStats = new ConcurrentHashMap<>();
+    private final Map<Integer, PartialAggStats> relationToPartialAggStats = new ConcurrentHashMap<>();
+    private final Map<Integer, RuntimeFilterStats> relationToRuntimeFilterStats = new ConcurrentHashMap<>();
     private QuerySpillSpaceMonitor querySpillSpaceMonitor;
     private MemoryPool holdMemoryPool;
     private CpuStat sqlWholeStageCpuStat;
@@ -1121,6 +1127,30 @@ public class RuntimeStatistics extends RuntimeStat implements CpuCollector {
         this.mppOperatorStats.put(relationId, mppOperatorStat);
     }
 
+    public PagesSerdeStats getOrCreateSerdeStats(int relationId) {
+        return relationToSerdeStats.computeIfAbsent(relationId, k -> new PagesSerdeStats());
+    }
+
+    public PagesSerdeStats getSerdeStats(int relationId) {
+        return relationToSerdeStats.get(relationId);
+    }
+
+    public PartialAggStats getOrCreatePartialAggStats(int relationId) {
+        return relationToPartialAggStats.computeIfAbsent(relationId, k -> new PartialAggStats());
+    }
+
+    public PartialAggStats getPartialAggStats(int relationId) {
+        return relationToPartialAggStats.get(relationId);
+    }
+
+    public RuntimeFilterStats getOrCreateRuntimeFilterStats(int relationId) {
+        return relationToRuntimeFilterStats.computeIfAbsent(relationId, k -> new RuntimeFilterStats());
+    }
+
+    public RuntimeFilterStats getRuntimeFilterStats(int relationId) {
+        return relationToRuntimeFilterStats.get(relationId);
+    }
+
     @Override
     public void addPhyConnTimecost(long totalPhyConnTimecost) {
         this.totalPhyConnTimecost.addAndGet(totalPhyConnTimecost);
@@ -0,0 +1,206 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.Xprotocol;
+
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.BlockBuilders;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.rpc.result.XResult;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.mysql.cj.polarx.protobuf.PolarxResultset;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Rows decoded by XRowChunkDecoder must be the same as decoded by XRowSet.buildChunkRow.
+ */
+public class XRowChunkDecoderTest {
+
+    private static final int UTF8MB4_GENERAL_CI = 45;
+    private static final int LATIN1_SWEDISH_CI = 8;
+
+    private interface Writer {
+        void write(CodedOutputStream out) throws IOException;
+    }
+
+    private static ByteString encode(Writer writer) throws IOException {
+        ByteString.Output output = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(output);
+        writer.write(out);
+        out.flush();
+        return output.toByteString();
+    }
+
+    private static ByteString bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return ByteString.copyFrom(bytes);
+    }
+
+    /**
+     * Bytes of DN end with '\0'
+     */
+    private static ByteString string(String value, java.nio.charset.Charset charset) {
+        byte[] raw = value.getBytes(charset);
+        return ByteString.copyFrom(Arrays.copyOf(raw, raw.length + 1));
+    }
+
+    private static PolarxResultset.ColumnMetaData meta(PolarxResultset.ColumnMetaData.FieldType type) {
+        return PolarxResultset.ColumnMetaData.newBuilder().setType(type).build();
+    }
+
+    private static PolarxResultset.ColumnMetaData meta(PolarxResultset.ColumnMetaData.FieldType type,
+                                                       int collation) {
+        return PolarxResultset.ColumnMetaData.newBuilder().setType(type).setCollation(collation).build();
+    }
+
+    private static void assertSameAsLegacy(PolarxResultset.ColumnMetaData meta, DataType dataType,
+                                           ByteString... cells) {
+        final List<PolarxResultset.ColumnMetaData> metaData = Collections.singletonList(meta);
+        final DataType[] dataTypes = {dataType};
+        final XResult result = Mockito.mock(XResult.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(result.getMetaData()).thenReturn(metaData);
+        Mockito.when(result.getSession().getDefaultTimezone()).thenReturn(TimeZone.getTimeZone("UTC"));
+
+        final ExecutionContext context = new ExecutionContext();
+        final BlockBuilder[] expected = {BlockBuilders.create(dataType, context)};
+        final BlockBuilder[] actual = {BlockBuilders.create(dataType, context)};
+        final XRowChunkDecoder decoder = new XRowChunkDecoder(result, dataTypes);
+        Assert.assertTrue(decoder.accept(result, dataTypes));
+
+        for (ByteString cell : cells) {
+            final List<ByteString> row = Collections.singletonList(cell);
+            XRowSet.buildChunkRow(result, metaData, row, dataTypes, expected);
+            decoder.decode(row, actual);
+        }
+
+        final Block expectedBlock = expected[0].build();
+        final Block actualBlock = actual[0].build();
+        Assert.assertEquals(cells.length, actualBlock.getPositionCount());
+        for (int i = 0; i < cells.length; i++) {
+            Assert.assertEquals("position " + i, expectedBlock.isNull(i), actualBlock.isNull(i));
+            Assert.assertEquals("position " + i, expectedBlock.getObject(i), actualBlock.getObject(i));
+        }
+    }
+
+    @Test
+    public void testVarint() throws IOException {
+        final List<ByteString> signed = new ArrayList<>();
+        for (long value : new long[] {0, 1, -1, 127, -128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE,
+            Long.MIN_VALUE}) {
+            signed.add(encode(out -> out.writeSInt64NoTag(value)));
+        }
+        signed.add(ByteString.EMPTY);
+        final ByteString[] signedCells = signed.toArray(new ByteString[0]);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.SINT), DataTypes.LongType, signedCells);
+
+        final List<ByteString> small = new ArrayList<>();
+        for (long value : new long[] {0, 1, -1, 32767, -32768, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            small.add(encode(out -> out.writeSInt64NoTag(value)));
+        }
+        final ByteString[] smallCells = small.toArray(new ByteString[0]);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.SINT), DataTypes.IntegerType, smallCells);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.SINT), DataTypes.DecimalType, smallCells);
+
+        final List<ByteString> unsigned = new ArrayList<>();
+        for (long value : new long[] {0, 1, 255, 65535, 4294967295L, Long.MAX_VALUE}) {
+            unsigned.add(encode(out -> out.writeUInt64NoTag(value)));
+        }
+        final ByteString[] unsignedCells = unsigned.toArray(new ByteString[0]);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.UINT), DataTypes.LongType, unsignedCells);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.BIT), DataTypes.LongType, unsignedCells);
+    }
+
+    @Test
+    public void testFixed() throws IOException {
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.DOUBLE), DataTypes.DoubleType,
+            encode(out -> out.writeDoubleNoTag(0)),
+            encode(out -> out.writeDoubleNoTag(-1.5)),
+            encode(out -> out.writeDoubleNoTag(Double.MAX_VALUE)),
+            encode(out -> out.writeDoubleNoTag(Double.MIN_VALUE)),
+            ByteString.EMPTY);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.DOUBLE), DataTypes.FloatType,
+            encode(out -> out.writeDoubleNoTag(3.25)),
+            encode(out -> out.writeDoubleNoTag(-1e10)));
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.FLOAT), DataTypes.FloatType,
+            encode(out -> out.writeFloatNoTag(0)),
+            encode(out -> out.writeFloatNoTag(-2.5f)),
+            encode(out -> out.writeFloatNoTag(Float.MAX_VALUE)),
+            ByteString.EMPTY);
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.FLOAT), DataTypes.DoubleType,
+            encode(out -> out.writeFloatNoTag(0.1f)),
+            encode(out -> out.writeFloatNoTag(-7f)));
+    }
+
+    @Test
+    public void testDecimal() {
+        assertSameAsLegacy(meta(PolarxResultset.ColumnMetaData.FieldType.DECIMAL), DataTypes.DecimalType,
+            // 123.45
+            bytes(2, 0x12, 0x34, 0x5c),
+            // -123.45
+            bytes(2, 0x12, 0x34, 0x5d),
+            // 12.30, sign in high nibble
+            bytes(2, 0x12, 0x30, 0xc0),
+            // 0.001
+            bytes(3, 0x1c),
+            // -0.00
+            bytes(2, 0x00, 0x0d),
+            // 42
+            bytes(0, 0x42, 0xc0),
+            // 12345678901234567890.123456789
+            bytes(9, 0x12, 0x34, 0x56, 0x78, 0x90, 0x12, 0x34, 0x56, 0x78, 0x90, 0x12, 0x34, 0x56, 0x78, 0x9c),
+            ByteString.EMPTY);
+    }
+
+    @Test
+    public void testString() {
+        final ByteString[] cells = {
+            string("", StandardCharsets.UTF_8),
+            string("polardbx", StandardCharsets.UTF_8),
+            string("中文😀", StandardCharsets.UTF_8),
+            ByteString.EMPTY};
+        final PolarxResultset.ColumnMetaData utf8 =
+            meta(PolarxResultset.ColumnMetaData.FieldType.BYTES, UTF8MB4_GENERAL_CI);
+        assertSameAsLegacy(utf8, DataTypes.VarcharType, cells);
+        assertSameAsLegacy(utf8, DataTypes.StringType, cells);
+
+        final ByteString[] latin1Cells = {
+            string("polardbx", StandardCharsets.ISO_8859_1),
+            string("café üß", StandardCharsets.ISO_8859_1),
+            ByteString.EMPTY};
+        final PolarxResultset.ColumnMetaData latin1 =
+            meta(PolarxResultset.ColumnMetaData.FieldType.BYTES, LATIN1_SWEDISH_CI);
+        assertSameAsLegacy(latin1, DataTypes.VarcharType, latin1Cells);
+        assertSameAsLegacy(latin1, DataTypes.StringType, latin1Cells);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.archive.reader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentedLruCacheTest {
+
+    private static SegmentedLruCache<String, byte[]> newCache(long capacity) {
+        return new SegmentedLruCache<>(capacity, 0.8, value -> value.length);
+    }
+
+    @Test
+    public void testBoundedByWeight() {
+        SegmentedLruCache<String, byte[]> cache = newCache(100);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(cache.put("k" + i, new byte[30]));
+        }
+        SegmentedLruCache.Stats stats = cache.stats();
+        Assert.assertEquals(3, stats.getEntryCount());
+        Assert.assertEquals(90, stats.getWeight());
+        Assert.assertEquals(7, stats.getEvictionCount());
+        Assert.assertEquals(210, stats.getEvictionWeight());
+
+        Assert.assertFalse(cache.put("huge", new byte[101]));
+        Assert.assertEquals(1, cache.stats().getRejectCount());
+    }
+
+    @Test
+    public void testScanResistance() {
+        SegmentedLruCache<String, byte[]> cache = newCache(100);
+        cache.put("hot1", new byte[20]);
+        cache.put("hot2", new byte[20]);
+        Assert.assertNotNull(cache.getIfPresent("hot1"));
+        Assert.assertNotNull(cache.getIfPresent("hot2"));
+
+        // a one-pass scan larger than the whole cache
+        for (int i = 0; i < 100; i++) {
+            cache.put("scan" + i, new byte[10]);
+        }
+
+        Assert.assertNotNull(cache.getIfPresent("hot1"));
+        Assert.assertNotNull(cache.getIfPresent("hot2"));
+        Assert.assertNull(cache.getIfPresent("scan0"));
+        Assert.assertEquals(2, cache.stats().getProtectedCount());
+    }
+
+    @Test
+    public void testProtectedOverflowDemotes() {
+        SegmentedLruCache<String, byte[]> cache = newCache(100);
+        for (int i = 0; i < 5; i++) {
+            cache.put("k" + i, new byte[20]);
+            cache.getIfPresent("k" + i);
+        }
+        // protected segment holds at most 80 bytes, the eldest is demoted instead of evicted
+        SegmentedLruCache.Stats stats = cache.stats();
+        Assert.assertEquals(4, stats.getProtectedCount());
+        Assert.assertEquals(5, stats.getEntryCount());
+        Assert.assertEquals(0, stats.getEvictionCount());
+
+        cache.put("k5", new byte[20]);
+        Assert.assertNull(cache.getIfPresent("k0"));
+        Assert.assertNotNull(cache.getIfPresent("k4"));
+    }
+
+    @Test
+    public void testInvalidateAndResize() {
+        SegmentedLruCache<String, byte[]> cache = newCache(100);
+        cache.put("a.t1", new byte[10]);
+        cache.put("a.t2", new byte[10]);
+        cache.getIfPresent("a.t2");
+        cache.put("b.t1", new byte[10]);
+
+        cache.invalidateIf(key -> key.startsWith("a."));
+        Assert.assertEquals(1, cache.stats().getEntryCount());
+        Assert.assertEquals(10, cache.stats().getWeight());
+        Assert.assertEquals(0, cache.stats().getProtectedWeight());
+
+        cache.setCapacity(0);
+        Assert.assertEquals(0, cache.stats().getEntryCount());
+        Assert.assertEquals(0, cache.stats().getWeight());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.backfill;
+
+import com.alibaba.polardbx.common.datatype.UInt64;
+import com.alibaba.polardbx.common.jdbc.ParameterContext;
+import com.alibaba.polardbx.common.jdbc.ParameterMethod;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+public class ExtractorTest {
+
+    private static final BigInteger UNSIGNED_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private static ParameterContext pk(ParameterMethod method, Object value, DataType type) {
+        return new ParameterContext(method, new Object[] {1, value, type});
+    }
+
+    @Test
+    public void testSignedPk() {
+        final ParameterContext max = pk(ParameterMethod.setObject1, 100L, DataTypes.LongType);
+        Assert.assertEquals(BigInteger.valueOf(100), Extractor.integerPkValue(max));
+        Assert.assertEquals(BigInteger.valueOf(-8),
+            Extractor.integerPkValue(pk(ParameterMethod.setObject1, -8L, DataTypes.LongType)));
+
+        final List<BigInteger> points = Extractor.splitPkRange(BigInteger.valueOf(-20), BigInteger.valueOf(100), 4);
+        Assert.assertEquals(ImmutableList.of(BigInteger.valueOf(10), BigInteger.valueOf(40), BigInteger.valueOf(70)),
+            points);
+        Assert.assertEquals(10L, Extractor.pkBoundValue(points.get(0), max.getArgs()[1]));
+    }
+
+    @Test
+    public void testUnsignedPk() {
+        // BIGINT UNSIGNED is selected as string
+        final ParameterContext max = pk(ParameterMethod.setString, UNSIGNED_MAX.toString(), DataTypes.ULongType);
+        Assert.assertEquals(UNSIGNED_MAX, Extractor.integerPkValue(max));
+        // and may come back wrapped into a signed long
+        Assert.assertEquals(UNSIGNED_MAX, Extractor.integerPkValue(pk(ParameterMethod.setObject1, -1L,
+            DataTypes.ULongType)));
+        Assert.assertEquals(UNSIGNED_MAX, Extractor.integerPkValue(pk(ParameterMethod.setObject1,
+            UInt64.fromBigInteger(UNSIGNED_MAX), DataTypes.ULongType)));
+
+        final List<BigInteger> points = Extractor.splitPkRange(BigInteger.ZERO, UNSIGNED_MAX, 2);
+        Assert.assertEquals(ImmutableList.of(BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE)), points);
+        final BigInteger upper = Extractor.splitPkRange(BigInteger.ZERO, UNSIGNED_MAX, 4).get(2);
+        Assert.assertTrue(upper.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) > 0);
+
+        // points beyond the range of long must not wrap
+        Assert.assertEquals(upper.toString(), Extractor.pkBoundValue(upper, max.getArgs()[1]));
+        Assert.assertEquals(upper, Extractor.pkBoundValue(upper, UInt64.fromBigInteger(UNSIGNED_MAX)));
+        Assert.assertEquals(upper, Extractor.pkBoundValue(upper, -1L));
+    }
+
+    @Test
+    public void testStringPk() {
+        Assert.assertNull(Extractor.integerPkValue(pk(ParameterMethod.setString, "abc", DataTypes.VarcharType)));
+        Assert.assertNull(Extractor.integerPkValue(pk(ParameterMethod.setString, "12", DataTypes.VarcharType)));
+        // integer column read as string
+        Assert.assertEquals(BigInteger.valueOf(12),
+            Extractor.integerPkValue(pk(ParameterMethod.setString, "12", DataTypes.LongType)));
+        Assert.assertNull(Extractor.integerPkValue(pk(ParameterMethod.setString, "1e3", DataTypes.LongType)));
+        Assert.assertEquals("7", Extractor.pkBoundValue(BigInteger.valueOf(7), "12"));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.balancer.stats;
+
+import com.alibaba.polardbx.executor.partitionvisualizer.model.VisualAxis;
+import com.alibaba.polardbx.executor.partitionvisualizer.model.VisualTypeConstants;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PartitionHeatStatsTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static VisualAxis axis(List<String> bounds, Long... values) {
+        VisualAxis axis = new VisualAxis();
+        axis.setBounds(bounds);
+        axis.getValuesMap().put(VisualTypeConstants.READ_WRITTEN_ROWS, Arrays.asList(values));
+        return axis;
+    }
+
+    @Test
+    public void testEwmaMerge() {
+        PartitionHeatStats stats = new PartitionHeatStats();
+        stats.merge("db1", axis(Arrays.asList("db1,t1,0,p1", "db1,t1,1,p2"), 100L, 50L));
+        Assert.assertEquals(100, stats.getHeat("db1", "t1", "p1"), DELTA);
+        Assert.assertEquals(50, stats.getHeat("db1", "t1", "p2"), DELTA);
+
+        // p1 gets hotter, p2 is idle in the second window and cools down
+        stats.merge("db1", axis(Arrays.asList("db1,t1,0,p1"), 200L));
+        Assert.assertEquals(100 * 0.9 + 200 * 0.1, stats.getHeat("db1", "t1", "p1"), DELTA);
+        Assert.assertEquals(50 * 0.9, stats.getHeat("db1", "t1", "p2"), DELTA);
+
+        // a partition first seen in a later window starts from its own value
+        stats.merge("db1", axis(Arrays.asList("db1,t1,0,p1", "db1,t1,2,p3"), 110L, 30L));
+        Assert.assertEquals(110, stats.getHeat("db1", "t1", "p1"), DELTA);
+        Assert.assertEquals(30, stats.getHeat("db1", "T1", "P3"), DELTA);
+        Assert.assertEquals(3, stats.getWindows());
+    }
+
+    @Test
+    public void testMergeIgnoresOtherSchemasAndBadBounds() {
+        PartitionHeatStats stats = new PartitionHeatStats();
+        stats.merge("db1", axis(Arrays.asList("db1,t1,0,p1", "db2,t1,0,p1", "db1,t1", "db1,t1,1,p1"),
+            10L, 1000L, 1000L, null));
+        Assert.assertEquals(10, stats.getHeat("db1", "t1", "p1"), DELTA);
+        Assert.assertEquals(0, stats.getHeat("db2", "t1", "p1"), DELTA);
+
+        // values not matching the bounds are skipped as a whole
+        stats.merge("db1", axis(Arrays.asList("db1,t1,0,p1"), 10L, 20L));
+        Assert.assertEquals(1, stats.getWindows());
+        Assert.assertEquals(10, stats.getHeat("db1", "t1", "p1"), DELTA);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.fastchecker;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.util.Pair;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FastCheckerRangeHashTest {
+
+    private static Pair<BigInteger, BigInteger> range(long lower, long upper) {
+        return Pair.of(BigInteger.valueOf(lower), BigInteger.valueOf(upper));
+    }
+
+    @Test
+    public void testSplitRange() {
+        Assert.assertEquals(ImmutableList.of(range(1, 25), range(26, 50), range(51, 75), range(76, 100)),
+            FastChecker.splitRange(range(1, 100), 4));
+
+        // uneven width, sub ranges cover the range without gap or overlap
+        List<Pair<BigInteger, BigInteger>> ranges = FastChecker.splitRange(range(-7, 9), 3);
+        Assert.assertEquals(3, ranges.size());
+        Assert.assertEquals(BigInteger.valueOf(-7), ranges.get(0).getKey());
+        Assert.assertEquals(BigInteger.valueOf(9), ranges.get(2).getValue());
+        for (int i = 1; i < ranges.size(); i++) {
+            Assert.assertEquals(ranges.get(i - 1).getValue().add(BigInteger.ONE), ranges.get(i).getKey());
+        }
+
+        // narrower than fanout
+        Assert.assertEquals(ImmutableList.of(range(5, 5), range(6, 6)), FastChecker.splitRange(range(5, 6), 16));
+        Assert.assertEquals(ImmutableList.of(range(5, 5)), FastChecker.splitRange(range(5, 5), 16));
+    }
+
+    @Test
+    public void testSplitUnsignedRange() {
+        final BigInteger max = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        List<Pair<BigInteger, BigInteger>> ranges = FastChecker.splitRange(Pair.of(BigInteger.ZERO, max), 2);
+        Assert.assertEquals(2, ranges.size());
+        Assert.assertEquals(BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE), ranges.get(0).getValue());
+        Assert.assertEquals(max, ranges.get(1).getValue());
+    }
+
+    @Test
+    public void testCollectMismatchRanges() {
+        List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> groups = new ArrayList<>();
+        groups.add(Pair.of(null, FastChecker.splitRange(range(1, 100), 4)));
+        List<Pair<BigInteger, BigInteger>> leaves = new ArrayList<>();
+
+        // second range mismatches and is split
+        groups = FastChecker.collectMismatchRanges(groups, new boolean[] {false, true, false, false}, true, 4, leaves);
+        Assert.assertEquals(1, groups.size());
+        Assert.assertEquals(range(26, 50), groups.get(0).getKey());
+        Assert.assertEquals(4, groups.get(0).getValue().size());
+        Assert.assertTrue(leaves.isEmpty());
+
+        // last level, the mismatching sub range is a leaf
+        List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> next =
+            FastChecker.collectMismatchRanges(groups, new boolean[] {false, false, true, false}, false, 4, leaves);
+        Assert.assertTrue(next.isEmpty());
+        Assert.assertEquals(ImmutableList.of(range(38, 43)), leaves);
+
+        // all sub ranges match but the parent did not, the parent is kept
+        leaves.clear();
+        next = FastChecker.collectMismatchRanges(groups, new boolean[4], true, 4, leaves);
+        Assert.assertTrue(next.isEmpty());
+        Assert.assertEquals(ImmutableList.of(range(26, 50)), leaves);
+    }
+
+    @Test
+    public void testSingleValueRangeIsLeaf() {
+        List<Pair<Pair<BigInteger, BigInteger>, List<Pair<BigInteger, BigInteger>>>> groups = new ArrayList<>();
+        groups.add(Pair.of(null, ImmutableList.of(range(7, 7))));
+        List<Pair<BigInteger, BigInteger>> leaves = new ArrayList<>();
+        Assert.assertTrue(FastChecker.collectMismatchRanges(groups, new boolean[] {true}, true, 4, leaves).isEmpty());
+        Assert.assertEquals(ImmutableList.of(range(7, 7)), leaves);
+    }
+}
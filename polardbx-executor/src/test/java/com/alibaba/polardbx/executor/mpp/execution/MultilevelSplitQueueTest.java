@@ -0,0 +1,88 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MultilevelSplitQueueTest {
+
+    @Test
+    public void testComputeLevel() {
+        Assert.assertEquals(0, MultilevelSplitQueue.computeLevel(0));
+        Assert.assertEquals(0, MultilevelSplitQueue.computeLevel(TimeUnit.MILLISECONDS.toNanos(999)));
+        Assert.assertEquals(1, MultilevelSplitQueue.computeLevel(TimeUnit.SECONDS.toNanos(1)));
+        Assert.assertEquals(2, MultilevelSplitQueue.computeLevel(TimeUnit.SECONDS.toNanos(30)));
+        Assert.assertEquals(MultilevelSplitQueue.LEVEL_COUNT - 1,
+            MultilevelSplitQueue.computeLevel(TimeUnit.HOURS.toNanos(1)));
+    }
+
+    @Test
+    public void testWeightedShares() throws InterruptedException {
+        MultilevelSplitQueue<String> queue = new MultilevelSplitQueue<>(2);
+        for (int i = 0; i < 100; i++) {
+            queue.offer("short", 0);
+            queue.offer("long", 4);
+        }
+
+        // every split runs for the same time, level 0 owns 16 times of the share of level 4
+        int shortTaken = 0;
+        for (int i = 0; i < 68; i++) {
+            String item = queue.take();
+            if ("short".equals(item)) {
+                shortTaken++;
+                queue.addLevelTime(0, 1000);
+            } else {
+                queue.addLevelTime(4, 1000);
+            }
+        }
+        Assert.assertEquals(64, shortTaken);
+        Assert.assertEquals(132, queue.size());
+        Assert.assertArrayEquals(new int[] {36, 0, 0, 0, 96}, queue.getLevelPendingSizes());
+    }
+
+    @Test
+    public void testIdleLevelDoesNotCatchUp() throws InterruptedException {
+        MultilevelSplitQueue<String> queue = new MultilevelSplitQueue<>(2);
+
+        // level 4 runs alone for a long time
+        queue.offer("long", 4);
+        Assert.assertEquals("long", queue.take());
+        queue.addLevelTime(4, TimeUnit.SECONDS.toNanos(100));
+        queue.offer("long", 4);
+
+        // level 0 gets its share from now on, rather than all the time level 4 has consumed
+        for (int i = 0; i < 20; i++) {
+            queue.offer("short", 0);
+        }
+        int shortTaken = 0;
+        for (int i = 0; i < 17; i++) {
+            String item = queue.take();
+            if ("short".equals(item)) {
+                shortTaken++;
+                queue.addLevelTime(0, TimeUnit.SECONDS.toNanos(1));
+            } else {
+                queue.addLevelTime(4, TimeUnit.SECONDS.toNanos(1));
+                queue.offer("long", 4);
+            }
+        }
+        Assert.assertTrue(shortTaken < 17);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.mpp.execution.buffer;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.operator.util.RowChunkBuilder;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.alibaba.polardbx.executor.operator.BaseExecTest.assertExecResultByRow;
+import static com.alibaba.polardbx.executor.operator.util.RowChunkBuilder.rowChunkBuilder;
+
+public class PagesSerdeTest {
+
+    private static final List<DataType> TYPES = ImmutableList.of(DataTypes.LongType, DataTypes.StringType);
+    private static final List<DataType> RANDOM_TYPES = ImmutableList.of(DataTypes.LongType, DataTypes.LongType);
+
+    @Test
+    public void testRoundTrip() {
+        Chunk page = buildRepetitivePage();
+        for (ChunkCompressionMode mode : ChunkCompressionMode.values()) {
+            PagesSerdeStats stats = new PagesSerdeStats();
+            PagesSerde serde = new PagesSerde(mode, TYPES, stats, null);
+            SerializedChunk serialized = serde.serialize(false, page);
+            Assert.assertEquals(mode.getCodec(), serialized.getCompression());
+            Assert.assertEquals(serialized.getUncompressedSizeInBytes(), stats.getCompressionInputBytes());
+            Assert.assertEquals(serialized.getSizeInBytes(), stats.getCompressionOutputBytes());
+
+            // the receiver decodes by the marker, whatever its own mode is
+            PagesSerde receiver = new PagesSerde(ChunkCompressionMode.NONE, TYPES);
+            assertExecResultByRow(ImmutableList.of(page), ImmutableList.of(receiver.deserialize(serialized)), true);
+        }
+    }
+
+    @Test
+    public void testAdaptiveSkipsIncompressiblePages() {
+        PagesSerde serde = new PagesSerde(ChunkCompressionMode.ADAPTIVE, RANDOM_TYPES);
+
+        // sampled page turns out to be incompressible
+        Assert.assertEquals(ChunkCompression.UNCOMPRESSED, serde.serialize(false, buildRandomPage()).getCompression());
+
+        for (int i = 0; i < 4; i++) {
+            SerializedChunk skipped = serde.serialize(false, buildSequentialPage());
+            Assert.assertEquals(ChunkCompression.UNCOMPRESSED, skipped.getCompression());
+        }
+        // resampled after the back-off window
+        SerializedChunk compressed = serde.serialize(false, buildSequentialPage());
+        Assert.assertEquals(ChunkCompression.LZ4, compressed.getCompression());
+
+        PagesSerde receiver = new PagesSerde(ChunkCompressionMode.NONE, RANDOM_TYPES);
+        assertExecResultByRow(ImmutableList.of(buildSequentialPage()),
+            ImmutableList.of(receiver.deserialize(compressed)), true);
+    }
+
+    @Test
+    public void testLowCardinalityEncoding() {
+        // dictionary, run-length and plain columns
+        List<DataType> types = ImmutableList.of(DataTypes.LongType, DataTypes.StringType, DataTypes.LongType);
+        RowChunkBuilder builder = rowChunkBuilder(types);
+        for (int i = 0; i < 1000; i++) {
+            builder.row((long) (i % 10), i == 500 ? null : "polardbx", (long) i);
+        }
+        Chunk page = builder.build();
+
+        PagesSerde plain = new PagesSerde(ChunkCompressionMode.NONE, types);
+        PagesSerde encoded = new PagesSerde(ChunkCompressionMode.NONE, types, null, null, true);
+        SerializedChunk serialized = encoded.serialize(false, page);
+        Assert.assertTrue(serialized.getSizeInBytes() < plain.serialize(false, page).getSizeInBytes());
+        assertExecResultByRow(ImmutableList.of(page), ImmutableList.of(encoded.deserialize(serialized)), true);
+
+        builder = rowChunkBuilder(types);
+        for (int i = 0; i < 1000; i++) {
+            builder.row(7L, "polardbx", 7L);
+        }
+        page = builder.build();
+        serialized = encoded.serialize(false, page);
+        assertExecResultByRow(ImmutableList.of(page), ImmutableList.of(encoded.deserialize(serialized)), true);
+
+        // one dictionary too many values, strings differing only in case and a full dictionary
+        builder = rowChunkBuilder(types);
+        for (int i = 0; i < 1000; i++) {
+            builder.row(i % 2 == 0 ? null : (long) (i % 255) - 128, i % 2 == 0 ? "PolarDB-X" : "polardb-x",
+                (long) (i % 250));
+        }
+        page = builder.build();
+        serialized = encoded.serialize(false, page);
+        Assert.assertTrue(serialized.getSizeInBytes() < plain.serialize(false, page).getSizeInBytes());
+        assertExecResultByRow(ImmutableList.of(page), ImmutableList.of(encoded.deserialize(serialized)), true);
+    }
+
+    @Test
+    public void testMarker() {
+        for (ChunkCompression codec : ChunkCompression.values()) {
+            Assert.assertEquals(codec, ChunkCompression.lookupCodecFromMarker(codec.getMarker()));
+        }
+    }
+
+    private static Chunk buildRepetitivePage() {
+        RowChunkBuilder builder = rowChunkBuilder(TYPES);
+        for (int i = 0; i < 1000; i++) {
+            builder.row((long) (i % 10), "polardbx");
+        }
+        return builder.build();
+    }
+
+    private static Chunk buildSequentialPage() {
+        RowChunkBuilder builder = rowChunkBuilder(RANDOM_TYPES);
+        for (int i = 0; i < 1000; i++) {
+            builder.row(0L, (long) i);
+        }
+        return builder.build();
+    }
+
+    private static Chunk buildRandomPage() {
+        Random random = new Random(0);
+        RowChunkBuilder builder = rowChunkBuilder(RANDOM_TYPES);
+        for (int i = 0; i < 1000; i++) {
+            builder.row(random.nextLong(), random.nextLong());
+        }
+        return builder.build();
+    }
+}
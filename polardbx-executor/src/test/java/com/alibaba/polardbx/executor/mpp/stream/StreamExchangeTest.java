@@ -0,0 +1,228 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.mpp.stream;
+
+import com.alibaba.polardbx.executor.mpp.execution.TaskId;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.BufferResult;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.ChunkCompression;
+import com.alibaba.polardbx.executor.mpp.execution.buffer.SerializedChunk;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.airlift.units.DataSize;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+/**
+ * Loopback test of streaming exchange, the server and the client talk through 127.0.0.1
+ */
+public class StreamExchangeTest {
+
+    private static final String TASK_ID = "q1.1.0";
+    private static final int PAGE_SIZE = 100;
+
+    private ScheduledExecutorService executor;
+    private FakeResultSource source;
+    private StreamExchangeServer server;
+    private StreamConnectionPool connectionPool;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newScheduledThreadPool(2);
+        source = new FakeResultSource();
+        server = new StreamExchangeServer(source,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new DataSize(1, MEGABYTE), executor);
+        server.start();
+        connectionPool = new StreamConnectionPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connectionPool.close();
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPagesInOrder() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            source.produce(i);
+        }
+        source.finish();
+
+        CollectingListener listener = new CollectingListener();
+        StreamHandle stream = connectionPool.openStream(serverAddress(), TASK_ID, 0, 1024 * 1024, listener);
+        Assert.assertTrue(listener.finished.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(listener.failure.get());
+        Assert.assertTrue(stream.isDone());
+
+        List<SerializedChunk> pages = new ArrayList<>();
+        listener.pages.drainTo(pages);
+        Assert.assertEquals(50, pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            Assert.assertEquals(i, pages.get(i).getSlice().getInt(0));
+        }
+        // pages are acknowledged once the stream finished
+        Assert.assertTrue(source.aborted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCreditLimitsPagesInFlight() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            source.produce(i);
+        }
+        source.finish();
+
+        CollectingListener listener = new CollectingListener();
+        StreamHandle stream =
+            connectionPool.openStream(serverAddress(), TASK_ID, 0, PAGE_SIZE * 2 + PAGE_SIZE / 2, listener);
+
+        // two pages fit the window, the third one overdraws the remaining credit
+        List<SerializedChunk> received = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SerializedChunk page = listener.pages.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull(page);
+            received.add(page);
+        }
+        Assert.assertNull(listener.pages.poll(200, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(stream.isDone());
+
+        // return credit as the pages are consumed
+        for (SerializedChunk page : received) {
+            stream.grantCredit(page.getSizeInBytes());
+        }
+        while (received.size() < 10) {
+            SerializedChunk page = listener.pages.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull(page);
+            received.add(page);
+            stream.grantCredit(page.getSizeInBytes());
+        }
+        Assert.assertTrue(listener.finished.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(listener.failure.get());
+        for (int i = 0; i < received.size(); i++) {
+            Assert.assertEquals(i, received.get(i).getSlice().getInt(0));
+        }
+    }
+
+    @Test
+    public void testRemoteFailure() throws Exception {
+        source.fail(new RuntimeException("task failed"));
+
+        CollectingListener listener = new CollectingListener();
+        connectionPool.openStream(serverAddress(), TASK_ID, 0, 1024, listener);
+        Assert.assertTrue(listener.finished.await(10, TimeUnit.SECONDS));
+        Assert.assertNotNull(listener.failure.get());
+        Assert.assertTrue(listener.failure.get().getMessage().contains("task failed"));
+    }
+
+    private InetSocketAddress serverAddress() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static SerializedChunk page(int index) {
+        Slice slice = Slices.allocate(PAGE_SIZE);
+        slice.setInt(0, index);
+        return new SerializedChunk(slice, ChunkCompression.UNCOMPRESSED, 1, PAGE_SIZE);
+    }
+
+    private static class CollectingListener implements StreamListener {
+        private final LinkedBlockingQueue<SerializedChunk> pages = new LinkedBlockingQueue<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        @Override
+        public void onPages(StreamHandle stream, String taskInstanceId, List<SerializedChunk> pages) {
+            Assert.assertEquals(FakeResultSource.INSTANCE_ID, taskInstanceId);
+            this.pages.addAll(pages);
+        }
+
+        @Override
+        public void onFinished(StreamHandle stream) {
+            finished.countDown();
+        }
+
+        @Override
+        public void onFailed(StreamHandle stream, Throwable cause) {
+            failure.set(cause);
+            finished.countDown();
+        }
+    }
+
+    private static class FakeResultSource implements StreamResultSource {
+        private static final String INSTANCE_ID = "instance";
+
+        private final List<SerializedChunk> pages = new ArrayList<>();
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        private boolean finished;
+        private Throwable failure;
+
+        synchronized void produce(int index) {
+            pages.add(page(index));
+        }
+
+        synchronized void finish() {
+            finished = true;
+        }
+
+        synchronized void fail(Throwable cause) {
+            failure = cause;
+        }
+
+        @Override
+        public synchronized ListenableFuture<BufferResult> getResults(TaskId taskId, int bufferId, long token,
+                                                                      DataSize maxSize) {
+            Assert.assertEquals(TASK_ID, taskId.toString());
+            if (failure != null) {
+                return Futures.immediateFailedFuture(failure);
+            }
+            List<SerializedChunk> result = new ArrayList<>();
+            long bytes = 0;
+            for (int i = (int) token; i < pages.size(); i++) {
+                bytes += pages.get(i).getSizeInBytes();
+                if (!result.isEmpty() && bytes > maxSize.toBytes()) {
+                    break;
+                }
+                result.add(pages.get(i));
+            }
+            boolean complete = finished && token + result.size() == pages.size() && result.isEmpty();
+            return Futures.immediateFuture(
+                new BufferResult(INSTANCE_ID, token, token + result.size(), complete, result));
+        }
+
+        @Override
+        public void abortResults(TaskId taskId, int bufferId) {
+            aborted.countDown();
+        }
+    }
+}
@@ -22,12 +22,15 @@ import com.alibaba.polardbx.executor.chunk.DecimalBlockBuilder;
 import com.alibaba.polardbx.executor.chunk.DoubleBlock;
 import com.alibaba.polardbx.executor.chunk.IntegerBlock;
 import com.alibaba.polardbx.executor.chunk.LongBlock;
+import com.alibaba.polardbx.executor.operator.spill.MemorySpillerFactory;
+import com.alibaba.polardbx.executor.operator.spill.SpillerFactory;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
 import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
 import com.alibaba.polardbx.executor.calc.Aggregator;
 import com.alibaba.polardbx.executor.calc.aggfunctions.Avg;
 import com.alibaba.polardbx.executor.calc.aggfunctions.Count;
 import com.alibaba.polardbx.executor.calc.aggfunctions.Sum;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -334,5 +337,83 @@ public class HashAggExecTest extends BaseExecTest {
             LongBlock.of(0l, 0l, 0l, 0l)
         )), false);
     }
-}
 
+    @Test
+    public void testHashAggAdaptivePartialBypass() {
+        MemorySpillerFactory spillerFactory = new MemorySpillerFactory();
+        HashAggExec exec = createBypassExec(spillerFactory, Long.MAX_VALUE);
+        SingleExecTest test = new SingleExecTest.Builder(exec, createBypassInput().getChunks()).build();
+        test.exec();
+
+        Assert.assertTrue(exec.isBypassing());
+        Assert.assertEquals(0, spillerFactory.getSpillsCount());
+        // rows after the switch are passed through one by one, the final agg merges the repeated keys
+        assertExecResultByRow(test.result(), Collections.singletonList(new Chunk(
+            LongBlock.of(0l, 1l, 2l, 3l, 4l, 5l, 6l, 7l, 0l, 0l, 1l, 1l),
+            LongBlock.of(1l, 1l, 1l, 1l, 1l, 1l, 1l, 1l, 1l, 0l, 1l, 1l)
+        )), false);
+    }
+
+    @Test
+    public void testHashAggAdaptivePartialBypassSpill() {
+        MemorySpillerFactory spillerFactory = new MemorySpillerFactory();
+        // every bypassed chunk outgrows the buffer and is spilled
+        HashAggExec exec = createBypassExec(spillerFactory, 1);
+        SingleExecTest test = new SingleExecTest.Builder(exec, createBypassInput().getChunks()).build();
+        test.exec();
+
+        Assert.assertTrue(exec.isBypassing());
+        Assert.assertEquals(2, spillerFactory.getSpillsCount());
+        assertExecResultByRow(test.result(), Collections.singletonList(new Chunk(
+            LongBlock.of(0l, 1l, 2l, 3l, 4l, 5l, 6l, 7l, 0l, 0l, 1l, 1l),
+            LongBlock.of(1l, 1l, 1l, 1l, 1l, 1l, 1l, 1l, 1l, 0l, 1l, 1l)
+        )), false);
+    }
+
+    @Test
+    public void testHashAggAdaptivePartialBypassNeedsSpiller() {
+        HashAggExec exec = createBypassExec(null, Long.MAX_VALUE);
+        SingleExecTest test = new SingleExecTest.Builder(exec, createBypassInput().getChunks()).build();
+        test.exec();
+
+        // without a spiller the pass-through input could not be bounded, so the agg keeps merging
+        Assert.assertFalse(exec.isBypassing());
+        assertExecResultByRow(test.result(), Collections.singletonList(new Chunk(
+            LongBlock.of(0l, 1l, 2l, 3l, 4l, 5l, 6l, 7l),
+            LongBlock.of(2l, 3l, 1l, 1l, 1l, 1l, 1l, 1l)
+        )), false);
+    }
+
+    private static MockExec createBypassInput() {
+        return MockExec.builder(DataTypes.IntegerType, DataTypes.IntegerType)
+            .withChunk(new Chunk(
+                IntegerBlock.of(0, 1, 2, 3),
+                IntegerBlock.of(3, 4, 9, 7)))
+            .withChunk(new Chunk(
+                IntegerBlock.of(4, 5, 6, 7),
+                IntegerBlock.of(5, 3, 8, 1)))
+            .withChunk(new Chunk(
+                IntegerBlock.of(0, 0, 1, 1),
+                IntegerBlock.of(2, null, 6, 2)))
+            .build();
+    }
+
+    private HashAggExec createBypassExec(SpillerFactory spillerFactory, long bypassBufferSize) {
+        /** groups */
+        int[] groups = {0};
+        /** aggregators */
+        List<Aggregator> aggregators = new ArrayList<>();
+        int[] targetIndex = {1};
+        aggregators.add(new Count(targetIndex, false, -1));
+        /** outputColumnMeta */
+        List<DataType> outputColumn = new ArrayList<>();
+        outputColumn.add(DataTypes.LongType);
+        outputColumn.add(DataTypes.LongType);
+        HashAggExec exec =
+            new HashAggExec(createBypassInput().getDataTypes(), groups, aggregators, outputColumn,
+                DEFAULT_AGG_HASH_TABLE_SIZE, spillerFactory, context);
+        // every group of the first chunk is distinct, so the agg stops merging after it
+        exec.enableAdaptivePartialAgg(4, 0.1f, bypassBufferSize, null);
+        return exec;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.operator;
+
+import com.alibaba.polardbx.common.jdbc.ParameterContext;
+import com.alibaba.polardbx.common.jdbc.ParameterMethod;
+import com.alibaba.polardbx.common.utils.bloomfilter.BloomFilterInfo;
+import com.alibaba.polardbx.common.utils.hash.HashMethodInfo;
+import com.alibaba.polardbx.optimizer.core.rel.util.RuntimeFilterDynamicParamInfo;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.alibaba.polardbx.optimizer.core.rel.util.RuntimeFilterDynamicParamInfo.ARG_IDX_BLOOM_FILTER_INFO;
+
+public class TableScanClientRuntimeFilterTest {
+
+    @Test
+    public void testBindRegistered() {
+        List<ParameterContext> params = runtimeFilterParams(1);
+        BloomFilterInfo info = new BloomFilterInfo(1, new long[] {5L}, 2, HashMethodInfo.defaultHashMethod(),
+            Collections.emptyList());
+
+        Assert.assertFalse(TableScanClient.bindRuntimeFilters(params, ImmutableMap.of(1, info), false));
+        for (int i = 1; i < params.size(); i++) {
+            Assert.assertSame(info, params.get(i).getArgs()[ARG_IDX_BLOOM_FILTER_INFO]);
+        }
+        Assert.assertEquals(7L, params.get(0).getArgs()[1]);
+    }
+
+    @Test
+    public void testBindFallback() {
+        List<ParameterContext> params = runtimeFilterParams(1);
+        params.addAll(runtimeFilterParams(2).subList(1, 6));
+        BloomFilterInfo info = new BloomFilterInfo(1, new long[] {5L}, 2, HashMethodInfo.defaultHashMethod(),
+            Collections.emptyList());
+
+        // filter 1 arrived, filter 2 did not before the scan stopped waiting
+        Assert.assertTrue(TableScanClient.bindRuntimeFilters(params, ImmutableMap.of(1, info), true));
+        for (int i = 1; i < 6; i++) {
+            Assert.assertSame(info, params.get(i).getArgs()[ARG_IDX_BLOOM_FILTER_INFO]);
+        }
+        for (int i = 6; i < params.size(); i++) {
+            BloomFilterInfo passThrough = (BloomFilterInfo) params.get(i).getArgs()[ARG_IDX_BLOOM_FILTER_INFO];
+            Assert.assertEquals(2, passThrough.getId().intValue());
+            Assert.assertArrayEquals(new long[] {-1L}, passThrough.getData());
+            Assert.assertTrue(passThrough.getMinMaxFilterInfoList().isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBindMissingWithoutFallback() {
+        TableScanClient.bindRuntimeFilters(runtimeFilterParams(3), Collections.emptyMap(), false);
+    }
+
+    /**
+     * A plain parameter followed by the bloom filter and min/max parameters of the runtime filter
+     */
+    private static List<ParameterContext> runtimeFilterParams(int runtimeFilterId) {
+        List<ParameterContext> params = new ArrayList<>();
+        params.add(new ParameterContext(ParameterMethod.setLong, new Object[] {1, 7L}));
+        for (RuntimeFilterDynamicParamInfo info : RuntimeFilterDynamicParamInfo.fromRuntimeFilterId(runtimeFilterId)) {
+            params.add(info.toParameterContext());
+        }
+        for (RuntimeFilterDynamicParamInfo info : RuntimeFilterDynamicParamInfo.minMaxFromRuntimeFilterId(
+            runtimeFilterId)) {
+            params.add(info.toParameterContext());
+        }
+        return params;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.operator.util;
+
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.LongBlock;
+import com.alibaba.polardbx.executor.chunk.StringBlock;
+import com.alibaba.polardbx.executor.utils.ExecUtils;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapJoinHashTableTest {
+
+    private static final int NOT_EXISTS = OffHeapJoinHashTable.NOT_EXISTS;
+
+    @Test
+    public void testPackedLongKey() {
+        Chunk buildKeyChunk = new Chunk(LongBlock.of(1L, 2L, 1L, null, 3L));
+        ChunksIndex buildKeyChunks = new ChunksIndex();
+        buildKeyChunks.addChunk(buildKeyChunk);
+
+        try (OffHeapJoinHashTable table = new OffHeapJoinHashTable(buildKeyChunk.getPositionCount())) {
+            ExecUtils.buildOneChunk(buildKeyChunk, 0, table, null, Collections.singletonList(0));
+            assertTrue(table.isKeyPacked(0));
+            assertFalse(table.isKeyPacked(3));
+            assertEquals(3L, table.getKey(4));
+
+            Chunk probeKeyChunk = new Chunk(LongBlock.of(1L, 4L, null));
+            int[] hashes = probeKeyChunk.hashCodeVector();
+
+            // the chain is visited from the latest inserted position
+            int matched = table.match(table.get(hashes[0]), buildKeyChunks, probeKeyChunk, 0);
+            assertEquals(2, matched);
+            matched = table.match(table.next(matched), buildKeyChunks, probeKeyChunk, 0);
+            assertEquals(0, matched);
+            matched = table.match(table.next(matched), buildKeyChunks, probeKeyChunk, 0);
+            assertEquals(NOT_EXISTS, matched);
+
+            assertEquals(NOT_EXISTS, table.match(table.get(hashes[1]), buildKeyChunks, probeKeyChunk, 1));
+            assertEquals(NOT_EXISTS, table.match(table.get(hashes[2]), buildKeyChunks, probeKeyChunk, 2));
+        }
+    }
+
+    @Test
+    public void testUnpackedKey() {
+        Chunk buildKeyChunk = new Chunk(StringBlock.of("foo", "bar", "foo"));
+        ChunksIndex buildKeyChunks = new ChunksIndex();
+        buildKeyChunks.addChunk(buildKeyChunk);
+
+        try (OffHeapJoinHashTable table = new OffHeapJoinHashTable(buildKeyChunk.getPositionCount())) {
+            ExecUtils.buildOneChunk(buildKeyChunk, 0, table, null, Collections.singletonList(0));
+            assertFalse(table.isKeyPacked(0));
+
+            Chunk probeKeyChunk = new Chunk(StringBlock.of("bar", "baz"));
+            int[] hashes = probeKeyChunk.hashCodeVector();
+            int matched = table.match(table.get(hashes[0]), buildKeyChunks, probeKeyChunk, 0);
+            assertEquals(1, matched);
+            assertEquals(NOT_EXISTS, table.match(table.next(matched), buildKeyChunks, probeKeyChunk, 0));
+            assertEquals(NOT_EXISTS, table.match(table.get(hashes[1]), buildKeyChunks, probeKeyChunk, 1));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPositionOutOfRange() {
+        try (OffHeapJoinHashTable table = new OffHeapJoinHashTable(2)) {
+            table.put(2, 0);
+        }
+    }
+
+    @Test
+    public void testUnclosedTableIsReclaimed() {
+        OffHeapJoinHashTable closedTable = new OffHeapJoinHashTable(16);
+        closedTable.close();
+        // closing twice is harmless
+        closedTable.close();
+
+        OffHeapJoinHashTable unclosedTable = new OffHeapJoinHashTable(16);
+        unclosedTable.put(0, 1);
+
+        long leaked = OffHeapJoinHashTable.getLeakedCount();
+        closedTable.enqueueAsCollected();
+        unclosedTable.enqueueAsCollected();
+        OffHeapJoinHashTable.reclaimLeaked();
+        // only the unclosed table is reported
+        assertEquals(leaked + 1, OffHeapJoinHashTable.getLeakedCount());
+
+        // the table is already freed, closing it afterwards is harmless
+        unclosedTable.close();
+        assertEquals(0, OffHeapJoinHashTable.reclaimLeaked());
+        assertEquals(leaked + 1, OffHeapJoinHashTable.getLeakedCount());
+    }
+}
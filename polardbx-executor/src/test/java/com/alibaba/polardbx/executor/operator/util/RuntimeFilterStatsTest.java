@@ -0,0 +1,76 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.executor.operator.util;
+
+import com.alibaba.polardbx.common.utils.bloomfilter.BloomFilterInfo;
+import com.alibaba.polardbx.common.utils.hash.HashMethodInfo;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.mpp.operator.OperatorStats;
+import com.alibaba.polardbx.executor.operator.util.bloomfilter.BloomFilterConsume;
+import com.alibaba.polardbx.executor.operator.util.bloomfilter.BloomFilterExpression;
+import com.alibaba.polardbx.executor.operator.util.bloomfilter.BloomFilterExpressionFilter;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+public class RuntimeFilterStatsTest {
+
+    private static BloomFilterInfo bloomFilterInfo(int id, long bits) {
+        return new BloomFilterInfo(id, new long[] {bits}, 1, HashMethodInfo.defaultHashMethod(),
+            Collections.emptyList());
+    }
+
+    @Test
+    public void testPerFilterRows() {
+        BloomFilterExpression expression = new BloomFilterExpression(ImmutableList.of(
+            new BloomFilterConsume(ImmutableList.of(0), 1),
+            new BloomFilterConsume(ImmutableList.of(0), 2),
+            new BloomFilterConsume(ImmutableList.of(0), 3)), false);
+        BloomFilterExpressionFilter filter = new BloomFilterExpressionFilter(expression);
+
+        // filter 1 keeps all rows, filter 2 removes all rows, filter 3 never arrives
+        expression.addFilter(ImmutableList.of(bloomFilterInfo(1, -1L), bloomFilterInfo(2, 0L)));
+        Chunk chunk = RowChunksBuilder.rowChunksBuilder(DataTypes.IntegerType)
+            .row(1).row(2).row(3).row(4).build().get(0);
+        for (int i = 0; i < chunk.getPositionCount(); i++) {
+            Assert.assertTrue(filter.filter(chunk.rowAt(i)));
+        }
+
+        RuntimeFilterStats stats = new RuntimeFilterStats();
+        filter.recordStats(stats);
+        filter.recordStats(stats);
+        Assert.assertEquals(ImmutableMap.of(1, 8L, 2, 8L), stats.getTestedRows());
+        Assert.assertEquals(ImmutableMap.of(1, 8L, 2, 0L), stats.getPassedRows());
+    }
+
+    @Test
+    public void testMergeOperatorStats() {
+        OperatorStats first = new OperatorStats(Optional.empty(), 0, Optional.of("FilterExec"), 1, 0, 0, 0, 0, 0,
+            1, 0, 0, 0, 0, 0, ImmutableMap.of(1, 10L), ImmutableMap.of(1, 4L));
+        OperatorStats second = new OperatorStats(Optional.empty(), 0, Optional.of("FilterExec"), 1, 0, 0, 0, 0, 0,
+            1, 0, 0, 0, 0, 0, ImmutableMap.of(1, 6L, 2, 3L), ImmutableMap.of(1, 1L, 2, 3L));
+
+        OperatorStats merged = first.add(second);
+        Assert.assertEquals(ImmutableMap.of(1, 16L, 2, 3L), merged.getRuntimeFilterTestedRows());
+        Assert.assertEquals(ImmutableMap.of(1, 5L, 2, 3L), merged.getRuntimeFilterPassedRows());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.resultcache;
+
+import com.alibaba.polardbx.common.properties.ConnectionProperties;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.config.table.Field;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.optimizer.core.planner.PlanCache;
+import io.airlift.slice.Slices;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ResultCacheManagerTest {
+
+    private static final List<ColumnMeta> COLUMNS =
+        Collections.singletonList(new ColumnMeta("t1", "id", null, new Field(DataTypes.LongType)));
+
+    private static ResultCacheManager.Key newKey(ResultCacheManager manager, String sql, Object... params) {
+        final PlanCache.CacheKey planKey = new PlanCache.CacheKey("db", sql, "1", null, false, true);
+        final List<String> tables = Collections.singletonList("db.t1");
+        return new ResultCacheManager.Key(planKey, params, "STRICT|utf8|UTC", tables,
+            manager.currentVersions(tables));
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        ResultCacheManager manager = new ResultCacheManager(1024);
+        ResultCacheManager.Key key = newKey(manager, "select * from t1 where id = ?", 1);
+        Assert.assertNull(manager.get(key));
+
+        manager.put(key, COLUMNS, Slices.wrappedBuffer(new byte[16]));
+        Assert.assertNotNull(manager.get(newKey(manager, "select * from t1 where id = ?", 1)));
+        Assert.assertEquals(1, manager.getStats().getHitCount());
+
+        // other parameters or another statement miss
+        Assert.assertNull(manager.get(newKey(manager, "select * from t1 where id = ?", 2)));
+        Assert.assertNull(manager.get(newKey(manager, "select id from t1 where id = ?", 1)));
+    }
+
+    @Test
+    public void testInvalidation() {
+        ResultCacheManager manager = new ResultCacheManager(1024);
+        ResultCacheManager.Key key = newKey(manager, "select * from t1", 1);
+        manager.put(key, COLUMNS, Slices.wrappedBuffer(new byte[16]));
+
+        manager.invalidate("DB", "T1");
+        Assert.assertNull(manager.get(newKey(manager, "select * from t1", 1)));
+
+        // a result filled from a snapshot taken before the write is not kept
+        manager.put(key, COLUMNS, Slices.wrappedBuffer(new byte[16]));
+        Assert.assertNull(manager.get(newKey(manager, "select * from t1", 1)));
+
+        ResultCacheManager.Key fresh = newKey(manager, "select * from t1", 1);
+        manager.put(fresh, COLUMNS, Slices.wrappedBuffer(new byte[16]));
+        Assert.assertNotNull(manager.get(fresh));
+
+        // the whole schema
+        manager.invalidate("db", null);
+        Assert.assertNull(manager.get(newKey(manager, "select * from t1", 1)));
+    }
+
+    @Test
+    public void testTtl() throws InterruptedException {
+        ResultCacheManager manager = new ResultCacheManager(1024);
+        final int ttl = DynamicConfig.getInstance().getResultCacheTtl();
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.RESULT_CACHE_TTL, "1");
+        try {
+            ResultCacheManager.Key key = newKey(manager, "select * from t1", 1);
+            manager.put(key, COLUMNS, Slices.wrappedBuffer(new byte[16]));
+            Thread.sleep(10);
+            Assert.assertNull(manager.get(key));
+        } finally {
+            DynamicConfig.getInstance().loadValue(null, ConnectionProperties.RESULT_CACHE_TTL, String.valueOf(ttl));
+        }
+    }
+
+    @Test
+    public void testCapacity() {
+        ResultCacheManager manager = new ResultCacheManager(1024);
+        ResultCacheManager.Key key = newKey(manager, "select * from t1", 1);
+        manager.put(key, COLUMNS, Slices.wrappedBuffer(new byte[512]));
+        Assert.assertNotNull(manager.get(key));
+
+        manager.setCapacity(256);
+        Assert.assertNull(manager.get(key));
+    }
+}
@@ -20,14 +20,18 @@ import com.alibaba.polardbx.common.jdbc.Parameters;
 import com.alibaba.polardbx.common.model.Group;
 import com.alibaba.polardbx.common.model.Matrix;
 import com.alibaba.polardbx.common.properties.ConnectionProperties;
+import com.alibaba.polardbx.common.utils.Pair;
 import com.alibaba.polardbx.config.ConfigDataMode;
 import com.alibaba.polardbx.druid.sql.dialect.mysql.ast.statement.MySqlCreateTableStatement;
 import com.alibaba.polardbx.executor.chunk.Block;
 import com.alibaba.polardbx.executor.chunk.BlockBuilder;
 import com.alibaba.polardbx.executor.chunk.BlockBuilders;
 import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.MutableChunk;
 import com.alibaba.polardbx.executor.chunk.RandomAccessBlock;
 import com.alibaba.polardbx.executor.operator.MockExec;
+import com.alibaba.polardbx.executor.operator.VectorizedProjectExec;
+import com.alibaba.polardbx.executor.vectorized.build.VectorizedExpressionBuilder;
 import com.alibaba.polardbx.gms.config.impl.MetaDbInstConfigManager;
 import com.alibaba.polardbx.optimizer.OptimizerContext;
 import com.alibaba.polardbx.optimizer.PlannerContext;
@@ -39,6 +43,7 @@ import com.alibaba.polardbx.optimizer.config.table.statistic.MockStatisticDataso
 import com.alibaba.polardbx.optimizer.config.table.statistic.StatisticManager;
 import com.alibaba.polardbx.optimizer.context.ExecutionContext;
 import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
 import com.alibaba.polardbx.optimizer.core.planner.SqlConverter;
 import com.alibaba.polardbx.optimizer.core.rel.ToDrdsRelVisitor;
 import com.alibaba.polardbx.optimizer.parse.FastsqlParser;
@@ -52,9 +57,11 @@ import com.alibaba.polardbx.rule.TableRule;
 import com.alibaba.polardbx.rule.TddlRule;
 import com.alibaba.polardbx.rule.VirtualTableRoot;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalProject;
 import org.apache.calcite.sql.SqlCreateTable;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
+import org.junit.Assert;
 import org.junit.Before;
 
 import java.util.Arrays;
@@ -64,6 +71,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class BaseVectorizedExpressionTest {
     protected static final String APP_NAME = "obtest";
@@ -91,6 +99,11 @@ public class BaseVectorizedExpressionTest {
         + "  `test_uinteger2` INT UNSIGNED DEFAULT NULL,\n"
         + "  `test_bigint` BIGINT DEFAULT NULL,\n"
         + "  `test_bigint2` BIGINT DEFAULT NULL,\n"
+        + "  `test_varchar` VARCHAR(64) DEFAULT NULL,\n"
+        + "  `test_varchar2` VARCHAR(64) DEFAULT NULL,\n"
+        + "  `test_latin1` VARCHAR(64) CHARACTER SET latin1 DEFAULT NULL,\n"
+        + "  `test_date` DATE DEFAULT NULL,\n"
+        + "  `test_datetime` DATETIME DEFAULT NULL,\n"
         + "  PRIMARY KEY (`id`)\n"
         + "  ) ENGINE=InnoDB DEFAULT CHARSET=utf8;";
     private FastsqlParser parser;
@@ -269,4 +282,47 @@ public class BaseVectorizedExpressionTest {
     protected ExecutionContext getExecutionContext() {
         return executionContext;
     }
-}
\ No newline at end of file
+
+    /**
+     * Evaluate the only projection of sql with and without selection, check that it is evaluated by the vectorized
+     * expression whose class name starts with expressionName, and compare the results in string form.
+     */
+    protected void assertProjection(String sql, String expressionName, List<ColumnInput> inputs,
+                                    String... expected) {
+        updateColumns(inputs);
+        assertProjection(sql, expressionName, null, expected);
+        assertProjection(sql, expressionName, new int[] {0, 2, 4}, expected);
+    }
+
+    private void assertProjection(String sql, String expressionName, int[] selection, String[] expected) {
+        LogicalProject relNode = (LogicalProject) sql2Plan(sql);
+        MockExec inputExecutor = buildInputFromTableData(selection);
+        List<DataType<?>> inputDataTypes = inputExecutor.getDataTypes()
+            .stream()
+            .map(a -> (DataType<?>) a)
+            .collect(Collectors.toList());
+
+        Pair<VectorizedExpression, MutableChunk> result = VectorizedExpressionBuilder.buildVectorizedExpression(
+            inputDataTypes, relNode.getProjects().get(0), getExecutionContext());
+        VectorizedExpression expression = result.getKey();
+        Assert.assertTrue(sql + " is evaluated by " + expression.getClass().getSimpleName(),
+            expression.getClass().getSimpleName().startsWith(expressionName));
+
+        VectorizedProjectExec projectExec = new VectorizedProjectExec(inputExecutor,
+            Collections.singletonList(expression), Collections.singletonList(result.getValue()),
+            Collections.singletonList(expression.getOutputDataType()), getExecutionContext());
+        projectExec.open();
+        try {
+            Chunk chunk = projectExec.nextChunk();
+            Block block = chunk.getBlock(0);
+            int[] positions = selection != null ? selection : IntStream.range(0, expected.length).toArray();
+            Assert.assertEquals(sql, positions.length, block.getPositionCount());
+            for (int i = 0; i < positions.length; i++) {
+                Assert.assertEquals(sql + " at " + positions[i], expected[positions[i]],
+                    DataTypes.StringType.convertFrom(block.getObject(i)));
+            }
+        } finally {
+            projectExec.close();
+        }
+    }
+}
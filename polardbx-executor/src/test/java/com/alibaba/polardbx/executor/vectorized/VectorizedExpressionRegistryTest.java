@@ -20,6 +20,9 @@ import com.alibaba.polardbx.executor.vectorized.metadata.ArgumentInfo;
 import com.alibaba.polardbx.executor.vectorized.metadata.ArgumentKind;
 import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionConstructor;
 import com.alibaba.polardbx.executor.vectorized.metadata.ExpressionSignature;
+import com.alibaba.polardbx.executor.vectorized.string.SubstringVarcharColLongConstLongConstVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.string.UpperVarcharColVectorizedExpression;
+import com.alibaba.polardbx.executor.vectorized.time.YearDateColVectorizedExpression;
 import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
 import org.junit.Test;
 
@@ -42,4 +45,24 @@ public class VectorizedExpressionRegistryTest {
             TestVectorizedExpression.class, constructor.get().getDeclaringClass());
         assertTrue(constructor.get().build(0, new VectorizedExpression[0]) instanceof TestVectorizedExpression);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGeneratedStringAndDateExpressions() {
+        assertResolvedTo(UpperVarcharColVectorizedExpression.class, "UCASE",
+            new ArgumentInfo(DataTypes.VarcharType, ArgumentKind.Variable));
+        assertResolvedTo(SubstringVarcharColLongConstLongConstVectorizedExpression.class, "SUBSTR",
+            new ArgumentInfo(DataTypes.VarcharType, ArgumentKind.Variable),
+            new ArgumentInfo(DataTypes.LongType, ArgumentKind.Const),
+            new ArgumentInfo(DataTypes.LongType, ArgumentKind.Const));
+        assertResolvedTo(YearDateColVectorizedExpression.class, "YEAR",
+            new ArgumentInfo(DataTypes.DateType, ArgumentKind.Variable));
+    }
+
+    private static void assertResolvedTo(Class<?> expected, String name, ArgumentInfo... args) {
+        ExpressionSignature sig = new ExpressionSignature(name, args);
+        Optional<ExpressionConstructor<?>> constructor =
+            VectorizedExpressionRegistry.builderConstructorOf(sig);
+        assertTrue("Construct of " + sig + " should exist.", constructor.isPresent());
+        assertEquals("Class of " + sig + " should be " + expected, expected, constructor.get().getDeclaringClass());
+    }
+}
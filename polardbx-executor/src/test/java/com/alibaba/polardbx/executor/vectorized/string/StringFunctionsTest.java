@@ -0,0 +1,85 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.vectorized.string;
+
+import com.alibaba.polardbx.executor.vectorized.BaseVectorizedExpressionTest;
+import com.alibaba.polardbx.executor.vectorized.ColumnInput;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.alibaba.polardbx.executor.vectorized.BaseProjectionTest.projection;
+import static com.alibaba.polardbx.executor.vectorized.ColumnInput.columnInput;
+
+public class StringFunctionsTest extends BaseVectorizedExpressionTest {
+    private static final List<ColumnInput> INPUTS = Lists.newArrayList(
+        columnInput("test_varchar", "abc", "Hello World", "中文Ab", null, ""),
+        columnInput("test_varchar2", "x", null, "文", "y", "z"),
+        columnInput("test_latin1", "café", "ÀÉ", "abc", null, "")
+    );
+
+    @Test
+    public void testUpper() {
+        assertProjection(projection("upper(test_varchar)"), "UpperVarcharCol", INPUTS,
+            "ABC", "HELLO WORLD", "中文AB", null, "");
+        assertProjection(projection("ucase(test_latin1)"), "UpperVarcharCol", INPUTS,
+            "CAFÉ", "ÀÉ", "ABC", null, "");
+    }
+
+    @Test
+    public void testLower() {
+        assertProjection(projection("lower(test_varchar)"), "LowerVarcharCol", INPUTS,
+            "abc", "hello world", "中文ab", null, "");
+        assertProjection(projection("lcase(test_latin1)"), "LowerVarcharCol", INPUTS,
+            "café", "àé", "abc", null, "");
+    }
+
+    @Test
+    public void testLength() {
+        // length in bytes of the column charset
+        assertProjection(projection("length(test_varchar)"), "LengthVarcharCol", INPUTS,
+            "3", "11", "8", null, "0");
+        assertProjection(projection("octet_length(test_latin1)"), "LengthVarcharCol", INPUTS,
+            "4", "2", "3", null, "0");
+    }
+
+    @Test
+    public void testSubstring() {
+        assertProjection(projection("substring(test_varchar, 2)"), "SubstringVarcharCol", INPUTS,
+            "bc", "ello World", "文Ab", null, "");
+        assertProjection(projection("substring(test_varchar, -2)"), "SubstringVarcharCol", INPUTS,
+            "bc", "ld", "Ab", null, "");
+        assertProjection(projection("substring(test_varchar, 0)"), "SubstringVarcharCol", INPUTS,
+            "", "", "", null, "");
+        assertProjection(projection("substr(test_varchar, 2, 2)"), "SubstringVarcharCol", INPUTS,
+            "bc", "el", "文A", null, "");
+        assertProjection(projection("substring(test_latin1, 2, 2)"), "SubstringVarcharCol", INPUTS,
+            "af", "É", "bc", null, "");
+    }
+
+    @Test
+    public void testConcat() {
+        assertProjection(projection("concat(test_varchar, test_varchar2)"), "ConcatVarcharColVarcharCol", INPUTS,
+            "abcx", null, "中文Ab文", null, "z");
+        assertProjection(projection("concat(test_varchar, '!')"), "ConcatVarcharColCharConst", INPUTS,
+            "abc!", "Hello World!", "中文Ab!", null, "!");
+        assertProjection(projection("concat('>', test_varchar2)"), "ConcatCharConstVarcharCol", INPUTS,
+            ">x", null, ">文", ">y", ">z");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.executor.vectorized.time;
+
+import com.alibaba.polardbx.executor.vectorized.BaseVectorizedExpressionTest;
+import com.alibaba.polardbx.executor.vectorized.ColumnInput;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.alibaba.polardbx.executor.vectorized.BaseProjectionTest.projection;
+import static com.alibaba.polardbx.executor.vectorized.ColumnInput.columnInput;
+
+public class DateFunctionsTest extends BaseVectorizedExpressionTest {
+    private static final List<ColumnInput> INPUTS = Lists.newArrayList(
+        columnInput("test_date", "2021-03-15", "1999-12-31", null, "2000-02-29", "2024-01-01"),
+        columnInput("test_datetime", "2021-03-15 10:20:30", "1999-12-31 23:59:59", null, "2000-02-29 00:00:00",
+            "2024-01-01 12:00:00")
+    );
+
+    @Test
+    public void testYear() {
+        assertProjection(projection("year(test_date)"), "YearDateCol", INPUTS,
+            "2021", "1999", null, "2000", "2024");
+        assertProjection(projection("year(test_datetime)"), "YearDatetimeCol", INPUTS,
+            "2021", "1999", null, "2000", "2024");
+    }
+
+    @Test
+    public void testMonth() {
+        assertProjection(projection("month(test_date)"), "MonthDateCol", INPUTS,
+            "3", "12", null, "2", "1");
+        assertProjection(projection("month(test_datetime)"), "MonthDatetimeCol", INPUTS,
+            "3", "12", null, "2", "1");
+    }
+
+    @Test
+    public void testDayOfMonth() {
+        assertProjection(projection("dayofmonth(test_date)"), "DayOfMonthDateCol", INPUTS,
+            "15", "31", null, "29", "1");
+        assertProjection(projection("day(test_datetime)"), "DayOfMonthDatetimeCol", INPUTS,
+            "15", "31", null, "29", "1");
+    }
+
+    @Test
+    public void testDateFormat() {
+        assertProjection(projection("date_format(test_date, '%Y/%m/%d')"), "DateFormatDateCol", INPUTS,
+            "2021/03/15", "1999/12/31", null, "2000/02/29", "2024/01/01");
+        assertProjection(projection("date_format(test_datetime, '%Y-%m-%d %H:%i:%s')"), "DateFormatDatetimeCol",
+            INPUTS, "2021-03-15 10:20:30", "1999-12-31 23:59:59", null, "2000-02-29 00:00:00",
+            "2024-01-01 12:00:00");
+        assertProjection(projection("date_format(test_datetime, '%d %b %y, %h %p')"), "DateFormatDatetimeCol",
+            INPUTS, "15 Mar 21, 10 AM", "31 Dec 99, 11 PM", null, "29 Feb 00, 12 AM", "01 Jan 24, 12 PM");
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.repo.mysql.handler;
+
+import com.alibaba.polardbx.common.constants.SequenceAttribute.Type;
+import com.alibaba.polardbx.common.jdbc.ParameterContext;
+import com.alibaba.polardbx.common.properties.PropUtil;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.context.LoadDataContext;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.optimizer.sequence.ISequenceManager;
+import com.alibaba.polardbx.optimizer.sequence.SequenceManagerProxy;
+import com.google.common.base.Splitter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class LogicalLoadDataHandlerTest {
+
+    private static final String SCHEMA = "test_db";
+    private static final String TABLE = "t1";
+    private static final String SEQ = ISequenceManager.AUTO_SEQ_PREFIX + TABLE;
+
+    private ISequenceManager originSequenceManager;
+    private ISequenceManager sequenceManager;
+
+    @Before
+    public void setUp() throws Exception {
+        sequenceManager = Mockito.mock(ISequenceManager.class);
+        Mockito.when(sequenceManager.checkIfExists(SCHEMA, SEQ)).thenReturn(Type.NEW);
+        originSequenceManager = swapSequenceManager(sequenceManager);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        swapSequenceManager(originSequenceManager);
+    }
+
+    private static ISequenceManager swapSequenceManager(ISequenceManager manager) throws Exception {
+        Field instance = SequenceManagerProxy.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        ISequenceManager origin = (ISequenceManager) instance.get(null);
+        instance.set(null, manager);
+        return origin;
+    }
+
+    private static LoadDataContext loadDataContext() {
+        List<ColumnMeta> metaList = Arrays.asList(
+            new ColumnMeta(TABLE, "id", null, new com.alibaba.polardbx.optimizer.config.table.Field(
+                DataTypes.VarcharType)),
+            new ColumnMeta(TABLE, "name", null, new com.alibaba.polardbx.optimizer.config.table.Field(
+                DataTypes.VarcharType)));
+        LoadDataContext context = new LoadDataContext(null, new LinkedBlockingQueue<>(), 3, "", null, ",",
+            StandardCharsets.UTF_8, metaList, TABLE);
+        context.setAutoFillColumnIndex(0);
+        return context;
+    }
+
+    private static List<List<String>> rows(String... names) {
+        List<List<String>> rows = new ArrayList<>();
+        for (String name : names) {
+            rows.add(new ArrayList<>(Collections.singletonList(name)));
+        }
+        return rows;
+    }
+
+    private static void assertBatch(List<Map<Integer, ParameterContext>> batchParams, Object... ids) {
+        Assert.assertEquals(ids.length, batchParams.size());
+        for (int i = 0; i < ids.length; i++) {
+            Assert.assertEquals(ids[i], batchParams.get(i).get(1).getArgs()[1]);
+        }
+    }
+
+    @Test
+    public void testConsecutiveSequencePerBatch() {
+        Mockito.when(sequenceManager.getIncrement(SCHEMA, SEQ)).thenReturn(1);
+        Mockito.when(sequenceManager.nextValue(SCHEMA, SEQ, 3)).thenReturn(102L, 105L);
+        LoadDataContext context = loadDataContext();
+
+        List<Map<Integer, ParameterContext>> batchParams = LogicalLoadDataHandler.buildBatchParams(
+            rows("a", "b", "c"), context, SCHEMA, PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE);
+        assertBatch(batchParams, "100", "101", "102");
+        Assert.assertEquals("a", batchParams.get(0).get(2).getArgs()[1]);
+        Assert.assertEquals("c", batchParams.get(2).get(2).getArgs()[1]);
+
+        batchParams = LogicalLoadDataHandler.buildBatchParams(
+            rows("d", "e", "f"), context, SCHEMA, PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE);
+        assertBatch(batchParams, "103", "104", "105");
+
+        // one fetch per batch, never per row
+        Mockito.verify(sequenceManager, Mockito.times(2)).nextValue(SCHEMA, SEQ, 3);
+        Mockito.verify(sequenceManager, Mockito.never()).nextValue(anyString(), anyString());
+        Assert.assertEquals(6L, context.getParsedRows().get());
+    }
+
+    @Test
+    public void testSequenceIncrement() {
+        Mockito.when(sequenceManager.getIncrement(SCHEMA, SEQ)).thenReturn(2);
+        Mockito.when(sequenceManager.nextValue(SCHEMA, SEQ, 2)).thenReturn(20L);
+
+        List<Map<Integer, ParameterContext>> batchParams = LogicalLoadDataHandler.buildBatchParams(
+            rows("a", "b"), loadDataContext(), SCHEMA, PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE);
+        assertBatch(batchParams, "18", "20");
+    }
+
+    @Test
+    public void testSingleDbFillsNull() {
+        LoadDataContext context = loadDataContext();
+        context.setInSingleDb(true);
+
+        List<Map<Integer, ParameterContext>> batchParams = LogicalLoadDataHandler.buildBatchParams(
+            rows("a", "b"), context, SCHEMA, PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE);
+        assertBatch(batchParams, "NULL", "NULL");
+        Mockito.verifyZeroInteractions(sequenceManager);
+    }
+
+    @Test
+    public void testParallelParse() {
+        LoadDataContext context = loadDataContext();
+        context.setAutoFillColumnIndex(-1);
+        context.setFieldsParser(line -> new ArrayList<>(Splitter.on(',').splitToList(line)));
+
+        // raw lines are parsed by the consumer
+        List<Map<Integer, ParameterContext>> batchParams = LogicalLoadDataHandler.buildBatchParams(
+            Arrays.asList(Collections.singletonList("1,a"), Collections.singletonList("2,b")), context, SCHEMA,
+            PropUtil.LOAD_NULL_MODE.DEFAULT_VALUE_MODE);
+        assertBatch(batchParams, "1", "2");
+        Assert.assertEquals("b", batchParams.get(1).get(2).getArgs()[1]);
+        Mockito.verifyZeroInteractions(sequenceManager);
+    }
+}
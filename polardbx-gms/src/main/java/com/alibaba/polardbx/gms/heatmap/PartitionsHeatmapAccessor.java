@@ -53,6 +53,10 @@ public class PartitionsHeatmapAccessor extends AbstractAccessor {
     private static final String QUERY_BY_LAYER_NUM_SQL
         = "SELECT " + ALL_COLUMNS + " FROM " + PARTITIONS_HEATMAP + " WHERE layer_num=? order by timestamp ASC;";
 
+    private static final String QUERY_LATEST_BY_LAYER_NUM_SQL
+        = "SELECT " + ALL_COLUMNS + " FROM " + PARTITIONS_HEATMAP
+        + " WHERE layer_num=? order by timestamp DESC limit ?;";
+
     private static final String DELETE_PARTITIONS_HEATMAP_SQL
         = "DELETE FROM " + PARTITIONS_HEATMAP + " WHERE layer_num=? AND timestamp=?;";
 
@@ -89,6 +93,20 @@ public class PartitionsHeatmapAccessor extends AbstractAccessor {
         }
     }
 
+    /**
+     * The latest `limit` axes of the layer, newest first
+     */
+    public List<PartitionsHeatmapRecord> queryLatestByLayerNum(Integer layerNum, int limit) {
+        try {
+            final Map<Integer, ParameterContext> params = new HashMap<>(2);
+            MetaDbUtil.setParameter(1, params, ParameterMethod.setInt, layerNum);
+            MetaDbUtil.setParameter(2, params, ParameterMethod.setInt, limit);
+            return MetaDbUtil.query(QUERY_LATEST_BY_LAYER_NUM_SQL, params, PartitionsHeatmapRecord.class, connection);
+        } catch (Exception e) {
+            throw logAndThrow("Failed to query " + PARTITIONS_HEATMAP, "query", e);
+        }
+    }
+
     public List<Map<String, Object>> queryHeatmapCount() {
         try {
             return MetaDbUtil.queryCount(QUERY_COUNT_LAYER_VISUAL_AXIS_SQL, connection);
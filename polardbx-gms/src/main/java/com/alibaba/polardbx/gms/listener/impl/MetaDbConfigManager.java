@@ -19,6 +19,7 @@ package com.alibaba.polardbx.gms.listener.impl;
 import com.alibaba.polardbx.common.exception.TddlRuntimeException;
 import com.alibaba.polardbx.common.exception.code.ErrorCode;
 import com.alibaba.polardbx.common.model.lifecycle.AbstractLifecycle;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
@@ -35,24 +36,37 @@ import com.alibaba.polardbx.gms.topology.ConfigListenerAccessor;
 import com.alibaba.polardbx.gms.topology.ConfigListenerRecord;
 import com.alibaba.polardbx.gms.topology.SystemDbHelper;
 import com.alibaba.polardbx.gms.util.MetaDbLogUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import java.sql.Connection;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -69,6 +83,11 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
     public final static int DEFAULT_NOTIFY_INTERVAL = 1000;
     public final static int DEFAULT_SCAN_INTERVAL = 1000;
     public final static int DEFAULT_CLEAN_INTERVAL = 10000;
+    public final static int DEFAULT_COMMIT_CHECK_INTERVAL = 50;
+    /**
+     * Changes not committed in this time are no longer waited for push, and are left to the scanner
+     */
+    public final static int MAX_PUSH_AFTER_COMMIT_WAIT = 60000;
 
     // time interval for scaning the gmtModified of dataId, unit: min
     protected static int TIME_INTERVAL_FOR_SCAN_MODIFIED_DATA_ID = 120;
@@ -87,6 +106,24 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
     protected final ScheduledExecutorService cleanTaskExecutor = Executors
         .newSingleThreadScheduledExecutor(new NamedThreadFactory("DataId-Scanner-Executor", true));
 
+    /**
+     * Push changed dataIds to all CN nodes, so they need not wait for the next scan
+     */
+    protected final ExecutorService dataIdPushTaskExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(MAX_QUEUE_LEN), new NamedThreadFactory("DataId-Pusher-Executor", true),
+        new ThreadPoolExecutor.DiscardPolicy());
+    /**
+     * Changes notified inside caller transactions, to be pushed after the transactions commit
+     */
+    protected final Queue<PushAfterCommit> pushAfterCommitQueue = new ConcurrentLinkedQueue<>();
+    protected final ScheduledExecutorService dataIdCommitCheckExecutor = Executors
+        .newSingleThreadScheduledExecutor(new NamedThreadFactory("DataId-Commit-Checker-Executor", true));
+    /**
+     * Wake up the notifier before DEFAULT_NOTIFY_INTERVAL when new change events arrive
+     */
+    protected final Semaphore notifierWakeup = new Semaphore(0);
+    protected final PropagationStats propagationStats = new PropagationStats();
+
     protected int listenerTaskExecutorPoolSize = 4;
     protected ThreadPoolExecutor listenerTaskExecutor =
         ExecutorUtil.createExecutor("ListenerTaskExecutor", listenerTaskExecutorPoolSize);
@@ -120,12 +157,108 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
         protected String dataId;
         protected long opVersion;
         protected Timestamp changeTimestamp;
+        /**
+         * Time from the change to it found by push or scan, both on the clock of meta db
+         */
+        protected long changeToDetectMillis = 0;
+        /**
+         * Local time the change is found by push or scan
+         */
+        protected long detectTimeMillis = System.currentTimeMillis();
 
         public OpVersionChangeEvent(String dataId, long opVersion, Timestamp changeTimestamp) {
             this.dataId = dataId;
             this.opVersion = opVersion;
             this.changeTimestamp = changeTimestamp;
         }
+
+        /**
+         * @param metaDbTimeMillis time of meta db when the change is found, or -1 if unknown
+         */
+        public OpVersionChangeEvent(String dataId, long opVersion, Timestamp changeTimestamp, long metaDbTimeMillis) {
+            this(dataId, opVersion, changeTimestamp);
+            if (changeTimestamp != null && metaDbTimeMillis > 0) {
+                this.changeToDetectMillis = Math.max(metaDbTimeMillis - changeTimestamp.getTime(), 0);
+            }
+        }
+    }
+
+    /**
+     * Changed dataIds with their new op versions, pushed once the caller transaction has committed them
+     */
+    protected static class PushAfterCommit {
+        protected final Connection trxConn;
+        protected final Map<String, Long> opVersions;
+        protected final long registerTimeMillis = System.currentTimeMillis();
+
+        public PushAfterCommit(Connection trxConn, Map<String, Long> opVersions) {
+            this.trxConn = trxConn;
+            this.opVersions = opVersions;
+        }
+
+        protected boolean isCommitted(Map<String, Long> committedOpVersions) {
+            for (Map.Entry<String, Long> entry : opVersions.entrySet()) {
+                Long committed = committedOpVersions.get(entry.getKey());
+                if (committed == null || committed < entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected boolean isTrxConnClosed() {
+            try {
+                return trxConn.isClosed();
+            } catch (Throwable ex) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Statistics of config change propagation on this node, latency is from the change in meta db to its listener
+     * handled. The change part is on the clock of meta db with precision of gmt_modified, and the rest is local.
+     */
+    public static class PropagationStats {
+        protected final LongAdder pushCount = new LongAdder();
+        protected final LongAdder pushedEventCount = new LongAdder();
+        protected final LongAdder scannedEventCount = new LongAdder();
+        protected final LongAdder handledEventCount = new LongAdder();
+        protected final LongAdder totalLatencyMillis = new LongAdder();
+        protected final AtomicLong maxLatencyMillis = new AtomicLong();
+
+        protected void recordHandled(OpVersionChangeEvent event) {
+            final long latency =
+                event.changeToDetectMillis + Math.max(System.currentTimeMillis() - event.detectTimeMillis, 0);
+            handledEventCount.increment();
+            totalLatencyMillis.add(latency);
+            maxLatencyMillis.accumulateAndGet(latency, Math::max);
+        }
+
+        public long getPushCount() {
+            return pushCount.sum();
+        }
+
+        public long getPushedEventCount() {
+            return pushedEventCount.sum();
+        }
+
+        public long getScannedEventCount() {
+            return scannedEventCount.sum();
+        }
+
+        public long getHandledEventCount() {
+            return handledEventCount.sum();
+        }
+
+        public long getAvgLatencyMillis() {
+            final long count = handledEventCount.sum();
+            return count == 0 ? 0 : totalLatencyMillis.sum() / count;
+        }
+
+        public long getMaxLatencyMillis() {
+            return maxLatencyMillis.get();
+        }
     }
 
     protected static class Scanner implements Runnable {
@@ -142,6 +275,12 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
         }
 
         protected void runInner() {
+            if (DynamicConfig.getInstance().enableMetaDbConfigPush() && manager.lastScanTimestamp != null
+                && System.currentTimeMillis() - manager.lastScanTimestamp.getTime() < DynamicConfig.getInstance()
+                .getMetaDbConfigScanIntervalWithPush()) {
+                // Changes are pushed after commit, scan only as a fallback for lost pushes
+                return;
+            }
             fetchOpVersionChangeEvents();
         }
 
@@ -161,53 +300,18 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
                         configListenerAccessor.getDataIds(MetaDbConfigManager.TIME_INTERVAL_FOR_SCAN_MODIFIED_DATA_ID);
                 }
 
+                final long metaDbTimeMillis = datas.isEmpty() ? -1 : configListenerAccessor.getCurrentTimeMillis();
+                boolean hasNewEvent = false;
                 for (int i = 0; i < datas.size(); i++) {
-                    ConfigListenerRecord record = datas.get(i);
-                    String dataId = record.dataId;
-                    int dataIdStatus = record.status;
-                    long newOpVersion = record.opVersion;
-                    if (manager.dataIdContextMap.containsKey(dataId)) {
-
-                        if (dataIdStatus == ConfigListenerRecord.DATA_ID_STATUS_REMOVED) {
-                            //manager.disableListenerByDataId(dataId);
-                            continue;
-                        }
-
-                        Timestamp gmtModified = record.gmtModified;
-                        DataIdContext dataIdContext = manager.dataIdContextMap.get(dataId);
-
-                        // Check if newOpVer has already exist in  dataIdInfo.changeEventQueue
-                        // if exists, should ignored
-                        synchronized (dataIdContext) {
-                            if (dataIdContext.currOpVersion < newOpVersion) {
-                                if (dataIdContext.dataIdListener != null) {
-                                    OpVersionChangeEvent lastChangeEvent = dataIdContext.changeEventQueue.peekLast();
-                                    int queueSize = dataIdContext.changeEventQueue.size();
-                                    boolean needAddNewEvent = true;
-                                    boolean lastEventOpVerHigherNewOpVer = lastChangeEvent == null ? false : lastChangeEvent.opVersion >= newOpVersion;
-                                    if (lastChangeEvent != null && lastEventOpVerHigherNewOpVer) {
-                                        needAddNewEvent = false;
-                                    }
-                                    if (needAddNewEvent) {
-                                        boolean needRemoveLastChangeEvent = false;
-                                        if (queueSize > 1 && !lastEventOpVerHigherNewOpVer) {
-                                            needRemoveLastChangeEvent = true;
-                                        }
-                                        if (needRemoveLastChangeEvent) {
-                                            /**
-                                             * remove the last event because new opVer is higher
-                                             */
-                                            dataIdContext.changeEventQueue.removeLast();
-                                        }
-                                        dataIdContext.changeEventQueue
-                                            .offerLast(new OpVersionChangeEvent(dataId, newOpVersion, gmtModified));
-                                    }
-                                }
-                            }
-                        }
+                    if (manager.offerOpVersionChangeEvent(datas.get(i), metaDbTimeMillis)) {
+                        manager.propagationStats.scannedEventCount.increment();
+                        hasNewEvent = true;
                     }
                 }
                 manager.lastScanTimestamp = new Date();
+                if (hasNewEvent) {
+                    manager.wakeupNotifier();
+                }
             } catch (Throwable ex) {
                 logger.warn(ex);
                 MetaDbLogUtil.META_DB_LOG.warn(ex);
@@ -215,6 +319,190 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
         }
     }
 
+    /**
+     * Add change event of a dataId if its op version is newer
+     *
+     * @param metaDbTimeMillis time of meta db when the record is loaded, or -1 if unknown
+     * @return true if a new event is added
+     */
+    protected boolean offerOpVersionChangeEvent(ConfigListenerRecord record, long metaDbTimeMillis) {
+        String dataId = record.dataId;
+        int dataIdStatus = record.status;
+        long newOpVersion = record.opVersion;
+        DataIdContext dataIdContext = dataIdContextMap.get(dataId);
+        if (dataIdContext == null || dataIdStatus == ConfigListenerRecord.DATA_ID_STATUS_REMOVED) {
+            return false;
+        }
+
+        Timestamp gmtModified = record.gmtModified;
+
+        // Check if newOpVer has already exist in  dataIdInfo.changeEventQueue
+        // if exists, should ignored
+        synchronized (dataIdContext) {
+            if (dataIdContext.currOpVersion < newOpVersion) {
+                if (dataIdContext.dataIdListener != null) {
+                    OpVersionChangeEvent lastChangeEvent = dataIdContext.changeEventQueue.peekLast();
+                    int queueSize = dataIdContext.changeEventQueue.size();
+                    boolean needAddNewEvent = true;
+                    boolean lastEventOpVerHigherNewOpVer = lastChangeEvent == null ? false : lastChangeEvent.opVersion >= newOpVersion;
+                    if (lastChangeEvent != null && lastEventOpVerHigherNewOpVer) {
+                        needAddNewEvent = false;
+                    }
+                    if (needAddNewEvent) {
+                        boolean needRemoveLastChangeEvent = false;
+                        if (queueSize > 1 && !lastEventOpVerHigherNewOpVer) {
+                            needRemoveLastChangeEvent = true;
+                        }
+                        if (needRemoveLastChangeEvent) {
+                            /**
+                             * remove the last event because new opVer is higher
+                             */
+                            dataIdContext.changeEventQueue.removeLast();
+                        }
+                        return dataIdContext.changeEventQueue
+                            .offerLast(new OpVersionChangeEvent(dataId, newOpVersion, gmtModified, metaDbTimeMillis));
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    protected void wakeupNotifier() {
+        notifierWakeup.release();
+    }
+
+    /**
+     * Push changed dataIds to all CN nodes asynchronously, only after the new op versions are committed.
+     * Lost pushes are covered by the scanner.
+     */
+    protected void pushChangedDataIds(List<String> dataIds) {
+        if (!DynamicConfig.getInstance().enableMetaDbConfigPush() || dataIds == null || dataIds.isEmpty()) {
+            return;
+        }
+        final MetaDbConfigPushAction action = new MetaDbConfigPushAction(new ArrayList<>(dataIds));
+        dataIdPushTaskExecutor.submit(() -> {
+            try {
+                GmsSyncManagerHelper.sync(action, SystemDbHelper.DEFAULT_DB_NAME);
+            } catch (Throwable ex) {
+                MetaDbLogUtil.META_DB_LOG.warn("Failed to push changed dataIds " + action.getDataIds(), ex);
+            }
+        });
+    }
+
+    /**
+     * Push changed dataIds after the caller transaction on trxConn commits.
+     * <p>
+     * Connections of meta db offer no commit callback, so the registration is kept until the new op versions are
+     * visible to other connections. It is dropped once trxConn is closed without them, or after
+     * MAX_PUSH_AFTER_COMMIT_WAIT, and the scanner picks up whatever is left.
+     */
+    protected void pushAfterCommit(Connection trxConn, Map<String, Long> opVersions) {
+        if (!DynamicConfig.getInstance().enableMetaDbConfigPush() || opVersions.isEmpty()) {
+            return;
+        }
+        try {
+            if (trxConn.getAutoCommit()) {
+                // Already committed
+                pushChangedDataIds(new ArrayList<>(opVersions.keySet()));
+                return;
+            }
+        } catch (Throwable ex) {
+            MetaDbLogUtil.META_DB_LOG.warn("Failed to check auto commit of caller connection", ex);
+            return;
+        }
+        if (pushAfterCommitQueue.size() < MAX_QUEUE_LEN) {
+            pushAfterCommitQueue.offer(new PushAfterCommit(trxConn, opVersions));
+        }
+    }
+
+    /**
+     * Push the dataIds whose caller transactions have committed
+     */
+    protected void checkPushAfterCommit() {
+        if (pushAfterCommitQueue.isEmpty()) {
+            return;
+        }
+        // Check closed before loading op versions, so that a commit right before close is not missed
+        List<PushAfterCommit> pending = new ArrayList<>(pushAfterCommitQueue);
+        boolean[] closed = new boolean[pending.size()];
+        Set<String> dataIds = new HashSet<>();
+        for (int i = 0; i < pending.size(); i++) {
+            closed[i] = pending.get(i).isTrxConnClosed();
+            dataIds.addAll(pending.get(i).opVersions.keySet());
+        }
+
+        Map<String, Long> committedOpVersions = new HashMap<>();
+        try (Connection conn = MetaDbDataSource.getInstance().getConnection()) {
+            ConfigListenerAccessor configListenerAccessor = new ConfigListenerAccessor();
+            configListenerAccessor.setConnection(conn);
+            for (ConfigListenerRecord record : configListenerAccessor.getDataIds(new ArrayList<>(dataIds))) {
+                committedOpVersions.put(record.dataId, record.opVersion);
+            }
+        } catch (Throwable ex) {
+            MetaDbLogUtil.META_DB_LOG.warn("Failed to load op versions of dataIds " + dataIds, ex);
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        Set<String> committedDataIds = new HashSet<>();
+        for (int i = 0; i < pending.size(); i++) {
+            PushAfterCommit push = pending.get(i);
+            if (push.isCommitted(committedOpVersions)) {
+                committedDataIds.addAll(push.opVersions.keySet());
+                pushAfterCommitQueue.remove(push);
+            } else if (closed[i] || now - push.registerTimeMillis > MAX_PUSH_AFTER_COMMIT_WAIT) {
+                // Rolled back or not committed in time
+                pushAfterCommitQueue.remove(push);
+            }
+        }
+        pushChangedDataIds(new ArrayList<>(committedDataIds));
+    }
+
+    /**
+     * Receive changed dataIds pushed by other node, and only load op versions of these dataIds.
+     * Failures are left to the scanner, so that the pushing node is not bothered.
+     */
+    protected void receivePushedDataIds(List<String> dataIds) {
+        List<String> boundDataIds = new ArrayList<>(dataIds.size());
+        for (String dataId : dataIds) {
+            if (dataIdContextMap.containsKey(dataId)) {
+                boundDataIds.add(dataId);
+            }
+        }
+        propagationStats.pushCount.increment();
+        if (boundDataIds.isEmpty()) {
+            return;
+        }
+
+        List<ConfigListenerRecord> records;
+        long metaDbTimeMillis;
+        try (Connection conn = MetaDbDataSource.getInstance().getConnection()) {
+            ConfigListenerAccessor configListenerAccessor = new ConfigListenerAccessor();
+            configListenerAccessor.setConnection(conn);
+            records = configListenerAccessor.getDataIds(boundDataIds);
+            metaDbTimeMillis = configListenerAccessor.getCurrentTimeMillis();
+        } catch (Throwable ex) {
+            MetaDbLogUtil.META_DB_LOG.warn("Failed to load pushed dataIds " + boundDataIds, ex);
+            return;
+        }
+
+        boolean hasNewEvent = false;
+        for (ConfigListenerRecord record : records) {
+            if (offerOpVersionChangeEvent(record, metaDbTimeMillis)) {
+                propagationStats.pushedEventCount.increment();
+                hasNewEvent = true;
+            }
+        }
+        if (hasNewEvent) {
+            wakeupNotifier();
+        }
+    }
+
+    public PropagationStats getPropagationStats() {
+        return propagationStats;
+    }
+
     protected static class Notifier implements Runnable {
 
         MetaDbConfigManager manager;
@@ -259,7 +547,10 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
                             dataIdInfo.listenerTaskFuture = null;
                         }
                     }
-                    Thread.sleep(DEFAULT_NOTIFY_INTERVAL);
+                    // Sleep until new change events arrive
+                    if (manager.notifierWakeup.tryAcquire(DEFAULT_NOTIFY_INTERVAL, TimeUnit.MILLISECONDS)) {
+                        manager.notifierWakeup.drainPermits();
+                    }
 
                 } catch (Throwable ex) {
                     logger.warn(ex);
@@ -291,7 +582,9 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
                     synchronized (dataIdContext) {
                         dataIdContext.changeEventQueue.pollFirst();
                     }
+                    MetaDbConfigManager.getInstance().propagationStats.recordHandled(opVersionChangeEvent);
                     completeListenTaskQueue.add(dataIdContext);
+                    MetaDbConfigManager.getInstance().wakeupNotifier();
 
                 }
                 return result;
@@ -322,6 +615,13 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
         dataIdNotifyTaskExecutor.submit(notifier);
         dataIdScanTaskExecutor
             .scheduleAtFixedRate(scanner, DEFAULT_SCAN_INTERVAL, DEFAULT_SCAN_INTERVAL, TimeUnit.MILLISECONDS);
+        dataIdCommitCheckExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                checkPushAfterCommit();
+            } catch (Throwable ex) {
+                MetaDbLogUtil.META_DB_LOG.warn(ex);
+            }
+        }, DEFAULT_COMMIT_CHECK_INTERVAL, DEFAULT_COMMIT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
         //reuse the lock to start cleaner
         MetaDbCleanManager.getInstance();
     }
@@ -402,10 +702,14 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
             } catch (Throwable ex) {
                 throw GeneralUtil.nestedException(ex);
             }
+            pushChangedDataIds(ImmutableList.of(dataId));
         } else {
             ConfigListenerAccessor configListenerAccessor = new ConfigListenerAccessor();
             configListenerAccessor.setConnection(conn);
             opVer = configListenerAccessor.updateOpVersion(dataId);
+            if (opVer > 0) {
+                pushAfterCommit(conn, ImmutableMap.of(dataId, opVer));
+            }
         }
 
         logger.info("dataid: " + dataId + " version updated to: " + opVer);
@@ -423,10 +727,19 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
             } catch (Throwable ex) {
                 throw GeneralUtil.nestedException(ex);
             }
+            pushChangedDataIds(dataIds);
         } else {
             ConfigListenerAccessor configListenerAccessor = new ConfigListenerAccessor();
             configListenerAccessor.setConnection(conn);
             configListenerAccessor.updateMultipleOpVersion(dataIds, ignoreCntError);
+            if (DynamicConfig.getInstance().enableMetaDbConfigPush() && !dataIds.isEmpty()) {
+                // Op versions just updated in the caller transaction
+                Map<String, Long> opVersions = new HashMap<>();
+                for (ConfigListenerRecord record : configListenerAccessor.getDataIds(dataIds)) {
+                    opVersions.put(record.dataId, record.opVersion);
+                }
+                pushAfterCommit(conn, opVersions);
+            }
         }
     }
 
@@ -583,6 +896,37 @@ public class MetaDbConfigManager extends AbstractLifecycle implements ConfigMana
         }
     }
 
+    /**
+     * Push changed dataIds to other nodes, which load only op versions of these dataIds.
+     */
+    public static class MetaDbConfigPushAction implements IGmsSyncAction {
+
+        private List<String> dataIds;
+
+        public MetaDbConfigPushAction() {
+        }
+
+        public MetaDbConfigPushAction(List<String> dataIds) {
+            this.dataIds = dataIds;
+        }
+
+        @Override
+        public Object sync() {
+            if (dataIds != null && !dataIds.isEmpty()) {
+                MetaDbConfigManager.getInstance().receivePushedDataIds(dataIds);
+            }
+            return null;
+        }
+
+        public List<String> getDataIds() {
+            return dataIds;
+        }
+
+        public void setDataIds(List<String> dataIds) {
+            this.dataIds = dataIds;
+        }
+    }
+
     protected void doConfigListenerBySync(String dataId, String schemaName) {
         DataIdContext dataIdContext = dataIdContextMap.get(dataId);
         if (dataIdContext != null) {
@@ -56,6 +56,9 @@ public class ConfigListenerAccessor extends AbstractAccessor {
     private static final String SELECT_DATA_ID =
         "select * from `" + CONFIG_LISTENER_TABLE + "` where data_id = ?";
 
+    private static final String SELECT_DATA_IDS =
+        "select * from `" + CONFIG_LISTENER_TABLE + "` where data_id in (%s)";
+
     private static final String SELECT_DATA_ID_FOR_UPDATE =
         "select * from `" + CONFIG_LISTENER_TABLE + "` where data_id = ? for update";
 
@@ -89,6 +92,8 @@ public class ConfigListenerAccessor extends AbstractAccessor {
     private static final String UPDATE_DATA_ID_STATUS_AND_VALUE_BY_ID = "update `" + CONFIG_LISTENER_TABLE
         + "` set status=?, op_version=? where id=?;";
 
+    private static final String SELECT_CURRENT_TIME = "select now(3)";
+
     private static final String DELETE_DATA_ID = "delete from `" + CONFIG_LISTENER_TABLE + "` where data_id=?";
 
     public static final String DELETE_ALL_DATA_ID_BY_INST_ID =
@@ -130,6 +135,37 @@ public class ConfigListenerAccessor extends AbstractAccessor {
         }
     }
 
+    public List<ConfigListenerRecord> getDataIds(List<String> dataIds) {
+        try {
+            Map<Integer, ParameterContext> selectParams =
+                MetaDbUtil.buildStringParameters(dataIds.toArray(new String[0]));
+            return MetaDbUtil.query(String.format(SELECT_DATA_IDS, concatParams(dataIds)), selectParams,
+                ConfigListenerRecord.class, connection);
+        } catch (Exception e) {
+            MetaDbLogUtil.META_DB_LOG.error("Failed to query the system table '" + CONFIG_LISTENER_TABLE + "'", e);
+            throw new TddlRuntimeException(ErrorCode.ERR_GMS_ACCESS_TO_SYSTEM_TABLE, e, "query", CONFIG_LISTENER_TABLE,
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Current time of meta db, on the same clock as gmt_modified of data ids
+     */
+    public long getCurrentTimeMillis() {
+        try (Statement stmt = connection.createStatement();
+            ResultSet rs = stmt.executeQuery(SELECT_CURRENT_TIME)) {
+            if (!rs.next()) {
+                throw new TddlRuntimeException(ErrorCode.ERR_GMS_ACCESS_TO_SYSTEM_TABLE,
+                    "Fail to get current time of meta db");
+            }
+            return rs.getTimestamp(1).getTime();
+        } catch (Exception e) {
+            MetaDbLogUtil.META_DB_LOG.error("Failed to query current time of meta db", e);
+            throw new TddlRuntimeException(ErrorCode.ERR_GMS_ACCESS_TO_SYSTEM_TABLE, e, "query", CONFIG_LISTENER_TABLE,
+                e.getMessage());
+        }
+    }
+
     public List<ConfigListenerRecord> getDataIdsByStatus(int status) {
         try {
             Map<Integer, ParameterContext> selectParams = Maps.newHashMap();
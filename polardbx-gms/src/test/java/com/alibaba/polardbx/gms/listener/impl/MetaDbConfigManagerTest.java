@@ -0,0 +1,128 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.gms.listener.impl;
+
+import com.alibaba.polardbx.common.mock.MockConnection;
+import com.alibaba.polardbx.common.mock.MockDataSource;
+import com.alibaba.polardbx.gms.topology.ConfigListenerRecord;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+
+public class MetaDbConfigManagerTest {
+
+    private static final String DATA_ID = "polardbx.test.data.id";
+
+    private static ConfigListenerRecord record(String dataId, long opVersion, int status) {
+        ConfigListenerRecord record = new ConfigListenerRecord();
+        record.dataId = dataId;
+        record.opVersion = opVersion;
+        record.status = status;
+        return record;
+    }
+
+    private static MetaDbConfigManager.DataIdContext bind(MetaDbConfigManager manager, long opVersion) {
+        MetaDbConfigManager.DataIdContext context =
+            new MetaDbConfigManager.DataIdContext(DATA_ID, opVersion, (dataId, newOpVersion) -> {
+            });
+        manager.dataIdContextMap.put(DATA_ID, context);
+        return context;
+    }
+
+    @Test
+    public void testOfferOpVersionChangeEvent() {
+        MetaDbConfigManager manager = new MetaDbConfigManager();
+        final int normal = ConfigListenerRecord.DATA_ID_STATUS_NORMAL;
+
+        // not listened on this node
+        Assert.assertFalse(manager.offerOpVersionChangeEvent(record(DATA_ID, 2, normal), -1));
+
+        MetaDbConfigManager.DataIdContext context = bind(manager, 1);
+        Assert.assertFalse(manager.offerOpVersionChangeEvent(record(DATA_ID, 1, normal), -1));
+        Assert.assertTrue(manager.offerOpVersionChangeEvent(record(DATA_ID, 2, normal), -1));
+        // the same change found by both push and scan is queued once
+        Assert.assertFalse(manager.offerOpVersionChangeEvent(record(DATA_ID, 2, normal), -1));
+        Assert.assertFalse(
+            manager.offerOpVersionChangeEvent(record(DATA_ID, 5, ConfigListenerRecord.DATA_ID_STATUS_REMOVED), -1));
+
+        // the event being handled is kept, later ones collapse into the newest
+        Assert.assertTrue(manager.offerOpVersionChangeEvent(record(DATA_ID, 3, normal), -1));
+        Assert.assertTrue(manager.offerOpVersionChangeEvent(record(DATA_ID, 4, normal), -1));
+        Assert.assertEquals(2, context.changeEventQueue.size());
+        Assert.assertEquals(2, context.changeEventQueue.peekFirst().opVersion);
+        Assert.assertEquals(4, context.changeEventQueue.peekLast().opVersion);
+    }
+
+    @Test
+    public void testPropagationStats() {
+        MetaDbConfigManager.PropagationStats stats = new MetaDbConfigManager.PropagationStats();
+        Assert.assertEquals(0, stats.getAvgLatencyMillis());
+
+        MetaDbConfigManager.OpVersionChangeEvent event =
+            new MetaDbConfigManager.OpVersionChangeEvent(DATA_ID, 2, null);
+        event.detectTimeMillis = System.currentTimeMillis() - 100;
+        stats.recordHandled(event);
+
+        // handled right after it is found
+        stats.recordHandled(new MetaDbConfigManager.OpVersionChangeEvent(DATA_ID, 3, null));
+
+        Assert.assertEquals(2, stats.getHandledEventCount());
+        Assert.assertTrue(stats.getMaxLatencyMillis() >= 100);
+        Assert.assertTrue(stats.getAvgLatencyMillis() >= 50);
+        Assert.assertTrue(stats.getAvgLatencyMillis() < stats.getMaxLatencyMillis());
+    }
+
+    @Test
+    public void testLatencyFromChange() {
+        MetaDbConfigManager.PropagationStats stats = new MetaDbConfigManager.PropagationStats();
+
+        // changed 3s before found, on the clock of meta db
+        final long metaDbTimeMillis = 1600000000000L;
+        MetaDbConfigManager.OpVersionChangeEvent event = new MetaDbConfigManager.OpVersionChangeEvent(DATA_ID, 2,
+            new Timestamp(metaDbTimeMillis - 3000), metaDbTimeMillis);
+        Assert.assertEquals(3000, event.changeToDetectMillis);
+        stats.recordHandled(event);
+        Assert.assertTrue(stats.getMaxLatencyMillis() >= 3000);
+
+        // unknown time of meta db
+        event = new MetaDbConfigManager.OpVersionChangeEvent(DATA_ID, 3, new Timestamp(metaDbTimeMillis), -1);
+        Assert.assertEquals(0, event.changeToDetectMillis);
+    }
+
+    @Test
+    public void testPushAfterCommit() throws Exception {
+        MetaDbConfigManager manager = new MetaDbConfigManager();
+        MockConnection trxConn = new MockConnection("getConnection", new MockDataSource());
+        trxConn.setAutoCommit(false);
+
+        manager.pushAfterCommit(trxConn, ImmutableMap.of(DATA_ID, 3L));
+        Assert.assertEquals(1, manager.pushAfterCommitQueue.size());
+
+        MetaDbConfigManager.PushAfterCommit push = manager.pushAfterCommitQueue.peek();
+        Assert.assertFalse(push.isCommitted(ImmutableMap.of()));
+        Assert.assertFalse(push.isCommitted(ImmutableMap.of(DATA_ID, 2L)));
+        Assert.assertTrue(push.isCommitted(ImmutableMap.of(DATA_ID, 3L)));
+        Assert.assertTrue(push.isCommitted(ImmutableMap.of(DATA_ID, 4L)));
+
+        Assert.assertFalse(push.isTrxConnClosed());
+        trxConn.close();
+        Assert.assertTrue(push.isTrxConnClosed());
+    }
+}
@@ -709,10 +709,9 @@ public abstract class AbstractConnection implements NIOConnection {
             }
             int size = buffer.capacity() << 1;
             size = (size > maxPacketSize + packetHeaderSize) ? maxPacketSize + packetHeaderSize : size;
-            ByteBuffer newBuffer = ByteBuffer.allocate(size);
+            ByteBufferHolder newBufferHolder = processor.getBufferPool().allocate(size);
             buffer.position(offset);
-            newBuffer.put(buffer.getBuffer());
-            ByteBufferHolder newBufferHolder = new ByteBufferHolder(newBuffer);
+            newBufferHolder.getBuffer().put(buffer.getBuffer());
             newBufferHolder.setIndex(buffer.readerIndex(), buffer.writerIndex());
             // 回收扩容前的缓存块
             recycle(buffer);
@@ -17,6 +17,7 @@
 package com.alibaba.polardbx.net;
 
 import com.alibaba.polardbx.net.buffer.BufferPool;
+import com.alibaba.polardbx.net.buffer.StripedBufferPool;
 import com.alibaba.polardbx.net.handler.CommandCount;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
@@ -70,10 +71,19 @@ public final class NIOProcessor {
     }
 
     public NIOProcessor(int index, String name, ServerThreadPool handler) throws IOException {
+        this(index, name, handler, 0);
+    }
+
+    /**
+     * @param bufferStripes 大于0时使用按线程分条带的无锁缓存池，否则使用单锁缓存池
+     */
+    public NIOProcessor(int index, String name, ServerThreadPool handler, int bufferStripes) throws IOException {
         this.index = index;
         this.name = name;
         this.reactor = new NIOReactor(name);
-        this.bufferPool = new BufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_CHUNK_SIZE);
+        this.bufferPool = (bufferStripes > 0) ?
+            new StripedBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_CHUNK_SIZE, bufferStripes) :
+            new BufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_CHUNK_SIZE);
         this.handler = handler;
         this.frontends = new ConcurrentHashMap<Long, FrontendConnection>();
         this.commands = new CommandCount();
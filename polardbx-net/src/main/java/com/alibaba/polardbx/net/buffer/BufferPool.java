@@ -17,14 +17,15 @@
 package com.alibaba.polardbx.net.buffer;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author xianmao.hexm
  */
-public final class BufferPool {
+public class BufferPool {
 
-    private final int chunkSize;
+    protected final int chunkSize;
     private final ByteBuffer[] items;
     private final ReentrantLock lock;
     private int putIndex;
@@ -32,14 +33,27 @@ public final class BufferPool {
     private int count;
     private volatile int newCount;
 
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder overflowCount = new LongAdder();
+
     public BufferPool(int bufferSize, int chunkSize) {
+        this(bufferSize, chunkSize, true);
+    }
+
+    /**
+     * @param preallocate 是否预先分配全部缓存块，否则在回收时逐步填充
+     */
+    BufferPool(int bufferSize, int chunkSize, boolean preallocate) {
         this.chunkSize = chunkSize;
         int capacity = bufferSize / chunkSize;
         capacity = (bufferSize % chunkSize == 0) ? capacity : capacity + 1;
         this.items = new ByteBuffer[capacity];
         this.lock = new ReentrantLock();
-        for (int i = 0; i < capacity; i++) {
-            insert(create(chunkSize));
+        if (preallocate) {
+            for (int i = 0; i < capacity; i++) {
+                insert(create(chunkSize));
+            }
         }
     }
 
@@ -51,26 +65,56 @@ public final class BufferPool {
         return count;
     }
 
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
     public int getNewCount() {
         return newCount;
     }
 
+    /**
+     * 直接从池中取得缓存的次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 首选缓存层未命中的次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 池中缓存耗尽而新分配缓存的次数
+     */
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
     public ByteBufferHolder allocate() {
-        ByteBuffer node = null;
-        final ReentrantLock lock = this.lock;
-        lock.lock();
-        try {
-            node = (count == 0) ? null : extract();
-        } finally {
-            lock.unlock();
-        }
+        ByteBuffer node = poll();
         if (node == null) {
-            ++newCount;
-            node = create(chunkSize);
+            missCount.increment();
+            node = createOverflow(chunkSize);
+        } else {
+            hitCount.increment();
         }
         return new ByteBufferHolder(node);
     }
 
+    /**
+     * 分配至少size大小的缓存，超过chunkSize的部分不做池化
+     */
+    public ByteBufferHolder allocate(int size) {
+        if (size <= chunkSize) {
+            return allocate();
+        }
+        return new ByteBufferHolder(createOverflow(size));
+    }
+
     public void recycle(ByteBufferHolder bufferHolder) {
         // 拒绝回收null和容量大于chunkSize的缓存
         if (bufferHolder == null || bufferHolder.getBuffer() == null
@@ -93,6 +137,37 @@ public final class BufferPool {
         }
     }
 
+    /**
+     * 从共享缓存环中取出一个缓存块，池为空时返回null
+     */
+    ByteBuffer poll() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return (count == 0) ? null : extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将缓存块放回共享缓存环，池已满时返回false
+     */
+    boolean offer(ByteBuffer buffer) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (count == items.length) {
+                return false;
+            }
+            buffer.clear();
+            insert(buffer);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void insert(ByteBuffer buffer) {
         items[putIndex] = buffer;
         putIndex = inc(putIndex);
@@ -112,6 +187,15 @@ public final class BufferPool {
         return (++i == items.length) ? 0 : i;
     }
 
+    /**
+     * 池中无可用缓存时新分配缓存块
+     */
+    ByteBuffer createOverflow(int size) {
+        ++newCount;
+        overflowCount.increment();
+        return create(size);
+    }
+
     private ByteBuffer create(int size) {
         return ByteBuffer.allocate(size);
     }
@@ -0,0 +1,194 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.net.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按线程分条带的无锁缓存池。
+ * <p>
+ * 每个尺寸等级(chunkSize, 2*chunkSize, 4*chunkSize ...)拥有若干条带，线程按id散列到固定条带上，
+ * 条带内部通过CAS存取缓存块，不需要加锁；条带未命中或已满时退回到带锁的共享缓存层。
+ * 最小等级的共享层即父类中预分配的缓存环，其余等级的共享层按需填充。
+ */
+public final class StripedBufferPool extends BufferPool {
+
+    public static final int DEFAULT_SIZE_CLASSES = 4;
+    public static final int DEFAULT_STRIPE_SLOTS = 32;
+
+    private final int stripeMask;
+    private final int stripeSlots;
+    /**
+     * sizeClasses[i] 为第i个尺寸等级的缓存大小
+     */
+    private final int[] sizeClasses;
+    /**
+     * stripes[sizeClass][stripe]
+     */
+    private final AtomicReferenceArray<ByteBuffer>[][] stripes;
+    /**
+     * 非最小等级的共享层，下标0未使用
+     */
+    private final BufferPool[] sharedTiers;
+
+    public StripedBufferPool(int bufferSize, int chunkSize, int stripeCount) {
+        this(bufferSize, chunkSize, stripeCount, DEFAULT_SIZE_CLASSES, DEFAULT_STRIPE_SLOTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedBufferPool(int bufferSize, int chunkSize, int stripeCount, int sizeClassCount, int stripeSlots) {
+        super(bufferSize, chunkSize);
+        if (stripeCount <= 0 || sizeClassCount <= 0 || stripeSlots <= 0) {
+            throw new IllegalArgumentException("stripeCount, sizeClassCount and stripeSlots must be positive");
+        }
+        int stripeNum = Integer.highestOneBit(stripeCount);
+        stripeNum = (stripeNum < stripeCount) ? stripeNum << 1 : stripeNum;
+        this.stripeMask = stripeNum - 1;
+        this.stripeSlots = stripeSlots;
+        this.sizeClasses = new int[sizeClassCount];
+        this.stripes = new AtomicReferenceArray[sizeClassCount][stripeNum];
+        this.sharedTiers = new BufferPool[sizeClassCount];
+        for (int i = 0; i < sizeClassCount; i++) {
+            sizeClasses[i] = chunkSize << i;
+            for (int j = 0; j < stripeNum; j++) {
+                stripes[i][j] = new AtomicReferenceArray<ByteBuffer>(stripeSlots);
+            }
+            if (i > 0) {
+                // 较大等级的共享层容量逐级减半，且不预分配
+                sharedTiers[i] = new BufferPool(bufferSize >> i, sizeClasses[i], false);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = super.size();
+        for (AtomicReferenceArray<ByteBuffer> stripe : stripes[0]) {
+            for (int i = 0; i < stripeSlots; i++) {
+                if (stripe.get(i) != null) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return super.capacity() + stripes[0].length * stripeSlots;
+    }
+
+    public int getStripeCount() {
+        return stripeMask + 1;
+    }
+
+    public int getSizeClassCount() {
+        return sizeClasses.length;
+    }
+
+    @Override
+    public ByteBufferHolder allocate() {
+        return new ByteBufferHolder(take(0));
+    }
+
+    @Override
+    public ByteBufferHolder allocate(int size) {
+        int sizeClass = sizeClassOf(size, false);
+        if (sizeClass < 0) {
+            return new ByteBufferHolder(createOverflow(size));
+        }
+        return new ByteBufferHolder(take(sizeClass));
+    }
+
+    @Override
+    public void recycle(ByteBufferHolder bufferHolder) {
+        if (bufferHolder == null) {
+            return;
+        }
+        ByteBuffer buffer = bufferHolder.getBuffer();
+        if (buffer == null) {
+            return;
+        }
+        // 只回收与尺寸等级完全匹配的缓存，扩容产生的其它尺寸缓存直接丢弃
+        int sizeClass = sizeClassOf(buffer.capacity(), true);
+        if (sizeClass < 0) {
+            return;
+        }
+        buffer.clear();
+        if (!offerToStripe(stripeOf(sizeClass), buffer)) {
+            if (sizeClass == 0) {
+                offer(buffer);
+            } else {
+                sharedTiers[sizeClass].offer(buffer);
+            }
+        }
+        bufferHolder.setBuffer(null);
+    }
+
+    private ByteBuffer take(int sizeClass) {
+        ByteBuffer buffer = pollFromStripe(stripeOf(sizeClass));
+        if (buffer != null) {
+            hitCount.increment();
+            return buffer;
+        }
+        missCount.increment();
+        buffer = (sizeClass == 0) ? poll() : sharedTiers[sizeClass].poll();
+        if (buffer == null) {
+            buffer = createOverflow(sizeClasses[sizeClass]);
+        }
+        return buffer;
+    }
+
+    private AtomicReferenceArray<ByteBuffer> stripeOf(int sizeClass) {
+        return stripes[sizeClass][(int) Thread.currentThread().getId() & stripeMask];
+    }
+
+    private ByteBuffer pollFromStripe(AtomicReferenceArray<ByteBuffer> stripe) {
+        for (int i = 0; i < stripeSlots; i++) {
+            if (stripe.get(i) != null) {
+                ByteBuffer buffer = stripe.getAndSet(i, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean offerToStripe(AtomicReferenceArray<ByteBuffer> stripe, ByteBuffer buffer) {
+        for (int i = 0; i < stripeSlots; i++) {
+            if (stripe.get(i) == null && stripe.compareAndSet(i, null, buffer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param exact 为true时要求size恰好等于某个尺寸等级
+     * @return 尺寸等级下标，没有合适等级时返回-1
+     */
+    private int sizeClassOf(int size, boolean exact) {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            if (exact ? sizeClasses[i] == size : sizeClasses[i] >= size) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
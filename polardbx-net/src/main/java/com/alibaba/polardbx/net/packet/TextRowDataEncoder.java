@@ -0,0 +1,174 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.net.packet;
+
+import com.alibaba.polardbx.net.compress.IPacketOutputProxy;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Encodes text protocol result rows field by field into a reusable buffer.
+ * <p>
+ * Unlike {@link RowDataPacket}, values are appended directly as length-encoded strings, so callers
+ * holding primitive or slice values do not need to materialize a byte[] per field and a list per
+ * row. One encoder is meant to be reused for all rows of a result set and is not thread safe.
+ */
+public class TextRowDataEncoder {
+
+    private static final byte[] LONG_MIN_VALUE = String.valueOf(Long.MIN_VALUE).getBytes();
+
+    private byte[] buffer;
+    private int position;
+
+    public TextRowDataEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public void writeNull() {
+        ensureCapacity(1);
+        buffer[position++] = RowDataPacket.NULL_MARK;
+    }
+
+    public void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(LONG_MIN_VALUE, 0, LONG_MIN_VALUE.length);
+            return;
+        }
+        boolean negative = value < 0;
+        long abs = negative ? -value : value;
+        int digits = 1;
+        for (long v = abs / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        int length = negative ? digits + 1 : digits;
+
+        // at most 20 chars, the length header is always a single byte
+        ensureCapacity(1 + length);
+        buffer[position++] = (byte) length;
+        int end = position + length;
+        int p = end;
+        do {
+            buffer[--p] = (byte) ('0' + abs % 10);
+            abs /= 10;
+        } while (abs != 0);
+        if (negative) {
+            buffer[--p] = '-';
+        }
+        position = end;
+    }
+
+    public void writeBytes(byte[] value) {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeBytes(value, 0, value.length);
+        }
+    }
+
+    public void writeBytes(byte[] value, int offset, int length) {
+        writeLength(length);
+        ensureCapacity(length);
+        System.arraycopy(value, offset, buffer, position, length);
+        position += length;
+    }
+
+    public void writeSlice(Slice value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        int length = value.length();
+        writeLength(length);
+        ensureCapacity(length);
+        value.getBytes(0, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Payload of the row encoded so far, valid until the next write or reset.
+     */
+    public Slice slice() {
+        return Slices.wrappedBuffer(buffer, 0, position);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public void reset() {
+        position = 0;
+    }
+
+    /**
+     * Write the encoded row as one or more mysql packets and reset the encoder for the next row.
+     */
+    public IPacketOutputProxy write(IPacketOutputProxy proxy, Supplier<Byte> packetIdGen) {
+        int offset = 0;
+        int packetLen;
+        do {
+            packetLen = Math.min(position - offset, MySQLPacket.MAX_PACKET_PAYLOAD_LENGTH);
+
+            proxy.packetBegin();
+            proxy.checkWriteCapacity(proxy.getConnection().getPacketHeaderSize());
+            proxy.writeUB3(packetLen);
+            proxy.write(packetIdGen.get());
+            if (packetLen > 0) {
+                proxy.checkWriteCapacity(packetLen);
+                proxy.write(buffer, offset, packetLen);
+            }
+            proxy.packetEnd();
+
+            offset += packetLen;
+            // a payload of exactly 16M-1 bytes must be followed by an empty packet
+        } while (packetLen == MySQLPacket.MAX_PACKET_PAYLOAD_LENGTH);
+
+        reset();
+        return proxy;
+    }
+
+    private void writeLength(long length) {
+        ensureCapacity(9);
+        if (length < 251) {
+            buffer[position++] = (byte) length;
+        } else if (length < 0x10000L) {
+            buffer[position++] = (byte) 252;
+            writeLittleEndian(length, 2);
+        } else if (length < 0x1000000L) {
+            buffer[position++] = (byte) 253;
+            writeLittleEndian(length, 3);
+        } else {
+            buffer[position++] = (byte) 254;
+            writeLittleEndian(length, 8);
+        }
+    }
+
+    private void writeLittleEndian(long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            buffer[position++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = position + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.net.buffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class StripedBufferPoolTest {
+
+    @Test
+    public void testAllocateAndRecycle() {
+        StripedBufferPool pool = new StripedBufferPool(4096 * 4, 4096, 2, 3, 2);
+        Assert.assertEquals(2, pool.getStripeCount());
+
+        ByteBufferHolder holder = pool.allocate();
+        Assert.assertEquals(4096, holder.capacity());
+        // 条带初始为空，从共享层取得
+        Assert.assertEquals(1, pool.getMissCount());
+        Assert.assertEquals(0, pool.getOverflowCount());
+
+        pool.recycle(holder);
+        Assert.assertNull(holder.getBuffer());
+
+        ByteBufferHolder again = pool.allocate();
+        Assert.assertEquals(1, pool.getHitCount());
+        Assert.assertEquals(4096, again.capacity());
+    }
+
+    @Test
+    public void testSizeClasses() {
+        StripedBufferPool pool = new StripedBufferPool(4096 * 4, 4096, 1, 3, 2);
+
+        ByteBufferHolder medium = pool.allocate(5000);
+        Assert.assertEquals(8192, medium.capacity());
+        Assert.assertEquals(1, pool.getOverflowCount());
+        pool.recycle(medium);
+        Assert.assertEquals(8192, pool.allocate(8192).capacity());
+        Assert.assertEquals(1, pool.getHitCount());
+
+        ByteBufferHolder huge = pool.allocate(100000);
+        Assert.assertEquals(100000, huge.capacity());
+        pool.recycle(huge);
+        // 不属于任何尺寸等级的缓存不会被回收
+        Assert.assertNotNull(huge.getBuffer());
+    }
+
+    @Test
+    public void testOverflow() {
+        StripedBufferPool pool = new StripedBufferPool(4096 * 2, 4096, 1, 1, 1);
+        List<ByteBufferHolder> holders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            holders.add(pool.allocate());
+        }
+        Assert.assertEquals(1, pool.getOverflowCount());
+        Assert.assertEquals(1, pool.getNewCount());
+
+        for (ByteBufferHolder holder : holders) {
+            pool.recycle(holder);
+        }
+        // 一个放入条带，两个回到共享层
+        Assert.assertEquals(3, pool.size());
+    }
+
+    @Test
+    public void testConcurrentAllocate() throws Exception {
+        final StripedBufferPool pool = new StripedBufferPool(4096 * 64, 4096, 4);
+        final int threads = 8;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10000; i++) {
+                        ByteBufferHolder holder = pool.allocate();
+                        holder.getBuffer().putInt(i);
+                        pool.recycle(holder);
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        Assert.assertNull(error.get());
+        Assert.assertEquals(threads * 10000, pool.getHitCount() + pool.getMissCount());
+        Assert.assertTrue(pool.size() <= pool.capacity());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.net.packet;
+
+import com.alibaba.polardbx.net.util.MySQLMessage;
+import io.airlift.slice.Slices;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TextRowDataEncoderTest {
+
+    @Test
+    public void testEncodeFields() {
+        TextRowDataEncoder encoder = new TextRowDataEncoder(4);
+        long[] longs = {0, 7, -1, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long l : longs) {
+            encoder.writeLong(l);
+        }
+        encoder.writeNull();
+        encoder.writeBytes("abc".getBytes());
+        encoder.writeBytes(new byte[0]);
+        encoder.writeBytes(null);
+        byte[] large = new byte[70000];
+        Arrays.fill(large, (byte) 'x');
+        encoder.writeSlice(Slices.wrappedBuffer(large));
+
+        MySQLMessage mm = new MySQLMessage(encoder.slice().getBytes());
+        for (long l : longs) {
+            Assert.assertEquals(String.valueOf(l), new String(mm.readBytesWithLength()));
+        }
+        Assert.assertEquals(MySQLMessage.NULL_LENGTH, mm.readLength());
+        Assert.assertEquals("abc", new String(mm.readBytesWithLength()));
+        Assert.assertEquals(0, mm.readBytesWithLength().length);
+        Assert.assertEquals(MySQLMessage.NULL_LENGTH, mm.readLength());
+        Assert.assertArrayEquals(large, mm.readBytesWithLength());
+        Assert.assertFalse(mm.hasRemaining());
+
+        encoder.reset();
+        Assert.assertEquals(0, encoder.size());
+    }
+}
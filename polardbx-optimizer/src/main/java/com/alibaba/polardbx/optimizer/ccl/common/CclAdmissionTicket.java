@@ -0,0 +1,58 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.optimizer.ccl.common;
+
+/**
+ * Admission state of a query under adaptive admission control.
+ */
+public class CclAdmissionTicket {
+
+    private final boolean ap;
+    private final Thread thread;
+    private final long startNanos;
+    /**
+     * Whether the AP query is waiting in the admission queue.
+     */
+    private volatile boolean waiting;
+
+    public CclAdmissionTicket(boolean ap, Thread thread) {
+        this.ap = ap;
+        this.thread = thread;
+        this.startNanos = System.nanoTime();
+    }
+
+    public boolean isAp() {
+        return ap;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public boolean isWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(boolean waiting) {
+        this.waiting = waiting;
+    }
+}
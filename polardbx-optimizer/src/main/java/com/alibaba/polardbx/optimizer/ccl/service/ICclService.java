@@ -43,4 +43,9 @@ public interface ICclService {
      */
     List<Long> getCacheStats();
 
+    /**
+     * @return [ apLimit, apRunning, apWaiting, apQueuedCount, apTimeoutCount, apAvgWaitMillis, apMaxWaitMillis, tpLatencyMillis, cpuUsage, memoryUsage ]
+     */
+    List<Long> getAdmissionStats();
+
 }
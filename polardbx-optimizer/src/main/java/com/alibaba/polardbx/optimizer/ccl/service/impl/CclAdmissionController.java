@@ -0,0 +1,245 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.optimizer.ccl.service.impl;
+
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.optimizer.ccl.common.CclAdmissionTicket;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.memory.MemoryManager;
+import com.alibaba.polardbx.optimizer.memory.MemoryPool;
+import com.alibaba.polardbx.optimizer.workload.WorkloadUtil;
+import com.google.common.collect.Lists;
+import com.sun.management.OperatingSystemMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive admission control of AP queries on this node.
+ * <p>
+ * TP queries are never blocked, only their latency is recorded. AP queries are admitted in FIFO order
+ * within a concurrency limit, which is adjusted every second by AIMD: halved when the average TP latency
+ * exceeds the target, or CPU or memory usage exceeds the threshold, otherwise increased by one up to
+ * the configured max concurrency.
+ */
+public class CclAdmissionController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CclAdmissionController.class);
+
+    private static final long ADJUST_INTERVAL_MILLIS = 1000L;
+
+    private static final String ADMISSION_WAIT_TIMEOUT_MESSAGE_FORMAT =
+        "Exceeding the adaptive admission limit %d of AP queries per node after waiting for %d ms";
+
+    private final OperatingSystemMXBean operatingSystemMXBean;
+
+    /**
+     * Tickets of waiting AP queries, guarded by this.
+     */
+    private final ArrayDeque<CclAdmissionTicket> waitQueue = new ArrayDeque<>();
+    private int apRunning = 0;
+    private int apLimit = DynamicConfig.getInstance().getAdmissionMaxApConcurrency();
+
+    private final AtomicLong lastAdjustMillis = new AtomicLong(System.currentTimeMillis());
+    private final LongAdder tpLatencyNanos = new LongAdder();
+    private final LongAdder tpCount = new LongAdder();
+    private volatile long tpLatencyMillis = 0;
+    private volatile long cpuUsage = 0;
+    private volatile long memoryUsage = 0;
+
+    private final AtomicLong queuedCount = new AtomicLong(0);
+    private final AtomicLong timeoutCount = new AtomicLong(0);
+    private final AtomicLong totalWaitMillis = new AtomicLong(0);
+    private final AtomicLong maxWaitMillis = new AtomicLong(0);
+
+    public CclAdmissionController() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean) {
+            this.operatingSystemMXBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        } else {
+            this.operatingSystemMXBean = null;
+        }
+    }
+
+    /**
+     * Admit the query, AP queries may wait in the queue until admitted or timed out.
+     */
+    public void admit(ExecutionContext executionContext) {
+        if (!DynamicConfig.getInstance().enableAdaptiveAdmission() || executionContext == null
+            || executionContext.isRescheduled() || executionContext.getExplain() != null
+            || executionContext.isInternalSystemSql() || executionContext.getCclAdmissionTicket() != null) {
+            return;
+        }
+
+        final boolean ap = WorkloadUtil.isApWorkload(WorkloadUtil.getWorkloadType(executionContext));
+        final CclAdmissionTicket ticket = new CclAdmissionTicket(ap, Thread.currentThread());
+        // Set before waiting so that the waiting query can be interrupted when its connection is killed.
+        executionContext.setCclAdmissionTicket(ticket);
+        if (ap) {
+            try {
+                acquire(ticket);
+            } catch (Throwable t) {
+                executionContext.setCclAdmissionTicket(null);
+                throw t;
+            }
+        }
+    }
+
+    /**
+     * Release the AP slot or record the TP latency of the query.
+     */
+    public void release(ExecutionContext executionContext) {
+        final CclAdmissionTicket ticket = executionContext.getCclAdmissionTicket();
+        if (ticket == null) {
+            return;
+        }
+        executionContext.setCclAdmissionTicket(null);
+
+        if (ticket.isAp()) {
+            synchronized (this) {
+                apRunning--;
+                notifyAll();
+            }
+        } else {
+            tpLatencyNanos.add(System.nanoTime() - ticket.getStartNanos());
+            tpCount.increment();
+        }
+        tryAdjust();
+    }
+
+    private void acquire(CclAdmissionTicket ticket) {
+        tryAdjust();
+
+        final long startMillis = System.currentTimeMillis();
+        final long deadline = startMillis + DynamicConfig.getInstance().getAdmissionWaitTimeout();
+        synchronized (this) {
+            if (waitQueue.isEmpty() && apRunning < apLimit) {
+                apRunning++;
+                return;
+            }
+
+            waitQueue.addLast(ticket);
+            ticket.setWaiting(true);
+            queuedCount.incrementAndGet();
+            try {
+                while (waitQueue.peekFirst() != ticket || apRunning >= apLimit) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new TddlRuntimeException(ErrorCode.ERR_CCL, String
+                            .format(ADMISSION_WAIT_TIMEOUT_MESSAGE_FORMAT, apLimit,
+                                System.currentTimeMillis() - startMillis), null);
+                    }
+                    // Wake up periodically to adjust the limit even if no query finishes.
+                    wait(Math.min(remaining, ADJUST_INTERVAL_MILLIS));
+                    tryAdjust();
+                }
+                apRunning++;
+            } catch (InterruptedException e) {
+                throw new TddlRuntimeException(ErrorCode.ERR_CCL, String
+                    .format(ADMISSION_WAIT_TIMEOUT_MESSAGE_FORMAT, apLimit,
+                        System.currentTimeMillis() - startMillis), null);
+            } finally {
+                ticket.setWaiting(false);
+                waitQueue.remove(ticket);
+                // Let the next one in the queue check again.
+                notifyAll();
+
+                final long waitMillis = System.currentTimeMillis() - startMillis;
+                totalWaitMillis.addAndGet(waitMillis);
+                maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Adjust the AP concurrency limit if the interval passes since last adjustment.
+     */
+    private void tryAdjust() {
+        final long now = System.currentTimeMillis();
+        final long last = lastAdjustMillis.get();
+        if (now - last < ADJUST_INTERVAL_MILLIS || !lastAdjustMillis.compareAndSet(last, now)) {
+            return;
+        }
+
+        try {
+            final long count = tpCount.sumThenReset();
+            final long latencyNanos = tpLatencyNanos.sumThenReset();
+            if (count > 0) {
+                tpLatencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos / count);
+            }
+            if (operatingSystemMXBean != null) {
+                final double cpuLoad = operatingSystemMXBean.getSystemCpuLoad();
+                cpuUsage = cpuLoad < 0 ? 0 : (long) (cpuLoad * 100);
+            }
+            final MemoryPool globalPool = MemoryManager.getInstance().getGlobalMemoryPool();
+            if (globalPool.getMaxLimit() > 0) {
+                memoryUsage = globalPool.getMemoryUsage() * 100 / globalPool.getMaxLimit();
+            }
+
+            final DynamicConfig config = DynamicConfig.getInstance();
+            final boolean overloaded = (count > 0 && tpLatencyMillis > config.getAdmissionTpLatencyTarget())
+                || cpuUsage > config.getAdmissionCpuThreshold()
+                || memoryUsage > config.getAdmissionMemoryThreshold();
+            final int maxConcurrency = config.getAdmissionMaxApConcurrency();
+            synchronized (this) {
+                final int oldLimit = apLimit;
+                if (overloaded) {
+                    apLimit = Math.max(1, Math.min(apLimit, maxConcurrency) / 2);
+                } else {
+                    apLimit = Math.min(maxConcurrency, apLimit + 1);
+                }
+                if (apLimit > oldLimit) {
+                    notifyAll();
+                } else if (apLimit < oldLimit && LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(String.format(
+                        "Decrease AP admission limit from %d to %d, tp latency %d ms, cpu %d%%, memory %d%%",
+                        oldLimit, apLimit, tpLatencyMillis, cpuUsage, memoryUsage));
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.warn("Failed to adjust AP admission limit", t);
+        }
+    }
+
+    /**
+     * @return [ apLimit, apRunning, apWaiting, apQueuedCount, apTimeoutCount, apAvgWaitMillis, apMaxWaitMillis,
+     * tpLatencyMillis, cpuUsage, memoryUsage ]
+     */
+    public List<Long> getStats() {
+        final long limit;
+        final long running;
+        final long waiting;
+        synchronized (this) {
+            limit = apLimit;
+            running = apRunning;
+            waiting = waitQueue.size();
+        }
+        final long queued = queuedCount.get();
+        final long avgWaitMillis = queued == 0 ? 0 : totalWaitMillis.get() / queued;
+        return Lists.newArrayList(limit, running, waiting, queued, timeoutCount.get(), avgWaitMillis,
+            maxWaitMillis.get(), tpLatencyMillis, cpuUsage, memoryUsage);
+    }
+}
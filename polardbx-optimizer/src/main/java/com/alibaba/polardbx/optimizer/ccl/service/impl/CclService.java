@@ -115,6 +115,8 @@ public class CclService implements ICclService {
 
     private final ICclConfigService cclConfigService;
 
+    private final CclAdmissionController admissionController = new CclAdmissionController();
+
     /**
      * stat the effects of the caches
      */
@@ -128,6 +130,13 @@ public class CclService implements ICclService {
 
     @Override
     public boolean begin(final ExecutionContext executionContext) {
+        final boolean matched = beginCclRule(executionContext);
+        // Admission is done after the ccl rule, so that the query killed or rescheduled by the rule never queues.
+        admissionController.admit(executionContext);
+        return matched;
+    }
+
+    private boolean beginCclRule(final ExecutionContext executionContext) {
         if (!isActive() || executionContext == null || executionContext.isRescheduled()) {
             return false;
         }
@@ -252,6 +261,8 @@ public class CclService implements ICclService {
         if (executionContext == null) {
             return;
         }
+        admissionController.release(executionContext);
+
         CclContext cclContext = executionContext.getCclContext();
         if (cclContext == null || !cclContext.isValid()) {
             //not matched executionContext
@@ -598,6 +609,11 @@ public class CclService implements ICclService {
             totalMatchCclRuleCount);
     }
 
+    @Override
+    public List<Long> getAdmissionStats() {
+        return admissionController.getStats();
+    }
+
     private boolean isActive() {
         return !cclConfigService.getCclRuleInfos().isEmpty();
     }
@@ -60,6 +60,7 @@ import com.alibaba.polardbx.gms.metadb.table.TableInfoManager;
 import com.alibaba.polardbx.gms.privilege.AccountType;
 import com.alibaba.polardbx.gms.privilege.PolarPrivManager;
 import com.alibaba.polardbx.optimizer.OptimizerContext;
+import com.alibaba.polardbx.optimizer.ccl.common.CclAdmissionTicket;
 import com.alibaba.polardbx.optimizer.ccl.common.CclContext;
 import com.alibaba.polardbx.optimizer.config.table.SchemaManager;
 import com.alibaba.polardbx.optimizer.core.planner.ExecutionPlan;
@@ -346,6 +347,8 @@ public class ExecutionContext {
 
     private volatile CclContext cclContext;
 
+    private volatile CclAdmissionTicket cclAdmissionTicket;
+
     private boolean rescheduled;
 
     private QuerySpillSpaceMonitor querySpillSpaceMonitor;
@@ -1619,6 +1622,14 @@ public class ExecutionContext {
         this.cclContext = cclContext;
     }
 
+    public CclAdmissionTicket getCclAdmissionTicket() {
+        return this.cclAdmissionTicket;
+    }
+
+    public void setCclAdmissionTicket(CclAdmissionTicket cclAdmissionTicket) {
+        this.cclAdmissionTicket = cclAdmissionTicket;
+    }
+
     public boolean isRescheduled() {
         return rescheduled;
     }
@@ -1693,6 +1704,7 @@ public class ExecutionContext {
 
         scalarSubqueryCtxMap.clear();
         this.cclContext = null;
+        this.cclAdmissionTicket = null;
 
         try {
             if (getQuerySpillSpaceMonitor() != null) {
@@ -1811,6 +1823,7 @@ public class ExecutionContext {
         loadDataContext = null;
         rescheduled = false;
         cclContext = null;
+        cclAdmissionTicket = null;
         querySpillSpaceMonitor = null;
         shareReadView = false;
         point = null;
@@ -16,6 +16,7 @@
 
 package com.alibaba.polardbx.optimizer.context;
 
+import com.alibaba.polardbx.common.utils.memory.SizeOf;
 import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
 import com.alibaba.polardbx.optimizer.core.rel.SimpleShardProcessor;
 import com.alibaba.polardbx.optimizer.utils.LoadDataCacheManager;
@@ -25,14 +26,18 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 public class LoadDataContext {
 
-    public static final List<String> END = new ArrayList<>();
+    public static final List<List<String>> END = new ArrayList<>();
+
+    private static final long PROGRESS_REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(10);
 
     private final LoadDataCacheManager dataCacheManager;
-    private final BlockingQueue<List<String>> parameters;
+    private final BlockingQueue<List<List<String>>> parameters;
     private final long batchInsertNum;
     private String loadDataSql;
     private AtomicLong loadDataAffectRows = new AtomicLong(0);
@@ -50,9 +55,20 @@ public class LoadDataContext {
     private boolean swapColumns;
     private boolean gsiInsertTurn;
 
+    /**
+     * 并行解析时队列中的每行只包含原始数据，由消费线程解析为字段
+     */
+    private Function<String, List<String>> fieldsParser;
+
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong lastReportTime = new AtomicLong(startTime);
+    private final AtomicLong parsedRows = new AtomicLong(0);
+    private final AtomicLong routedPhyInserts = new AtomicLong(0);
+    private final AtomicLong executedPhyInserts = new AtomicLong(0);
+
     public LoadDataContext(
         LoadDataCacheManager dataCacheManager,
-        BlockingQueue<List<String>> parameters,
+        BlockingQueue<List<List<String>>> parameters,
         long batchInsertNum, String loadDataSql, List<SqlTypeName> valueTypes,
         String fieldTerminatedBy, Charset character, List<ColumnMeta> metaList, String tableName) {
         this.dataCacheManager = dataCacheManager;
@@ -70,7 +86,7 @@ public class LoadDataContext {
         return dataCacheManager;
     }
 
-    public BlockingQueue<List<String>> getParameters() {
+    public BlockingQueue<List<List<String>>> getParameters() {
         return parameters;
     }
 
@@ -179,4 +195,57 @@ public class LoadDataContext {
     public void setGsiInsertTurn(boolean gsiInsertTurn) {
         this.gsiInsertTurn = gsiInsertTurn;
     }
+
+    public void setFieldsParser(Function<String, List<String>> fieldsParser) {
+        this.fieldsParser = fieldsParser;
+    }
+
+    /**
+     * 返回队列中一行数据对应的可修改的字段列表
+     */
+    public List<String> parseFields(List<String> row) {
+        return fieldsParser == null ? row : fieldsParser.apply(row.get(0));
+    }
+
+    /**
+     * 一行数据在缓存中占用的内存，读取线程和消费线程按照相同的方式计算
+     */
+    public static long sizeOf(List<String> row) {
+        long size = 0L;
+        for (String field : row) {
+            size += SizeOf.sizeOfCharArray(field.length());
+        }
+        return size;
+    }
+
+    public AtomicLong getParsedRows() {
+        return parsedRows;
+    }
+
+    public AtomicLong getRoutedPhyInserts() {
+        return routedPhyInserts;
+    }
+
+    public AtomicLong getExecutedPhyInserts() {
+        return executedPhyInserts;
+    }
+
+    /**
+     * 距离上次汇报超过间隔时返回true，保证同一时刻只有一个线程汇报进度
+     */
+    public boolean needReportProgress() {
+        final long now = System.currentTimeMillis();
+        final long last = lastReportTime.get();
+        return now - last >= PROGRESS_REPORT_INTERVAL && lastReportTime.compareAndSet(last, now);
+    }
+
+    public String getProgress() {
+        final long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        return String.format(
+            "table: %s, parsed rows: %d, affected rows: %d, rows/s: %d, physical inserts: %d/%d, "
+                + "buffer blocked: %d times %d ms",
+            tableName, parsedRows.get(), loadDataAffectRows.get(), parsedRows.get() * 1000 / elapsed,
+            executedPhyInserts.get(), routedPhyInserts.get(), dataCacheManager.getBlockedTimes(),
+            TimeUnit.NANOSECONDS.toMillis(dataCacheManager.getBlockedNanos()));
+    }
 }
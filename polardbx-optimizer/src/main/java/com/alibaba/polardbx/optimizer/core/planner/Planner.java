@@ -370,8 +370,10 @@ public class Planner {
             startParameterize = ThreadCpuStatUtil.getThreadCpuTimeNano();
         }
 
-        SqlParameterized result =
-            SqlParameterizeUtils.parameterize(afterProcessSql, currentParameter, executionContext, isPrepare);
+        boolean lexerFastPath =
+            executionContext.getParamManager().getBoolean(ConnectionParams.ENABLE_LEXER_PARAMETERIZE);
+        SqlParameterized result = SqlParameterizeUtils.parameterize(afterProcessSql, currentParameter,
+            executionContext, isPrepare, lexerFastPath);
 
         if (enableSqlCpu) {
             executionContext.getRuntimeStatistics()
@@ -167,6 +167,7 @@ public class JoinToRuntimeFilterJoinRule extends RelOptRule {
         }
 
         boolean usingXxHash = paramManager.getBoolean(ConnectionParams.ENABLE_RUNTIME_FILTER_XXHASH);
+        boolean enablePushMinMax = paramManager.getBoolean(ConnectionParams.ENABLE_PUSH_RUNTIME_FILTER_MIN_MAX);
         List<RexNode> buildConditions = new ArrayList<>();
         List<RexNode> probeConditions = new ArrayList<>();
         for (int i = 0; i < buildKeys.size(); i++) {
@@ -204,8 +205,12 @@ public class JoinToRuntimeFilterJoinRule extends RelOptRule {
             int runTimeFilterId = buildKeyToRuntimeFilterId.get(buildKey);
             Pair<Integer, Integer> probeKeyRFilterIdPair = Pair.of(probeKeys.get(i), runTimeFilterId);
             if (!probeKeyRFilterIdPairs.contains(probeKeyRFilterIdPair)) {
+                // Only signed integer ranges can be compared by storage exactly as collected by min max filter
+                Class<?> probeKeyClass = probeKeyType.getDataClass();
+                boolean pushMinMax =
+                    enablePushMinMax && (probeKeyClass == Integer.class || probeKeyClass == Long.class);
                 SqlRuntimeFilterFunction filterFunction =
-                    new SqlRuntimeFilterFunction(runTimeFilterId, guessSelectivity, usingXxHash);
+                    new SqlRuntimeFilterFunction(runTimeFilterId, guessSelectivity, usingXxHash, pushMinMax);
                 RexInputRef probeRexNode = new RexInputRef(
                     probeKeys.get(i), probeType.getFieldList().get(probeKeys.get(i)).getType());
                 probeConditions.add(relBuilder.call(filterFunction, probeRexNode));
@@ -47,6 +47,12 @@ public class RuntimeFilterDynamicParamInfo implements DynamicParamInfo {
             new RuntimeFilterDynamicParamInfo(InfoType.BLOOM_FILTER_NUM_FUNC, runtimeFilterId));
     }
 
+    public static List<RuntimeFilterDynamicParamInfo> minMaxFromRuntimeFilterId(int runtimeFilterId) {
+        return Lists.newArrayList(
+            new RuntimeFilterDynamicParamInfo(InfoType.MIN_VALUE, runtimeFilterId),
+            new RuntimeFilterDynamicParamInfo(InfoType.MAX_VALUE, runtimeFilterId));
+    }
+
     public InfoType getInfoType() {
         return infoType;
     }
@@ -67,6 +73,12 @@ public class RuntimeFilterDynamicParamInfo implements DynamicParamInfo {
         case BLOOM_FILTER_NUM_FUNC:
             method = ParameterMethod.setBloomFilterFuncNum;
             break;
+        case MIN_VALUE:
+            method = ParameterMethod.setRuntimeFilterMinValue;
+            break;
+        case MAX_VALUE:
+            method = ParameterMethod.setRuntimeFilterMaxValue;
+            break;
         default:
             throw GeneralUtil.nestedException("Unsupported runtime filter info type: " + infoType);
         }
@@ -78,6 +90,7 @@ public class RuntimeFilterDynamicParamInfo implements DynamicParamInfo {
      * 目前runtime filter是通过bloom filter实现的，因此每个runtime filter下推至mysql的时候都需要传递三个参数:
      * bloom filter的数据, bloom filter 数据长度，bloom filter函数个数
      * 具体定义可以参见mysql中实现的bloomfilter的udf的参数
+     * 整数列的runtime filter还会额外下推min/max两个参数, 用于 col BETWEEN ? AND ? 的范围过滤
      */
     public enum InfoType {
         // bloom filter 二进制数据
@@ -85,6 +98,10 @@ public class RuntimeFilterDynamicParamInfo implements DynamicParamInfo {
         // bloom filter数据长度
         BLOOM_FILTER_DATA_LENGTH,
         // bloom filter函数个数
-        BLOOM_FILTER_NUM_FUNC
+        BLOOM_FILTER_NUM_FUNC,
+        // 过滤范围的最小值
+        MIN_VALUE,
+        // 过滤范围的最大值
+        MAX_VALUE
     }
 }
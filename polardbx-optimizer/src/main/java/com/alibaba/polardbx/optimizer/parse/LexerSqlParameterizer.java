@@ -0,0 +1,414 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.optimizer.parse;
+
+import com.alibaba.polardbx.common.TddlConstants;
+import com.alibaba.polardbx.common.utils.Pair;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.druid.sql.ast.SQLStatement;
+import com.alibaba.polardbx.druid.sql.ast.SqlType;
+import com.alibaba.polardbx.druid.sql.ast.statement.SQLInsertStatement;
+import com.alibaba.polardbx.druid.sql.ast.statement.SQLSelect;
+import com.alibaba.polardbx.druid.sql.ast.statement.SQLSelectQueryBlock;
+import com.alibaba.polardbx.druid.sql.ast.statement.SQLSelectStatement;
+import com.alibaba.polardbx.druid.sql.dialect.mysql.parser.MySqlLexer;
+import com.alibaba.polardbx.druid.sql.parser.ByteString;
+import com.alibaba.polardbx.druid.sql.parser.Lexer;
+import com.alibaba.polardbx.druid.sql.parser.Token;
+import com.alibaba.polardbx.optimizer.parse.bean.SqlParameterized;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-stream parameterizer for simple DML/DQL.
+ * <p>
+ * The sql is scanned once by the lexer, literals are pulled out as parameters and the remaining tokens form a
+ * fingerprint. The first statement of a fingerprint still goes through the full parser and
+ * {@link SqlParameterizeUtils}; if the literals collected by the lexer are exactly the parameters exported by
+ * the visitor, the parameterized sql is remembered as a template. Later statements with the same fingerprint
+ * are parameterized from the template without building any AST, so a plan cache hit needs no parsing at all.
+ * <p>
+ * Statements with comments, hints, variables, multiple statements or literals in the select list (whose text
+ * ends up in the column alias) are never templated.
+ * <p>
+ * A minus sign is folded into the following number unless the previous token ends an operand, which is how the
+ * parser decides between unary and binary minus. The sign stays in the fingerprint either way, and a statement
+ * with a signed zero never becomes a template since it can not tell a wrong guess from a right one.
+ */
+public class LexerSqlParameterizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LexerSqlParameterizer.class);
+
+    /**
+     * Longer statements are mostly batch inserts, which are not worth a template per row count.
+     */
+    private static final int MAX_SQL_LENGTH = 8192;
+
+    private static final LexerSqlParameterizer INSTANCE =
+        new LexerSqlParameterizer(TddlConstants.DEFAULT_OPTIMIZER_CACHE_SIZE);
+
+    private final Cache<String, Template> templates;
+
+    public LexerSqlParameterizer(long capacity) {
+        this.templates = CacheBuilder.newBuilder()
+            .maximumSize(capacity)
+            .expireAfterAccess(12, TimeUnit.HOURS)
+            .build();
+    }
+
+    public static LexerSqlParameterizer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Scan the sql with the lexer.
+     *
+     * @return fingerprint and literals, or null if the sql can not be parameterized by tokens
+     */
+    public static Scan scan(ByteString sql) {
+        if (sql.length() > MAX_SQL_LENGTH) {
+            return null;
+        }
+        try {
+            Lexer lexer = new MySqlLexer(sql, SqlParameterizeUtils.parserFeatures);
+            StringBuilder fingerprint = new StringBuilder(sql.length());
+            List<Object> literals = new ArrayList<>();
+            // paren depth of each select list being scanned
+            int[] selectDepths = new int[8];
+            int selects = 0;
+            int depth = 0;
+            Token prev = null;
+            // unary minus folded into the following number, as the parser does
+            boolean negative = false;
+            boolean signedZero = false;
+
+            lexer.nextToken();
+            for (; ; ) {
+                Token token = lexer.token();
+                if (negative && token != Token.LITERAL_INT && token != Token.LITERAL_FLOAT) {
+                    fingerprint.append("- ");
+                    negative = false;
+                }
+                switch (token) {
+                case EOF:
+                    if (lexer.hasComment() || fingerprint.length() == 0) {
+                        return null;
+                    }
+                    return new Scan(fingerprint.toString(), literals, signedZero);
+                case LITERAL_INT:
+                case LITERAL_FLOAT:
+                case LITERAL_CHARS:
+                    if (selects > 0) {
+                        return null;
+                    }
+                    if (token == Token.LITERAL_INT) {
+                        Number value = lexer.integerValue();
+                        signedZero |= (negative || prev == Token.SUB) && isZero(value);
+                        literals.add(negative ? negate(value) : value);
+                        fingerprint.append(negative ? "-?i " : "?i ");
+                    } else if (token == Token.LITERAL_FLOAT) {
+                        BigDecimal value = lexer.decimalValue();
+                        signedZero |= (negative || prev == Token.SUB) && value.signum() == 0;
+                        literals.add(negative ? value.negate() : value);
+                        fingerprint.append(negative ? "-?f " : "?f ");
+                    } else {
+                        literals.add(lexer.stringVal());
+                        fingerprint.append("?s ");
+                    }
+                    negative = false;
+                    break;
+                case SUB:
+                    if (!endsOperand(prev)) {
+                        negative = true;
+                    } else {
+                        fingerprint.append(token.name).append(' ');
+                    }
+                    break;
+                case NULL:
+                    if (prev == Token.IS || prev == Token.NOT) {
+                        fingerprint.append(token.name).append(' ');
+                    } else {
+                        if (selects > 0) {
+                            return null;
+                        }
+                        literals.add(null);
+                        fingerprint.append("?n ");
+                    }
+                    break;
+                case IDENTIFIER:
+                    fingerprint.append(lexer.stringVal()).append(' ');
+                    break;
+                case SELECT:
+                    if (selects == selectDepths.length) {
+                        return null;
+                    }
+                    selectDepths[selects++] = depth;
+                    fingerprint.append(token.name).append(' ');
+                    break;
+                case FROM:
+                    if (selects > 0 && selectDepths[selects - 1] == depth) {
+                        selects--;
+                    }
+                    fingerprint.append(token.name).append(' ');
+                    break;
+                case LPAREN:
+                    depth++;
+                    fingerprint.append(token.name).append(' ');
+                    break;
+                case RPAREN:
+                    depth--;
+                    while (selects > 0 && selectDepths[selects - 1] > depth) {
+                        selects--;
+                    }
+                    fingerprint.append(token.name).append(' ');
+                    break;
+                case SEMI:
+                    return null;
+                default:
+                    if (token.name == null) {
+                        // hints, comments, variables, hex/binary/national literals and errors
+                        return null;
+                    }
+                    fingerprint.append(token.name).append(' ');
+                    break;
+                }
+                prev = token;
+                lexer.nextToken();
+            }
+        } catch (Throwable t) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Lexer parameterize failed, fallback to parser: " + t.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A minus after an operand is binary, anywhere else SQLExprParser.primary folds it into the number.
+     */
+    private static boolean endsOperand(Token prev) {
+        if (prev == null) {
+            return false;
+        }
+        switch (prev) {
+        case IDENTIFIER:
+        case LITERAL_INT:
+        case LITERAL_FLOAT:
+        case LITERAL_CHARS:
+        case NULL:
+        case TRUE:
+        case FALSE:
+        case RPAREN:
+        case RBRACKET:
+        case QUES:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isZero(Number value) {
+        return value instanceof BigInteger ? ((BigInteger) value).signum() == 0 : value.longValue() == 0;
+    }
+
+    /**
+     * Same as the negative integer handling of SQLExprParser.primary
+     */
+    private static Number negate(Number value) {
+        if (value instanceof Integer) {
+            int intVal = value.intValue();
+            if (intVal == Integer.MIN_VALUE) {
+                return Long.valueOf(-(long) intVal);
+            }
+            return Integer.valueOf(-intVal);
+        } else if (value instanceof Long) {
+            long longVal = value.longValue();
+            if (longVal == 2147483648L) {
+                return Integer.valueOf(Integer.MIN_VALUE);
+            }
+            return Long.valueOf(-longVal);
+        } else {
+            return ((BigInteger) value).negate();
+        }
+    }
+
+    /**
+     * Parameterize the sql from a known template without parsing.
+     *
+     * @return parameterized sql, or null if the fingerprint has not been templated
+     */
+    public SqlParameterized get(ByteString sql, Scan scan) {
+        Template template = templates.getIfPresent(scan.fingerprint);
+        if (template == null) {
+            return null;
+        }
+        List<Object> parameters = new ArrayList<>(template.shape.length);
+        int next = bind(template.shape, scan.literals, 0, parameters);
+        if (next != scan.literals.size()) {
+            return null;
+        }
+        return new SqlParameterized(sql, template.parameterizedSql, parameters, template.stmt, template.tables);
+    }
+
+    /**
+     * Remember the result of the full parameterization as the template of the fingerprint, if the parameters
+     * exported by the visitor are exactly the literals seen by the lexer.
+     */
+    public void put(Scan scan, SqlParameterized parameterized) {
+        if (scan.signedZero || parameterized == null || parameterized.isUnparameterized()
+            || !parameterized.needCache()) {
+            return;
+        }
+        SQLStatement stmt = emptyStatement(parameterized.getStmt());
+        if (stmt == null) {
+            return;
+        }
+        List<Object> parameters = parameterized.getParameters();
+        Object[] shape = new Object[parameters.size()];
+        int next = match(parameters, scan.literals, 0, shape);
+        if (next != scan.literals.size()) {
+            return;
+        }
+        templates.put(scan.fingerprint, new Template(parameterized.getSql(), shape, stmt,
+            Collections.unmodifiableSet(parameterized.getTables())));
+    }
+
+    /**
+     * The stmt of a template is only checked for its class and sql type, so keep an empty statement of the same
+     * class and sql type instead of the AST of the first statement.
+     */
+    private static SQLStatement emptyStatement(SQLStatement stmt) {
+        SQLStatement empty;
+        try {
+            empty = stmt.getClass().newInstance();
+        } catch (Throwable t) {
+            return null;
+        }
+        if (empty instanceof SQLSelectStatement) {
+            SQLSelectQueryBlock queryBlock = new SQLSelectQueryBlock();
+            queryBlock.setForUpdate(stmt.getSqlType() == SqlType.SELECT_FOR_UPDATE);
+            ((SQLSelectStatement) empty).setSelect(new SQLSelect(queryBlock));
+        } else if (empty instanceof SQLInsertStatement && ((SQLInsertStatement) stmt).getQuery() != null) {
+            ((SQLInsertStatement) empty).setQuery(new SQLSelect());
+        }
+        return empty.getSqlType() == stmt.getSqlType() ? empty : null;
+    }
+
+    public long size() {
+        return templates.size();
+    }
+
+    public void invalidateAll() {
+        templates.invalidateAll();
+    }
+
+    /**
+     * Match parameters against literals starting from offset, recording nested lists in shape.
+     *
+     * @return offset of the next unmatched literal, or -1 on mismatch
+     */
+    private static int match(List<?> parameters, List<Object> literals, int offset, Object[] shape) {
+        for (int i = 0; i < parameters.size(); i++) {
+            Object parameter = parameters.get(i);
+            if (parameter instanceof List) {
+                List<?> list = (List<?>) parameter;
+                Object[] subShape = new Object[list.size()];
+                offset = match(list, literals, offset, subShape);
+                shape[i] = subShape;
+            } else if (offset < literals.size() && Objects.equals(parameter, literals.get(offset))
+                && !(parameter instanceof byte[])) {
+                offset++;
+            } else {
+                return -1;
+            }
+            if (offset < 0) {
+                return -1;
+            }
+        }
+        return offset;
+    }
+
+    private static int bind(Object[] shape, List<Object> literals, int offset, List<Object> parameters) {
+        for (Object item : shape) {
+            if (item == null) {
+                if (offset >= literals.size()) {
+                    return -1;
+                }
+                parameters.add(literals.get(offset++));
+            } else {
+                Object[] subShape = (Object[]) item;
+                List<Object> list = new ArrayList<>(subShape.length);
+                offset = bind(subShape, literals, offset, list);
+                if (offset < 0) {
+                    return -1;
+                }
+                parameters.add(list);
+            }
+        }
+        return offset;
+    }
+
+    public static class Scan {
+        private final String fingerprint;
+        private final List<Object> literals;
+        private final boolean signedZero;
+
+        Scan(String fingerprint, List<Object> literals, boolean signedZero) {
+            this.fingerprint = fingerprint;
+            this.literals = literals;
+            this.signedZero = signedZero;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public List<Object> getLiterals() {
+            return literals;
+        }
+    }
+
+    private static class Template {
+        private final String parameterizedSql;
+        /**
+         * null for a scalar parameter, nested Object[] for a merged list
+         */
+        private final Object[] shape;
+        /**
+         * empty statement of the same class as the parsed one
+         */
+        private final SQLStatement stmt;
+        private final Set<Pair<String, String>> tables;
+
+        Template(String parameterizedSql, Object[] shape, SQLStatement stmt, Set<Pair<String, String>> tables) {
+            this.parameterizedSql = parameterizedSql;
+            this.shape = shape;
+            this.stmt = stmt;
+            this.tables = tables;
+        }
+    }
+}
@@ -112,6 +112,28 @@ public class SqlParameterizeUtils {
     public static SqlParameterized parameterize(ByteString sql,
                                                 Map<Integer, ParameterContext> parameters,
                                                 ExecutionContext executionContext, boolean isPrepare) {
+        return parameterize(sql, parameters, executionContext, isPrepare, false);
+    }
+
+    /**
+     * @param lexerFastPath try the token-stream parameterizer first, only the parameterized sql, parameters,
+     * sql type and tables of the returned stmt are reliable in that case
+     */
+    public static SqlParameterized parameterize(ByteString sql,
+                                                Map<Integer, ParameterContext> parameters,
+                                                ExecutionContext executionContext, boolean isPrepare,
+                                                boolean lexerFastPath) {
+        LexerSqlParameterizer.Scan scan = null;
+        if (lexerFastPath && !isPrepare && (parameters == null || parameters.isEmpty())) {
+            scan = LexerSqlParameterizer.scan(sql);
+            if (scan != null) {
+                SqlParameterized parameterized = LexerSqlParameterizer.getInstance().get(sql, scan);
+                if (parameterized != null) {
+                    return parameterized;
+                }
+            }
+        }
+
         SQLStatementParser parser = SQLParserUtils.createSQLStatementParser(sql, JdbcConstants.MYSQL,
             SqlParameterizeUtils.parserFeatures);
 
@@ -120,7 +142,11 @@ public class SqlParameterizeUtils {
             return null;
         }
         final SQLStatement statement = statements.get(0);
-        return parameterize(sql, statement, parameters, executionContext, isPrepare);
+        SqlParameterized parameterized = parameterize(sql, statement, parameters, executionContext, isPrepare);
+        if (scan != null && statements.size() == 1) {
+            LexerSqlParameterizer.getInstance().put(scan, parameterized);
+        }
+        return parameterized;
     }
 
     public static SqlParameterized parameterize(ByteString sql, SQLStatement statement,
@@ -96,6 +96,19 @@ public class SqlParameterized {
         this.tables = collector.getTables();
     }
 
+    /**
+     * Parameterized from a lexer template, stmt and tables are shared by all statements of the template
+     */
+    public SqlParameterized(ByteString originSql, String sql, List<Object> parameters, SQLStatement stmt,
+                            Set<Pair<String, String>> tables) {
+        this.originSql = originSql;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.stmt = stmt;
+        this.unparameterized = false;
+        this.tables = tables;
+    }
+
     public SqlParameterized(String sql, List<Object> parameters) {
         this.originSql = null;
         this.sql = sql;
@@ -421,6 +421,7 @@ public class DRDSRelJson extends RelJson {
             map.put("runtimeFilterId", filterFunction.getId());
             map.put("guessSelectivity", filterFunction.getGuessSelectivity());
             map.put("usingXxHash", filterFunction.isUsingXxHash());
+            map.put("pushMinMax", filterFunction.isPushMinMax());
             final List<Object> listFilter = jsonBuilder.list();
             for (RexNode operand : ((RexCall) node).getOperands()) {
                 listFilter.add(toJson(operand));
@@ -614,12 +615,13 @@ public class DRDSRelJson extends RelJson {
                 final Integer runtimeFilterId = (Integer) map.get("runtimeFilterId");
                 double guessSelectivity = ((BigDecimal) map.get("guessSelectivity")).doubleValue();
                 boolean usingXxHash = ((Boolean) map.get("usingXxHash"));
+                boolean pushMinMax = Boolean.TRUE.equals(map.get("pushMinMax"));
                 final List<RexNode> operands = new ArrayList<>();
                 for (Object jsonNode : (List) map.get("operands")) {
                     operands.add(toRex(relInput, jsonNode));
                 }
                 SqlRuntimeFilterFunction filterFunction =
-                    new SqlRuntimeFilterFunction(runtimeFilterId, guessSelectivity, usingXxHash);
+                    new SqlRuntimeFilterFunction(runtimeFilterId, guessSelectivity, usingXxHash, pushMinMax);
                 return rexBuilder.makeCall(filterFunction, operands);
             }
 
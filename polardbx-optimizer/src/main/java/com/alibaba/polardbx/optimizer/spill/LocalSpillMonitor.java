@@ -37,6 +37,9 @@ import static com.google.common.base.Preconditions.checkState;
 public final class LocalSpillMonitor implements SpillMonitor {
     private final SpillMonitor parentMonitor;
     private long spilledBytes;
+    private long writeNanos;
+    private long readBytes;
+    private long readNanos;
     private boolean closed;
 
     public LocalSpillMonitor(SpillMonitor parentMonitor) {
@@ -50,10 +53,33 @@ public final class LocalSpillMonitor implements SpillMonitor {
         spilledBytes += bytes;
     }
 
+    @Override
+    public synchronized void updateWriteTime(long nanos) {
+        writeNanos += nanos;
+    }
+
+    @Override
+    public synchronized void updateReadBytes(long bytes, long nanos) {
+        readBytes += bytes;
+        readNanos += nanos;
+    }
+
     public long totalSpilledBytes() {
         return spilledBytes;
     }
 
+    public synchronized long totalWriteNanos() {
+        return writeNanos;
+    }
+
+    public synchronized long totalReadBytes() {
+        return readBytes;
+    }
+
+    public synchronized long totalReadNanos() {
+        return readNanos;
+    }
+
     @Override
     public synchronized void close() {
         if (closed) {
@@ -42,6 +42,18 @@ public interface SpillMonitor extends Closeable {
 
     void updateBytes(long bytes);
 
+    /**
+     * Record time spent writing spilled pages
+     */
+    default void updateWriteTime(long nanos) {
+    }
+
+    /**
+     * Record pages read back from spill files and the time spent
+     */
+    default void updateReadBytes(long bytes, long nanos) {
+    }
+
     default LocalSpillMonitor newLocalSpillMonitor() {
         return new LocalSpillMonitor(this);
     }
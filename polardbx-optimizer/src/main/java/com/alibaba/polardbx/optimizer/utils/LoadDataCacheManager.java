@@ -40,6 +40,13 @@ public class LoadDataCacheManager {
     private MemoryPool loadDataMemoryPool;
     private MemoryAllocatorCtx memoryAllocatorCtx;
 
+    /**
+     * buffer写满导致阻塞的次数及累计阻塞时间，用于观察load data的反压情况
+     */
+    private long blockedTimes = 0L;
+    private long blockedNanos = 0L;
+    private long blockStartNanos = 0L;
+
     public LoadDataCacheManager(MemoryPool loadDataMemoryPool, long loadDataMaxMemory) {
         this.loadDataMaxMemory = loadDataMaxMemory;
         this.notFullThreshold = loadDataMaxMemory / 2;
@@ -53,6 +60,8 @@ public class LoadDataCacheManager {
         synchronized (lock) {
             if (isFull() && notFull.isDone()) {
                 notFull = SettableFuture.create();
+                blockedTimes++;
+                blockStartNanos = System.nanoTime();
             }
         }
         return notFull;
@@ -62,6 +71,7 @@ public class LoadDataCacheManager {
         //只有当内存释放小于notFullThreshold的时候，我们才重置notFull，为了避免频繁重置
         if (!notFull.isDone() && memoryAllocatorCtx.getReservedAllocated() < notFullThreshold) {
             notFull.set(null);
+            blockedNanos += System.nanoTime() - blockStartNanos;
         }
     }
 
@@ -93,6 +103,7 @@ public class LoadDataCacheManager {
             loadDataMemoryPool.destroy();
             if (!notFull.isDone()) {
                 notFull.set(null);
+                blockedNanos += System.nanoTime() - blockStartNanos;
             }
         }
     }
@@ -114,6 +125,18 @@ public class LoadDataCacheManager {
         }
     }
 
+    public long getBlockedTimes() {
+        synchronized (lock) {
+            return blockedTimes;
+        }
+    }
+
+    public long getBlockedNanos() {
+        synchronized (lock) {
+            return notFull.isDone() ? blockedNanos : blockedNanos + System.nanoTime() - blockStartNanos;
+        }
+    }
+
     public long getNotFullThreshold() {
         return notFullThreshold;
     }
@@ -552,9 +552,15 @@ public class PlannerUtils {
                 }
                 sqlNodeList.add(((SqlCase) call).getElseOperand());
             } else if (call.getOperator() instanceof SqlRuntimeFilterFunction) {
-                paramInfoList.addAll(RuntimeFilterDynamicParamInfo
-                    .fromRuntimeFilterId(((SqlRuntimeFilterFunction) call.getOperator()).getId()));
-                sqlNodeList.addAll(call.getOperandList());
+                // Keep the same order as SqlRuntimeFilterFunction#unparse
+                SqlRuntimeFilterFunction filterFunction = (SqlRuntimeFilterFunction) call.getOperator();
+                paramInfoList.addAll(RuntimeFilterDynamicParamInfo.fromRuntimeFilterId(filterFunction.getId()));
+                getDynamicParamIndex(paramInfoList, call.getOperandList());
+                if (filterFunction.shouldUnparseMinMax(call)) {
+                    paramInfoList.addAll(
+                        RuntimeFilterDynamicParamInfo.minMaxFromRuntimeFilterId(filterFunction.getId()));
+                }
+                return;
             } else if (call instanceof GroupConcatCall) {
                 sqlNodeList.addAll(call.getOperandList());
                 sqlNodeList.addAll(((GroupConcatCall) call).getOrderOperands());
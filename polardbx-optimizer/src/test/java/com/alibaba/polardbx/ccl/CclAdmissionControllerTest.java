@@ -0,0 +1,116 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.ccl;
+
+import com.alibaba.polardbx.common.exception.TddlRuntimeException;
+import com.alibaba.polardbx.common.exception.code.ErrorCode;
+import com.alibaba.polardbx.common.properties.ConnectionParams;
+import com.alibaba.polardbx.common.properties.ConnectionProperties;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.optimizer.ccl.service.impl.CclAdmissionController;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.workload.WorkloadType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CclAdmissionControllerTest {
+
+    @Before
+    public void setUp() {
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ENABLE_ADAPTIVE_ADMISSION, "true");
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY, "1");
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ADAPTIVE_ADMISSION_WAIT_TIMEOUT, "100");
+    }
+
+    @After
+    public void tearDown() {
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ENABLE_ADAPTIVE_ADMISSION,
+            ConnectionParams.ENABLE_ADAPTIVE_ADMISSION.getDefault());
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY,
+            ConnectionParams.ADAPTIVE_ADMISSION_MAX_AP_CONCURRENCY.getDefault());
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ADAPTIVE_ADMISSION_WAIT_TIMEOUT,
+            ConnectionParams.ADAPTIVE_ADMISSION_WAIT_TIMEOUT.getDefault());
+    }
+
+    @Test
+    public void testQueueApQueries() {
+        CclAdmissionController controller = new CclAdmissionController();
+
+        ExecutionContext ap1 = newContext(WorkloadType.AP);
+        controller.admit(ap1);
+        Assert.assertNotNull(ap1.getCclAdmissionTicket());
+
+        // TP queries are never blocked.
+        ExecutionContext tp = newContext(WorkloadType.TP);
+        controller.admit(tp);
+        Assert.assertNotNull(tp.getCclAdmissionTicket());
+
+        // The second AP query exceeds the limit and times out.
+        ExecutionContext ap2 = newContext(WorkloadType.AP);
+        try {
+            controller.admit(ap2);
+            Assert.fail("AP query should time out");
+        } catch (TddlRuntimeException e) {
+            Assert.assertEquals(ErrorCode.ERR_CCL, e.getErrorCodeType());
+        }
+        Assert.assertNull(ap2.getCclAdmissionTicket());
+        Assert.assertEquals(1L, controller.getStats().get(3).longValue());
+        Assert.assertEquals(1L, controller.getStats().get(4).longValue());
+
+        controller.release(ap1);
+        controller.release(tp);
+        Assert.assertNull(ap1.getCclAdmissionTicket());
+        Assert.assertEquals(0L, controller.getStats().get(1).longValue());
+
+        controller.admit(ap2);
+        Assert.assertNotNull(ap2.getCclAdmissionTicket());
+        Assert.assertEquals(1L, controller.getStats().get(1).longValue());
+        controller.release(ap2);
+    }
+
+    @Test
+    public void testAdmitWaitingApQuery() throws InterruptedException {
+        DynamicConfig.getInstance().loadValue(null, ConnectionProperties.ADAPTIVE_ADMISSION_WAIT_TIMEOUT, "10000");
+        CclAdmissionController controller = new CclAdmissionController();
+
+        ExecutionContext ap1 = newContext(WorkloadType.AP);
+        controller.admit(ap1);
+
+        ExecutionContext ap2 = newContext(WorkloadType.AP);
+        Thread waiting = new Thread(() -> controller.admit(ap2));
+        waiting.start();
+        while (controller.getStats().get(2) == 0) {
+            Thread.sleep(10);
+        }
+
+        controller.release(ap1);
+        waiting.join(10000);
+        Assert.assertFalse(waiting.isAlive());
+        Assert.assertNotNull(ap2.getCclAdmissionTicket());
+        Assert.assertEquals(0L, controller.getStats().get(2).longValue());
+        controller.release(ap2);
+    }
+
+    private static ExecutionContext newContext(WorkloadType workloadType) {
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.setWorkloadType(workloadType);
+        return executionContext;
+    }
+}
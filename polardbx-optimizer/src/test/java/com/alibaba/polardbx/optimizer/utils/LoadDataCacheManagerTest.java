@@ -0,0 +1,83 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.optimizer.utils;
+
+import com.alibaba.polardbx.optimizer.memory.MemoryAllocatorCtx;
+import com.alibaba.polardbx.optimizer.memory.MemoryPool;
+import com.alibaba.polardbx.optimizer.memory.MemoryType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LoadDataCacheManagerTest {
+
+    private static final long BLOCK_SIZE = MemoryAllocatorCtx.BLOCK_SIZE;
+
+    @Test
+    public void testBlockedTimeAccounting() throws InterruptedException {
+        MemoryPool root = new MemoryPool("root", BLOCK_SIZE * 1024, MemoryType.OTHER);
+        LoadDataCacheManager manager = new LoadDataCacheManager(root, BLOCK_SIZE * 4);
+        Assert.assertEquals(0L, manager.getBlockedTimes());
+        Assert.assertEquals(0L, manager.getBlockedNanos());
+
+        // not full, never blocked
+        manager.allocateMemory(BLOCK_SIZE * 2);
+        Assert.assertTrue(manager.settableFuture().isDone());
+        Assert.assertEquals(0L, manager.getBlockedTimes());
+
+        // full, the reader blocks once no matter how many times it checks
+        manager.allocateMemory(BLOCK_SIZE * 3);
+        Assert.assertFalse(manager.settableFuture().isDone());
+        Assert.assertFalse(manager.settableFuture().isDone());
+        Assert.assertTrue(manager.isBlocked());
+        Assert.assertEquals(1L, manager.getBlockedTimes());
+
+        // blocked time keeps growing while blocked
+        Thread.sleep(20);
+        long blockedNanos = manager.getBlockedNanos();
+        Assert.assertTrue(blockedNanos >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        // still above notFullThreshold, keep blocking
+        manager.releaseMemory(BLOCK_SIZE * 2);
+        Assert.assertFalse(manager.getNotFull().isDone());
+
+        // below notFullThreshold, unblocked and the blocked time stops growing
+        manager.releaseMemory(BLOCK_SIZE * 2);
+        Assert.assertTrue(manager.getNotFull().isDone());
+        blockedNanos = manager.getBlockedNanos();
+        Assert.assertTrue(blockedNanos >= TimeUnit.MILLISECONDS.toNanos(20));
+        Thread.sleep(10);
+        Assert.assertEquals(blockedNanos, manager.getBlockedNanos());
+
+        // blocked again, both counters accumulate
+        manager.allocateMemory(BLOCK_SIZE * 4);
+        Assert.assertFalse(manager.settableFuture().isDone());
+        Assert.assertEquals(2L, manager.getBlockedTimes());
+        Thread.sleep(10);
+        Assert.assertTrue(manager.getBlockedNanos() >= blockedNanos + TimeUnit.MILLISECONDS.toNanos(10));
+
+        // close unblocks the reader and stops accounting
+        manager.close();
+        Assert.assertTrue(manager.getNotFull().isDone());
+        long closedNanos = manager.getBlockedNanos();
+        Thread.sleep(10);
+        Assert.assertEquals(closedNanos, manager.getBlockedNanos());
+        Assert.assertEquals(2L, manager.getBlockedTimes());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.planner.parser;
+
+import com.alibaba.polardbx.druid.sql.ast.SqlType;
+import com.alibaba.polardbx.druid.sql.ast.statement.SQLSelectStatement;
+import com.alibaba.polardbx.druid.sql.parser.ByteString;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.parse.LexerSqlParameterizer;
+import com.alibaba.polardbx.optimizer.parse.SqlParameterizeUtils;
+import com.alibaba.polardbx.optimizer.parse.bean.SqlParameterized;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LexerSqlParameterizerTest {
+
+    @Before
+    public void setUp() {
+        LexerSqlParameterizer.getInstance().invalidateAll();
+    }
+
+    @Test
+    public void testTemplateHit() {
+        assertSameAsParser("select * from t where id = 1 and name = 'a'",
+            "SELECT * FROM t WHERE id = 22 AND name = 'bb'");
+        assertSameAsParser("select * from t where id in (1, 2, 3)", "select * from t where id in (4, 5, 6)");
+        assertSameAsParser("insert into t(a, b) values (1, 'x'), (2, 'y')",
+            "insert into t(a, b) values (3, 'z'), (4, 'w')");
+        assertSameAsParser("select * from t where a > -1.5 and b = 3", "select * from t where a > -2.25 and b = 4");
+    }
+
+    @Test
+    public void testUnaryMinus() {
+        String[] operators = {"*", "/", "+", "-", "%", " DIV ", " MOD ", "<=>", " LIKE ", "=", "<>"};
+        for (String op : operators) {
+            assertSameAsParser("select * from t where c" + op + "-3 = 1", "select * from t where c" + op + "-5 = 1");
+            assertSameAsParser("select * from t where c" + op + "3 = 1", "select * from t where c" + op + "5 = 1");
+        }
+        assertConsistent("select * from t where c = 1 or -3 = c", "select * from t where c = 1 or -5 = c");
+        assertConsistent("select * from t where c = 1 xor -3 = c", "select * from t where c = 1 xor -5 = c");
+        assertConsistent("select * from t where not -3 = c", "select * from t where not -5 = c");
+        assertConsistent("select * from t where -3 = c", "select * from t where -5 = c");
+        assertConsistent("select * from t where case -3 when c then 1 end = 1",
+            "select * from t where case -5 when c then 1 end = 1");
+    }
+
+    @Test
+    public void testBinaryMinus() {
+        assertSameAsParser("select * from t where c - 3 = 1", "select * from t where c - 5 = 1");
+        assertSameAsParser("select * from t where (c) - 3 = 1", "select * from t where (c) - 5 = 1");
+        assertSameAsParser("select * from t where c = 2 - 3", "select * from t where c = 4 - 5");
+        assertSameAsParser("select * from t where c - -3 = 1", "select * from t where c - -5 = 1");
+    }
+
+    @Test
+    public void testSignedZero() {
+        // -0 and 0 are the same parameter, so the sign of the literal can not be verified
+        parameterize("select * from t where c * -0 = 1");
+        Assert.assertNull(LexerSqlParameterizer.getInstance()
+            .get(ByteString.from("select * from t where c * -5 = 1"), scan("select * from t where c * -5 = 1")));
+        Assert.assertNotEquals(scan("select * from t where c * -5 = 1").getFingerprint(),
+            scan("select * from t where c * 5 = 1").getFingerprint());
+    }
+
+    @Test
+    public void testTemplateStatement() {
+        parameterize("select * from t where id = 1 for update");
+        SqlParameterized fast = LexerSqlParameterizer.getInstance()
+            .get(ByteString.from("select * from t where id = 2 for update"),
+                scan("select * from t where id = 2 for update"));
+        Assert.assertNotNull(fast);
+        Assert.assertTrue(fast.getStmt() instanceof SQLSelectStatement);
+        Assert.assertEquals(SqlType.SELECT_FOR_UPDATE, fast.getAst().getSqlType());
+        Assert.assertNull(((SQLSelectStatement) fast.getStmt()).getSelect().getQueryBlock().getWhere());
+
+        parameterize("insert into t(a) select b from s where c = 1");
+        fast = LexerSqlParameterizer.getInstance()
+            .get(ByteString.from("insert into t(a) select b from s where c = 2"),
+                scan("insert into t(a) select b from s where c = 2"));
+        Assert.assertNotNull(fast);
+        Assert.assertEquals(SqlType.INSERT_INTO_SELECT, fast.getAst().getSqlType());
+        Assert.assertTrue(fast.isDML());
+    }
+
+    @Test
+    public void testUnsupported() {
+        Assert.assertNull(scan("select 1 from dual"));
+        Assert.assertNull(scan("/*+TDDL:master()*/ select * from t where id = 1"));
+        Assert.assertNull(scan("select * from t where id = @x"));
+        Assert.assertNull(scan("select * from t where id = 1; select 1"));
+    }
+
+    @Test
+    public void testNotTemplated() {
+        // ordinal is kept in the parameterized sql, so the literals do not match the parameters
+        parameterize("select a from t order by 1");
+        Assert.assertNull(LexerSqlParameterizer.getInstance()
+            .get(ByteString.from("select a from t order by 2"), scan("select a from t order by 2")));
+    }
+
+    private void assertSameAsParser(String first, String second) {
+        parameterize(first);
+        SqlParameterized fast = LexerSqlParameterizer.getInstance().get(ByteString.from(second), scan(second));
+        Assert.assertNotNull(fast);
+
+        SqlParameterized expected = SqlParameterizeUtils.parameterize(second);
+        Assert.assertEquals(expected.getSql(), fast.getSql());
+        Assert.assertEquals(expected.getParameters(), fast.getParameters());
+    }
+
+    /**
+     * The fast path may give up, but must never disagree with the parser.
+     */
+    private void assertConsistent(String first, String second) {
+        parameterize(first);
+        LexerSqlParameterizer.Scan scan = scan(second);
+        SqlParameterized fast =
+            scan == null ? null : LexerSqlParameterizer.getInstance().get(ByteString.from(second), scan);
+        if (fast != null) {
+            SqlParameterized expected = SqlParameterizeUtils.parameterize(second);
+            Assert.assertEquals(expected.getSql(), fast.getSql());
+            Assert.assertEquals(expected.getParameters(), fast.getParameters());
+        }
+    }
+
+    private static SqlParameterized parameterize(String sql) {
+        return SqlParameterizeUtils.parameterize(ByteString.from(sql), null, new ExecutionContext(), false, true);
+    }
+
+    private static LexerSqlParameterizer.Scan scan(String sql) {
+        return LexerSqlParameterizer.scan(ByteString.from(sql));
+    }
+}
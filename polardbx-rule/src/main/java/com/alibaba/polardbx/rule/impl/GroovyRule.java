@@ -22,6 +22,7 @@ import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.config.ConfigDataMode;
 import com.alibaba.polardbx.rule.impl.groovy.ShardingFunction;
+import com.alibaba.polardbx.rule.impl.groovy.ShardingFunctionCompiler;
 import com.alibaba.polardbx.rule.utils.SimpleRuleProcessor;
 import com.alibaba.polardbx.rule.MappingRule;
 import com.alibaba.polardbx.rule.VirtualTableSupport;
@@ -164,28 +165,33 @@ public class GroovyRule<T> extends EnumerativeRule<T> {
 
             };
         } else {
-            loader = new GroovyClassLoader(GroovyRule.class.getClassLoader());
-            String groovyRule = getGroovyRule(expression, extraPackagesStr);
-            Class<?> c_groovy;
-            try {
-                c_groovy = loader.parseClass(groovyRule);
-            } catch (CompilationFailedException e) {
-                throw new IllegalArgumentException(groovyRule, e);
-            }
+            // 常见形态的规则编译为java函数, 其他的仍使用groovy
+            ShardingFunction compiled =
+                ShardingFunctionCompiler.compile(originExpression, parameters, this::compileGroovy);
+            shardingFunction = compiled != null ? compiled : compileGroovy();
+        }
+    }
 
-            try {
-                // 新建类实例
-                Object ruleObj = c_groovy.newInstance();
-                if (ruleObj instanceof ShardingFunction) {
-                    shardingFunction = (ShardingFunction) ruleObj;
-                } else {
-                    throw new IllegalArgumentException("should not be here");
-                }
-                // 获取方法
+    private synchronized ShardingFunction compileGroovy() {
+        loader = new GroovyClassLoader(GroovyRule.class.getClassLoader());
+        String groovyRule = getGroovyRule(expression, extraPackagesStr);
+        Class<?> c_groovy;
+        try {
+            c_groovy = loader.parseClass(groovyRule);
+        } catch (CompilationFailedException e) {
+            throw new IllegalArgumentException(groovyRule, e);
+        }
 
-            } catch (Throwable t) {
-                throw new IllegalArgumentException("实例化规则对象失败", t);
+        try {
+            // 新建类实例
+            Object ruleObj = c_groovy.newInstance();
+            if (ruleObj instanceof ShardingFunction) {
+                return (ShardingFunction) ruleObj;
+            } else {
+                throw new IllegalArgumentException("should not be here");
             }
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("实例化规则对象失败", t);
         }
     }
 
@@ -0,0 +1,199 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.rule.impl.groovy;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 由{@link ShardingFunctionCompiler}编译出的路由函数
+ *
+ * <pre>
+ * 1. 直接以拆分键值计算路由结果，不需要构造groovy调用参数
+ * 2. 缓存最近的拆分键值及其路由结果，重复的键值直接命中
+ * 3. 拆分键值的类型不支持时，回退到groovy函数，groovy类在第一次回退时才会生成
+ * </pre>
+ */
+public class CompiledShardingFunction implements ShardingFunction {
+
+    private static final int ROUTE_CACHE_SIZE = 128;
+
+    private static final String[] ROUTE_STRINGS = new String[1024];
+
+    static {
+        for (int i = 0; i < ROUTE_STRINGS.length; i++) {
+            ROUTE_STRINGS[i] = String.valueOf(i);
+        }
+    }
+
+    private final String expression;
+    private final String column;
+    private final String enumType;
+    private final ShardingFunctionCompiler.Expr root;
+    private final boolean acceptsLong;
+    private final Supplier<ShardingFunction> groovyFunctionSupplier;
+
+    private volatile ShardingFunction groovyFunction;
+    private volatile RouteEntry[] routeCache;
+
+    CompiledShardingFunction(String expression, String column, String enumType, ShardingFunctionCompiler.Expr root,
+                             Supplier<ShardingFunction> groovyFunctionSupplier) {
+        this.expression = expression;
+        this.column = column;
+        this.enumType = enumType;
+        this.root = root;
+        this.acceptsLong = root.acceptsLong();
+        this.groovyFunctionSupplier = groovyFunctionSupplier;
+    }
+
+    @Override
+    public Object eval(Map map, Object outerCtx) {
+        Object rawValue = map.get(column);
+        Object value = GroovyStaticMethod.preProcessShardKeyValue(map, column, enumType, null);
+        if (rawValue == null) {
+            // null值被替换为默认值, 不能与真实值共用缓存
+            return root.accepts(value) ? toRouteString(root.eval(value)) : getGroovyFunction().eval(map, outerCtx);
+        }
+        if (!root.accepts(value)) {
+            return getGroovyFunction().eval(map, outerCtx);
+        }
+        return route(value);
+    }
+
+    /**
+     * 以预处理后的拆分键值计算路由结果
+     */
+    public String route(Object value) {
+        if (value instanceof Long && acceptsLong) {
+            return routeLong((Long) value);
+        }
+        if (!root.accepts(value)) {
+            Object result = getGroovyFunction().eval(Collections.singletonMap(column, value), null);
+            return result == null ? null : result.toString();
+        }
+
+        Class<?> keyClass = cacheKeyClass(value);
+        if (keyClass == null) {
+            return toRouteString(root.eval(value));
+        }
+        long longKey = longKey(value);
+        Object key = value instanceof String ? value : null;
+        int index = cacheIndex(key != null ? key.hashCode() : Long.hashCode(longKey));
+        RouteEntry[] cache = getRouteCache();
+        RouteEntry entry = cache[index];
+        if (entry != null && entry.keyClass == keyClass && entry.longKey == longKey
+            && (key == null || key.equals(entry.key))) {
+            return entry.route;
+        }
+        String route = toRouteString(root.eval(value));
+        cache[index] = new RouteEntry(keyClass, longKey, key, route);
+        return route;
+    }
+
+    /**
+     * Long类型的拆分键值直接以long计算并缓存路由结果
+     */
+    private String routeLong(long value) {
+        int index = cacheIndex(Long.hashCode(value));
+        RouteEntry[] cache = getRouteCache();
+        RouteEntry entry = cache[index];
+        if (entry != null && entry.keyClass == Long.class && entry.longKey == value) {
+            return entry.route;
+        }
+        String route = toRouteString(root.evalLong(value));
+        cache[index] = new RouteEntry(Long.class, value, null, route);
+        return route;
+    }
+
+    /**
+     * 只缓存不可变的键值, Date的子类可能带有偏移量(如CrossMonthDate)，不缓存
+     */
+    private static Class<?> cacheKeyClass(Object value) {
+        Class<?> clazz = value.getClass();
+        if (clazz == Long.class || clazz == Integer.class || clazz == String.class || clazz == Date.class
+            || clazz == java.sql.Date.class || clazz == java.sql.Timestamp.class) {
+            return clazz;
+        }
+        return null;
+    }
+
+    private static long longKey(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return 0L;
+    }
+
+    private static int cacheIndex(int hash) {
+        hash ^= (hash >>> 16);
+        return hash & (ROUTE_CACHE_SIZE - 1);
+    }
+
+    private RouteEntry[] getRouteCache() {
+        RouteEntry[] cache = routeCache;
+        if (cache == null) {
+            cache = new RouteEntry[ROUTE_CACHE_SIZE];
+            routeCache = cache;
+        }
+        return cache;
+    }
+
+    private ShardingFunction getGroovyFunction() {
+        ShardingFunction function = groovyFunction;
+        if (function == null) {
+            synchronized (this) {
+                function = groovyFunction;
+                if (function == null) {
+                    function = groovyFunctionSupplier.get();
+                    groovyFunction = function;
+                }
+            }
+        }
+        return function;
+    }
+
+    private static String toRouteString(long value) {
+        if (value >= 0 && value < ROUTE_STRINGS.length) {
+            return ROUTE_STRINGS[(int) value];
+        }
+        return String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledShardingFunction{" + expression + "}";
+    }
+
+    private static class RouteEntry {
+        private final Class<?> keyClass;
+        private final long longKey;
+        private final Object key;
+        private final String route;
+
+        RouteEntry(Class<?> keyClass, long longKey, Object key, String route) {
+            this.keyClass = keyClass;
+            this.longKey = longKey;
+            this.key = key;
+            this.route = route;
+        }
+    }
+}
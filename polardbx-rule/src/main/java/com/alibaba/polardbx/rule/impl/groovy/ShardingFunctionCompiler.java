@@ -0,0 +1,577 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.rule.impl.groovy;
+
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.rule.Rule.RuleColumn;
+import com.alibaba.polardbx.rule.model.AdvancedParameter;
+import com.alibaba.polardbx.rule.utils.GroovyRuleConstant;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 把常见形态的groovy拆分规则编译为java路由函数，避免每次路由都走groovy动态调用
+ *
+ * <pre>
+ * 支持的形态(单个拆分键)：
+ *  ((#id,1,16#).longValue().abs() % 16).intdiv(4)
+ *  ((#name,1,16#).hashCode().abs().longValue() % 16)
+ *  (mm_i(#gmt,1_month,12#).longValue() % 12)
+ *  (yyyymm_i_opt(#gmt,1_month,64#, 64, 8, 2).longValue() % 8)
+ * 其他脚本返回null, 继续使用groovy
+ * </pre>
+ */
+public class ShardingFunctionCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingFunctionCompiler.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+        System.getProperty("com.alibaba.polardbx.rule.compileGroovyRule", "true"));
+
+    /**
+     * @param expression 原始规则表达式
+     * @param parameters 规则解析出的拆分键
+     * @param groovyFunction 输入值类型不支持时使用的groovy函数
+     * @return 无法编译时返回null
+     */
+    public static CompiledShardingFunction compile(String expression, Map<String, RuleColumn> parameters,
+                                                   Supplier<ShardingFunction> groovyFunction) {
+        if (!ENABLED || expression == null || parameters == null || parameters.size() != 1) {
+            return null;
+        }
+        Parser parser = new Parser(expression, parameters);
+        Expr root;
+        try {
+            root = parser.parse();
+        } catch (IllegalArgumentException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("rule not compiled: " + expression + ", " + e.getMessage());
+            }
+            return null;
+        }
+        if (root == null || root instanceof ParamExpr || parser.column == null) {
+            return null;
+        }
+
+        String enumType = "";
+        if (parser.column instanceof AdvancedParameter) {
+            enumType = ((AdvancedParameter) parser.column).atomicIncreateType.toString();
+        }
+        return new CompiledShardingFunction(expression, parser.column.key, enumType, root, groovyFunction);
+    }
+
+    /**
+     * 编译后的表达式，输入为预处理后的拆分键值
+     */
+    abstract static class Expr {
+
+        /**
+         * 输入值类型是否支持，不支持的交给groovy
+         */
+        abstract boolean accepts(Object value);
+
+        abstract long eval(Object value);
+
+        /**
+         * groovy中Integer与Long的abs结果不同, 需要区分; value为null时表示输入为long
+         */
+        abstract boolean isInt(Object value);
+
+        /**
+         * 是否支持直接以long值作为拆分键
+         */
+        abstract boolean acceptsLong();
+
+        abstract long evalLong(long value);
+    }
+
+    static class ParamExpr extends Expr {
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Long || value instanceof Integer;
+        }
+
+        @Override
+        long eval(Object value) {
+            return ((Number) value).longValue();
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return true;
+        }
+
+        @Override
+        long evalLong(long value) {
+            return value;
+        }
+    }
+
+    /**
+     * x.longValue()
+     */
+    static class LongValueExpr extends Expr {
+        private final Expr input;
+
+        LongValueExpr(Expr input) {
+            this.input = input;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return input instanceof ParamExpr ? value instanceof Number : input.accepts(value);
+        }
+
+        @Override
+        long eval(Object value) {
+            return input instanceof ParamExpr ? ((Number) value).longValue() : input.eval(value);
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return false;
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return input.acceptsLong();
+        }
+
+        @Override
+        long evalLong(long value) {
+            return input.evalLong(value);
+        }
+    }
+
+    /**
+     * x.hashCode()
+     */
+    static class HashCodeExpr extends Expr {
+        private final Expr input;
+
+        HashCodeExpr(Expr input) {
+            this.input = input;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            if (input instanceof ParamExpr) {
+                return value instanceof String || value instanceof Number;
+            }
+            return input.accepts(value);
+        }
+
+        @Override
+        long eval(Object value) {
+            if (input instanceof ParamExpr) {
+                return value.hashCode();
+            }
+            long v = input.eval(value);
+            return input.isInt(value) ? (int) v : Long.hashCode(v);
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return true;
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return input.acceptsLong();
+        }
+
+        @Override
+        long evalLong(long value) {
+            long v = input.evalLong(value);
+            return input.isInt(null) ? (int) v : Long.hashCode(v);
+        }
+    }
+
+    /**
+     * x.abs()
+     */
+    static class AbsExpr extends Expr {
+        private final Expr input;
+
+        AbsExpr(Expr input) {
+            this.input = input;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return input.accepts(value);
+        }
+
+        @Override
+        long eval(Object value) {
+            long v = input.eval(value);
+            return input.isInt(value) ? Math.abs((int) v) : Math.abs(v);
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return input.isInt(value);
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return input.acceptsLong();
+        }
+
+        @Override
+        long evalLong(long value) {
+            long v = input.evalLong(value);
+            return input.isInt(null) ? Math.abs((int) v) : Math.abs(v);
+        }
+    }
+
+    /**
+     * x % n 或 x.intdiv(n)
+     */
+    static class ArithmeticExpr extends Expr {
+        private final Expr input;
+        private final int operand;
+        private final boolean mod;
+
+        ArithmeticExpr(Expr input, int operand, boolean mod) {
+            this.input = input;
+            this.operand = operand;
+            this.mod = mod;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return input.accepts(value);
+        }
+
+        @Override
+        long eval(Object value) {
+            long v = input.eval(value);
+            return mod ? v % operand : v / operand;
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return input.isInt(value);
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return input.acceptsLong();
+        }
+
+        @Override
+        long evalLong(long value) {
+            long v = input.evalLong(value);
+            return mod ? v % operand : v / operand;
+        }
+    }
+
+    enum DateFunction {
+        MM_I(GroovyRuleConstant.MM_I_METHOD, 0, true, true),
+        DD_I(GroovyRuleConstant.DD_I_METHOD, 0, true, true),
+        MM_DD_I(GroovyRuleConstant.MM_DD_I_METHOD, 0, true, true),
+        WEEK(GroovyRuleConstant.WEEK_METHOD, 0, true, true),
+        YYYY_MM_I(GroovyRuleConstant.YYYY_MM_I_METHOD, 0, false, true),
+        YYYY_WEEK_I(GroovyRuleConstant.YYYY_WEEK_I_METHOD, 0, false, false),
+        YYYY_DD_I(GroovyRuleConstant.YYYY_DD_I_METHOD, 0, false, false),
+        YYYY_MM_I_OPT(GroovyRuleConstant.YYYY_MM_I_OPT_METHOD, 3, false, false),
+        YYYY_WEEK_I_OPT(GroovyRuleConstant.YYYY_WEEK_I_OPT_METHOD, 3, false, false),
+        YYYY_DD_I_OPT(GroovyRuleConstant.YYYY_DD_I_OPT_METHOD, 3, false, false);
+
+        final String method;
+        final int extraArgCount;
+        final boolean acceptsCalendar;
+        final boolean returnsInt;
+
+        DateFunction(String method, int extraArgCount, boolean acceptsCalendar, boolean returnsInt) {
+            this.method = method;
+            this.extraArgCount = extraArgCount;
+            this.acceptsCalendar = acceptsCalendar;
+            this.returnsInt = returnsInt;
+        }
+
+        static DateFunction of(String method) {
+            for (DateFunction function : values()) {
+                if (function.method.equals(method)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 时间函数，直接调用{@link GroovyStaticMethod}中对应的方法
+     */
+    static class DateFunctionExpr extends Expr {
+        private final DateFunction function;
+        private final int[] args;
+
+        DateFunctionExpr(DateFunction function, int[] args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Date || (function.acceptsCalendar && value instanceof Calendar);
+        }
+
+        @Override
+        long eval(Object value) {
+            if (value instanceof Calendar) {
+                Calendar cal = (Calendar) value;
+                switch (function) {
+                case MM_I:
+                    return GroovyStaticMethod.mm_i(cal);
+                case DD_I:
+                    return GroovyStaticMethod.dd_i(cal);
+                case MM_DD_I:
+                    return GroovyStaticMethod.mmdd_i(cal);
+                case WEEK:
+                    return GroovyStaticMethod.week(cal);
+                default:
+                    throw new IllegalArgumentException(function.method + " does not support calendar");
+                }
+            }
+
+            Date date = (Date) value;
+            switch (function) {
+            case MM_I:
+                return GroovyStaticMethod.mm_i(date);
+            case DD_I:
+                return GroovyStaticMethod.dd_i(date);
+            case MM_DD_I:
+                return GroovyStaticMethod.mmdd_i(date);
+            case WEEK:
+                return GroovyStaticMethod.week(date);
+            case YYYY_MM_I:
+                return GroovyStaticMethod.yyyymm_i(date);
+            case YYYY_WEEK_I:
+                return GroovyStaticMethod.yyyyweek_i(date);
+            case YYYY_DD_I:
+                return GroovyStaticMethod.yyyydd_i(date);
+            case YYYY_MM_I_OPT:
+                return GroovyStaticMethod.yyyymm_i_opt(date, args[0], args[1], args[2]);
+            case YYYY_WEEK_I_OPT:
+                return GroovyStaticMethod.yyyyweek_i_opt(date, args[0], args[1], args[2]);
+            case YYYY_DD_I_OPT:
+                return GroovyStaticMethod.yyyydd_i_opt(date, args[0], args[1], args[2]);
+            default:
+                throw new IllegalArgumentException("unknown function " + function.method);
+            }
+        }
+
+        @Override
+        boolean isInt(Object value) {
+            return function.returnsInt;
+        }
+
+        @Override
+        boolean acceptsLong() {
+            return false;
+        }
+
+        @Override
+        long evalLong(long value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * <pre>
+     * expr    := unary ('%' INT)*
+     * unary   := primary ('.' ('longValue()' | 'abs()' | 'hashCode()' | 'intdiv(' INT ')'))*
+     * primary := '(' expr ')' | PARAM | FUNCTION '(' PARAM (',' INT)* ')'
+     * </pre>
+     */
+    static class Parser {
+        private final String text;
+        private final Map<String, RuleColumn> parameters;
+        private int pos;
+        private RuleColumn column;
+
+        Parser(String text, Map<String, RuleColumn> parameters) {
+            this.text = text;
+            this.parameters = parameters;
+        }
+
+        Expr parse() {
+            Expr expr = parseExpr();
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw new IllegalArgumentException("unexpected '" + text.charAt(pos) + "' at " + pos);
+            }
+            return expr;
+        }
+
+        private Expr parseExpr() {
+            Expr expr = parseUnary();
+            while (tryConsume('%')) {
+                expr = new ArithmeticExpr(expr, parseOperand(), true);
+            }
+            return expr;
+        }
+
+        private Expr parseUnary() {
+            Expr expr = parsePrimary();
+            while (tryConsume('.')) {
+                String method = parseIdentifier();
+                expect('(');
+                if ("intdiv".equals(method)) {
+                    expr = new ArithmeticExpr(expr, parseOperand(), false);
+                } else if ("longValue".equals(method)) {
+                    expr = new LongValueExpr(expr);
+                } else if ("abs".equals(method)) {
+                    expr = new AbsExpr(expr);
+                } else if ("hashCode".equals(method)) {
+                    expr = new HashCodeExpr(expr);
+                } else {
+                    throw new IllegalArgumentException("unsupported method " + method);
+                }
+                expect(')');
+            }
+            return expr;
+        }
+
+        private Expr parsePrimary() {
+            skipWhitespace();
+            if (tryConsume('(')) {
+                Expr expr = parseExpr();
+                expect(')');
+                return expr;
+            }
+            if (peek() == '#') {
+                return parseParam();
+            }
+
+            DateFunction function = DateFunction.of(parseIdentifier());
+            if (function == null) {
+                throw new IllegalArgumentException("unsupported function");
+            }
+            expect('(');
+            skipWhitespace();
+            if (peek() != '#') {
+                throw new IllegalArgumentException("function argument must be shard column");
+            }
+            parseParam();
+            int[] args = new int[function.extraArgCount];
+            for (int i = 0; i < args.length; i++) {
+                expect(',');
+                args[i] = parseInt();
+            }
+            expect(')');
+            return new DateFunctionExpr(function, args);
+        }
+
+        private Expr parseParam() {
+            int end = text.indexOf('#', pos + 1);
+            if (end < 0) {
+                throw new IllegalArgumentException("unclosed shard column");
+            }
+            String param = text.substring(pos + 1, end);
+            pos = end + 1;
+            int comma = param.indexOf(',');
+            String name = (comma < 0 ? param : param.substring(0, comma)).trim();
+            RuleColumn ruleColumn = parameters.get(name);
+            if (ruleColumn == null) {
+                throw new IllegalArgumentException("unknown shard column " + name);
+            }
+            if (column != null) {
+                // 拆分键只支持出现一次
+                throw new IllegalArgumentException("shard column appears more than once");
+            }
+            column = ruleColumn;
+            return new ParamExpr();
+        }
+
+        /**
+         * 取余和整除的操作数，必须为正整数
+         */
+        private int parseOperand() {
+            int value = parseInt();
+            if (value <= 0) {
+                throw new IllegalArgumentException("operand must be positive");
+            }
+            return value;
+        }
+
+        private int parseInt() {
+            skipWhitespace();
+            int start = pos;
+            if (peek() == '-') {
+                pos++;
+            }
+            while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos == start || (pos == start + 1 && text.charAt(start) == '-')) {
+                throw new IllegalArgumentException("integer expected at " + start);
+            }
+            return Integer.parseInt(text.substring(start, pos));
+        }
+
+        private String parseIdentifier() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (pos == start) {
+                throw new IllegalArgumentException("identifier expected at " + start);
+            }
+            return text.substring(start, pos);
+        }
+
+        private void expect(char c) {
+            if (!tryConsume(c)) {
+                throw new IllegalArgumentException("'" + c + "' expected at " + pos);
+            }
+        }
+
+        private boolean tryConsume(char c) {
+            skipWhitespace();
+            if (peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.rule.impl;
+
+import com.alibaba.polardbx.rule.impl.groovy.CompiledShardingFunction;
+import com.alibaba.polardbx.rule.impl.groovy.ShardingFunction;
+import com.alibaba.polardbx.rule.impl.groovy.ShardingFunctionCompiler;
+import com.google.common.collect.Lists;
+import groovy.lang.GroovyClassLoader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的规则与groovy执行结果一致
+ */
+public class GroovyRuleCompileTest {
+
+    private static final List<Object> NUMBERS = Arrays.asList(0L, 1L, -1L, 17L, -17L, 1024L, Long.MAX_VALUE,
+        Long.MIN_VALUE, 5, -5, Integer.MAX_VALUE, Integer.MIN_VALUE, 3.7d, new BigDecimal("-123.9"), "abc", "", "12",
+        null);
+
+    private static final List<Object> DATES = Lists.newArrayList(new Date(1600000000000L), new Date(0L),
+        new Timestamp(1609430400000L), new java.sql.Date(1583020800000L), calendar(2019, 11, 31), "2020-01-01", 10L,
+        null);
+
+    @Test
+    public void testHashRules() throws Exception {
+        assertSameAsGroovy("((#id,1,16#).longValue().abs() % 16).intdiv(4)", NUMBERS);
+        assertSameAsGroovy("(#id,1,16#).longValue() % 16", NUMBERS);
+        assertSameAsGroovy("((#name,1,16#).hashCode().abs().longValue() % 16).intdiv(4)", NUMBERS);
+        assertSameAsGroovy("#id,1,64# % 64", NUMBERS);
+        assertSameAsGroovy("((#id,1,64#).abs() % 64)", NUMBERS);
+        assertSameAsGroovy("(#id,1,64#.longValue().hashCode().abs() % 64)", NUMBERS);
+    }
+
+    @Test
+    public void testDateRules() throws Exception {
+        assertSameAsGroovy("(mm_i(#gmt,1_month,12#).longValue() % 12)", DATES);
+        assertSameAsGroovy("((dd_i(#gmt,1_date,31#).longValue() % 32).intdiv(4))", DATES);
+        assertSameAsGroovy("(week(#gmt,1_date,7#).longValue() % 7)", DATES);
+        assertSameAsGroovy("(mmdd_i(#gmt,1_date,366#).longValue() % 366)", DATES);
+        assertSameAsGroovy("((yyyymm_i(#gmt,1_month,64#).longValue() % 64).intdiv(8))", DATES);
+        assertSameAsGroovy("(yyyyweek_i(#gmt,1_week,64#).longValue() % 64)", DATES);
+        assertSameAsGroovy("(yyyydd_i(#gmt,1_date,64#).longValue() % 64)", DATES);
+        assertSameAsGroovy("(yyyymm_i_opt(#gmt,1_month,64#, 64, 8, 2).longValue() % 8)", DATES);
+        assertSameAsGroovy("(yyyyweek_i_opt(#gmt,1_week,64#, 64, 0, 0).longValue() % 64)", DATES);
+        assertSameAsGroovy("(yyyydd_i_opt(#gmt,1_date,64#, 64, 8, 2).longValue() % 64)", DATES);
+        assertSameAsGroovy("(mm_i(#gmt,1_month,12#).hashCode() % 12)", DATES);
+    }
+
+    @Test
+    public void testUnsupportedRules() {
+        assertNotCompiled("\"db\"+(#id,1,64# % 64).intdiv(4)");
+        assertNotCompiled("String.valueOf(#id,1,64# % 64)");
+        assertNotCompiled("(#a,1,4#.longValue() + #b,1,4#.longValue()) % 4");
+        assertNotCompiled("Math.abs(#id,1,4#.hashCode()) % 4");
+        assertNotCompiled("(#id,1,4#.longValue() % 0)");
+        assertNotCompiled("return #id,1,4#.longValue() % 4");
+    }
+
+    @Test
+    public void testRuleUsesCompiledFunction() {
+        GroovyRule<String> rule = new GroovyRule<String>("(mm_i(#gmt,1_month,12#).longValue() % 12)", false);
+        Assert.assertTrue(rule.shardingFunction instanceof CompiledShardingFunction);
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put(rule.getRuleColumns().keySet().iterator().next(), calendar(2020, 4, 1).getTime());
+        Assert.assertEquals("5", rule.eval(values, null));
+
+        rule = new GroovyRule<String>("\"db\"+(#id,1,64# % 64).intdiv(4)", false);
+        Assert.assertFalse(rule.shardingFunction instanceof CompiledShardingFunction);
+    }
+
+    @Test
+    public void testRouteLong() throws Exception {
+        GroovyRule<String> rule = new GroovyRule<String>("((#id,1,64#).abs() % 64)", true);
+        CompiledShardingFunction compiled =
+            ShardingFunctionCompiler.compile(rule.getExpression(), rule.getRuleColumns(), () -> null);
+        Assert.assertNotNull(compiled);
+        for (long value : new long[] {0, 1, -1, 63, 64, -65, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            // 第二次命中缓存
+            for (int i = 0; i < 2; i++) {
+                Assert.assertEquals(String.valueOf(Math.abs(value) % 64), compiled.route(value));
+            }
+        }
+    }
+
+    private void assertSameAsGroovy(String expression, List<Object> values) throws Exception {
+        GroovyRule<String> rule = new GroovyRule<String>(expression, true);
+        ShardingFunction groovy = groovyFunction(rule);
+        CompiledShardingFunction compiled =
+            ShardingFunctionCompiler.compile(expression, rule.getRuleColumns(), () -> groovy);
+        Assert.assertNotNull(expression, compiled);
+
+        String column = rule.getRuleColumns().values().iterator().next().key;
+        for (Object value : values) {
+            Map<String, Object> sample = new HashMap<String, Object>();
+            sample.put(column, value);
+            String expected = eval(groovy, sample);
+            // 第二次命中缓存
+            for (int i = 0; i < 2; i++) {
+                Assert.assertEquals(expression + " with " + value, expected, eval(compiled, sample));
+            }
+        }
+    }
+
+    private static String eval(ShardingFunction function, Map<String, Object> sample) {
+        try {
+            return String.valueOf(function.eval(sample, null));
+        } catch (Throwable t) {
+            return "error";
+        }
+    }
+
+    private static ShardingFunction groovyFunction(GroovyRule<String> rule) throws Exception {
+        GroovyClassLoader loader = new GroovyClassLoader(GroovyRuleCompileTest.class.getClassLoader());
+        return (ShardingFunction) loader.parseClass(GroovyRule.getGroovyRule(rule.expression, "")).newInstance();
+    }
+
+    private void assertNotCompiled(String expression) {
+        GroovyRule<String> rule = new GroovyRule<String>(expression, true);
+        Assert.assertNull(expression, ShardingFunctionCompiler.compile(expression, rule.getRuleColumns(), () -> null));
+    }
+
+    private static Calendar calendar(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day);
+        return cal;
+    }
+}
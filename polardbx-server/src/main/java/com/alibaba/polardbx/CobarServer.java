@@ -207,7 +207,7 @@ public class CobarServer extends AbstractLifecycle implements Lifecycle {
             processors = new NIOProcessor[system.getProcessors()];
             for (int i = 0; i < processors.length; i++) {
                 processors[i] = new NIOProcessor(i, "Processor" + i,
-                    this.serverExecutor);
+                    this.serverExecutor, system.getBufferPoolStripes());
                 processors[i].startup();
             }
 
@@ -112,6 +112,12 @@ public final class SystemConfig {
     private int socketRecvBuffer = 32 * 1024;
     private int socketSendBuffer = 64 * 1024;
 
+    /**
+     * 前端NIO缓存池的条带数，大于0时启用按线程分条带的无锁缓存池，0表示使用单锁缓存池
+     */
+    @Immutable
+    private int bufferPoolStripes = 0;
+
     /**
      * 是否需要将在Calcite上执行异常的SQL在老Server的逻辑上进行重试，默认是打开，在随机SQL测试时要关闭
      */
@@ -707,6 +713,14 @@ public final class SystemConfig {
         this.socketSendBuffer = socketSendBuffer;
     }
 
+    public int getBufferPoolStripes() {
+        return bufferPoolStripes;
+    }
+
+    public void setBufferPoolStripes(int bufferPoolStripes) {
+        this.bufferPoolStripes = bufferPoolStripes;
+    }
+
     public String getVersionPrefix() {
         return versionPrefix;
     }
@@ -29,6 +29,8 @@ import com.alibaba.polardbx.common.properties.MppConfig;
 import com.alibaba.polardbx.common.utils.version.InstanceVersion;
 import com.alibaba.polardbx.config.ConfigDataMode;
 import com.alibaba.polardbx.config.SystemConfig;
+import com.alibaba.polardbx.executor.archive.reader.BufferPoolManager;
+import com.alibaba.polardbx.executor.resultcache.ResultCacheManager;
 import com.alibaba.polardbx.executor.workqueue.PriorityWorkQueue;
 import com.alibaba.polardbx.gms.ha.impl.StorageHaChecker;
 import com.alibaba.polardbx.gms.ha.impl.StorageHaManager;
@@ -348,6 +350,14 @@ public abstract class ClusterLoader extends BaseClusterLoader {
             }
         }
 
+        if (p.containsKey(ConnectionProperties.RESULT_CACHE_SIZE)) {
+            ResultCacheManager.getInstance().setCapacity(DynamicConfig.getInstance().getResultCacheSize());
+        }
+
+        if (p.containsKey(ConnectionProperties.OSS_BUFFER_POOL_SIZE)) {
+            BufferPoolManager.getInstance().setCapacity(DynamicConfig.getInstance().getOssBufferPoolSize());
+        }
+
         if (p.containsKey(ConnectionProperties.ENABLE_FORBID_PUSH_DML_WITH_HINT)) {
             boolean enableForbidPushDmlWithHint =
                 Boolean.valueOf(p.getProperty(ConnectionProperties.ENABLE_FORBID_PUSH_DML_WITH_HINT));
@@ -417,6 +417,11 @@ public final class ServerLoader extends AbstractLifecycle implements Lifecycle {
             this.system.setSocketSendBuffer(Integer.parseInt(socketSendBuffer));
         }
 
+        String bufferPoolStripes = serverProps.getProperty("bufferPoolStripes");
+        if (!StringUtil.isEmpty(bufferPoolStripes)) {
+            this.system.setBufferPoolStripes(Integer.parseInt(bufferPoolStripes));
+        }
+
         String allowCrossDbQuery = serverProps.getProperty("allowCrossDbQuery");
         if (!TStringUtil.isEmpty(allowCrossDbQuery)) {
             this.system.setAllowCrossDbQuery(Boolean.parseBoolean(allowCrossDbQuery));
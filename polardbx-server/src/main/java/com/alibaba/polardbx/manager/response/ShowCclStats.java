@@ -44,7 +44,7 @@ import java.util.Map;
  */
 public class ShowCclStats {
 
-    private static final int FIELD_COUNT = 10;
+    private static final int FIELD_COUNT = 20;
     private static final ResultSetHeaderPacket header = PacketUtil.getHeader(FIELD_COUNT);
     private static final FieldPacket[] fields = new FieldPacket[FIELD_COUNT];
     private static final EOFPacket eof = new EOFPacket();
@@ -76,6 +76,27 @@ public class ShowCclStats {
         fields[i] = PacketUtil.getField("total_Match_Ccl_Rule_Hit_Count", Fields.FIELD_TYPE_LONG);
         fields[i++].packetId = ++packetId;
 
+        fields[i] = PacketUtil.getField("ap_Admission_Limit", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Running", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Waiting", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Queued_Count", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Timeout_Count", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Avg_Wait_Ms", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("ap_Admission_Max_Wait_Ms", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("tp_Latency_Ms", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("cpu_Usage", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+        fields[i] = PacketUtil.getField("memory_Usage", Fields.FIELD_TYPE_LONG);
+        fields[i++].packetId = ++packetId;
+
         eof.packetId = ++packetId;
     }
 
@@ -129,6 +150,10 @@ public class ShowCclStats {
         for (Long value : cclCacheStats) {
             row.add(LongUtil.toBytes(value));
         }
+        List<Long> admissionStats = cclService.getAdmissionStats();
+        for (Long value : admissionStats) {
+            row.add(LongUtil.toBytes(value));
+        }
 
         row.packetId = ++packetId;
         proxy = row.write(proxy);
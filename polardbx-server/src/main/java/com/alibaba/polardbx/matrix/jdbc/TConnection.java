@@ -38,6 +38,7 @@ import com.alibaba.polardbx.common.utils.ExecutorMode;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
 import com.alibaba.polardbx.common.utils.MergeHashMap;
 import com.alibaba.polardbx.common.utils.Pair;
+import com.alibaba.polardbx.common.utils.TStringUtil;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.common.utils.thread.ServerThreadPool;
@@ -57,6 +58,7 @@ import com.alibaba.polardbx.executor.cursor.impl.ArrayResultCursor;
 import com.alibaba.polardbx.executor.gsi.GsiUtils;
 import com.alibaba.polardbx.executor.mdl.MdlContext;
 import com.alibaba.polardbx.executor.mdl.MdlRequest;
+import com.alibaba.polardbx.executor.resultcache.ResultCacheManager;
 import com.alibaba.polardbx.executor.spi.ITransactionManager;
 import com.alibaba.polardbx.executor.utils.PolarPrivilegeUtils;
 import com.alibaba.polardbx.gms.topology.DbInfoManager;
@@ -128,6 +130,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -160,6 +163,10 @@ public class TConnection implements ITConnection {
     private volatile boolean closed;
     private int transactionIsolation = -1;
     private ITransactionPolicy trxPolicy = null;
+    /**
+     * Tables written by the current transaction, whose cached query results are invalidated when it ends
+     */
+    private final Set<Pair<String, String>> resultCacheWriteSet = ConcurrentHashMap.newKeySet();
     // Only set by ServerConnection. For users, it's set by
     // "set batch_insert_policy='split'"
     // Null stands for not set by this connection, and the policy depends on
@@ -555,6 +562,11 @@ public class TConnection implements ITConnection {
             if (trx != null && trx.getInventoryMode() != null) {
                 trx.getInventoryMode().resetInventoryMode();
             }
+            if (isAutoCommit && (trx == null || trx instanceof AutoCommitTransaction
+                || trxPolicy == ITransactionPolicy.NO_TRANSACTION)) {
+                // Each physical statement has been committed by itself, invalidate before the response is sent
+                invalidateResultCache();
+            }
         }
     }
 
@@ -701,11 +713,27 @@ public class TConnection implements ITConnection {
         ScaleOutPlanUtil.checkDDLPermission(plan, executionContext);
         invalidInventoryMode(plan);
 
+        if (plan.getPlanProperties().get(MODIFY_TABLE) && plan.getTableSet() != null
+            && TStringUtil.isNotBlank(DynamicConfig.getInstance().getResultCacheTables())) {
+            resultCacheWriteSet.addAll(plan.getTableSet());
+        }
+
+        final ResultCacheManager.Key resultCacheKey = ResultCacheManager.getInstance().buildKey(plan, executionContext);
+        if (resultCacheKey != null) {
+            ResultCursor cachedCursor = ResultCacheManager.getInstance().get(resultCacheKey);
+            if (cachedCursor != null) {
+                return cachedCursor;
+            }
+        }
+
         if (executionContext.getCclContext() == null) {
             CclManager.getService().begin(executionContext);
         }
 
         ResultCursor resultCursor = executor.execute(plan, executionContext);
+        if (resultCacheKey != null) {
+            resultCursor = ResultCacheManager.getInstance().wrap(resultCacheKey, resultCursor, executionContext);
+        }
         updateTableStatistic(plan, resultCursor, executionContext);
         return resultCursor;
     }
@@ -1042,10 +1070,27 @@ public class TConnection implements ITConnection {
 
     }
 
+    /**
+     * Called whenever the transaction of this connection ends
+     */
     private void refreshTableMeta() {
         if (executionContext != null) {
             executionContext.refreshTableMeta();
         }
+        // writes of a committed transaction have been invalidated by then, the rest were rolled back
+        resultCacheWriteSet.clear();
+    }
+
+    /**
+     * Invalidate the cached results of the tables written so far, must be called after the writes
+     * are committed and before the commit is acknowledged
+     */
+    private void invalidateResultCache() {
+        if (!resultCacheWriteSet.isEmpty()) {
+            final List<Pair<String, String>> written = new ArrayList<>(resultCacheWriteSet);
+            resultCacheWriteSet.clear();
+            ResultCacheManager.getInstance().onTablesWritten(dataSource.getSchemaName(), written);
+        }
     }
 
     /**
@@ -1217,6 +1262,7 @@ public class TConnection implements ITConnection {
         if (this.trx != null) {
             try {
                 this.trx.commit();
+                invalidateResultCache();
             } catch (TddlRuntimeException ex) {
                 // Ignore ERR_TRANS_TERMINATED in case of connection pool error
                 if (ex.getErrorCode() != ErrorCode.ERR_TRANS_TERMINATED.getCode()) {
@@ -1258,6 +1304,7 @@ public class TConnection implements ITConnection {
                 } else {
                     this.trx.commit();
                 }
+                invalidateResultCache();
             } catch (Throwable e) {
                 // 增加打印事务异常日志
                 logger.error(e);
@@ -137,6 +137,13 @@ public class TResultSet implements ResultSet {
         return currentKVPair;
     }
 
+    /**
+     * Data types of the return columns, available after the first call of {@link #next()}
+     */
+    public List<DataType> getDataTypes() {
+        return dataTypes;
+    }
+
     @Override
     public synchronized int findColumn(String columnName) throws SQLException {
         Integer index;
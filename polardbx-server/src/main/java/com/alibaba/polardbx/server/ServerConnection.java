@@ -93,6 +93,7 @@ import com.alibaba.polardbx.net.util.TimeUtil;
 import com.alibaba.polardbx.optimizer.OptimizerContext;
 import com.alibaba.polardbx.optimizer.PlannerContext;
 import com.alibaba.polardbx.optimizer.ccl.CclManager;
+import com.alibaba.polardbx.optimizer.ccl.common.CclAdmissionTicket;
 import com.alibaba.polardbx.optimizer.ccl.common.CclContext;
 import com.alibaba.polardbx.optimizer.ccl.common.CclMetric;
 import com.alibaba.polardbx.optimizer.ccl.common.CclRuleInfo;
@@ -2131,6 +2132,10 @@ public final class ServerConnection extends FrontendConnection implements Resche
                 if (cclContext != null) {
                     cclContext.getThread().interrupt();
                 }
+                CclAdmissionTicket admissionTicket = executionContext.getCclAdmissionTicket();
+                if (admissionTicket != null && admissionTicket.isWaiting()) {
+                    admissionTicket.getThread().interrupt();
+                }
             }
             cancelRescheduleTask(ErrorCode.ERR_HANDLE_DATA, false);
         }
@@ -0,0 +1,103 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.server.executor.utils;
+
+import com.alibaba.polardbx.common.charset.CharsetName;
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.ByteBlock;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.chunk.IntegerBlock;
+import com.alibaba.polardbx.executor.chunk.LongBlock;
+import com.alibaba.polardbx.executor.chunk.ShortBlock;
+import com.alibaba.polardbx.executor.chunk.SliceBlock;
+import com.alibaba.polardbx.matrix.jdbc.TResultSet;
+import com.alibaba.polardbx.net.compress.IPacketOutputProxy;
+import com.alibaba.polardbx.net.packet.FieldPacket;
+import com.alibaba.polardbx.net.packet.TextRowDataEncoder;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Writes chunk rows as text protocol packets, encoding integer and utf-8 string columns straight
+ * from their blocks instead of going through Row -> byte[] -> RowDataPacket. Other columns fall
+ * back to the same conversion as {@link TResultSet#getBytes(int, String)}.
+ */
+public class ChunkRowTextEncoder {
+
+    private final TextRowDataEncoder encoder = new TextRowDataEncoder(1024);
+    private final int columnCount;
+    private final boolean[] integerColumns;
+    private final boolean utf8;
+    private final String charset;
+
+    public ChunkRowTextEncoder(FieldPacket[] fieldPackets, List<DataType> dataTypes, String charset) {
+        this.columnCount = fieldPackets.length;
+        this.integerColumns = new boolean[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            integerColumns[i] = i < dataTypes.size() && isPlainInteger(fieldPackets[i].type, dataTypes.get(i));
+        }
+        this.utf8 = CharsetName.isUTF8(charset);
+        this.charset = charset;
+    }
+
+    private static boolean isPlainInteger(int fieldType, DataType dataType) {
+        switch (fieldType) {
+        case MysqlDefs.FIELD_TYPE_TINY:
+        case MysqlDefs.FIELD_TYPE_SHORT:
+        case MysqlDefs.FIELD_TYPE_INT24:
+        case MysqlDefs.FIELD_TYPE_LONG:
+        case MysqlDefs.FIELD_TYPE_LONGLONG:
+            break;
+        default:
+            return false;
+        }
+        if (dataType == null) {
+            return false;
+        }
+        Class clazz = dataType.getDataClass();
+        return clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+    }
+
+    public IPacketOutputProxy write(TResultSet rs, Chunk.ChunkRow row, IPacketOutputProxy proxy,
+                                    Supplier<Byte> packetIdGen) throws SQLException {
+        final Chunk chunk = row.getChunk();
+        final int position = row.getPosition();
+        for (int i = 0; i < columnCount; i++) {
+            Block block = chunk.getBlock(i);
+            if (block.isNull(position)) {
+                encoder.writeNull();
+            } else if (integerColumns[i] && block instanceof LongBlock) {
+                encoder.writeLong(((LongBlock) block).getLong(position));
+            } else if (integerColumns[i] && block instanceof IntegerBlock) {
+                encoder.writeLong(((IntegerBlock) block).getInt(position));
+            } else if (integerColumns[i] && block instanceof ShortBlock) {
+                encoder.writeLong(((ShortBlock) block).getShort(position));
+            } else if (integerColumns[i] && block instanceof ByteBlock) {
+                encoder.writeLong(((ByteBlock) block).getByte(position));
+            } else if (utf8 && block instanceof SliceBlock) {
+                // chunk slices are stored in utf-8
+                encoder.writeSlice(((SliceBlock) block).getRegion(position));
+            } else {
+                encoder.writeBytes(rs.getBytes(i + 1, charset));
+            }
+        }
+        return encoder.write(proxy, packetIdGen);
+    }
+}
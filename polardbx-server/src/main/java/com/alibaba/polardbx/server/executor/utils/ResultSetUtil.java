@@ -19,8 +19,10 @@ package com.alibaba.polardbx.server.executor.utils;
 import com.alibaba.druid.proxy.jdbc.ResultSetMetaDataProxy;
 import com.alibaba.polardbx.common.charset.CharsetName;
 import com.alibaba.polardbx.common.exception.NotSupportException;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
 import com.alibaba.polardbx.common.utils.GeneralUtil;
 import com.alibaba.polardbx.executor.Xprotocol.XRowSet;
+import com.alibaba.polardbx.executor.chunk.Chunk;
 import com.alibaba.polardbx.matrix.jdbc.TResultSet;
 import com.alibaba.polardbx.matrix.jdbc.TResultSetMetaData;
 import com.alibaba.polardbx.net.FrontendConnection;
@@ -271,6 +273,12 @@ public class ResultSetUtil {
 
         }
 
+        ChunkRowTextEncoder chunkRowEncoder = null;
+        if (rs instanceof TResultSet && DynamicConfig.getInstance().enableDirectChunkEncoding()
+            && ((TResultSet) rs).getDataTypes() != null && packet.fieldPackets != null) {
+            chunkRowEncoder = new ChunkRowTextEncoder(packet.fieldPackets, ((TResultSet) rs).getDataTypes(), charset);
+        }
+
         do {
             if (!existNext) {
                 // 不存在记录，直接退出
@@ -281,6 +289,15 @@ public class ResultSetUtil {
                 rs.close();
                 break;
             }
+            if (chunkRowEncoder != null && !existUndecidedType
+                && ((TResultSet) rs).getCurrentKVPair() instanceof Chunk.ChunkRow) {
+                // Fast path of chunk results, encode values from blocks directly.
+                proxy = chunkRowEncoder.write((TResultSet) rs, (Chunk.ChunkRow) ((TResultSet) rs).getCurrentKVPair(),
+                    proxy, c::getNewPacketId);
+                affectRow.incrementAndGet();
+                existNext = rs.next();
+                continue;
+            }
             RowDataPacket row = null;
             row = new RowDataMultiPacket(columnCount, c::getNewPacketId);
             final XRowSet xRowSet =
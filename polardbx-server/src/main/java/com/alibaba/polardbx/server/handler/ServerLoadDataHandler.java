@@ -39,7 +39,6 @@ import com.alibaba.polardbx.common.properties.ParamManager;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
 import com.alibaba.polardbx.common.utils.logger.MDC;
-import com.alibaba.polardbx.common.utils.memory.SizeOf;
 import com.alibaba.polardbx.optimizer.OptimizerContext;
 import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
 import com.alibaba.polardbx.optimizer.config.table.TableMeta;
@@ -65,6 +64,7 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -110,7 +110,9 @@ public final class ServerLoadDataHandler implements LoadDataHandler {
 
     private BlockingQueue<byte[]> cacheData = new LinkedBlockingQueue<>();
 
-    private List<String> lines = new ArrayList<>();
+    private List<List<String>> rows = new ArrayList<>();
+
+    private boolean parallelParse = false;
 
     public ServerLoadDataHandler(ServerConnection serverConnection) {
         this.serverConnection = serverConnection;
@@ -306,88 +308,82 @@ public final class ServerLoadDataHandler implements LoadDataHandler {
                 }
             }
 
-            String[] fields = null;
-            if (loadData.getEnclose() != null) {
-                List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
-                fields = new String[stringList.size()];
-                for (int fieldIndex = 0; fieldIndex < stringList.size(); fieldIndex++) {
-                    fields[fieldIndex] = stringList.get(fieldIndex);
-                    // 如果有enclosed by，则进行处理
-                    if (!"".equals(loadData.getEnclose())) {
-                        if (fields[fieldIndex].length() < 2) {
-                            continue;
-                        }
-                        if ((fields[fieldIndex].startsWith(loadData.getEnclose())) && fields[fieldIndex]
-                            .endsWith(loadData.getEnclose())) {
-                            fields[fieldIndex] = fields[fieldIndex].substring(1, fields[fieldIndex].length() - 1);
-                        }
-                    }
-                }
+            // 并行解析时只传递原始行，字段交给写入线程处理
+            List<String> row = parallelParse ? Collections.singletonList(realLine) : parseFields(loadData, realLine);
+            dataContext.getDataCacheManager().allocateMemory(LoadDataContext.sizeOf(row));
+            rows.add(row);
+            if (rows.size() >= dataContext.getBatchInsertNum()) {
+                dataContext.getParameters().add(rows);
+                rows = new ArrayList<>();
+            }
+        }
+        if (cacheData.isEmpty() && dataContext.getDataCacheManager().isFull() && rows.size() > 0) {
+            dataContext.getParameters().add(rows);
+            rows = new ArrayList<>();
+        }
+        if (isEnd) {
+            if (rows.size() > 0) {
+                dataContext.getParameters().add(rows);
+                rows = new ArrayList<>();
             }
+            dataContext.getParameters().add(END);
+        }
+        restData = tempRestData;
+        if (isEnd && restData.length > 0) {
+            throw new TddlNestableRuntimeException("restData should be empty here!");
+        }
+    }
 
-            if (loadData.getEscape() != null) {
-                if (fields == null) {
-                    List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
-                    fields = new String[stringList.size()];
-                    for (int fieldIndex = 0; fieldIndex < stringList.size(); fieldIndex++) {
-                        fields[fieldIndex] = StringEscapeUtils.unescapeJava(stringList.get(fieldIndex));
+    /**
+     * 将一行切分为字段，并处理 enclosed by、escaped by 以及列的选择，返回可修改的字段列表，可以被多个线程同时调用
+     */
+    static List<String> parseFields(LoadData loadData, String realLine) {
+        String[] fields = null;
+        if (loadData.getEnclose() != null) {
+            List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
+            fields = new String[stringList.size()];
+            for (int fieldIndex = 0; fieldIndex < stringList.size(); fieldIndex++) {
+                fields[fieldIndex] = stringList.get(fieldIndex);
+                // 如果有enclosed by，则进行处理
+                if (!"".equals(loadData.getEnclose())) {
+                    if (fields[fieldIndex].length() < 2) {
+                        continue;
                     }
-                } else {
-                    for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++) {
-                        fields[fieldIndex] = StringEscapeUtils.unescapeJava(fields[fieldIndex]);
+                    if ((fields[fieldIndex].startsWith(loadData.getEnclose())) && fields[fieldIndex]
+                        .endsWith(loadData.getEnclose())) {
+                        fields[fieldIndex] = fields[fieldIndex].substring(1, fields[fieldIndex].length() - 1);
                     }
                 }
             }
+        }
 
-            if (loadData.getOutputColumnsIndex() == null || loadData.getOutputColumnsIndex().size() == 0) {
-                if (fields != null) {
-                    realLine = String.join(loadData.getOriginFieldTerminatedBy(), fields);
+        if (loadData.getEscape() != null) {
+            if (fields == null) {
+                List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
+                fields = new String[stringList.size()];
+                for (int fieldIndex = 0; fieldIndex < stringList.size(); fieldIndex++) {
+                    fields[fieldIndex] = StringEscapeUtils.unescapeJava(stringList.get(fieldIndex));
                 }
             } else {
-                if (fields == null) {
-                    List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
-                    fields = new String[stringList.size()];
-                    for (int fieldIndex = 0; fieldIndex < stringList.size(); fieldIndex++) {
-                        fields[fieldIndex] = stringList.get(fieldIndex);
-                    }
-                }
-                List<Integer> outColumnsIndex = loadData.getOutputColumnsIndex();
-                boolean isFirst = true;
-                StringBuilder tempLine = new StringBuilder("");
-                for (Integer columnIndex : outColumnsIndex) {
-                    if (isFirst) {
-                        tempLine.append(fields[columnIndex]);
-                        isFirst = false;
-                    } else {
-                        tempLine.append(loadData.getOriginFieldTerminatedBy()).append(fields[columnIndex]);
-                    }
+                for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++) {
+                    fields[fieldIndex] = StringEscapeUtils.unescapeJava(fields[fieldIndex]);
                 }
-                realLine = tempLine.toString();
-            }
-
-            long length = SizeOf.sizeOfCharArray(realLine.length());
-            dataContext.getDataCacheManager().allocateMemory(length);
-            lines.add(realLine);
-            if (lines.size() >= dataContext.getBatchInsertNum()) {
-                dataContext.getParameters().add(lines);
-                lines = new ArrayList<>();
             }
         }
-        if (cacheData.isEmpty() && dataContext.getDataCacheManager().isFull() && lines.size() > 0) {
-            dataContext.getParameters().add(lines);
-            lines = new ArrayList<>();
+
+        if (fields == null) {
+            List<String> stringList = Splitter.on(loadData.getOriginFieldTerminatedBy()).splitToList(realLine);
+            fields = stringList.toArray(new String[0]);
         }
-        if (isEnd) {
-            if (lines.size() > 0) {
-                dataContext.getParameters().add(lines);
-                lines = new ArrayList<>();
-            }
-            dataContext.getParameters().add(END);
+        List<Integer> outColumnsIndex = loadData.getOutputColumnsIndex();
+        if (outColumnsIndex == null || outColumnsIndex.size() == 0) {
+            return new ArrayList<>(Arrays.asList(fields));
         }
-        restData = tempRestData;
-        if (isEnd && restData.length > 0) {
-            throw new TddlNestableRuntimeException("restData should be empty here!");
+        List<String> outFields = new ArrayList<>(outColumnsIndex.size());
+        for (Integer columnIndex : outColumnsIndex) {
+            outFields.add(fields[columnIndex]);
         }
+        return outFields;
     }
 
     private String replaceRegularCharacters(String str) {
@@ -640,6 +636,11 @@ public final class ServerLoadDataHandler implements LoadDataHandler {
                     Collectors.toList()).indexOf(true));
         }
         dataContext.setSwapColumns(loadData.isSwapColumns());
+        this.parallelParse = paramManager.getBoolean(ConnectionParams.LOAD_DATA_PARALLEL_PARSE);
+        if (parallelParse) {
+            final LoadData currentLoadData = loadData;
+            dataContext.setFieldsParser(line -> parseFields(currentLoadData, line));
+        }
         if (loadData.isLocal()) {
             handler.sendRequestFilePacket(strSql);
         }
@@ -690,7 +691,7 @@ public final class ServerLoadDataHandler implements LoadDataHandler {
         if (dataContext != null) {
             this.dataContext.clear();
         }
-        this.lines.clear();
+        this.rows.clear();
         this.cacheData.clear();
         this.cacheData.add(END_BYTE);
         restData = null;
@@ -19,6 +19,7 @@ package com.alibaba.polardbx.server.handler;
 import com.alibaba.polardbx.server.ServerConnection;
 import com.alibaba.polardbx.server.parser.ServerParseShow;
 import com.alibaba.polardbx.server.response.ShowArchive;
+import com.alibaba.polardbx.server.response.ShowBufferPool;
 import com.alibaba.polardbx.server.response.ShowCacheStats;
 import com.alibaba.polardbx.server.response.ShowConnection;
 import com.alibaba.polardbx.server.response.ShowDatabases;
@@ -28,10 +29,12 @@ import com.alibaba.polardbx.server.response.ShowFullConnection;
 import com.alibaba.polardbx.server.response.ShowFullDatabases;
 import com.alibaba.polardbx.server.response.ShowFileStorage;
 import com.alibaba.polardbx.server.response.ShowGitCommit;
+import com.alibaba.polardbx.server.response.ShowGlobalTxLogStats;
 import com.alibaba.polardbx.server.response.ShowHelp;
 import com.alibaba.polardbx.server.response.ShowMpp;
 import com.alibaba.polardbx.server.response.ShowMdlDeadlockDetectionStatus;
 import com.alibaba.polardbx.server.response.ShowMemoryPool;
+import com.alibaba.polardbx.server.response.ShowMetaDbConfigStats;
 import com.alibaba.polardbx.server.response.ShowNode;
 import com.alibaba.polardbx.server.response.ShowParametric;
 import com.alibaba.polardbx.server.response.ShowStatistic;
@@ -102,6 +105,15 @@ public final class ShowHandler {
             case ServerParseShow.ARCHIVE:
                 ShowArchive.execute(c);
                 break;
+            case ServerParseShow.BUFFER_POOL:
+                ShowBufferPool.execute(c);
+                break;
+            case ServerParseShow.METADB_CONFIG_STATS:
+                ShowMetaDbConfigStats.execute(c);
+                break;
+            case ServerParseShow.GLOBAL_TX_LOG_STATS:
+                ShowGlobalTxLogStats.execute(c);
+                break;
             case ServerParseShow.FILE_STORAGE:
                 ShowFileStorage.execute(c);
                 break;
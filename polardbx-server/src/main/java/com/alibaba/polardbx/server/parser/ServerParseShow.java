@@ -57,6 +57,9 @@ public final class ServerParseShow {
     public static final int FULL_DATABASES = 28;
     public static final int FULL_CONNECTION = 29;
     public static final int PROCEDURE_CACHE = 30;
+    public static final int BUFFER_POOL = 31;
+    public static final int METADB_CONFIG_STATS = 32;
+    public static final int GLOBAL_TX_LOG_STATS = 33;
 
     public static final Set<Integer> PREPARE_UNSUPPORTED_SHOW_TYPE;
 
@@ -82,6 +85,9 @@ public final class ServerParseShow {
         PREPARE_UNSUPPORTED_SHOW_TYPE.add(ARCHIVE);
         PREPARE_UNSUPPORTED_SHOW_TYPE.add(FILE_STORAGE);
         PREPARE_UNSUPPORTED_SHOW_TYPE.add(FULL_DATABASES);
+        PREPARE_UNSUPPORTED_SHOW_TYPE.add(BUFFER_POOL);
+        PREPARE_UNSUPPORTED_SHOW_TYPE.add(METADB_CONFIG_STATS);
+        PREPARE_UNSUPPORTED_SHOW_TYPE.add(GLOBAL_TX_LOG_STATS);
     }
 
     public static int parse(String stmt, int offset) {
@@ -101,6 +107,9 @@ public final class ServerParseShow {
             case 'A':
             case 'a':
                 return aCheck(stmt, i);
+            case 'B':
+            case 'b':
+                return bufferPoolCheck(stmt, i);
             case 'C':
             case 'c':
                 return cCheck(stmt, i);
@@ -127,12 +136,18 @@ public final class ServerParseShow {
                 return helpCheck(stmt, i);
             case 'G':
             case 'g':
+                if (globalTxLogStatsCheck(stmt, i)) {
+                    return GLOBAL_TX_LOG_STATS;
+                }
                 return gitCheck(stmt, i);
             case 'F':
             case 'f':
                 return fCheck(stmt, i);
             case 'M':
             case 'm':
+                if (metaDbConfigStatsCheck(stmt, i)) {
+                    return METADB_CONFIG_STATS;
+                }
                 return memoryPoolCheck(stmt, i);
             case 'I':
             case 'i':
@@ -183,6 +198,32 @@ public final class ServerParseShow {
         return OTHER;
     }
 
+    private static int bufferPoolCheck(ByteString stmt, int offset) {
+        final String expect = "buffer_pool";
+        if (stmt.length() >= offset + expect.length()) {
+            if (stmt.substring(offset, offset + expect.length()).equalsIgnoreCase(expect)
+                && (stmt.length() == offset + expect.length() ||
+                ParseUtil.isEOF(stmt.charAt(offset + expect.length())))) {
+                return BUFFER_POOL;
+            }
+        }
+        return OTHER;
+    }
+
+    private static boolean metaDbConfigStatsCheck(ByteString stmt, int offset) {
+        final String expect = "metadb_config_stats";
+        return stmt.length() >= offset + expect.length()
+            && stmt.substring(offset, offset + expect.length()).equalsIgnoreCase(expect)
+            && (stmt.length() == offset + expect.length() || ParseUtil.isEOF(stmt.charAt(offset + expect.length())));
+    }
+
+    private static boolean globalTxLogStatsCheck(ByteString stmt, int offset) {
+        final String expect = "global_tx_log_stats";
+        return stmt.length() >= offset + expect.length()
+            && stmt.substring(offset, offset + expect.length()).equalsIgnoreCase(expect)
+            && (stmt.length() == offset + expect.length() || ParseUtil.isEOF(stmt.charAt(offset + expect.length())));
+    }
+
     static int cCheck(ByteString stmt, int offset) {
         if (stmt.length() > offset + "ACHE_STATS".length()) {
             char c1 = stmt.charAt(++offset);
@@ -0,0 +1,126 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.server.response;
+
+import com.alibaba.polardbx.Fields;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.executor.archive.reader.BufferPoolManager;
+import com.alibaba.polardbx.executor.archive.reader.SegmentedLruCache;
+import com.alibaba.polardbx.net.buffer.ByteBufferHolder;
+import com.alibaba.polardbx.net.compress.IPacketOutputProxy;
+import com.alibaba.polardbx.net.compress.PacketOutputProxyFactory;
+import com.alibaba.polardbx.net.packet.EOFPacket;
+import com.alibaba.polardbx.net.packet.FieldPacket;
+import com.alibaba.polardbx.net.packet.ResultSetHeaderPacket;
+import com.alibaba.polardbx.net.packet.RowDataPacket;
+import com.alibaba.polardbx.server.ServerConnection;
+import com.alibaba.polardbx.server.util.PacketUtil;
+
+/**
+ * Show hit rate, size and evictions of the orc column block cache of oss scan on this node.
+ */
+public class ShowBufferPool {
+    private static final int FIELD_COUNT = 11;
+    private static final ResultSetHeaderPacket header = PacketUtil.getHeader(FIELD_COUNT);
+    private static final FieldPacket[] fields = new FieldPacket[FIELD_COUNT];
+    private static final EOFPacket eof = new EOFPacket();
+
+    static {
+        int i = 0;
+        byte packetId = 0;
+        header.packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("CAPACITY", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("SIZE", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("ENTRIES", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("PROTECTED_SIZE", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("PROTECTED_ENTRIES", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("HIT", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("MISS", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("HIT_RATE", Fields.FIELD_TYPE_DOUBLE);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("EVICTION", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("EVICTION_SIZE", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("OFF_HEAP", Fields.FIELD_TYPE_VAR_STRING);
+        fields[i++].packetId = ++packetId;
+
+        eof.packetId = ++packetId;
+    }
+
+    public static void execute(ServerConnection c) {
+        ByteBufferHolder buffer = c.allocate();
+        IPacketOutputProxy proxy = PacketOutputProxyFactory.getInstance().createProxy(c, buffer);
+        proxy.packetBegin();
+
+        // write header
+        proxy = header.write(proxy);
+
+        // write fields
+        for (FieldPacket field : fields) {
+            proxy = field.write(proxy);
+        }
+
+        // write eof
+        proxy = eof.write(proxy);
+
+        // write rows
+        byte packetId = eof.packetId;
+
+        SegmentedLruCache.Stats stats = BufferPoolManager.getInstance().getStats();
+        RowDataPacket row = new RowDataPacket(FIELD_COUNT);
+        row.add(String.valueOf(stats.getCapacity()).getBytes());
+        row.add(String.valueOf(stats.getWeight()).getBytes());
+        row.add(String.valueOf(stats.getEntryCount()).getBytes());
+        row.add(String.valueOf(stats.getProtectedWeight()).getBytes());
+        row.add(String.valueOf(stats.getProtectedCount()).getBytes());
+        row.add(String.valueOf(stats.getHitCount()).getBytes());
+        row.add(String.valueOf(stats.getMissCount()).getBytes());
+        row.add(String.valueOf(stats.getHitRate()).getBytes());
+        row.add(String.valueOf(stats.getEvictionCount()).getBytes());
+        row.add(String.valueOf(stats.getEvictionWeight()).getBytes());
+        row.add(String.valueOf(DynamicConfig.getInstance().isOssBufferPoolOffHeap()).getBytes());
+        row.packetId = ++packetId;
+        proxy = row.write(proxy);
+
+        // write last eof
+        EOFPacket lastEof = new EOFPacket();
+        lastEof.packetId = ++packetId;
+        proxy = lastEof.write(proxy);
+
+        // write buffer
+        proxy.packetEnd();
+    }
+}
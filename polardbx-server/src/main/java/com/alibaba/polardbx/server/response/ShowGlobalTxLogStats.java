@@ -0,0 +1,100 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.server.response;
+
+import com.alibaba.polardbx.Fields;
+import com.alibaba.polardbx.net.buffer.ByteBufferHolder;
+import com.alibaba.polardbx.net.compress.IPacketOutputProxy;
+import com.alibaba.polardbx.net.compress.PacketOutputProxyFactory;
+import com.alibaba.polardbx.net.packet.EOFPacket;
+import com.alibaba.polardbx.net.packet.FieldPacket;
+import com.alibaba.polardbx.net.packet.ResultSetHeaderPacket;
+import com.alibaba.polardbx.net.packet.RowDataPacket;
+import com.alibaba.polardbx.server.ServerConnection;
+import com.alibaba.polardbx.server.util.PacketUtil;
+import com.alibaba.polardbx.transaction.TransactionMetrics;
+
+/**
+ * Show how global tx log group commit batches the commit logs of this node.
+ */
+public class ShowGlobalTxLogStats {
+    private static final int FIELD_COUNT = 5;
+    private static final ResultSetHeaderPacket header = PacketUtil.getHeader(FIELD_COUNT);
+    private static final FieldPacket[] fields = new FieldPacket[FIELD_COUNT];
+    private static final EOFPacket eof = new EOFPacket();
+
+    static {
+        int i = 0;
+        byte packetId = 0;
+        header.packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("BATCHES", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("BATCHED_ROWS", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("AVG_BATCH_SIZE", Fields.FIELD_TYPE_DOUBLE);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("MAX_BATCH_SIZE", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("AVG_GROUP_WAIT_US", Fields.FIELD_TYPE_DOUBLE);
+        fields[i++].packetId = ++packetId;
+
+        eof.packetId = ++packetId;
+    }
+
+    public static void execute(ServerConnection c) {
+        ByteBufferHolder buffer = c.allocate();
+        IPacketOutputProxy proxy = PacketOutputProxyFactory.getInstance().createProxy(c, buffer);
+        proxy.packetBegin();
+
+        // write header
+        proxy = header.write(proxy);
+
+        // write fields
+        for (FieldPacket field : fields) {
+            proxy = field.write(proxy);
+        }
+
+        // write eof
+        proxy = eof.write(proxy);
+
+        // write rows
+        byte packetId = eof.packetId;
+
+        RowDataPacket row = new RowDataPacket(FIELD_COUNT);
+        row.add(String.valueOf(TransactionMetrics.getGlobalTxLogBatches()).getBytes());
+        row.add(String.valueOf(TransactionMetrics.getGlobalTxLogBatchedRows()).getBytes());
+        row.add(String.valueOf(TransactionMetrics.getGlobalTxLogAvgBatchSize()).getBytes());
+        row.add(String.valueOf(TransactionMetrics.getGlobalTxLogMaxBatchSize()).getBytes());
+        row.add(String.valueOf(TransactionMetrics.getGlobalTxLogAvgGroupWaitMicros()).getBytes());
+        row.packetId = ++packetId;
+        proxy = row.write(proxy);
+
+        // write last eof
+        EOFPacket lastEof = new EOFPacket();
+        lastEof.packetId = ++packetId;
+        proxy = lastEof.write(proxy);
+
+        // write buffer
+        proxy.packetEnd();
+    }
+}
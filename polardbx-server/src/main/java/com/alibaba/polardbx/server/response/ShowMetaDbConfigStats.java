@@ -0,0 +1,110 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.server.response;
+
+import com.alibaba.polardbx.Fields;
+import com.alibaba.polardbx.common.properties.DynamicConfig;
+import com.alibaba.polardbx.gms.listener.impl.MetaDbConfigManager;
+import com.alibaba.polardbx.net.buffer.ByteBufferHolder;
+import com.alibaba.polardbx.net.compress.IPacketOutputProxy;
+import com.alibaba.polardbx.net.compress.PacketOutputProxyFactory;
+import com.alibaba.polardbx.net.packet.EOFPacket;
+import com.alibaba.polardbx.net.packet.FieldPacket;
+import com.alibaba.polardbx.net.packet.ResultSetHeaderPacket;
+import com.alibaba.polardbx.net.packet.RowDataPacket;
+import com.alibaba.polardbx.server.ServerConnection;
+import com.alibaba.polardbx.server.util.PacketUtil;
+
+/**
+ * Show how metadb config changes reach the listeners of this node, by push or by scan.
+ */
+public class ShowMetaDbConfigStats {
+    private static final int FIELD_COUNT = 7;
+    private static final ResultSetHeaderPacket header = PacketUtil.getHeader(FIELD_COUNT);
+    private static final FieldPacket[] fields = new FieldPacket[FIELD_COUNT];
+    private static final EOFPacket eof = new EOFPacket();
+
+    static {
+        int i = 0;
+        byte packetId = 0;
+        header.packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("PUSH", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("PUSHED_EVENT", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("SCANNED_EVENT", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("HANDLED_EVENT", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("AVG_LATENCY_MS", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("MAX_LATENCY_MS", Fields.FIELD_TYPE_LONGLONG);
+        fields[i++].packetId = ++packetId;
+
+        fields[i] = PacketUtil.getField("PUSH_ENABLED", Fields.FIELD_TYPE_VAR_STRING);
+        fields[i++].packetId = ++packetId;
+
+        eof.packetId = ++packetId;
+    }
+
+    public static void execute(ServerConnection c) {
+        ByteBufferHolder buffer = c.allocate();
+        IPacketOutputProxy proxy = PacketOutputProxyFactory.getInstance().createProxy(c, buffer);
+        proxy.packetBegin();
+
+        // write header
+        proxy = header.write(proxy);
+
+        // write fields
+        for (FieldPacket field : fields) {
+            proxy = field.write(proxy);
+        }
+
+        // write eof
+        proxy = eof.write(proxy);
+
+        // write rows
+        byte packetId = eof.packetId;
+
+        MetaDbConfigManager.PropagationStats stats = MetaDbConfigManager.getInstance().getPropagationStats();
+        RowDataPacket row = new RowDataPacket(FIELD_COUNT);
+        row.add(String.valueOf(stats.getPushCount()).getBytes());
+        row.add(String.valueOf(stats.getPushedEventCount()).getBytes());
+        row.add(String.valueOf(stats.getScannedEventCount()).getBytes());
+        row.add(String.valueOf(stats.getHandledEventCount()).getBytes());
+        row.add(String.valueOf(stats.getAvgLatencyMillis()).getBytes());
+        row.add(String.valueOf(stats.getMaxLatencyMillis()).getBytes());
+        row.add(String.valueOf(DynamicConfig.getInstance().enableMetaDbConfigPush()).getBytes());
+        row.packetId = ++packetId;
+        proxy = row.write(proxy);
+
+        // write last eof
+        EOFPacket lastEof = new EOFPacket();
+        lastEof.packetId = ++packetId;
+        proxy = lastEof.write(proxy);
+
+        // write buffer
+        proxy.packetEnd();
+    }
+}
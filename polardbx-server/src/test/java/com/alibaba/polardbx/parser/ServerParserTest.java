@@ -121,6 +121,30 @@ public class ServerParserTest {
         Assert.assertEquals(ServerParseShow.GIT_COMMIT, ServerParseShow.parse("show GIT_COmmIT", 4));
     }
 
+    @Test
+    public void testIsShowBufferPool() {
+        Assert.assertEquals(ServerParseShow.BUFFER_POOL, ServerParseShow.parse("show buffer_pool", 4));
+        Assert.assertEquals(ServerParseShow.BUFFER_POOL, ServerParseShow.parse("SHOW BUFFER_POOL ", 4));
+        Assert.assertEquals(ServerParseShow.OTHER, ServerParseShow.parse("show buffer_pools", 4));
+    }
+
+    @Test
+    public void testIsShowMetaDbConfigStats() {
+        Assert.assertEquals(ServerParseShow.METADB_CONFIG_STATS, ServerParseShow.parse("show metadb_config_stats", 4));
+        Assert.assertEquals(ServerParseShow.METADB_CONFIG_STATS, ServerParseShow.parse("SHOW METADB_CONFIG_STATS ", 4));
+        Assert.assertEquals(ServerParseShow.OTHER, ServerParseShow.parse("show metadb_config", 4));
+        Assert.assertEquals(ServerParseShow.MEMORYPOOL, ServerParseShow.parse("show memorypool", 4));
+    }
+
+    @Test
+    public void testIsShowGlobalTxLogStats() {
+        Assert.assertEquals(ServerParseShow.GLOBAL_TX_LOG_STATS, ServerParseShow.parse("show global_tx_log_stats", 4));
+        Assert.assertEquals(ServerParseShow.GLOBAL_TX_LOG_STATS,
+            ServerParseShow.parse("SHOW GLOBAL_TX_LOG_STATS ", 4));
+        Assert.assertEquals(ServerParseShow.OTHER, ServerParseShow.parse("show global_tx_log", 4));
+        Assert.assertEquals(ServerParseShow.GIT_COMMIT, ServerParseShow.parse("show git_commit", 4));
+    }
+
     @Test
     public void testIsShowDataSources() {
         Assert.assertEquals(ServerParseShow.DATASOURCES, ServerParseShow.parse("show datasources", 4));
@@ -0,0 +1,221 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.server.executor.utils;
+
+import com.alibaba.polardbx.executor.chunk.Block;
+import com.alibaba.polardbx.executor.chunk.BlockBuilder;
+import com.alibaba.polardbx.executor.chunk.BlockBuilders;
+import com.alibaba.polardbx.executor.chunk.Chunk;
+import com.alibaba.polardbx.executor.cursor.AbstractCursor;
+import com.alibaba.polardbx.executor.cursor.ResultCursor;
+import com.alibaba.polardbx.matrix.jdbc.TResultSet;
+import com.alibaba.polardbx.mock.server.MockConnection;
+import com.alibaba.polardbx.net.FrontendConnection;
+import com.alibaba.polardbx.net.buffer.ByteBufferHolder;
+import com.alibaba.polardbx.net.compress.PacketByteBufferOutputProxy;
+import com.alibaba.polardbx.net.packet.FieldPacket;
+import com.alibaba.polardbx.net.packet.RowDataMultiPacket;
+import com.alibaba.polardbx.optimizer.config.table.ColumnMeta;
+import com.alibaba.polardbx.optimizer.config.table.Field;
+import com.alibaba.polardbx.optimizer.context.ExecutionContext;
+import com.alibaba.polardbx.optimizer.core.CursorMeta;
+import com.alibaba.polardbx.optimizer.core.datatype.DataType;
+import com.alibaba.polardbx.optimizer.core.datatype.DataTypes;
+import com.alibaba.polardbx.optimizer.core.datatype.DateTimeType;
+import com.alibaba.polardbx.optimizer.core.row.Row;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class ChunkRowTextEncoderTest {
+
+    private static final DataType[] TYPES = {
+        DataTypes.LongType, DataTypes.IntegerType, DataTypes.VarcharType, DataTypes.DecimalType,
+        new DateTimeType(3), DataTypes.BinaryType};
+
+    private static final int[] FIELD_TYPES = {
+        MysqlDefs.FIELD_TYPE_LONGLONG, MysqlDefs.FIELD_TYPE_LONG, MysqlDefs.FIELD_TYPE_VAR_STRING,
+        MysqlDefs.FIELD_TYPE_NEW_DECIMAL, MysqlDefs.FIELD_TYPE_DATETIME, MysqlDefs.FIELD_TYPE_STRING};
+
+    private static final Object[][] ROWS = {
+        {1L, 7, "abc", "12.340", "2021-02-03 04:05:06.789", new byte[] {0x01, 0x00, (byte) 0xff}},
+        {null, null, null, null, null, null},
+        {Long.MIN_VALUE, -1, "", "-0.001", "2021-12-31 23:59:59.000", new byte[0]},
+        {Long.MAX_VALUE, Integer.MAX_VALUE, "中文", "99999999999999999999.999999999", "1970-01-01 00:00:00.001",
+            "abc".getBytes()},
+    };
+
+    private static ServerSocketChannel server;
+    private static SocketChannel client;
+    private static FrontendConnection connection;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        connection = new MockConnection(client) {
+            @Override
+            protected long genConnId() {
+                return 1L;
+            }
+        };
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testSameBytesAsLegacyPath() throws Exception {
+        assertSameBytes("utf8");
+    }
+
+    @Test
+    public void testSameBytesAsLegacyPathWithNonUtf8Charset() throws Exception {
+        assertSameBytes("gbk");
+    }
+
+    private static void assertSameBytes(String charset) throws Exception {
+        Chunk chunk = buildChunk();
+
+        CapturingProxy expected = new CapturingProxy(connection);
+        TResultSet rs = newResultSet(chunk);
+        Supplier<Byte> expectedIds = packetIds();
+        while (rs.next()) {
+            RowDataMultiPacket row = new RowDataMultiPacket(TYPES.length, expectedIds);
+            for (int j = 1; j <= TYPES.length; j++) {
+                row.fieldValues.add(rs.getBytes(j, charset));
+            }
+            row.write(expected);
+        }
+
+        CapturingProxy actual = new CapturingProxy(connection);
+        rs = newResultSet(chunk);
+        Supplier<Byte> actualIds = packetIds();
+        ChunkRowTextEncoder encoder = new ChunkRowTextEncoder(fieldPackets(), Arrays.asList(TYPES), charset);
+        while (rs.next()) {
+            encoder.write(rs, (Chunk.ChunkRow) rs.getCurrentKVPair(), actual, actualIds);
+        }
+
+        Assert.assertTrue(expected.toByteArray().length > 0);
+        Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    private static Chunk buildChunk() {
+        Block[] blocks = new Block[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            BlockBuilder builder = BlockBuilders.create(TYPES[i], new ExecutionContext());
+            for (Object[] row : ROWS) {
+                builder.writeObject(row[i] == null ? null : TYPES[i].convertFrom(row[i]));
+            }
+            blocks[i] = builder.build();
+        }
+        return new Chunk(blocks);
+    }
+
+    private static TResultSet newResultSet(Chunk chunk) {
+        List<ColumnMeta> columns = new ArrayList<>();
+        for (int i = 0; i < TYPES.length; i++) {
+            columns.add(new ColumnMeta("t", "c" + i, null, new Field(TYPES[i])));
+        }
+        ResultCursor cursor = new ResultCursor(new ChunkCursor(chunk));
+        cursor.setCursorMeta(CursorMeta.build(columns));
+        return new TResultSet(cursor, new HashMap<>());
+    }
+
+    private static FieldPacket[] fieldPackets() {
+        FieldPacket[] fieldPackets = new FieldPacket[FIELD_TYPES.length];
+        for (int i = 0; i < FIELD_TYPES.length; i++) {
+            fieldPackets[i] = new FieldPacket();
+            fieldPackets[i].type = FIELD_TYPES[i];
+        }
+        return fieldPackets;
+    }
+
+    private static Supplier<Byte> packetIds() {
+        byte[] id = {0};
+        return () -> ++id[0];
+    }
+
+    private static class ChunkCursor extends AbstractCursor {
+
+        private final Iterator<Row> rows;
+
+        ChunkCursor(Chunk chunk) {
+            super(false);
+            this.rows = chunk.iterator();
+        }
+
+        @Override
+        protected Row doNext() {
+            return rows.hasNext() ? rows.next() : null;
+        }
+    }
+
+    /**
+     * Keeps every written byte in a heap buffer instead of flushing it to the connection.
+     */
+    private static class CapturingProxy extends PacketByteBufferOutputProxy {
+
+        CapturingProxy(FrontendConnection c) {
+            super(c, new ByteBufferHolder(ByteBuffer.allocate(1 << 16)));
+            this.checked = true;
+        }
+
+        @Override
+        public void checkWriteCapacity(int capacity) {
+        }
+
+        @Override
+        public void write(byte[] src) {
+            currentBuffer.put(src, 0, src.length);
+        }
+
+        @Override
+        public void write(byte[] src, int off, int len) {
+            currentBuffer.put(src, off, len);
+        }
+
+        @Override
+        public void packetBegin() {
+        }
+
+        @Override
+        public void packetEnd() {
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(currentBuffer.array(), currentBuffer.position());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.server.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ServerLoadDataHandlerTest {
+
+    private static LoadData loadData(String enclose, String escape, List<Integer> outputColumnsIndex) {
+        LoadData loadData = new LoadData("load data local infile 'a.csv' into table t");
+        loadData.setOriginFieldTerminatedBy(",");
+        loadData.setEnclose(enclose);
+        loadData.setEscape(escape);
+        loadData.setOutputColumnsIndex(outputColumnsIndex);
+        return loadData;
+    }
+
+    @Test
+    public void testPlain() {
+        LoadData loadData = loadData(null, null, null);
+        Assert.assertEquals(Arrays.asList("1", "a", ""), ServerLoadDataHandler.parseFields(loadData, "1,a,"));
+        Assert.assertEquals(Arrays.asList("1", "\"a\"", "b\\tc"),
+            ServerLoadDataHandler.parseFields(loadData, "1,\"a\",b\\tc"));
+    }
+
+    @Test
+    public void testEnclosed() {
+        LoadData loadData = loadData("\"", null, null);
+        Assert.assertEquals(Arrays.asList("1", "a", "", "\"", "\"b", "c"),
+            ServerLoadDataHandler.parseFields(loadData, "\"1\",\"a\",\"\",\",\"b,c"));
+
+        // empty enclose keeps the fields
+        loadData = loadData("", null, null);
+        Assert.assertEquals(Arrays.asList("\"1\"", "a"), ServerLoadDataHandler.parseFields(loadData, "\"1\",a"));
+    }
+
+    @Test
+    public void testEscaped() {
+        LoadData loadData = loadData(null, "\\", null);
+        Assert.assertEquals(Arrays.asList("a\tb", "c\\d", "e\nf"),
+            ServerLoadDataHandler.parseFields(loadData, "a\\tb,c\\\\d,e\\nf"));
+
+        // enclosed before escaped
+        loadData = loadData("\"", "\\", null);
+        Assert.assertEquals(Arrays.asList("a\tb", "\"c\""),
+            ServerLoadDataHandler.parseFields(loadData, "\"a\\tb\",\"\\\"c\\\"\""));
+    }
+
+    @Test
+    public void testOutputColumns() {
+        LoadData loadData = loadData(null, null, Arrays.asList(2, 0));
+        Assert.assertEquals(Arrays.asList("3", "1"), ServerLoadDataHandler.parseFields(loadData, "1,2,3"));
+
+        loadData = loadData("'", "\\", Arrays.asList(1, 2));
+        Assert.assertEquals(Arrays.asList("b\tc", "d"), ServerLoadDataHandler.parseFields(loadData, "'a','b\\tc',d"));
+    }
+
+    @Test
+    public void testFieldsAreModifiable() {
+        // the auto fill column is inserted into the fields by the consumers
+        for (LoadData loadData : Arrays.asList(loadData(null, null, null), loadData("\"", "\\", null),
+            loadData(null, null, Arrays.asList(1, 0)))) {
+            List<String> fields = ServerLoadDataHandler.parseFields(loadData, "1,2");
+            fields.add(0, "NULL");
+            Assert.assertEquals(3, fields.size());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.qatest.dml.sharding.basecrud;
+
+import com.alibaba.polardbx.qatest.CrudBasedLockTestCase;
+import com.alibaba.polardbx.qatest.data.ExecuteTableName;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.alibaba.polardbx.qatest.validator.DataOperator.executeBatchOnConn;
+import static com.alibaba.polardbx.qatest.validator.DataOperator.executeOnMysqlAndTddl;
+import static com.alibaba.polardbx.qatest.validator.DataValidator.selectContentSameAssert;
+
+/**
+ * UPSERT/REPLACE/INSERT IGNORE of a batch split by DML_CHUNKED_DUPLICATE_CHECK, with keys duplicated inside the
+ * batch across chunk boundaries and with existing rows
+ */
+public class ChunkedDuplicateCheckTest extends CrudBasedLockTestCase {
+
+    private static final String HINT =
+        "/*+TDDL:cmd_extra(DML_CHUNKED_DUPLICATE_CHECK=true,DML_DUPLICATE_CHECK_CHUNK_SIZE=3)*/ ";
+
+    @Parameterized.Parameters(name = "{index}:table={0}")
+    public static List<String[]> prepareData() {
+        String[][] object = {
+            {ExecuteTableName.UPDATE_DELETE_BASE + ExecuteTableName.ONE_DB_ONE_TB_SUFFIX},
+            {ExecuteTableName.UPDATE_DELETE_BASE + ExecuteTableName.MUlTI_DB_MUTIL_TB_SUFFIX},
+            {ExecuteTableName.UPDATE_DELETE_BASE + ExecuteTableName.BROADCAST_TB_SUFFIX},};
+        return Arrays.asList(object);
+    }
+
+    public ChunkedDuplicateCheckTest(String baseOneTableName) {
+        this.baseOneTableName = baseOneTableName;
+    }
+
+    @Before
+    public void initData() {
+        executeOnMysqlAndTddl(mysqlConnection, tddlConnection, "delete from " + baseOneTableName, null);
+
+        // rows conflicting with the first and the second chunk
+        String sql = "insert into " + baseOneTableName + " (pk, integer_test, varchar_test) values (?, ?, ?)";
+        executeOnMysqlAndTddl(mysqlConnection, tddlConnection, sql, Arrays.asList(1, 1, "old1"));
+        executeOnMysqlAndTddl(mysqlConnection, tddlConnection, sql, Arrays.asList(4, 4, "old4"));
+    }
+
+    /**
+     * Chunks of 3 rows: pk 2 is repeated in the first and the second chunk, pk 5 in the second and the third
+     */
+    private static List<List<Object>> batchParams() {
+        List<List<Object>> params = new ArrayList<>();
+        params.add(Arrays.asList(1, 10, "a"));
+        params.add(Arrays.asList(2, 20, "b"));
+        params.add(Arrays.asList(3, 30, "c"));
+        params.add(Arrays.asList(2, 21, "d"));
+        params.add(Arrays.asList(4, 40, "e"));
+        params.add(Arrays.asList(5, 50, "f"));
+        params.add(Arrays.asList(5, 51, "g"));
+        params.add(Arrays.asList(6, 60, "h"));
+        return params;
+    }
+
+    private void executeBatchAndCheck(String sql) {
+        executeBatchOnConn(mysqlConnection, sql, batchParams());
+        executeBatchOnConn(tddlConnection, HINT + sql, batchParams());
+
+        selectContentSameAssert("select pk, integer_test, varchar_test from " + baseOneTableName, null,
+            mysqlConnection, tddlConnection);
+    }
+
+    @Test
+    public void upsertAcrossChunks() {
+        executeBatchAndCheck("insert into " + baseOneTableName + " (pk, integer_test, varchar_test) values (?, ?, ?)"
+            + " on duplicate key update integer_test = integer_test + values(integer_test),"
+            + " varchar_test = concat(varchar_test, values(varchar_test))");
+    }
+
+    @Test
+    public void replaceAcrossChunks() {
+        executeBatchAndCheck(
+            "replace into " + baseOneTableName + " (pk, integer_test, varchar_test) values (?, ?, ?)");
+    }
+
+    @Test
+    public void insertIgnoreAcrossChunks() {
+        executeBatchAndCheck(
+            "insert ignore into " + baseOneTableName + " (pk, integer_test, varchar_test) values (?, ?, ?)");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.transaction;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide transaction counters
+ */
+public class TransactionMetrics {
+
+    /**
+     * Multi-row inserts issued by global tx log group commit
+     */
+    private static final LongAdder globalTxLogBatches = new LongAdder();
+
+    /**
+     * Commit logs written by group commit
+     */
+    private static final LongAdder globalTxLogBatchedRows = new LongAdder();
+
+    private static final AtomicLong globalTxLogMaxBatchSize = new AtomicLong();
+
+    /**
+     * Total latency added to commits by waiting for the group commit window
+     */
+    private static final LongAdder globalTxLogGroupWaitNanos = new LongAdder();
+
+    public static void recordGlobalTxLogBatch(int batchSize) {
+        globalTxLogBatches.increment();
+        globalTxLogBatchedRows.add(batchSize);
+        globalTxLogMaxBatchSize.accumulateAndGet(batchSize, Math::max);
+    }
+
+    public static void recordGlobalTxLogGroupWait(long waitNanos) {
+        globalTxLogGroupWaitNanos.add(waitNanos);
+    }
+
+    public static long getGlobalTxLogBatches() {
+        return globalTxLogBatches.sum();
+    }
+
+    public static long getGlobalTxLogBatchedRows() {
+        return globalTxLogBatchedRows.sum();
+    }
+
+    public static long getGlobalTxLogMaxBatchSize() {
+        return globalTxLogMaxBatchSize.get();
+    }
+
+    public static double getGlobalTxLogAvgBatchSize() {
+        long batches = globalTxLogBatches.sum();
+        return batches == 0 ? 0 : (double) globalTxLogBatchedRows.sum() / batches;
+    }
+
+    /**
+     * Average latency in microseconds added to each commit log by group commit
+     */
+    public static double getGlobalTxLogAvgGroupWaitMicros() {
+        long rows = globalTxLogBatchedRows.sum();
+        return rows == 0 ? 0 : globalTxLogGroupWaitNanos.sum() / 1000.0 / rows;
+    }
+}
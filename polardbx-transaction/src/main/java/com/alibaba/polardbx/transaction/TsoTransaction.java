@@ -33,6 +33,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
 
 /**
  * TSO Transaction, with global MVCC support
@@ -156,6 +157,16 @@ public class TsoTransaction extends ShareReadViewTransaction implements ITsoTran
 
     @Override
     protected void writeCommitLog(IConnection logConn) throws SQLException {
+        if (executionContext.getParamManager().getBoolean(ConnectionParams.ENABLE_GLOBAL_TX_LOG_GROUP_COMMIT)) {
+            // logConn is an external autocommit connection, so the log can be shared with other transactions
+            long windowNanos = TimeUnit.MICROSECONDS.toNanos(
+                executionContext.getParamManager().getInt(ConnectionParams.GLOBAL_TX_LOG_GROUP_COMMIT_WINDOW_US));
+            int maxBatchSize =
+                executionContext.getParamManager().getInt(ConnectionParams.GLOBAL_TX_LOG_GROUP_COMMIT_MAX_BATCH);
+            globalTxLogManager.appendWithGroupCommit(primaryGroup, id, getType(), TransactionState.SUCCEED,
+                connectionContext, commitTimestamp, logConn, windowNanos, maxBatchSize);
+            return;
+        }
         globalTxLogManager.append(id, getType(), TransactionState.SUCCEED, connectionContext,
             commitTimestamp, logConn);
     }
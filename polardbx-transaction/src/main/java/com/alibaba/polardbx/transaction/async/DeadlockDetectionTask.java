@@ -21,9 +21,11 @@ import com.alibaba.polardbx.common.eventlogger.EventType;
 import com.alibaba.polardbx.common.exception.TddlRuntimeException;
 import com.alibaba.polardbx.common.exception.code.ErrorCode;
 import com.alibaba.polardbx.common.jdbc.IConnection;
+import com.alibaba.polardbx.common.utils.GeneralUtil;
 import com.alibaba.polardbx.common.utils.Pair;
 import com.alibaba.polardbx.common.utils.logger.Logger;
 import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.common.utils.thread.ExecutorUtil;
 import com.alibaba.polardbx.executor.common.StorageInfoManager;
 import com.alibaba.polardbx.executor.sync.ISyncAction;
 import com.alibaba.polardbx.executor.sync.SyncManagerHelper;
@@ -43,10 +45,19 @@ import org.apache.commons.lang3.tuple.Triple;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static com.alibaba.polardbx.gms.topology.SystemDbHelper.DEFAULT_DB_NAME;
@@ -64,6 +75,7 @@ public class DeadlockDetectionTask implements Runnable {
     private static final String SQL_QUERY_DEADLOCKS_80 =
         "SELECT "
             /* Transaction information of waiting transaction. */
+            + "trx_a.TRX_ID AS waiting_trx_id, "
             + "trx_a.TRX_MYSQL_THREAD_ID AS waiting_conn_id, "
             + "trx_a.TRX_STATE AS waiting_state, "
             + "trx_a.TRX_QUERY AS waiting_physical_sql, "
@@ -81,6 +93,7 @@ public class DeadlockDetectionTask implements Runnable {
             + "locks_a.INDEX_NAME AS waiting_lock_index, "
             + "locks_a.LOCK_DATA AS waiting_lock_data, "
             /* Transaction information of blocking transaction. */
+            + "trx_b.TRX_ID AS blocking_trx_id, "
             + "trx_b.TRX_MYSQL_THREAD_ID AS blocking_conn_id, "
             + "trx_b.TRX_STATE AS blocking_state, "
             + "trx_b.TRX_QUERY AS blocking_physical_sql, "
@@ -115,6 +128,7 @@ public class DeadlockDetectionTask implements Runnable {
     private static final String SQL_QUERY_DEADLOCKS =
         "SELECT "
             /* Transaction information of waiting transaction. */
+            + "trx_a.TRX_ID AS waiting_trx_id, "
             + "trx_a.TRX_MYSQL_THREAD_ID AS waiting_conn_id, "
             + "trx_a.TRX_STATE AS waiting_state, "
             + "trx_a.TRX_QUERY AS waiting_physical_sql, "
@@ -135,6 +149,7 @@ public class DeadlockDetectionTask implements Runnable {
             + "locks_a.LOCK_REC AS waiting_lock_rec, "
             + "locks_a.LOCK_DATA AS waiting_lock_data, "
             /* Transaction information of blocking transaction. */
+            + "trx_b.TRX_ID AS blocking_trx_id, "
             + "trx_b.TRX_MYSQL_THREAD_ID AS blocking_conn_id, "
             + "trx_b.TRX_STATE AS blocking_state, "
             + "trx_b.TRX_QUERY AS blocking_physical_sql, "
@@ -169,7 +184,55 @@ public class DeadlockDetectionTask implements Runnable {
             /* Join innodb_locks to get the lock information. */
             + "lock_waits.requested_lock_id = locks_a.lock_id AND lock_waits.blocking_lock_id = locks_b.lock_id";
 
+    /**
+     * Lightweight probe of the direct lock waits on a DN, filtered the same way as SQL_QUERY_DEADLOCKS_80
+     * so that its result identifies exactly the edges the full query would add to the wait-for graph.
+     */
+    private static final String SQL_PROBE_LOCK_WAITS_80 =
+        "SELECT "
+            + "lock_waits.REQUESTING_ENGINE_TRANSACTION_ID AS waiting_trx_id, "
+            + "lock_waits.BLOCKING_ENGINE_TRANSACTION_ID AS blocking_trx_id "
+            + "FROM "
+            + "performance_schema.DATA_LOCK_WAITS AS lock_waits, information_schema.INNODB_TRX AS trx_b "
+            + "WHERE "
+            + "trx_b.trx_state != 'LOCK WAIT' "
+            + "AND trx_b.trx_id = lock_waits.BLOCKING_ENGINE_TRANSACTION_ID";
+
+    private static final String SQL_PROBE_LOCK_WAITS =
+        "SELECT "
+            + "lock_waits.requesting_trx_id AS waiting_trx_id, "
+            + "lock_waits.blocking_trx_id AS blocking_trx_id "
+            + "FROM "
+            + "information_schema.INNODB_LOCK_WAITS AS lock_waits, information_schema.INNODB_TRX AS trx_b "
+            + "WHERE "
+            + "trx_b.trx_state != 'LOCK WAIT' "
+            + "AND trx_b.trx_id = lock_waits.blocking_trx_id";
+
+    /**
+     * A detection round slower than this is logged as a warning with its phase timings.
+     */
+    private static final long SLOW_DETECTION_THRESHOLD_MILLIS = 1000L;
+
+    /**
+     * Unchanged lock waits are analyzed again after this many skipped rounds, in case a deadlock was missed
+     * because the lock waits and the transactions were not fetched at the same time.
+     */
+    private static final int MAX_SKIPPED_ROUNDS = 10;
+
+    /**
+     * Shared by all detection tasks to probe and fetch lock waits of DNs in parallel.
+     */
+    private static final ExecutorService FETCH_LOCK_WAITS_EXECUTOR =
+        ExecutorUtil.createExecutor("DeadlockDetectionExecutor", 8);
+
     private final Collection<String> allSchemas;
+
+    /**
+     * Lock waits (dn/waiting_trx/blocking_trx) of the last round which was found to be deadlock-free.
+     * An unchanged set of lock waits can not form a new deadlock, so the next round can skip the analysis.
+     */
+    private volatile Set<String> lastDeadlockFreeLockWaits = Collections.emptySet();
+    private int skippedRounds = 0;
     private static Class killSyncActionClass;
 
     static {
@@ -198,8 +261,25 @@ public class DeadlockDetectionTask implements Runnable {
                                Collection<String> groupNames,
                                TrxLookupSet lookupSet,
                                DiGraph<TrxLookupSet.Transaction> graph) {
+        fetchLockWaits(dataSource, groupNames, lookupSet, graph, null);
+    }
+
+    /**
+     * Same as {@link #fetchLockWaits(TGroupDataSource, Collection, TrxLookupSet, DiGraph)}, and also collects
+     * the identifiers of the lock waits added to the graph into {@code lockWaitIds} if it is not null.
+     * Lock waits of different DNs may be fetched concurrently with the same lookup set and graph.
+     *
+     * @return number of lock waits whose transactions are not found in the lookup set
+     */
+    public int fetchLockWaits(TGroupDataSource dataSource,
+                              Collection<String> groupNames,
+                              TrxLookupSet lookupSet,
+                              DiGraph<TrxLookupSet.Transaction> graph,
+                              Set<String> lockWaitIds) {
         boolean isMySQL80 = ExecUtils.isMysql80Version();
         String deadLocksSql = isMySQL80 ? SQL_QUERY_DEADLOCKS_80 : SQL_QUERY_DEADLOCKS;
+        final String dnId = dataSource.getMasterSourceAddress();
+        int unmapped = 0;
 
         try (final IConnection conn = dataSource.getConnection();
             final Statement stmt = conn.createStatement();
@@ -210,38 +290,102 @@ public class DeadlockDetectionTask implements Runnable {
                 final long waiting = rs.getLong("waiting_conn_id");
                 final long blocking = rs.getLong("blocking_conn_id");
 
-                // Get the waiting and blocking transaction
-                final Triple<TrxLookupSet.Transaction, TrxLookupSet.Transaction, String> waitingAndBlockingTrx =
-                    lookupSet.getWaitingAndBlockingTrx(groupNames, waiting, blocking);
-
-                final TrxLookupSet.Transaction waitingTrx = waitingAndBlockingTrx.getLeft();
-                final TrxLookupSet.Transaction blockingTrx = waitingAndBlockingTrx.getMiddle();
-
-                if (null != waitingTrx && null != blockingTrx) {
-                    // Update the wait-for graph and the lookup set
-                    graph.addDiEdge(waitingTrx, blockingTrx);
-                    try {
-                        // Get the group which the waiting and blocking thread id are in
-                        final String groupName = waitingAndBlockingTrx.getRight();
-
-                        // Get the waiting local transaction of this group
-                        final LocalTransaction waitingLocalTrx = waitingTrx.getLocalTransaction(groupName);
-                        extractWaitingTrx(rs, waitingLocalTrx, isMySQL80);
-
-                        // Get the blocking local transaction of this group
-                        final LocalTransaction blockingLocalTrx = blockingTrx.getLocalTransaction(groupName);
-                        extractBlockingTrx(rs, blockingLocalTrx, isMySQL80);
-                    } catch (Throwable t) {
-                        // Ignore.
-                        logger.warn("Get lock-wait message failed.", t);
+                // The lookup set and the graph are shared by all DNs fetched in parallel
+                synchronized (lookupSet) {
+                    // Get the waiting and blocking transaction
+                    final Triple<TrxLookupSet.Transaction, TrxLookupSet.Transaction, String> waitingAndBlockingTrx =
+                        lookupSet.getWaitingAndBlockingTrx(groupNames, waiting, blocking);
+
+                    final TrxLookupSet.Transaction waitingTrx = waitingAndBlockingTrx.getLeft();
+                    final TrxLookupSet.Transaction blockingTrx = waitingAndBlockingTrx.getMiddle();
+
+                    if (null == waitingTrx || null == blockingTrx) {
+                        unmapped++;
+                    } else {
+                        if (null != lockWaitIds) {
+                            lockWaitIds.add(
+                                lockWaitId(dnId, rs.getString("waiting_trx_id"), rs.getString("blocking_trx_id")));
+                        }
+                        // Update the wait-for graph and the lookup set
+                        graph.addDiEdge(waitingTrx, blockingTrx);
+                        try {
+                            // Get the group which the waiting and blocking thread id are in
+                            final String groupName = waitingAndBlockingTrx.getRight();
+
+                            // Get the waiting local transaction of this group
+                            final LocalTransaction waitingLocalTrx = waitingTrx.getLocalTransaction(groupName);
+                            extractWaitingTrx(rs, waitingLocalTrx, isMySQL80);
+
+                            // Get the blocking local transaction of this group
+                            final LocalTransaction blockingLocalTrx = blockingTrx.getLocalTransaction(groupName);
+                            extractBlockingTrx(rs, blockingLocalTrx, isMySQL80);
+                        } catch (Throwable t) {
+                            // Ignore.
+                            logger.warn("Get lock-wait message failed.", t);
+                        }
                     }
                 }
             }
         } catch (SQLException ex) {
-            final String dnId = dataSource.getMasterSourceAddress();
             throw new RuntimeException("Failed to fetch lock waits on data source " + dnId, ex);
         }
+        return unmapped;
+    }
 
+    /**
+     * Probe the identifiers of all direct lock waits on a DN, without joining the lock tables.
+     */
+    private void probeLockWaits(TGroupDataSource dataSource, Set<String> lockWaitIds) {
+        final String probeSql = ExecUtils.isMysql80Version() ? SQL_PROBE_LOCK_WAITS_80 : SQL_PROBE_LOCK_WAITS;
+        final String dnId = dataSource.getMasterSourceAddress();
+
+        try (final IConnection conn = dataSource.getConnection();
+            final Statement stmt = conn.createStatement();
+            final ResultSet rs = stmt.executeQuery(probeSql)) {
+            while (rs.next()) {
+                lockWaitIds.add(lockWaitId(dnId, rs.getString("waiting_trx_id"), rs.getString("blocking_trx_id")));
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to probe lock waits on data source " + dnId, ex);
+        }
+    }
+
+    private static String lockWaitId(String dnId, String waitingTrxId, String blockingTrxId) {
+        return dnId + "/" + waitingTrxId + "/" + blockingTrxId;
+    }
+
+    /**
+     * Run the task for each DN in parallel, and wait for all of them to finish.
+     *
+     * @param dnGroupDataSources group data sources of each DN
+     * @param task accepts any data source of the DN and all group names in the DN
+     */
+    private void forEachDn(Collection<List<TGroupDataSource>> dnGroupDataSources,
+                           BiConsumer<TGroupDataSource, Set<String>> task) {
+        final List<Future<?>> futures = new ArrayList<>(dnGroupDataSources.size());
+        for (List<TGroupDataSource> groupDataSources : dnGroupDataSources) {
+            if (CollectionUtils.isNotEmpty(groupDataSources)) {
+                // Since all data sources are in the same DN, any data source is ok
+                final TGroupDataSource groupDataSource = groupDataSources.get(0);
+
+                // Get all group names in this DN
+                final Set<String> groupNames =
+                    groupDataSources.stream().map(TGroupDataSource::getDbGroupKey).collect(Collectors.toSet());
+
+                futures.add(FETCH_LOCK_WAITS_EXECUTOR.submit(() -> task.accept(groupDataSource, groupNames)));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw GeneralUtil.nestedException(e.getCause());
+            }
+        }
     }
 
     private void extractBlockingTrx(ResultSet rs, LocalTransaction blockingLocalTrx, boolean isMySQL80)
@@ -383,33 +527,56 @@ public class DeadlockDetectionTask implements Runnable {
         }
         TransactionLogger.debug("Deadlock detection task starts.");
         try {
-
-            // Get all global transaction information
-            final TrxLookupSet lookupSet = fetchTransInfo();
+            final long startTime = System.nanoTime();
 
             // Get all group data sources, and group by DN's ID (host:port)
             final Map<String, List<TGroupDataSource>> instId2GroupList = ExecUtils.getInstId2GroupList(allSchemas);
 
+            // Probe lock waits of all DNs in parallel, and skip this round if nothing changes since
+            // the last deadlock-free round
+            final Set<String> probedLockWaits = ConcurrentHashMap.newKeySet();
+            forEachDn(instId2GroupList.values(),
+                (groupDataSource, groupNames) -> probeLockWaits(groupDataSource, probedLockWaits));
+            final long probeEndTime = System.nanoTime();
+
+            if (probedLockWaits.isEmpty()
+                || (probedLockWaits.equals(lastDeadlockFreeLockWaits) && skippedRounds < MAX_SKIPPED_ROUNDS)) {
+                if (probedLockWaits.isEmpty()) {
+                    lastDeadlockFreeLockWaits = probedLockWaits;
+                    skippedRounds = 0;
+                } else {
+                    skippedRounds++;
+                }
+                TransactionLogger.debug(String.format(
+                    "Deadlock detection task skipped, %d lock waits unchanged, probe cost %d ms.",
+                    probedLockWaits.size(), nanosToMillis(probeEndTime - startTime)));
+                return;
+            }
+
+            // Get all global transaction information
+            final TrxLookupSet lookupSet = fetchTransInfo();
+            final long fetchTransEndTime = System.nanoTime();
+
             final DiGraph<TrxLookupSet.Transaction> graph = new DiGraph<>();
 
-            // For each DN, find the lock-wait information and add it to the graph
-            for (List<TGroupDataSource> groupDataSources : instId2GroupList.values()) {
-                if (CollectionUtils.isNotEmpty(groupDataSources)) {
-                    // Since all data sources are in the same DN, any data source is ok
-                    final TGroupDataSource groupDataSource = groupDataSources.get(0);
+            // For each DN in parallel, find the lock-wait information and add it to the graph
+            final Set<String> fetchedLockWaits = ConcurrentHashMap.newKeySet();
+            final AtomicInteger unmappedLockWaits = new AtomicInteger(0);
+            forEachDn(instId2GroupList.values(),
+                (groupDataSource, groupNames) -> unmappedLockWaits.addAndGet(
+                    fetchLockWaits(groupDataSource, groupNames, lookupSet, graph, fetchedLockWaits)));
+            final long fetchLockWaitsEndTime = System.nanoTime();
 
-                    // Get all group names in this DN
-                    final Set<String> groupNames =
-                        groupDataSources.stream().map(TGroupDataSource::getDbGroupKey).collect(Collectors.toSet());
+            // Each cycle lies in a different strongly connected component, so they can be resolved independently
+            final List<ArrayList<TrxLookupSet.Transaction>> cycles = graph.detectAll();
+            final long detectEndTime = System.nanoTime();
 
-                    // Fetch lock-wait information for this DN,
-                    // and update the lookup set and the graph with the information
-                    fetchLockWaits(groupDataSource, groupNames, lookupSet, graph);
-                }
-            }
+            // Only a fully mapped and acyclic graph proves the lock waits deadlock-free
+            skippedRounds = 0;
+            lastDeadlockFreeLockWaits =
+                cycles.isEmpty() && unmappedLockWaits.get() == 0 ? fetchedLockWaits : Collections.emptySet();
 
-            graph.detect().ifPresent((cycle) -> {
-                assert cycle.size() >= 2;
+            for (ArrayList<TrxLookupSet.Transaction> cycle : cycles) {
                 final Pair<StringBuilder, StringBuilder> deadlockLog = DeadlockParser.parseGlobalDeadlock(cycle);
                 final StringBuilder simpleDeadlockLog = deadlockLog.getKey();
                 final StringBuilder fullDeadlockLog = deadlockLog.getValue();
@@ -431,12 +598,30 @@ public class DeadlockDetectionTask implements Runnable {
 
                 final long toKillFrontendConnId = toKillTrx.getFrontendConnId();
                 killByFrontendConnId(toKillFrontendConnId);
-            });
+            }
+            final long endTime = System.nanoTime();
+
+            final String timing = String.format(
+                "Deadlock detection task finished, %d lock waits (%d unmapped), %d deadlocks, cost %d ms "
+                    + "(probe %d ms, fetch trans %d ms, fetch lock waits %d ms, detect %d ms, kill %d ms).",
+                fetchedLockWaits.size(), unmappedLockWaits.get(), cycles.size(), nanosToMillis(endTime - startTime),
+                nanosToMillis(probeEndTime - startTime), nanosToMillis(fetchTransEndTime - probeEndTime),
+                nanosToMillis(fetchLockWaitsEndTime - fetchTransEndTime),
+                nanosToMillis(detectEndTime - fetchLockWaitsEndTime), nanosToMillis(endTime - detectEndTime));
+            if (nanosToMillis(endTime - startTime) > SLOW_DETECTION_THRESHOLD_MILLIS) {
+                TransactionLogger.warn(timing);
+            } else {
+                TransactionLogger.debug(timing);
+            }
         } catch (Throwable ex) {
             logger.error("Failed to do deadlock detection", ex);
         }
     }
 
+    private static long nanosToMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
     private boolean hasLeadership() {
         return !allSchemas.isEmpty() && ExecUtils.hasLeadership(allSchemas.iterator().next());
     }
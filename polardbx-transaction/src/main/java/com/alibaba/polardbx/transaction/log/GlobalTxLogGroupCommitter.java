@@ -0,0 +1,176 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.polardbx.transaction.log;
+
+import com.alibaba.polardbx.common.jdbc.IConnection;
+import com.alibaba.polardbx.common.utils.logger.Logger;
+import com.alibaba.polardbx.common.utils.logger.LoggerFactory;
+import com.alibaba.polardbx.transaction.TransactionMetrics;
+import com.alibaba.polardbx.transaction.TransactionState;
+import com.alibaba.polardbx.transaction.TransactionType;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of global tx log on one primary group.
+ * <p>
+ * The first committer arriving at an idle group becomes the leader: it waits up to the window (or until the batch
+ * is full) for concurrent committers to join, then writes all of them with one multi-row insert on its own
+ * autocommit connection. Followers just wait for the leader's result. The next batch may start collecting while
+ * the previous one is being written.
+ * <p>
+ * A multi-row insert is atomic, so a duplicated TXID (the transaction has been rolled back by recovery) fails the
+ * whole batch with nothing written; the batch is then retried row by row to find out who really conflicts.
+ * Any other error leaves the state of the whole batch unknown and is reported to every member.
+ */
+public class GlobalTxLogGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalTxLogGroupCommitter.class);
+
+    private final GlobalTxLogManager manager;
+
+    private final String primaryGroup;
+
+    private List<PendingAppend> pending = new ArrayList<>();
+
+    /**
+     * Whether a leader is collecting the current batch
+     */
+    private boolean collecting = false;
+
+    public GlobalTxLogGroupCommitter(GlobalTxLogManager manager, String primaryGroup) {
+        this.manager = manager;
+        this.primaryGroup = primaryGroup;
+    }
+
+    public void append(PendingAppend append, IConnection conn, long windowNanos, int maxBatchSize)
+        throws SQLException {
+        boolean leader = false;
+        synchronized (this) {
+            pending.add(append);
+            if (!collecting) {
+                collecting = true;
+                leader = true;
+            } else if (pending.size() >= maxBatchSize) {
+                notifyAll();
+            }
+        }
+
+        if (leader) {
+            List<PendingAppend> batch = collect(windowNanos, maxBatchSize);
+            // an interrupted write would leave the whole batch in unknown state, so finish it first
+            boolean interrupted = Thread.interrupted();
+            try {
+                flush(batch, conn);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        try {
+            append.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for global tx log group commit on " + primaryGroup, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Global tx log group commit failed on " + primaryGroup, e.getCause());
+        }
+    }
+
+    private synchronized List<PendingAppend> collect(long windowNanos, int maxBatchSize) {
+        final long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while (pending.size() < maxBatchSize && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                // write what we have, the interruption is handled when waiting for the result
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<PendingAppend> batch = pending;
+        pending = new ArrayList<>();
+        collecting = false;
+        return batch;
+    }
+
+    private void flush(List<PendingAppend> batch, IConnection conn) {
+        final long flushStart = System.nanoTime();
+        for (PendingAppend append : batch) {
+            TransactionMetrics.recordGlobalTxLogGroupWait(flushStart - append.enqueueNanos);
+        }
+        TransactionMetrics.recordGlobalTxLogBatch(batch.size());
+
+        try {
+            manager.appendBatch(batch, conn);
+            for (PendingAppend append : batch) {
+                append.result.complete(null);
+            }
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Duplicated TXID in global tx log batch of " + batch.size() + " on " + primaryGroup
+                + ", retry one by one");
+            for (PendingAppend append : batch) {
+                try {
+                    manager.appendBatch(Collections.singletonList(append), conn);
+                    append.result.complete(null);
+                } catch (Throwable t) {
+                    append.result.completeExceptionally(t);
+                }
+            }
+        } catch (Throwable t) {
+            for (PendingAppend append : batch) {
+                append.result.completeExceptionally(t);
+            }
+        }
+    }
+
+    public static class PendingAppend {
+        final long txid;
+        final TransactionType type;
+        final TransactionState state;
+        final String context;
+        final long commitTimestamp;
+        final long enqueueNanos = System.nanoTime();
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        public PendingAppend(long txid, TransactionType type, TransactionState state, String context,
+                             long commitTimestamp) {
+            this.txid = txid;
+            this.type = type;
+            this.state = state;
+            this.context = context;
+            this.commitTimestamp = commitTimestamp;
+        }
+    }
+}
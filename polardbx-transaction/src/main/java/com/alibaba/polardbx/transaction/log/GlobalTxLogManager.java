@@ -40,6 +40,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GlobalTxLogManager extends AbstractLifecycle {
 
@@ -116,6 +119,8 @@ public class GlobalTxLogManager extends AbstractLifecycle {
 
     private static ByteString APPEND_TRX_WITH_TS_DIGEST;
 
+    private static final String APPEND_TRX_WITH_TS_VALUES = "(?, ?, ?, ?, ?, ?)";
+
     private static final String SELECT_BY_ID =
         "SELECT `TYPE`, `STATE`, `SERVER_ADDR`, `CONTEXT`, `COMMIT_TS` FROM ? WHERE `TXID` = ?";
 
@@ -125,6 +130,8 @@ public class GlobalTxLogManager extends AbstractLifecycle {
 
     private TransactionExecutor executor;
 
+    private final Map<String, GlobalTxLogGroupCommitter> groupCommitters = new ConcurrentHashMap<>();
+
     static {
         try {
             final MessageDigest md5 = MessageDigest.getInstance("md5");
@@ -193,6 +200,58 @@ public class GlobalTxLogManager extends AbstractLifecycle {
         }
     }
 
+    /**
+     * Append with commit timestamp via group commit, sharing one multi-row insert with concurrent appends
+     * on the same primary group. The connection must be an autocommit connection on the primary group.
+     */
+    public void appendWithGroupCommit(String primaryGroup, long txid, TransactionType type, TransactionState state,
+                                      ConnectionContext context, long commitTimestamp, IConnection conn,
+                                      long windowNanos, int maxBatchSize) throws SQLException {
+        GlobalTxLogGroupCommitter committer = groupCommitters.computeIfAbsent(primaryGroup.toUpperCase(),
+            group -> new GlobalTxLogGroupCommitter(this, group));
+        // serialize on the committing thread rather than the leader
+        GlobalTxLogGroupCommitter.PendingAppend append =
+            new GlobalTxLogGroupCommitter.PendingAppend(txid, type, state, JSON.toJSONString(context),
+                commitTimestamp);
+        committer.append(append, conn, windowNanos, maxBatchSize);
+    }
+
+    void appendBatch(List<GlobalTxLogGroupCommitter.PendingAppend> appends, IConnection conn)
+        throws SQLException {
+        final boolean single = appends.size() == 1;
+        final String sql;
+        if (single) {
+            sql = APPEND_TRX_WITH_TS;
+        } else {
+            StringBuilder builder = new StringBuilder(
+                APPEND_TRX_WITH_TS.length() + appends.size() * (APPEND_TRX_WITH_TS_VALUES.length() + 2));
+            builder.append(APPEND_TRX_WITH_TS, 0, APPEND_TRX_WITH_TS.length() - APPEND_TRX_WITH_TS_VALUES.length());
+            for (int i = 0; i < appends.size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(APPEND_TRX_WITH_TS_VALUES);
+            }
+            sql = builder.toString();
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (single && ps.isWrapperFor(XPreparedStatement.class)) {
+                ps.unwrap(XPreparedStatement.class).setGalaxyDigest(APPEND_TRX_WITH_TS_DIGEST);
+            }
+            ps.setObject(1, new TableName(GLOBAL_TX_LOG_TABLE));
+            int index = 2;
+            for (GlobalTxLogGroupCommitter.PendingAppend append : appends) {
+                ps.setLong(index++, append.txid);
+                ps.setString(index++, append.type.name());
+                ps.setString(index++, append.state.name());
+                ps.setString(index++, currentServerAddr);
+                ps.setString(index++, append.context);
+                ps.setLong(index++, append.commitTimestamp);
+            }
+            ps.executeUpdate();
+        }
+    }
+
     public GlobalTxLog get(String primaryGroup, long txid) throws SQLException {
         IDataSource dataSource = executor.getGroupExecutor(primaryGroup).getDataSource();
         try (IConnection conn = dataSource.getConnection();
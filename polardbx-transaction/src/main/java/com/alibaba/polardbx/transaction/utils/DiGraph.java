@@ -37,51 +37,125 @@ public class DiGraph<T> {
         this.edges.computeIfAbsent(from, (ignored) -> new ArrayList<>()).add(to);
     }
 
-    private static class Detector<T> {
+    /**
+     * Find strongly connected components by Tarjan's algorithm,
+     * iterative so that it does not overflow the stack on large graphs.
+     */
+    private static class SccDetector<T> {
         final private HashMap<T, ArrayList<T>> edges;
-        final private HashSet<T> discovered;
-        final private HashSet<T> finished;
-        private ArrayList<T> curPath;
+        final private HashMap<T, Integer> index;
+        final private HashMap<T, Integer> lowLink;
+        final private ArrayDeque<T> stack;
+        final private HashSet<T> onStack;
+        /**
+         * vertex -> the strongly connected component it belongs to
+         */
+        final private HashMap<T, Set<T>> components;
+        private int nextIndex = 0;
 
-        Detector(HashMap<T, ArrayList<T>> edges) {
+        SccDetector(HashMap<T, ArrayList<T>> edges) {
             this.edges = edges;
-            this.discovered = new HashSet<>();
-            this.finished = new HashSet<>();
+            this.index = new HashMap<>();
+            this.lowLink = new HashMap<>();
+            this.stack = new ArrayDeque<>();
+            this.onStack = new HashSet<>();
+            this.components = new HashMap<>();
         }
 
-        private Optional<ArrayList<T>> detect() {
+        private HashMap<T, Set<T>> detect() {
             for (T u : edges.keySet()) {
-                if (!discovered.contains(u) && !finished.contains(u)) {
-                    curPath = new ArrayList<>(1);
-                    curPath.add(u);
-                    Optional<ArrayList<T>> result = dfs(u);
-                    if (result.isPresent()) {
-                        return result;
+                if (!index.containsKey(u)) {
+                    strongConnect(u);
+                }
+            }
+            return components;
+        }
+
+        private void strongConnect(T root) {
+            final ArrayDeque<Pair<T, Iterator<T>>> callStack = new ArrayDeque<>();
+            visit(root);
+            callStack.push(Pair.of(root, successors(edges, root).iterator()));
+            while (!callStack.isEmpty()) {
+                final Pair<T, Iterator<T>> frame = callStack.peek();
+                final T u = frame.getKey();
+                if (frame.getValue().hasNext()) {
+                    final T v = frame.getValue().next();
+                    if (!index.containsKey(v)) {
+                        visit(v);
+                        callStack.push(Pair.of(v, successors(edges, v).iterator()));
+                    } else if (onStack.contains(v)) {
+                        lowLink.put(u, Math.min(lowLink.get(u), index.get(v)));
+                    }
+                } else {
+                    callStack.pop();
+                    if (!callStack.isEmpty()) {
+                        final T parent = callStack.peek().getKey();
+                        lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(u)));
+                    }
+                    if (lowLink.get(u).equals(index.get(u))) {
+                        final Set<T> component = new HashSet<>();
+                        T w;
+                        do {
+                            w = stack.pop();
+                            onStack.remove(w);
+                            component.add(w);
+                            components.put(w, component);
+                        } while (!w.equals(u));
                     }
                 }
             }
-            return Optional.empty();
         }
 
-        private Optional<ArrayList<T>> dfs(T u) {
-            discovered.add(u);
-            for (T v : Optional.ofNullable(edges.get(u)).orElse(new ArrayList<>())) {
-                if (discovered.contains(v)) {
-                    return Optional.of(new ArrayList<>(curPath));
+        private void visit(T u) {
+            index.put(u, nextIndex);
+            lowLink.put(u, nextIndex);
+            nextIndex++;
+            stack.push(u);
+            onStack.add(u);
+        }
+    }
+
+    private static <T> List<T> successors(HashMap<T, ArrayList<T>> edges, T u) {
+        final List<T> result = edges.get(u);
+        return null == result ? Collections.emptyList() : result;
+    }
+
+    /**
+     * Find a cycle through start inside its strongly connected component.
+     *
+     * @return the cycle in waiting order, or null if the component has no cycle
+     */
+    private Optional<ArrayList<T>> findCycle(T start, Set<T> component) {
+        final ArrayList<T> path = new ArrayList<>();
+        final HashMap<T, Integer> pathIndex = new HashMap<>();
+        final HashSet<T> finished = new HashSet<>();
+        final ArrayDeque<Iterator<T>> iterators = new ArrayDeque<>();
+
+        path.add(start);
+        pathIndex.put(start, 0);
+        iterators.push(successors(edges, start).iterator());
+        while (!iterators.isEmpty()) {
+            final Iterator<T> iterator = iterators.peek();
+            if (iterator.hasNext()) {
+                final T v = iterator.next();
+                if (!component.contains(v) || finished.contains(v)) {
+                    continue;
                 }
-                if (!finished.contains(v)) {
-                    curPath.add(v);
-                    Optional<ArrayList<T>> result = dfs(v);
-                    curPath.remove(curPath.size() - 1);
-                    if (result.isPresent()) {
-                        return result;
-                    }
+                final Integer i = pathIndex.get(v);
+                if (null != i) {
+                    return Optional.of(new ArrayList<>(path.subList(i, path.size())));
                 }
+                path.add(v);
+                pathIndex.put(v, path.size() - 1);
+                iterators.push(successors(edges, v).iterator());
+            } else {
+                iterators.pop();
+                final T u = path.remove(path.size() - 1);
+                pathIndex.remove(u);
+                finished.add(u);
             }
-            discovered.remove(u);
-            finished.add(u);
-            return Optional.empty();
         }
+        return Optional.empty();
     }
 
     /**
@@ -90,6 +164,32 @@ public class DiGraph<T> {
      * @return any cycle, or empty if no cycle detected.
      */
     public Optional<ArrayList<T>> detect() {
-        return (new Detector<T>(this.edges).detect());
+        final HashMap<T, Set<T>> components = new SccDetector<>(this.edges).detect();
+        for (T u : edges.keySet()) {
+            final Optional<ArrayList<T>> cycle = findCycle(u, components.get(u));
+            if (cycle.isPresent()) {
+                return cycle;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Detect cycles in graph, one for each strongly connected component containing cycles,
+     * so that independent cycles can be resolved at the same time.
+     *
+     * @return cycles, or empty list if no cycle detected.
+     */
+    public List<ArrayList<T>> detectAll() {
+        final HashMap<T, Set<T>> components = new SccDetector<>(this.edges).detect();
+        final Set<Set<T>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<ArrayList<T>> cycles = new ArrayList<>();
+        for (T u : edges.keySet()) {
+            final Set<T> component = components.get(u);
+            if (visited.add(component)) {
+                findCycle(u, component).ifPresent(cycles::add);
+            }
+        }
+        return cycles;
     }
 }
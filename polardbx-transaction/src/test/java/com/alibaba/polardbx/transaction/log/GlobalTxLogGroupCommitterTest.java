@@ -0,0 +1,202 @@
+/*
+ * Copyright [2013-2021], Alibaba Group Holding Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.polardbx.transaction.log;
+
+import com.alibaba.polardbx.common.jdbc.IConnection;
+import com.alibaba.polardbx.transaction.TransactionState;
+import com.alibaba.polardbx.transaction.TransactionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class GlobalTxLogGroupCommitterTest {
+
+    private static final long LONG_WINDOW = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Records the batches instead of writing them
+     */
+    private static class RecordingManager extends GlobalTxLogManager {
+        final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch blockFirstBatch;
+        volatile SQLException batchError;
+        volatile long duplicatedTxid = -1;
+        volatile boolean interruptedWhileWriting = false;
+
+        @Override
+        void appendBatch(List<GlobalTxLogGroupCommitter.PendingAppend> appends, IConnection conn)
+            throws SQLException {
+            interruptedWhileWriting |= Thread.currentThread().isInterrupted();
+            List<Long> txids = appends.stream().map(append -> append.txid).collect(Collectors.toList());
+            batches.add(txids);
+            CountDownLatch latch = blockFirstBatch;
+            if (latch != null && batches.size() == 1) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+            }
+            if (batchError != null) {
+                throw batchError;
+            }
+            if (txids.contains(duplicatedTxid)) {
+                throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + duplicatedTxid + "'");
+            }
+        }
+    }
+
+    private static GlobalTxLogGroupCommitter.PendingAppend pending(long txid) {
+        return new GlobalTxLogGroupCommitter.PendingAppend(txid, TransactionType.TSO, TransactionState.SUCCEED,
+            "{}", txid);
+    }
+
+    private static List<Future<?>> appendAll(ExecutorService executor, GlobalTxLogGroupCommitter committer,
+                                             long windowNanos, int maxBatchSize, long... txids) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (long txid : txids) {
+            futures.add(executor.submit(() -> {
+                committer.append(pending(txid), null, windowNanos, maxBatchSize);
+                return null;
+            }));
+        }
+        return futures;
+    }
+
+    @Test
+    public void testBatching() throws Exception {
+        RecordingManager manager = new RecordingManager();
+        GlobalTxLogGroupCommitter committer = new GlobalTxLogGroupCommitter(manager, "G1");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // the leader waits for the full batch, not for the window
+            for (Future<?> future : appendAll(executor, committer, LONG_WINDOW, 3, 1, 2, 3)) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, manager.batches.size());
+        Assert.assertEquals(3, manager.batches.get(0).size());
+        Assert.assertTrue(manager.batches.get(0).containsAll(Arrays.asList(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void testLeaderHandOff() throws Exception {
+        RecordingManager manager = new RecordingManager();
+        manager.blockFirstBatch = new CountDownLatch(1);
+        GlobalTxLogGroupCommitter committer = new GlobalTxLogGroupCommitter(manager, "G1");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = appendAll(executor, committer, 0, 1, 1).get(0);
+            while (manager.batches.isEmpty()) {
+                Thread.sleep(1);
+            }
+            // the first leader is still writing, the next committer leads a batch of its own
+            Future<?> second = appendAll(executor, committer, 0, 1, 2).get(0);
+            second.get(10, TimeUnit.SECONDS);
+            Assert.assertFalse(first.isDone());
+
+            manager.blockFirstBatch.countDown();
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(Collections.singletonList(1L), manager.batches.get(0));
+        Assert.assertEquals(Collections.singletonList(2L), manager.batches.get(1));
+    }
+
+    @Test
+    public void testFailurePropagation() throws Exception {
+        RecordingManager manager = new RecordingManager();
+        manager.batchError = new SQLException("connection lost");
+        GlobalTxLogGroupCommitter committer = new GlobalTxLogGroupCommitter(manager, "G1");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (Future<?> future : appendAll(executor, committer, LONG_WINDOW, 3, 1, 2, 3)) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                    Assert.fail("every member of the batch should fail");
+                } catch (ExecutionException e) {
+                    Assert.assertSame(manager.batchError, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, manager.batches.size());
+    }
+
+    @Test
+    public void testDuplicatedTxidRetriedOneByOne() throws Exception {
+        RecordingManager manager = new RecordingManager();
+        manager.duplicatedTxid = 2;
+        GlobalTxLogGroupCommitter committer = new GlobalTxLogGroupCommitter(manager, "G1");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> futures = appendAll(executor, committer, LONG_WINDOW, 3, 1, 2, 3);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get(10, TimeUnit.SECONDS);
+                    Assert.assertNotEquals(1, i);
+                } catch (ExecutionException e) {
+                    Assert.assertEquals(1, i);
+                    Assert.assertTrue(e.getCause() instanceof SQLIntegrityConstraintViolationException);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // the failed batch and then every row on its own
+        Assert.assertEquals(4, manager.batches.size());
+        Assert.assertEquals(3, manager.batches.get(0).size());
+    }
+
+    @Test
+    public void testInterruptedLeaderStillWrites() throws Exception {
+        RecordingManager manager = new RecordingManager();
+        GlobalTxLogGroupCommitter committer = new GlobalTxLogGroupCommitter(manager, "G1");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> future = executor.submit(() -> {
+                Thread.currentThread().interrupt();
+                committer.append(pending(1), null, LONG_WINDOW, 1);
+                return Thread.interrupted();
+            });
+            // the interruption is kept for the caller
+            Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, manager.batches.size());
+        Assert.assertFalse(manager.interruptedWhileWriting);
+    }
+}
@@ -20,6 +20,8 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -101,4 +103,48 @@ public class DiGraphTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void detectAll() {
+        DiGraph<Integer> graph = new DiGraph<>();
+        // two independent cycles and a chain into one of them
+        graph.addDiEdge(1, 2);
+        graph.addDiEdge(2, 1);
+        graph.addDiEdge(3, 4);
+        graph.addDiEdge(4, 5);
+        graph.addDiEdge(5, 3);
+        graph.addDiEdge(6, 3);
+        // self loop
+        graph.addDiEdge(7, 7);
+
+        List<ArrayList<Integer>> cycles = graph.detectAll();
+        assertEquals(3, cycles.size());
+        HashSet<HashSet<Integer>> cycleSets = new HashSet<>();
+        for (ArrayList<Integer> cycle : cycles) {
+            cycleSets.add(new HashSet<>(cycle));
+        }
+        assertTrue(cycleSets.contains(new HashSet<>(Arrays.asList(1, 2))));
+        assertTrue(cycleSets.contains(new HashSet<>(Arrays.asList(3, 4, 5))));
+        assertTrue(cycleSets.contains(new HashSet<>(Arrays.asList(7))));
+    }
+
+    @Test
+    public void detectOnLargeGraph() {
+        final int n = 200000;
+        DiGraph<Integer> graph = new DiGraph<>();
+        for (int i = 0; i < n - 1; i++) {
+            graph.addDiEdge(i, i + 1);
+        }
+        assertFalse(graph.detect().isPresent());
+
+        // close the chain into a single long cycle
+        graph.addDiEdge(n - 1, 0);
+        Optional<ArrayList<Integer>> result = graph.detect();
+        assertTrue(result.isPresent());
+        assertEquals(n, result.get().size());
+        for (int i = 0; i < n; i++) {
+            // every vertex waits for the next one
+            assertEquals((result.get().get(i) + 1) % n, (int) result.get().get((i + 1) % n));
+        }
+    }
+}